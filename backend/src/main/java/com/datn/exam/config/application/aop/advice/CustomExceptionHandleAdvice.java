@@ -1,6 +1,7 @@
 package com.datn.exam.config.application.aop.advice;
 
 
+import com.datn.exam.config.datasource.WorkloadPoolExhaustedException;
 import com.datn.exam.model.dto.response.ErrorResponse;
 import com.datn.exam.model.dto.response.InvalidFieldError;
 import com.datn.exam.model.dto.response.InvalidInputResponse;
@@ -8,6 +9,7 @@ import com.datn.exam.support.enums.error.AuthorizationError;
 import com.datn.exam.support.enums.error.BadRequestError;
 import com.datn.exam.support.enums.error.InternalServerError;
 import com.datn.exam.support.enums.error.ResponseError;
+import com.datn.exam.support.enums.error.ServiceUnavailableError;
 import com.datn.exam.support.exception.DomainValidationException;
 import com.datn.exam.support.exception.ResponseException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +18,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -176,6 +179,17 @@ public class CustomExceptionHandleAdvice {
 
     @ExceptionHandler({Exception.class})
     public ResponseEntity<ErrorResponse<Void>> handleResponseException(Exception e, HttpServletRequest request) {
+        // the pool exception arrives wrapped by Spring or Hibernate, look for it along the cause chain
+        if (ExceptionUtils.indexOfType(e, WorkloadPoolExhaustedException.class) >= 0) {
+            ResponseError busy = ServiceUnavailableError.REPORTING_BUSY;
+
+            log.warn("Rejected request {}: {}", request.getRequestURI(), ExceptionUtils.getRootCauseMessage(e));
+
+            return ResponseEntity.status(busy.getStatus()).body(
+                    new ErrorResponse<>(busy.getCode(), busy.getMessage(), busy.getName())
+            );
+        }
+
         ResponseError error = InternalServerError.INTERNAL_SERVER_ERROR;
 
         log.error("Failed to handle request {}: {}", request.getRequestURI(), error.getMessage(), e);
@@ -0,0 +1,23 @@
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.model.dto.events.AvatarsChangedEvent;
+import com.datn.exam.service.AvatarThumbnailService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Thumbnails are built from the committed avatar list, so a rolled back import never
+ * leaves variants behind.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvatarThumbnailEventListener {
+    private final AvatarThumbnailService avatarThumbnailService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvatarsChanged(AvatarsChangedEvent event) {
+        event.getSessionStudentIds().forEach(avatarThumbnailService::generate);
+    }
+}
@@ -0,0 +1,26 @@
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.model.dto.events.DomainEventMessage;
+import com.datn.exam.repository.data.dao.FilterCountCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the cached filter totals of an aggregate type as soon as one of its domain events is
+ * relayed, on every node, instead of waiting for them to expire.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DomainEventCacheInvalidationListener {
+    private final FilterCountCache filterCountCache;
+
+    @EventListener
+    public void onDomainEvent(DomainEventMessage message) {
+        filterCountCache.evict(message.getAggregateType());
+        log.debug("Evicted {} filter counts after {} of {}",
+                message.getAggregateType(), message.getEventType(), message.getAggregateId());
+    }
+}
@@ -0,0 +1,131 @@
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.config.cache.CacheInvalidationPublisher;
+import com.datn.exam.config.properties.OutboxProperties;
+import com.datn.exam.model.dto.events.DomainEventMessage;
+import com.datn.exam.repository.data.dao.DomainEventOutboxDao;
+import com.datn.exam.repository.data.dto.OutboxEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relays outbox rows in batches to the Redis domain event stream and to in-process listeners.
+ * The other nodes pick the events up from the stream, see {@link DomainEventStreamConsumer}.
+ * Consumers must be idempotent on the dedup key, a crash between publish and commit replays the batch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DomainEventOutboxRelayJob {
+    private final DomainEventOutboxDao outboxDao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StringRedisTemplate redisTemplate;
+    private final OutboxProperties outboxProperties;
+
+    // READ COMMITTED so claimPending re-checks the heads against rows committed by the other nodes
+    @Scheduled(fixedDelayString = "${custom.outbox.poll-interval:PT1S}", initialDelay = 10000)
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void relay() {
+        if (!outboxProperties.isRelayEnabled()) {
+            return;
+        }
+
+        List<OutboxEventDto> events = outboxDao.claimPending(outboxProperties.getBatchSize());
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<Long> published = new ArrayList<>();
+        List<Long> failed = new ArrayList<>();
+
+        for (OutboxEventDto event : events) {
+            try {
+                DomainEventMessage message = toMessage(event);
+                // the stream goes first, an event that cannot leave this node stays pending for the next poll
+                redisTemplate.opsForStream().add(toRecord(message));
+                eventPublisher.publishEvent(message);
+                published.add(event.getId());
+            } catch (Exception e) {
+                log.warn("Failed to relay outbox event {} ({} {}): {}",
+                        event.getId(), event.getAggregateType(), event.getAggregateId(), e.getMessage());
+                failed.add(event.getId());
+            }
+        }
+
+        if (!published.isEmpty()) {
+            outboxDao.markPublished(published);
+            trimStream();
+        }
+        if (!failed.isEmpty()) {
+            outboxDao.markFailed(failed, outboxProperties.getMaxAttempts());
+        }
+
+        log.debug("Relayed {} outbox events, {} failed", published.size(), failed.size());
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void purgePublished() {
+        LocalDateTime threshold = LocalDateTime.now().minus(outboxProperties.getRetention());
+        int deleted = outboxDao.deletePublishedBefore(threshold);
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events older than {}", deleted, threshold);
+        }
+    }
+
+    private void trimStream() {
+        try {
+            redisTemplate.opsForStream().trim(outboxProperties.getStreamKey(), outboxProperties.getStreamMaxLength(), true);
+        } catch (Exception e) {
+            log.debug("Cannot trim stream {}: {}", outboxProperties.getStreamKey(), e.getMessage());
+        }
+    }
+
+    private DomainEventMessage toMessage(OutboxEventDto event) {
+        return DomainEventMessage.builder()
+                .outboxId(event.getId())
+                .aggregateType(event.getAggregateType())
+                .aggregateId(event.getAggregateId())
+                .aggregateVersion(event.getAggregateVersion())
+                .eventType(event.getEventType())
+                .dedupKey(event.getDedupKey())
+                .payload(event.getPayload())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+
+    private MapRecord<String, String, String> toRecord(DomainEventMessage message) {
+        Map<String, String> body = new HashMap<>();
+        body.put(DomainEventStreamConsumer.ORIGIN, CacheInvalidationPublisher.NODE_ID);
+        body.put("outbox_id", String.valueOf(message.getOutboxId()));
+        body.put("aggregate_type", message.getAggregateType());
+        body.put("aggregate_id", message.getAggregateId());
+        body.put("event_type", message.getEventType());
+        body.put("dedup_key", message.getDedupKey());
+        body.put("occurred_at", String.valueOf(message.getOccurredAt()));
+        if (message.getAggregateVersion() != null) {
+            body.put("aggregate_version", String.valueOf(message.getAggregateVersion()));
+        }
+        if (message.getPayload() != null) {
+            body.put("payload", message.getPayload());
+        }
+
+        return StreamRecords.newRecord()
+                .in(outboxProperties.getStreamKey())
+                .ofMap(body);
+    }
+}
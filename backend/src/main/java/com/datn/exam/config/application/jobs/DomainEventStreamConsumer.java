@@ -0,0 +1,88 @@
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.config.cache.CacheInvalidationPublisher;
+import com.datn.exam.config.properties.OutboxProperties;
+import com.datn.exam.model.dto.events.DomainEventMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers the domain events relayed by the other nodes to the in-process listeners of this node.
+ * Every node reads the whole stream from where it joined, events relayed by this node were already
+ * published in-process by {@link DomainEventOutboxRelayJob} and are skipped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DomainEventStreamConsumer {
+    static final String ORIGIN = "origin";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxProperties outboxProperties;
+
+    private String lastId;
+
+    @Scheduled(fixedDelayString = "${custom.outbox.poll-interval:PT1S}", initialDelay = 10000)
+    public void consume() {
+        try {
+            if (lastId == null) {
+                lastId = latestId();
+            }
+
+            List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                    StreamReadOptions.empty().count(outboxProperties.getBatchSize()),
+                    StreamOffset.create(outboxProperties.getStreamKey(), ReadOffset.from(lastId)));
+            if (records == null) {
+                return;
+            }
+
+            for (MapRecord<String, Object, Object> record : records) {
+                lastId = record.getId().getValue();
+                if (!CacheInvalidationPublisher.NODE_ID.equals(record.getValue().get(ORIGIN))) {
+                    eventPublisher.publishEvent(toMessage(record.getValue()));
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Cannot read stream {}: {}", outboxProperties.getStreamKey(), e.getMessage());
+        }
+    }
+
+    // a node that joins late starts after the newest event, older ones were handled by the nodes running then
+    private String latestId() {
+        List<MapRecord<String, Object, Object>> newest = redisTemplate.opsForStream()
+                .reverseRange(outboxProperties.getStreamKey(), Range.unbounded(), Limit.limit().count(1));
+
+        return newest == null || newest.isEmpty() ? "0-0" : newest.get(0).getId().getValue();
+    }
+
+    private DomainEventMessage toMessage(Map<Object, Object> body) {
+        Object version = body.get("aggregate_version");
+        Object occurredAt = body.get("occurred_at");
+
+        return DomainEventMessage.builder()
+                .outboxId(Long.valueOf((String) body.get("outbox_id")))
+                .aggregateType((String) body.get("aggregate_type"))
+                .aggregateId((String) body.get("aggregate_id"))
+                .aggregateVersion(version == null ? null : Long.valueOf((String) version))
+                .eventType((String) body.get("event_type"))
+                .dedupKey((String) body.get("dedup_key"))
+                .payload((String) body.get("payload"))
+                .occurredAt(occurredAt == null || "null".equals(occurredAt) ? null : LocalDateTime.parse((String) occurredAt))
+                .build();
+    }
+}
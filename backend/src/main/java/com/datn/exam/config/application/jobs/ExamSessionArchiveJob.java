@@ -0,0 +1,50 @@
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.config.properties.ArchiveProperties;
+import com.datn.exam.repository.data.dao.ArchiveDao;
+import com.datn.exam.service.ExamSessionArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves the attempt data of long finished sessions out of the hot tables, so their indexes only
+ * cover recent terms. A session is restored on demand from the session API.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExamSessionArchiveJob {
+    private final ArchiveDao archiveDao;
+    private final ArchiveProperties archiveProperties;
+    private final ExamSessionArchiveService examSessionArchiveService;
+
+    @Scheduled(cron = "${custom.archive.cron:0 0 4 * * *}")
+    public void archive() {
+        if (!archiveProperties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveProperties.getAfter());
+
+        List<Long> sessionIds;
+        try {
+            sessionIds = archiveDao.findArchivableSessions(cutoff, archiveProperties.getSessionsPerRun());
+        } catch (Exception e) {
+            log.error("Failed to find sessions to archive", e);
+            return;
+        }
+
+        for (Long sessionId : sessionIds) {
+            try {
+                examSessionArchiveService.archive(sessionId);
+            } catch (Exception e) {
+                log.error("Failed to archive session {}", sessionId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.config.email.transport.MailTransport;
+import com.datn.exam.config.email.transport.MailTransportSession;
+import com.datn.exam.config.properties.MailDispatchProperties;
+import com.datn.exam.model.dto.StoredMailContext;
+import com.datn.exam.model.entity.Email;
+import com.datn.exam.repository.EmailRepository;
+import com.datn.exam.repository.data.dao.EmailOutboxDao;
+import com.datn.exam.service.EmailService;
+import com.datn.exam.support.enums.MailPriority;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Polls the emails table and delivers due mails in batches over a single transport connection.
+ * Batches are claimed lane by lane (OTP first) and re-claimed after every batch, so an OTP queued
+ * during a result blast waits for at most one batch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MailOutboxDispatcher {
+    private static final int MAX_BATCHES_PER_RUN = 100;
+
+    private final EmailOutboxDao emailOutboxDao;
+    private final EmailRepository emailRepository;
+    private final EmailService emailService;
+    private final MailTransport mailTransport;
+    private final MailDispatchProperties properties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+    private long nextSendAt = 0;
+
+    @Scheduled(fixedDelayString = "${custom.mail.poll-interval:PT2S}", initialDelay = 5000)
+    public void poll() {
+        dispatch();
+    }
+
+    /**
+     * Wakes the dispatcher right after a mail is queued instead of waiting for the next poll.
+     */
+    @Async("mailExecutor")
+    public void dispatchSoon() {
+        dispatch();
+    }
+
+    /**
+     * A call that finds a run in progress leaves a wake request behind instead of being lost,
+     * the running loop goes round once more for the mails queued in the meantime.
+     */
+    public void dispatch() {
+        if (!properties.isDispatchEnabled()) {
+            return;
+        }
+
+        wakeRequested.set(true);
+        while (wakeRequested.get() && running.compareAndSet(false, true)) {
+            try {
+                wakeRequested.set(false);
+                drain();
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                if (dispatchBatch() < properties.getBatchSize()) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Mail dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private int dispatchBatch() {
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(properties.getLease());
+        List<Long> ids = emailOutboxDao.claimDue(properties.getBatchSize(), leaseUntil);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        List<Email> emails = new ArrayList<>(emailRepository.findAllById(ids));
+        emails.sort(Comparator.comparing((Email e) -> Objects.requireNonNullElse(e.getPriority(), MailPriority.RESULT.getLane()))
+                .thenComparing(Email::getId));
+
+        List<Long> sent = new ArrayList<>();
+        try (MailTransportSession session = mailTransport.open()) {
+            for (Email email : emails) {
+                try {
+                    MimeMessage message = emailService.compose(StoredMailContext.of(email));
+                    pace();
+                    session.send(message);
+                    sent.add(email.getId());
+                } catch (Exception e) {
+                    handleFailure(email, e);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Cannot open mail transport: {}", e.getMessage());
+            emails.stream()
+                    .filter(email -> !sent.contains(email.getId()))
+                    .forEach(email -> handleFailure(email, e));
+        }
+
+        if (!sent.isEmpty()) {
+            emailOutboxDao.markSent(sent);
+        }
+
+        log.info("Dispatched {}/{} mails", sent.size(), ids.size());
+        return ids.size();
+    }
+
+    private void handleFailure(Email email, Exception e) {
+        int attempts = Objects.requireNonNullElse(email.getRetryCount(), 0);
+
+        if (attempts >= properties.getMaxAttempts()) {
+            log.error("Mail {} to {} failed after {} attempts: {}", email.getId(), email.getTo(), attempts, e.getMessage());
+            emailOutboxDao.markFailed(email.getId(), e.getMessage());
+            return;
+        }
+
+        Duration delay = backoff(attempts);
+        log.warn("Mail {} to {} failed (attempt {}), retrying in {}s: {}",
+                email.getId(), email.getTo(), attempts, delay.toSeconds(), e.getMessage());
+        emailOutboxDao.reschedule(email.getId(), LocalDateTime.now().plus(delay), e.getMessage());
+    }
+
+    /**
+     * Exponential backoff with +-20% jitter so a failed blast does not retry in lockstep.
+     */
+    private Duration backoff(int attempts) {
+        long initial = properties.getInitialBackoff().toMillis();
+        long max = properties.getMaxBackoff().toMillis();
+        long exponential = initial << Math.min(Math.max(attempts - 1, 0), 20);
+        long capped = Math.min(exponential, max);
+        double jitter = ThreadLocalRandom.current().nextDouble(0.8, 1.2);
+
+        return Duration.ofMillis((long) (capped * jitter));
+    }
+
+    private void pace() throws InterruptedException {
+        if (properties.getRatePerSecond() <= 0) {
+            return;
+        }
+
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / properties.getRatePerSecond());
+        long now = System.nanoTime();
+        if (nextSendAt > now) {
+            TimeUnit.NANOSECONDS.sleep(nextSendAt - now);
+            now = nextSendAt;
+        }
+        nextSendAt = now + interval;
+    }
+}
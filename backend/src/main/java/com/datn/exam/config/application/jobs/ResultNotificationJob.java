@@ -0,0 +1,215 @@
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.model.dto.StoredMailContext;
+import com.datn.exam.model.dto.response.ResultNotificationProgressResponse;
+import com.datn.exam.model.entity.Email;
+import com.datn.exam.model.entity.Log;
+import com.datn.exam.repository.data.dao.ResultNotificationDao;
+import com.datn.exam.repository.data.dto.AttemptResultSummaryDto;
+import com.datn.exam.support.enums.MailPriority;
+import com.datn.exam.support.util.CheatingLogUtils;
+import com.datn.exam.support.util.JsonUtils;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Queues result mails of a session chunk by chunk. Each chunk is read with one aggregate query and
+ * written with one batched insert in its own transaction; rendering and delivery are left to
+ * {@link MailOutboxDispatcher}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ResultNotificationJob {
+    public static final String RESULT_TEMPLATE = "mail-notification-result-template";
+    public static final String PROGRESS_KEY = "exam:result-notify:progress:%d";
+    public static final String LOCK_KEY = "exam:result-notify:lock:%d";
+    public static final Duration PROGRESS_TTL = Duration.ofDays(1);
+
+    private static final int CHUNK_SIZE = 500;
+    private static final DateTimeFormatter SUBMITTED_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final TypeReference<List<Map<String, Object>>> LOGS_TYPE = new TypeReference<>() {};
+
+    private final ResultNotificationDao resultNotificationDao;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Value("${spring.mail.username}")
+    private String defaultFrom;
+
+    public record SessionInfo(Long sessionId, String examName, String sessionCode, Integer durationMinutes) {
+    }
+
+    @Async("resultNotificationExecutor")
+    public void run(SessionInfo session, String auditor) {
+        String progressKey = PROGRESS_KEY.formatted(session.sessionId());
+        long afterId = 0;
+
+        try {
+            while (true) {
+                List<Long> attemptIds = resultNotificationDao.findGradedAttemptIds(session.sessionId(), afterId, CHUNK_SIZE);
+                if (attemptIds.isEmpty()) {
+                    break;
+                }
+                afterId = attemptIds.get(attemptIds.size() - 1);
+
+                processChunk(session, attemptIds, auditor, progressKey);
+
+                if (attemptIds.size() < CHUNK_SIZE) {
+                    break;
+                }
+            }
+
+            finish(progressKey, ResultNotificationProgressResponse.Status.DONE);
+            log.info("Result notifications queued for session {}", session.sessionId());
+        } catch (Exception e) {
+            log.error("Result notification pipeline failed for session {}: {}", session.sessionId(), e.getMessage(), e);
+            finish(progressKey, ResultNotificationProgressResponse.Status.FAILED);
+        } finally {
+            redisTemplate.delete(LOCK_KEY.formatted(session.sessionId()));
+        }
+    }
+
+    private void processChunk(SessionInfo session, List<Long> attemptIds, String auditor, String progressKey) {
+        List<AttemptResultSummaryDto> summaries = resultNotificationDao.findAttemptSummaries(attemptIds);
+        List<Email> emails = new ArrayList<>(summaries.size());
+        int skipped = 0;
+        int failed = 0;
+
+        for (AttemptResultSummaryDto summary : summaries) {
+            if (summary.getStudentEmail() == null || summary.getStudentEmail().isBlank()) {
+                log.warn("Attempt {} has no student email, skipping email notification", summary.getAttemptId());
+                skipped++;
+                continue;
+            }
+
+            try {
+                emails.add(buildEmail(session, summary, auditor));
+            } catch (Exception e) {
+                log.error("Cannot build result mail for attempt {}: {}", summary.getAttemptId(), e.getMessage());
+                failed++;
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> resultNotificationDao.insertResultMails(emails));
+        } catch (Exception e) {
+            log.error("Cannot queue {} result mails for session {}: {}", emails.size(), session.sessionId(), e.getMessage());
+            failed += emails.size();
+            emails.clear();
+        }
+
+        redisTemplate.opsForHash().increment(progressKey, "queued", emails.size());
+        redisTemplate.opsForHash().increment(progressKey, "skipped", skipped);
+        redisTemplate.opsForHash().increment(progressKey, "failed", failed);
+
+        if (!emails.isEmpty()) {
+            mailOutboxDispatcher.dispatchSoon();
+        }
+    }
+
+    private Email buildEmail(SessionInfo session, AttemptResultSummaryDto summary, String auditor) {
+        int totalQuestions = Objects.requireNonNullElse(summary.getTotalQuestions(), 0);
+        int correctAnswers = Objects.requireNonNullElse(summary.getCorrectAnswers(), 0);
+        int incorrectAnswers = Objects.requireNonNullElse(summary.getIncorrectAnswers(), 0);
+
+        BigDecimal finalScore = summary.getScoreManual() != null &&
+                summary.getScoreManual().compareTo(BigDecimal.ZERO) > 0
+                ? summary.getScoreManual()
+                : summary.getScoreAuto();
+
+        int accuracy = totalQuestions > 0
+                ? (int) Math.round((correctAnswers * 100.0) / totalQuestions)
+                : 0;
+
+        List<String> cheatingLogs = new ArrayList<>();
+        boolean hasCheatingLogs = false;
+
+        if (summary.getCheatingLogs() != null) {
+            for (Map<String, Object> item : parseLogs(summary.getCheatingLogs())) {
+                hasCheatingLogs = true;
+                String message = CheatingLogUtils.describe(toLogType(item.get("type")), (String) item.get("message"));
+                if (message != null) {
+                    cheatingLogs.add(message);
+                }
+            }
+        }
+
+        int fullscreenExitCount = Objects.requireNonNullElse(summary.getFullscreenExitCount(), 0);
+        if (fullscreenExitCount > 0) {
+            hasCheatingLogs = true;
+            cheatingLogs.add(CheatingLogUtils.describeFullscreenExits(fullscreenExitCount));
+        }
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("studentName", summary.getStudentName() != null ? summary.getStudentName() : summary.getStudentEmail());
+        variables.put("examName", session.examName());
+        variables.put("sessionCode", session.sessionCode());
+        variables.put("duration", session.durationMinutes() + " phút");
+        variables.put("submittedDate", summary.getSubmittedAt() != null ? summary.getSubmittedAt().format(SUBMITTED_FORMAT) : "N/A");
+        variables.put("score", finalScore);
+        variables.put("maxScore", summary.getMaxScore());
+        variables.put("totalQuestions", totalQuestions);
+        variables.put("correctAnswers", correctAnswers);
+        variables.put("incorrectAnswers", incorrectAnswers);
+        variables.put("accuracy", accuracy);
+        variables.put("hasCheatingLogs", hasCheatingLogs);
+        variables.put("cheatingLogs", cheatingLogs);
+
+        Email email = Email.builder()
+                .from(defaultFrom)
+                .to(summary.getStudentEmail())
+                .subject("Kết quả bài thi - " + session.examName())
+                .templateName(RESULT_TEMPLATE)
+                .attemptId(summary.getAttemptId())
+                .priority(MailPriority.RESULT.getLane())
+                .variables(StoredMailContext.serialize(variables))
+                .build();
+        email.setCreatedBy(auditor);
+
+        return email;
+    }
+
+    private List<Map<String, Object>> parseLogs(String json) {
+        try {
+            return JsonUtils.unmarshal(json, LOGS_TYPE);
+        } catch (Exception e) {
+            log.warn("Cannot parse cheating logs: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private Log.LogType toLogType(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Log.LogType.valueOf(value.toString());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void finish(String progressKey, ResultNotificationProgressResponse.Status status) {
+        redisTemplate.opsForHash().put(progressKey, "status", status.name());
+        redisTemplate.opsForHash().put(progressKey, "finishedAt", LocalDateTime.now().toString());
+        redisTemplate.expire(progressKey, PROGRESS_TTL);
+    }
+}
@@ -0,0 +1,33 @@
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.model.dto.events.SessionInfoChangedEvent;
+import com.datn.exam.service.ExamJoinService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+
+/**
+ * Evicts after commit, an eviction inside the transaction could be refilled with the old row
+ * by a join request that reads before the update is visible.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionInfoCacheEventListener {
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionInfoChanged(SessionInfoChangedEvent event) {
+        Cache cache = cacheManager.getCache(ExamJoinService.SESSION_INFO_CACHE);
+        if (cache == null) {
+            return;
+        }
+        event.getCodes().stream()
+                .filter(Objects::nonNull)
+                .forEach(cache::evict);
+    }
+}
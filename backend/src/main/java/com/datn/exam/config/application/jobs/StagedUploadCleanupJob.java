@@ -0,0 +1,61 @@
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.config.properties.StorageProperties;
+import com.datn.exam.model.dto.events.StagedUploadsPromotedEvent;
+import com.datn.exam.service.S3Service;
+import com.datn.exam.support.util.StorageKeyUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Drops roster pictures staged by an Excel preview that was never saved. The staging day is part
+ * of the key, so the listing alone tells which objects are stale. Pictures of a saved roster are
+ * dropped right after its commit instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StagedUploadCleanupJob {
+    private final S3Service s3Service;
+    private final StorageProperties storageProperties;
+
+    // a rolled back save keeps its staged pictures until the retention runs out
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStagedUploadsPromoted(StagedUploadsPromotedEvent event) {
+        try {
+            s3Service.deleteFiles(event.getStagedKeys());
+        } catch (Exception e) {
+            log.warn("Failed to delete {} promoted staged uploads: {}", event.getStagedKeys().size(), e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${custom.storage.staging-cleanup-cron:0 15 * * * *}")
+    public void cleanup() {
+        LocalDate cutoff = LocalDate.now().minusDays(Math.max(1, storageProperties.getStagingRetention().toDays()));
+
+        try {
+            List<String> stale = s3Service.listObjects(StorageKeyUtils.STAGING_PREFIX).stream()
+                    .filter(key -> {
+                        LocalDate stagedOn = StorageKeyUtils.stagedOn(key);
+                        return stagedOn == null || stagedOn.isBefore(cutoff);
+                    })
+                    .toList();
+
+            if (stale.isEmpty()) {
+                return;
+            }
+
+            int deleted = s3Service.deleteFiles(stale);
+            log.info("Deleted {} stale staged uploads", deleted);
+        } catch (Exception e) {
+            log.error("Failed to clean up staged uploads", e);
+        }
+    }
+}
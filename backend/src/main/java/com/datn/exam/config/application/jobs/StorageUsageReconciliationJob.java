@@ -0,0 +1,53 @@
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.config.properties.StorageProperties;
+import com.datn.exam.repository.data.dao.StorageUsageDao;
+import com.datn.exam.repository.data.dto.StorageUsageDto;
+import com.datn.exam.service.S3Service;
+import com.datn.exam.support.util.StorageKeyUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rebuilds the storage usage ledger from a paginated listing of the session folders, the sizes
+ * come with the listing so the bucket is never HEADed object by object. Catches drift left by
+ * overwritten keys, rolled back transactions and failed ledger writes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StorageUsageReconciliationJob {
+    private final S3Service s3Service;
+    private final StorageUsageDao storageUsageDao;
+    private final StorageProperties storageProperties;
+
+    @Scheduled(cron = "${custom.storage.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        if (!storageProperties.isReconcileEnabled()) {
+            return;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        try {
+            Map<Long, StorageUsageDto> usage = new HashMap<>();
+            s3Service.summarizeFolders(StorageKeyUtils.SESSION_PREFIX).forEach((folder, folderUsage) -> {
+                Long sessionId = StorageKeyUtils.parseSessionId(folder);
+                if (sessionId != null) {
+                    usage.put(sessionId, folderUsage);
+                }
+            });
+
+            int cleared = storageUsageDao.reconcile(usage, startedAt);
+            log.info("Reconciled storage usage of {} session folders, cleared {} stale rows", usage.size(), cleared);
+        } catch (Exception e) {
+            log.error("Failed to reconcile storage usage", e);
+        }
+    }
+}
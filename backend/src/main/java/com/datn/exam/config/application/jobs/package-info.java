@@ -0,0 +1,5 @@
+@UsePool(WorkloadPool.JOBS)
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.config.datasource.UsePool;
+import com.datn.exam.config.datasource.WorkloadPool;
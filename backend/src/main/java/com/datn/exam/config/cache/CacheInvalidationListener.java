@@ -0,0 +1,45 @@
+package com.datn.exam.config.cache;
+
+import com.datn.exam.support.util.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationListener implements MessageListener {
+
+    private final LayeredCacheManager cacheManager;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationPublisher.CacheInvalidationMessage invalidation;
+        try {
+            invalidation = JsonUtils.unmarshal(
+                    new String(message.getBody(), StandardCharsets.UTF_8),
+                    CacheInvalidationPublisher.CacheInvalidationMessage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+            return;
+        }
+
+        if (CacheInvalidationPublisher.NODE_ID.equals(invalidation.origin())) {
+            return;
+        }
+
+        LayeredCache cache = cacheManager.findLayeredCache(invalidation.cache());
+        if (cache == null) {
+            return;
+        }
+
+        if (invalidation.key() == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.key());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.datn.exam.config.cache;
+
+import com.datn.exam.support.util.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationPublisher {
+
+    public static final String NODE_ID = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+
+    public void publishEvict(String cacheName, String key) {
+        publish(new CacheInvalidationMessage(NODE_ID, cacheName, key));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(NODE_ID, cacheName, null));
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(channel, JsonUtils.marshal(message));
+        } catch (JsonProcessingException e) {
+            log.error("Cannot marshal cache invalidation {}", message, e);
+        } catch (RuntimeException e) {
+            // other nodes fall back to L1 expiry when the channel is unavailable
+            log.warn("Cannot publish cache invalidation for cache {}: {}", message.cache(), e.getMessage());
+        }
+    }
+
+    public record CacheInvalidationMessage(String origin, String cache, String key) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.datn.exam.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two level cache: a bounded in-process Caffeine cache (L1) in front of a shared Redis cache (L2).
+ * Every write or eviction is broadcast so other nodes drop their L1 copy.
+ */
+public class LayeredCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher invalidationPublisher;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LayeredCache(
+            String name,
+            com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+            Cache remote,
+            CacheInvalidationPublisher invalidationPublisher) {
+
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    public Cache getRemote() {
+        return remote;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            remoteHits.increment();
+            local.put(localKey, wrapper.get());
+            return wrapper.get();
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value = remote.get(key, valueLoader);
+        if (value != null) {
+            local.put(localKey(key), value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+
+        remote.put(key, value);
+        local.put(localKey(key), value);
+        invalidationPublisher.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+
+        if (current != null) {
+            local.put(localKey(key), current);
+        }
+        if (existing == null) {
+            invalidationPublisher.publishEvict(name, localKey(key));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        invalidationPublisher.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.publishClear(name);
+    }
+
+    public void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    public long getLocalHits() {
+        return localHits.sum();
+    }
+
+    public long getRemoteHits() {
+        return remoteHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getLocalEvictions() {
+        return local.stats().evictionCount();
+    }
+
+    public long getLocalSize() {
+        return local.estimatedSize();
+    }
+
+    // Redis keys are string based, keep L1 and the invalidation channel on the same representation
+    private String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
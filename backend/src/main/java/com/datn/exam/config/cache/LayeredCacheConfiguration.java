@@ -0,0 +1,59 @@
+package com.datn.exam.config.cache;
+
+import com.datn.exam.config.properties.CustomCacheProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@RequiredArgsConstructor
+public class LayeredCacheConfiguration {
+
+    private final CustomCacheProperties customCacheProperties;
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationPublisher(stringRedisTemplate, customCacheProperties.getLocal().getChannel());
+    }
+
+    @Bean
+    @Primary
+    public LayeredCacheManager cacheManager(
+            RedisCacheManager redisCacheManager,
+            CacheInvalidationPublisher cacheInvalidationPublisher) {
+
+        LayeredCacheManager cacheManager = new LayeredCacheManager(
+                redisCacheManager,
+                cacheInvalidationPublisher,
+                customCacheProperties.getLocal());
+
+        // register configured caches up front so their metrics are bound at startup
+        customCacheProperties.getCustomCache().keySet().forEach(cacheManager::getLayeredCache);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            LayeredCacheManager cacheManager) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(
+                new CacheInvalidationListener(cacheManager),
+                new ChannelTopic(customCacheProperties.getLocal().getChannel()));
+        return container;
+    }
+
+    @Bean
+    public LayeredCacheMetrics layeredCacheMetrics(LayeredCacheManager cacheManager) {
+        return new LayeredCacheMetrics(cacheManager);
+    }
+}
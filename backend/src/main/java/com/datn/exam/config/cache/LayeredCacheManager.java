@@ -0,0 +1,84 @@
+package com.datn.exam.config.cache;
+
+import com.datn.exam.config.properties.CustomCacheProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class LayeredCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final CustomCacheProperties.Local properties;
+
+    private final ConcurrentMap<String, LayeredCache> caches = new ConcurrentHashMap<>();
+
+    public LayeredCacheManager(
+            CacheManager remoteCacheManager,
+            CacheInvalidationPublisher invalidationPublisher,
+            CustomCacheProperties.Local properties) {
+
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.properties = properties;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!properties.isEnabled()) {
+            return remoteCacheManager.getCache(name);
+        }
+        return getLayeredCache(name);
+    }
+
+    // no local copy to drop for a cache this node never opened
+    LayeredCache findLayeredCache(String name) {
+        return caches.get(name);
+    }
+
+    public LayeredCache getLayeredCache(String name) {
+        LayeredCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+
+        return caches.computeIfAbsent(name, n -> new LayeredCache(n, buildLocal(n), remote, invalidationPublisher));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    public Collection<LayeredCache> getLayeredCaches() {
+        return Collections.unmodifiableCollection(caches.values());
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> buildLocal(String name) {
+        CustomCacheProperties.LocalCacheSpec spec = properties.getCaches().getOrDefault(name, properties.getDefaults());
+
+        long maximumSize = spec.getMaximumSize() != null
+                ? spec.getMaximumSize()
+                : properties.getDefaults().getMaximumSize();
+        Duration timeToLive = spec.getTimeToLive() != null
+                ? spec.getTimeToLive()
+                : properties.getDefaults().getTimeToLive();
+
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.datn.exam.config.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class LayeredCacheMetrics implements MeterBinder {
+
+    private final LayeredCacheManager cacheManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (LayeredCache cache : cacheManager.getLayeredCaches()) {
+            String name = cache.getName();
+
+            FunctionCounter.builder("cache.layered.gets", cache, LayeredCache::getLocalHits)
+                    .tags("cache", name, "result", "hit", "layer", "l1")
+                    .register(registry);
+            FunctionCounter.builder("cache.layered.gets", cache, LayeredCache::getRemoteHits)
+                    .tags("cache", name, "result", "hit", "layer", "l2")
+                    .register(registry);
+            FunctionCounter.builder("cache.layered.gets", cache, LayeredCache::getMisses)
+                    .tags("cache", name, "result", "miss", "layer", "l2")
+                    .register(registry);
+            FunctionCounter.builder("cache.layered.evictions", cache, LayeredCache::getLocalEvictions)
+                    .tags("cache", name, "layer", "l1")
+                    .register(registry);
+            Gauge.builder("cache.layered.size", cache, LayeredCache::getLocalSize)
+                    .tags("cache", name, "layer", "l1")
+                    .register(registry);
+        }
+    }
+}
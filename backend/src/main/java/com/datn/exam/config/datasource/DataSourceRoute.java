@@ -0,0 +1,6 @@
+package com.datn.exam.config.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
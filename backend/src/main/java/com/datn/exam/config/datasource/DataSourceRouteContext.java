@@ -0,0 +1,75 @@
+package com.datn.exam.config.datasource;
+
+/**
+ * Per-thread routing state: the {@link UsePool} pool, {@link PinToPrimary} scopes and, inside an
+ * HTTP request, whether the request already wrote to the primary. Reads after such a write stay
+ * on the primary so the request never sees the replica behind its own changes.
+ */
+public final class DataSourceRouteContext {
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private DataSourceRouteContext() {
+    }
+
+    /**
+     * Enters the pool unless an outer call already chose one. Returns whether it did, the caller
+     * then leaves it with {@link #leavePool()}.
+     */
+    public static boolean enterPool(WorkloadPool pool) {
+        State state = STATE.get();
+        if (state.pool != null) {
+            return false;
+        }
+        state.pool = pool;
+        return true;
+    }
+
+    public static void leavePool() {
+        STATE.get().pool = null;
+    }
+
+    public static WorkloadPool currentPool() {
+        return STATE.get().pool;
+    }
+
+    public static void pin() {
+        STATE.get().pinned++;
+    }
+
+    public static void unpin() {
+        State state = STATE.get();
+        state.pinned = Math.max(0, state.pinned - 1);
+    }
+
+    public static boolean isPinned() {
+        return STATE.get().pinned > 0;
+    }
+
+    static void beginRequest() {
+        STATE.get().inRequest = true;
+    }
+
+    static void endRequest() {
+        STATE.remove();
+    }
+
+    // outside a request (jobs, async workers) there is no scope to remember a write in
+    static void markWrite() {
+        State state = STATE.get();
+        if (state.inRequest) {
+            state.written = true;
+        }
+    }
+
+    static boolean hasWritten() {
+        return STATE.get().written;
+    }
+
+    private static final class State {
+        private WorkloadPool pool;
+        private int pinned;
+        private boolean inRequest;
+        private boolean written;
+    }
+}
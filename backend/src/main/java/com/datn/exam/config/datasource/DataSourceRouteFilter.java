@@ -0,0 +1,27 @@
+package com.datn.exam.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens the read-your-writes scope of {@link DataSourceRouteContext} for one request.
+ */
+public class DataSourceRouteFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        DataSourceRouteContext.beginRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DataSourceRouteContext.endRequest();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.datn.exam.config.datasource;
+
+import com.datn.exam.config.properties.DataSourceRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replaces the auto-configured pool when custom.datasource.bulkheads.enabled or
+ * custom.datasource.replica.enabled is set. Primary connections come from spring.datasource.*,
+ * as one pool per workload with bulkheads, and read-only transactions go to the replica with it.
+ */
+@Configuration
+@ConditionalOnExpression("${custom.datasource.replica.enabled:false} or ${custom.datasource.bulkheads.enabled:false}")
+@RequiredArgsConstructor
+public class DataSourceRoutingConfiguration {
+
+    private final DataSourceRoutingProperties routingProperties;
+    private final DataSourceProperties dataSourceProperties;
+    // the pools are not beans, so the actuator cannot find them to publish their hikaricp.* metrics
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Bean
+    @ConditionalOnProperty(prefix = "custom.datasource.bulkheads", name = "enabled", havingValue = "true")
+    public WorkloadPoolDataSource workloadPoolDataSource() {
+        DataSourceRoutingProperties.Bulkheads bulkheads = routingProperties.getBulkheads();
+
+        Map<WorkloadPool, HikariDataSource> pools = new EnumMap<>(WorkloadPool.class);
+        Set<WorkloadPool> failFast = EnumSet.noneOf(WorkloadPool.class);
+        bulkheads.getPools().forEach((pool, settings) -> {
+            HikariDataSource dataSource = primaryPool(pool.name().toLowerCase());
+            dataSource.setMaximumPoolSize(settings.getMaximumPoolSize());
+            dataSource.setMinimumIdle(settings.getMinimumIdle());
+            dataSource.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+            pools.put(pool, dataSource);
+            if (settings.isFailFast()) {
+                failFast.add(pool);
+            }
+        });
+
+        if (!pools.containsKey(bulkheads.getDefaultPool())) {
+            throw new IllegalStateException("No settings for the default pool " + bulkheads.getDefaultPool());
+        }
+
+        return new WorkloadPoolDataSource(pools, failFast, bulkheads.getDefaultPool());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "custom.datasource.replica", name = "enabled", havingValue = "true")
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(ObjectProvider<WorkloadPoolDataSource> workloadPools) {
+        DataSourceRoutingProperties.Replica replicaProperties = routingProperties.getReplica();
+
+        DataSource primary = workloadPools.getIfAvailable();
+        if (primary == null) {
+            primary = primaryPool("primary");
+        }
+
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(replicaProperties.getUrl());
+        replica.setUsername(replicaProperties.getUsername());
+        replica.setPassword(replicaProperties.getPassword());
+        replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        replica.setReadOnly(true);
+        // a replica that is down at startup must not keep the application from starting
+        replica.setInitializationFailTimeout(-1);
+        meterRegistry.ifAvailable(replica::setMetricRegistry);
+
+        return new ReadReplicaRoutingDataSource(primary, replica,
+                new ReplicaHealth(replica, replicaProperties.getMaxLag()));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ObjectProvider<ReadReplicaRoutingDataSource> readReplicaRouting,
+                                 ObjectProvider<WorkloadPoolDataSource> workloadPools) {
+        DataSource target = readReplicaRouting.getIfAvailable();
+        if (target == null) {
+            target = workloadPools.getObject();
+        }
+        return new LazyConnectionDataSourceProxy(target);
+    }
+
+    /**
+     * Open-in-view keeps the Hibernate session for the whole request, and by default the session
+     * holds on to its first connection. A read-only transaction would then leave the replica (or
+     * the pool picked for it) attached to every later transaction of the request, writes included.
+     * Releasing after each transaction lets the next one be routed again.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return properties -> properties.put(
+                AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public FilterRegistrationBean<DataSourceRouteFilter> dataSourceRouteFilter() {
+        FilterRegistrationBean<DataSourceRouteFilter> registration = new FilterRegistrationBean<>(new DataSourceRouteFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private HikariDataSource primaryPool(String name) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(name);
+        meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+        return dataSource;
+    }
+}
@@ -0,0 +1,13 @@
+package com.datn.exam.config.datasource;
+
+import java.lang.annotation.*;
+
+/**
+ * Keeps read-only transactions of the annotated method or class on the primary, for flows that
+ * must read their own writes, such as the candidate attempt flow.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PinToPrimary {
+}
@@ -0,0 +1,26 @@
+package com.datn.exam.config.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// runs outside the transaction interceptor, the pin is set before the connection is routed
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PinToPrimaryAspect {
+
+    @Around("@annotation(com.datn.exam.config.datasource.PinToPrimary) "
+            + "|| @within(com.datn.exam.config.datasource.PinToPrimary)")
+    public Object pin(ProceedingJoinPoint joinPoint) throws Throwable {
+        DataSourceRouteContext.pin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourceRouteContext.unpin();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.datn.exam.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything
+ * else. Must sit behind a LazyConnectionDataSourceProxy: the transaction is only marked read-only
+ * after the transaction manager asked for its connection.
+ */
+@RequiredArgsConstructor
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements MeterBinder, AutoCloseable {
+
+    // a single pool, or the bulkhead pools
+    private final DataSource primary;
+    private final HikariDataSource replica;
+    private final ReplicaHealth replicaHealth;
+
+    private final Map<RouteReason, LongAdder> routed = new ConcurrentHashMap<>();
+
+    enum RouteReason {
+        READ_WRITE(DataSourceRoute.PRIMARY),
+        PINNED(DataSourceRoute.PRIMARY),
+        READ_AFTER_WRITE(DataSourceRoute.PRIMARY),
+        REPLICA_UNAVAILABLE(DataSourceRoute.PRIMARY),
+        REPLICA_FAILED(DataSourceRoute.PRIMARY),
+        READ_ONLY(DataSourceRoute.REPLICA);
+
+        private final DataSourceRoute route;
+
+        RouteReason(DataSourceRoute route) {
+            this.route = route;
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                DataSourceRouteContext.markWrite();
+            }
+            return primary(RouteReason.READ_WRITE);
+        }
+
+        if (DataSourceRouteContext.isPinned()) {
+            return primary(RouteReason.PINNED);
+        }
+
+        if (DataSourceRouteContext.hasWritten()) {
+            return primary(RouteReason.READ_AFTER_WRITE);
+        }
+
+        if (!replicaHealth.isAvailable()) {
+            return primary(RouteReason.REPLICA_UNAVAILABLE);
+        }
+
+        try {
+            Connection connection = replica.getConnection();
+            count(RouteReason.READ_ONLY);
+            return connection;
+        } catch (SQLException e) {
+            replicaHealth.markFailed(e);
+            return primary(RouteReason.REPLICA_FAILED);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${custom.datasource.replica.health-check-interval:PT5S}")
+    public void checkReplica() {
+        replicaHealth.check();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private Connection primary(RouteReason reason) throws SQLException {
+        Connection connection = primary.getConnection();
+        count(reason);
+        return connection;
+    }
+
+    private void count(RouteReason reason) {
+        routed.computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    private long routedCount(RouteReason reason) {
+        LongAdder adder = routed.get(reason);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (RouteReason reason : RouteReason.values()) {
+            FunctionCounter.builder("datasource.route.connections", this, ds -> ds.routedCount(reason))
+                    .tags("route", reason.route.name().toLowerCase(), "reason", reason.name().toLowerCase())
+                    .register(registry);
+        }
+        Gauge.builder("datasource.replica.available", replicaHealth, health -> health.isAvailable() ? 1 : 0)
+                .register(registry);
+        Gauge.builder("datasource.replica.lag.seconds", replicaHealth, ReplicaHealth::getLagSeconds)
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws Exception {
+        replica.close();
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
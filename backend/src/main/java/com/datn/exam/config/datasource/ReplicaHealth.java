@@ -0,0 +1,73 @@
+package com.datn.exam.config.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Replica availability, refreshed by {@link #check()} from SHOW REPLICA STATUS (MySQL 8.0.22+).
+ * An instance that is not replicating at all reports no status row and counts as caught up, so
+ * two standalone local databases can stand in for a primary and its replica.
+ */
+@Slf4j
+public class ReplicaHealth {
+
+    private final DataSource replica;
+    private final Duration maxLag;
+
+    // unavailable until the first check
+    private volatile boolean available;
+    private volatile long lagSeconds = -1;
+
+    public ReplicaHealth(DataSource replica, Duration maxLag) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SHOW REPLICA STATUS")) {
+
+            if (!resultSet.next()) {
+                update(0);
+                return;
+            }
+
+            long lag = resultSet.getLong("Seconds_Behind_Source");
+            // NULL while the replication threads are stopped
+            update(resultSet.wasNull() ? -1 : lag);
+        } catch (SQLException e) {
+            markFailed(e);
+        }
+    }
+
+    public void markFailed(SQLException e) {
+        if (available) {
+            log.warn("Replica unavailable, routing reads to the primary: {}", e.getMessage());
+        }
+        available = false;
+    }
+
+    private void update(long lag) {
+        boolean healthy = lag >= 0 && lag <= maxLag.toSeconds();
+        if (healthy != available) {
+            log.info("Replica {} (lag {}s)", healthy ? "available" : "lagging, routing reads to the primary", lag);
+        }
+        lagSeconds = lag;
+        available = healthy;
+    }
+}
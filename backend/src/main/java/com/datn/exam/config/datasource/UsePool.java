@@ -0,0 +1,15 @@
+package com.datn.exam.config.datasource;
+
+import java.lang.annotation.*;
+
+/**
+ * Selects the connection pool of the annotated method, class or package (package-info) when
+ * bulkheads are enabled. The outermost annotated call wins, so work started by a job keeps
+ * the job pool through the services it calls.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE, ElementType.PACKAGE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UsePool {
+    WorkloadPool value();
+}
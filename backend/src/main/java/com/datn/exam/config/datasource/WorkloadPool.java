@@ -0,0 +1,12 @@
+package com.datn.exam.config.datasource;
+
+public enum WorkloadPool {
+    // exam starts, answers and submits
+    CANDIDATE,
+    // teacher screens and CRUD, also the default for unannotated code
+    TEACHER,
+    // dashboards, statistics and exports
+    REPORTING,
+    // scheduled and asynchronous work
+    JOBS
+}
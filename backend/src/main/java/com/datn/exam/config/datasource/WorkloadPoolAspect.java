@@ -0,0 +1,65 @@
+package com.datn.exam.config.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves {@link UsePool} from the method, its class, then the package of the class. Packages
+ * can only be matched by name, so services and jobs are advised and resolved at runtime.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "custom.datasource.bulkheads", name = "enabled", havingValue = "true")
+public class WorkloadPoolAspect {
+
+    private final Map<Method, Optional<WorkloadPool>> pools = new ConcurrentHashMap<>();
+
+    @Around("@annotation(com.datn.exam.config.datasource.UsePool) "
+            + "|| @within(com.datn.exam.config.datasource.UsePool) "
+            + "|| within(com.datn.exam.service..*) "
+            + "|| within(com.datn.exam.config.application.jobs..*)")
+    public Object usePool(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = joinPoint.getTarget() != null
+                ? AopUtils.getTargetClass(joinPoint.getTarget())
+                : method.getDeclaringClass();
+
+        Optional<WorkloadPool> pool = pools.computeIfAbsent(
+                AopUtils.getMostSpecificMethod(method, targetClass), WorkloadPoolAspect::resolve);
+
+        if (pool.isEmpty() || !DataSourceRouteContext.enterPool(pool.get())) {
+            return joinPoint.proceed();
+        }
+
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DataSourceRouteContext.leavePool();
+        }
+    }
+
+    private static Optional<WorkloadPool> resolve(Method method) {
+        UsePool annotation = AnnotatedElementUtils.findMergedAnnotation(method, UsePool.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), UsePool.class);
+        }
+        if (annotation == null) {
+            annotation = method.getDeclaringClass().getPackage().getAnnotation(UsePool.class);
+        }
+        return Optional.ofNullable(annotation).map(UsePool::value);
+    }
+}
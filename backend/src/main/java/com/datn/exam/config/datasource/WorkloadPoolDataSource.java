@@ -0,0 +1,107 @@
+package com.datn.exam.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * Primary connections split into one pool per {@link WorkloadPool} (bulkheads), so a burst of
+ * reports cannot take the connections a live exam needs. Fail-fast pools give up after their
+ * short timeout with a {@link WorkloadPoolExhaustedException}.
+ */
+public class WorkloadPoolDataSource extends AbstractDataSource implements MeterBinder, AutoCloseable {
+
+    private final Map<WorkloadPool, HikariDataSource> pools;
+    private final Set<WorkloadPool> failFast;
+    private final WorkloadPool defaultPool;
+    private final Map<WorkloadPool, LongAdder> rejected = new EnumMap<>(WorkloadPool.class);
+
+    public WorkloadPoolDataSource(Map<WorkloadPool, HikariDataSource> pools,
+                                  Set<WorkloadPool> failFast,
+                                  WorkloadPool defaultPool) {
+        this.pools = new EnumMap<>(pools);
+        this.failFast = failFast;
+        this.defaultPool = defaultPool;
+        for (WorkloadPool pool : WorkloadPool.values()) {
+            rejected.put(pool, new LongAdder());
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        WorkloadPool pool = currentPool();
+        try {
+            return pools.get(pool).getConnection();
+        } catch (SQLTransientConnectionException e) {
+            rejected.get(pool).increment();
+            if (failFast.contains(pool)) {
+                throw new WorkloadPoolExhaustedException(pool, e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return pools.get(currentPool()).getConnection(username, password);
+    }
+
+    private WorkloadPool currentPool() {
+        WorkloadPool pool = DataSourceRouteContext.currentPool();
+        return pool != null && pools.containsKey(pool) ? pool : defaultPool;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pools.forEach((pool, dataSource) -> {
+            String name = pool.name().toLowerCase();
+
+            gauge(registry, "datasource.pool.active", name, dataSource, HikariPoolMXBean::getActiveConnections);
+            gauge(registry, "datasource.pool.idle", name, dataSource, HikariPoolMXBean::getIdleConnections);
+            // threads waiting for a connection, above zero the pool is saturated
+            gauge(registry, "datasource.pool.pending", name, dataSource, HikariPoolMXBean::getThreadsAwaitingConnection);
+            Gauge.builder("datasource.pool.max", dataSource, HikariDataSource::getMaximumPoolSize)
+                    .tags("pool", name)
+                    .register(registry);
+            Gauge.builder("datasource.pool.usage", dataSource, WorkloadPoolDataSource::usage)
+                    .tags("pool", name)
+                    .register(registry);
+            FunctionCounter.builder("datasource.pool.rejected", rejected.get(pool), LongAdder::sum)
+                    .tags("pool", name)
+                    .register(registry);
+        });
+    }
+
+    private static void gauge(MeterRegistry registry, String meter, String pool,
+                              HikariDataSource dataSource, ToIntFunction<HikariPoolMXBean> value) {
+        Gauge.builder(meter, dataSource, ds -> {
+                    HikariPoolMXBean bean = ds.getHikariPoolMXBean();
+                    return bean == null ? 0 : value.applyAsInt(bean);
+                })
+                .tags("pool", pool)
+                .register(registry);
+    }
+
+    private static double usage(HikariDataSource dataSource) {
+        HikariPoolMXBean bean = dataSource.getHikariPoolMXBean();
+        return bean == null ? 0.0 : (double) bean.getActiveConnections() / dataSource.getMaximumPoolSize();
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
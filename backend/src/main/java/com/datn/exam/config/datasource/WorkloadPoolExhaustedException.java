@@ -0,0 +1,13 @@
+package com.datn.exam.config.datasource;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * A fail-fast pool had no free connection within its short timeout.
+ */
+public class WorkloadPoolExhaustedException extends SQLTransientConnectionException {
+
+    public WorkloadPoolExhaustedException(WorkloadPool pool, Throwable cause) {
+        super("Connection pool " + pool.name().toLowerCase() + " is exhausted", cause);
+    }
+}
@@ -1,5 +1,6 @@
 package com.datn.exam.config.email;
 
+import com.datn.exam.config.properties.StorageProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,6 +8,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -16,9 +18,13 @@ public class AsyncConfig {
     @Bean(name = "mailExecutor")
     public Executor mailExecutor() {
         ThreadPoolTaskExecutor exec = new ThreadPoolTaskExecutor();
-        exec.setCorePoolSize(2);
-        exec.setMaxPoolSize(8);
-        exec.setQueueCapacity(200);
+        // only wakes MailOutboxDispatcher: a wake-up is rejected only while another one is queued,
+        // and a wake-up that finds a run in progress is replayed by that run
+        exec.setCorePoolSize(1);
+        exec.setMaxPoolSize(1);
+        exec.setQueueCapacity(1);
+        exec.setRejectedExecutionHandler((task, executor) ->
+                log.debug("Mail dispatch wake-up already queued"));
         exec.setThreadNamePrefix("mail-");
         exec.setWaitForTasksToCompleteOnShutdown(true);
         exec.setAwaitTerminationSeconds(10);
@@ -28,4 +34,41 @@ public class AsyncConfig {
 
         return exec;
     }
-}
\ No newline at end of file
+
+    @Bean(name = "resultNotificationExecutor")
+    public Executor resultNotificationExecutor() {
+        ThreadPoolTaskExecutor exec = new ThreadPoolTaskExecutor();
+        exec.setCorePoolSize(1);
+        exec.setMaxPoolSize(2);
+        exec.setQueueCapacity(20);
+        exec.setThreadNamePrefix("result-notify-");
+        exec.setWaitForTasksToCompleteOnShutdown(true);
+        exec.setAwaitTerminationSeconds(30);
+        exec.initialize();
+
+        log.info("Initialized resultNotificationExecutor");
+
+        return exec;
+    }
+
+    @Bean(name = "avatarExecutor")
+    public Executor avatarExecutor(StorageProperties storageProperties) {
+        StorageProperties.Avatar avatar = storageProperties.getAvatar();
+
+        ThreadPoolTaskExecutor exec = new ThreadPoolTaskExecutor();
+        // image decoding is CPU and heap heavy, a fixed pool keeps a large import from starving requests
+        exec.setCorePoolSize(avatar.getWorkers());
+        exec.setMaxPoolSize(avatar.getWorkers());
+        exec.setQueueCapacity(avatar.getQueueCapacity());
+        // a full queue slows the importing caller down instead of losing the thumbnails of a student
+        exec.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        exec.setThreadNamePrefix("avatar-");
+        exec.setWaitForTasksToCompleteOnShutdown(true);
+        exec.setAwaitTerminationSeconds(30);
+        exec.initialize();
+
+        log.info("Initialized avatarExecutor");
+
+        return exec;
+    }
+}
@@ -23,7 +23,8 @@ public class TemplateEngineConfiguration {
         classLoaderTemplateResolver.setSuffix(".html");
         classLoaderTemplateResolver.setTemplateMode(TemplateMode.HTML);
         classLoaderTemplateResolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
-        classLoaderTemplateResolver.setCacheable(false);
+        // parse each mail template once instead of on every send
+        classLoaderTemplateResolver.setCacheable(true);
         return classLoaderTemplateResolver;
 
     }
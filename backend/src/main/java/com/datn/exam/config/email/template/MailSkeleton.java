@@ -0,0 +1,161 @@
+package com.datn.exam.config.email.template;
+
+import org.unbescape.html.HtmlEscape;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A template rendered once with placeholder tokens in place of the per-recipient variables.
+ * Rendering a recipient is then plain string concatenation of the literal parts and the
+ * escaped values, the way th:text would have written them.
+ */
+public class MailSkeleton {
+    private static final char SCALAR_START = '\uE000';
+    private static final char LIST_ITEM_START = '\uE001';
+    private static final char TOKEN_END = '\uE002';
+
+    private final List<Segment> segments;
+    private final int estimatedLength;
+
+    private MailSkeleton(List<Segment> segments, int estimatedLength) {
+        this.segments = segments;
+        this.estimatedLength = estimatedLength;
+    }
+
+    public static String scalarToken(String name) {
+        return SCALAR_START + name + TOKEN_END;
+    }
+
+    public static String listItemToken(String name) {
+        return LIST_ITEM_START + name + TOKEN_END;
+    }
+
+    /**
+     * Splits the placeholder rendering into segments, null when a list item token is not the only
+     * text of its element (the repeated unit cannot be told apart from the surrounding markup).
+     */
+    public static MailSkeleton parse(String html, Set<String> scalarNames, Set<String> listNames) {
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+
+        while (position < html.length()) {
+            int next = nextTokenStart(html, position);
+            if (next < 0) {
+                segments.add(new Literal(html.substring(position)));
+                break;
+            }
+
+            int end = html.indexOf(TOKEN_END, next);
+            if (end < 0) {
+                return null;
+            }
+            String name = html.substring(next + 1, end);
+
+            if (html.charAt(next) == SCALAR_START) {
+                if (!scalarNames.contains(name)) {
+                    return null;
+                }
+                segments.add(new Literal(html.substring(position, next)));
+                segments.add(new Scalar(name));
+                position = end + 1;
+                continue;
+            }
+
+            if (!listNames.contains(name)) {
+                return null;
+            }
+
+            int openStart = html.lastIndexOf('<', next);
+            if (openStart < position || html.charAt(openStart + 1) == '/') {
+                return null;
+            }
+            int nameEnd = openStart + 1;
+            while (nameEnd < html.length() && Character.isLetterOrDigit(html.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            String closeTag = "</" + html.substring(openStart + 1, nameEnd) + ">";
+            int closeStart = html.indexOf(closeTag, end);
+            if (closeStart < 0 || nextTokenStart(html.substring(end + 1, closeStart), 0) >= 0) {
+                return null;
+            }
+            int unitEnd = closeStart + closeTag.length();
+
+            // th:each repeats the whitespace preceding the element between iterations
+            int separatorStart = openStart;
+            while (separatorStart > position && Character.isWhitespace(html.charAt(separatorStart - 1))) {
+                separatorStart--;
+            }
+
+            segments.add(new Literal(html.substring(position, openStart)));
+            segments.add(new Repeat(
+                    name,
+                    html.substring(separatorStart, openStart),
+                    html.substring(openStart, next),
+                    html.substring(end + 1, unitEnd)
+            ));
+            position = unitEnd;
+        }
+
+        int length = segments.stream()
+                .mapToInt(segment -> segment instanceof Literal literal ? literal.text().length() : 16)
+                .sum();
+        return new MailSkeleton(List.copyOf(segments), length);
+    }
+
+    public String render(Map<String, Object> variables) {
+        StringBuilder html = new StringBuilder(estimatedLength + 256);
+
+        for (Segment segment : segments) {
+            if (segment instanceof Literal literal) {
+                html.append(literal.text());
+            } else if (segment instanceof Scalar scalar) {
+                html.append(escape(variables.get(scalar.name())));
+            } else if (segment instanceof Repeat repeat) {
+                Object value = variables.get(repeat.name());
+                if (!(value instanceof Collection<?> items)) {
+                    continue;
+                }
+                boolean first = true;
+                for (Object item : items) {
+                    if (!first) {
+                        html.append(repeat.separator());
+                    }
+                    html.append(repeat.prefix()).append(escape(item)).append(repeat.suffix());
+                    first = false;
+                }
+            }
+        }
+
+        return html.toString();
+    }
+
+    private static int nextTokenStart(String html, int from) {
+        for (int i = from; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (c == SCALAR_START || c == LIST_ITEM_START) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String escape(Object value) {
+        return value == null ? "" : HtmlEscape.escapeHtml4Xml(String.valueOf(value));
+    }
+
+    private sealed interface Segment permits Literal, Scalar, Repeat {
+    }
+
+    private record Literal(String text) implements Segment {
+    }
+
+    private record Scalar(String name) implements Segment {
+    }
+
+    private record Repeat(String name, String separator, String prefix, String suffix) implements Segment {
+    }
+}
@@ -0,0 +1,113 @@
+package com.datn.exam.config.email.template;
+
+import com.datn.exam.config.properties.MailDispatchProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Renders mail templates. Templates listed under custom.mail.templates are rendered once per
+ * combination of shared variables (exam, session...) into a {@link MailSkeleton}, recipients only
+ * pay for the substitution of their own values. Other templates go through Thymeleaf as before.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MailTemplateRenderer {
+    private final SpringTemplateEngine templateEngine;
+    private final MailDispatchProperties properties;
+    private final Cache<SkeletonKey, Optional<MailSkeleton>> skeletons = Caffeine.newBuilder()
+            .maximumSize(500)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    public String render(String templateName, Map<String, Object> variables) {
+        MailDispatchProperties.Template spec = properties.getTemplates().get(templateName);
+        if (spec == null) {
+            return renderFull(templateName, variables);
+        }
+
+        Set<String> sharedNames = new HashSet<>(spec.getSharedVariables());
+        SkeletonKey key = SkeletonKey.of(templateName, sharedNames, variables);
+
+        return skeletons.get(key, k -> buildSkeleton(templateName, sharedNames, variables))
+                .map(skeleton -> skeleton.render(variables))
+                .orElseGet(() -> renderFull(templateName, variables));
+    }
+
+    public String renderFull(String templateName, Map<String, Object> variables) {
+        Context context = new Context();
+        variables.forEach(context::setVariable);
+        return templateEngine.process(templateName, context);
+    }
+
+    /**
+     * Renders the template with placeholders, then checks the skeleton reproduces the full
+     * rendering of the first recipient. The cache key carries the recipient's variable names, so
+     * every distinct set of keys gets its own skeleton and its own check. Templates that use a
+     * recipient value in a way the skeleton cannot replay (formatting, conditions) fall back to
+     * full rendering.
+     */
+    private Optional<MailSkeleton> buildSkeleton(String templateName, Set<String> sharedNames, Map<String, Object> sample) {
+        Map<String, Object> placeholders = new HashMap<>(sample);
+        Set<String> scalarNames = new HashSet<>();
+        Set<String> listNames = new HashSet<>();
+
+        sample.forEach((name, value) -> {
+            if (sharedNames.contains(name) || value instanceof Boolean) {
+                return;
+            }
+            if (value instanceof Collection<?>) {
+                placeholders.put(name, List.of(MailSkeleton.listItemToken(name)));
+                listNames.add(name);
+            } else {
+                placeholders.put(name, MailSkeleton.scalarToken(name));
+                scalarNames.add(name);
+            }
+        });
+
+        MailSkeleton skeleton = MailSkeleton.parse(renderFull(templateName, placeholders), scalarNames, listNames);
+        if (skeleton == null || !skeleton.render(sample).equals(renderFull(templateName, sample))) {
+            log.warn("Template [{}] cannot be pre-rendered, falling back to full rendering", templateName);
+            return Optional.empty();
+        }
+
+        log.debug("Pre-rendered template [{}] with {} recipient variables", templateName, scalarNames.size() + listNames.size());
+        return Optional.of(skeleton);
+    }
+
+    private record SkeletonKey(String templateName, Set<String> names, Map<String, Object> shared, Map<String, Boolean> flags) {
+
+        static SkeletonKey of(String templateName, Set<String> sharedNames, Map<String, Object> variables) {
+            Map<String, Object> shared = new HashMap<>();
+            Map<String, Boolean> flags = new HashMap<>();
+
+            variables.forEach((name, value) -> {
+                if (sharedNames.contains(name)) {
+                    shared.put(name, value);
+                } else if (value instanceof Boolean bool) {
+                    flags.put(name, bool);
+                } else if (value instanceof Collection<?> items) {
+                    flags.put(name + "[]", items.isEmpty());
+                } else if (value == null) {
+                    flags.put(name + "?", false);
+                }
+            });
+
+            return new SkeletonKey(templateName, Set.copyOf(variables.keySet()), shared, flags);
+        }
+    }
+}
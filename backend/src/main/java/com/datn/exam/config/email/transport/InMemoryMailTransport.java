@@ -0,0 +1,53 @@
+package com.datn.exam.config.email.transport;
+
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fake SMTP sink for local runs and tests, enabled with custom.mail.transport=fake.
+ * Messages are kept in memory instead of being delivered.
+ */
+@Component
+@ConditionalOnProperty(prefix = "custom.mail", name = "transport", havingValue = "fake")
+@Slf4j
+public class InMemoryMailTransport implements MailTransport {
+    private final List<MimeMessage> delivered = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    @Override
+    public MailTransportSession open() {
+        connections.incrementAndGet();
+
+        return new MailTransportSession() {
+            @Override
+            public void send(MimeMessage message) {
+                delivered.add(message);
+                log.debug("Captured fake mail #{}", delivered.size());
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    public List<MimeMessage> getDelivered() {
+        return new ArrayList<>(delivered);
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    public void clear() {
+        delivered.clear();
+        connections.set(0);
+    }
+}
@@ -0,0 +1,10 @@
+package com.datn.exam.config.email.transport;
+
+import jakarta.mail.MessagingException;
+
+public interface MailTransport {
+    /**
+     * Opens one connection that is reused for every message of a dispatch batch.
+     */
+    MailTransportSession open() throws MessagingException;
+}
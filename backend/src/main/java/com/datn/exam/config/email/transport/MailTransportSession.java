@@ -0,0 +1,11 @@
+package com.datn.exam.config.email.transport;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+public interface MailTransportSession extends AutoCloseable {
+    void send(MimeMessage message) throws MessagingException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,50 @@
+package com.datn.exam.config.email.transport;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+@Component
+@ConditionalOnProperty(prefix = "custom.mail", name = "transport", havingValue = "smtp", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SmtpMailTransport implements MailTransport {
+    private final JavaMailSender mailSender;
+
+    @Override
+    public MailTransportSession open() throws MessagingException {
+        JavaMailSenderImpl sender = (JavaMailSenderImpl) mailSender;
+        Session session = sender.getSession();
+        Transport transport = session.getTransport(sender.getProtocol());
+        transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+
+        return new MailTransportSession() {
+            @Override
+            public void send(MimeMessage message) throws MessagingException {
+                if (message.getSentDate() == null) {
+                    message.setSentDate(new Date());
+                }
+                message.saveChanges();
+                transport.sendMessage(message, message.getAllRecipients());
+            }
+
+            @Override
+            public void close() {
+                try {
+                    transport.close();
+                } catch (MessagingException e) {
+                    log.warn("Cannot close SMTP transport: {}", e.getMessage());
+                }
+            }
+        };
+    }
+}
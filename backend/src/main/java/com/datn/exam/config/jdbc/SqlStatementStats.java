@@ -0,0 +1,68 @@
+package com.datn.exam.config.jdbc;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statements, rows and database time of one HTTP request or scheduled job. Only touched by the
+ * thread that owns the scope, so plain fields are enough.
+ */
+@Getter
+public class SqlStatementStats {
+
+    // distinct statement texts remembered for the offender log, a loop of literals must not grow it without limit
+    private static final int MAX_DISTINCT_STATEMENTS = 200;
+
+    @Setter
+    private String name;
+    private int statements;
+    private int hibernateStatements;
+    private long rows;
+    private long dbNanos;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<String, Integer> executions = new HashMap<>();
+
+    SqlStatementStats(String name) {
+        this.name = name;
+    }
+
+    void statementExecuted(String sql, long nanos) {
+        statements++;
+        dbNanos += nanos;
+        if (sql != null && (executions.size() < MAX_DISTINCT_STATEMENTS || executions.containsKey(sql))) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void hibernateStatementPrepared() {
+        hibernateStatements++;
+    }
+
+    void rowsRead(long count) {
+        rows += count;
+    }
+
+    /**
+     * Statements counted by whichever layer saw more of them: the JDBC proxy sees everything when
+     * it wraps the data source, the inspector still sees Hibernate's statements when it does not.
+     */
+    public int getQueryCount() {
+        return Math.max(statements, hibernateStatements);
+    }
+
+    /**
+     * The statements executed most often, an N+1 shows up as one text repeated once per parent row.
+     */
+    public List<Map.Entry<String, Integer>> mostRepeated(int limit) {
+        return executions.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+}
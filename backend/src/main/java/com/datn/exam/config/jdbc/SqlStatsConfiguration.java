@@ -0,0 +1,55 @@
+package com.datn.exam.config.jdbc;
+
+import com.datn.exam.config.properties.SqlStatsProperties;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Counts statements per request and per scheduled job. The data source bean is wrapped in
+ * {@link StatementCountingDataSource} after it is created, so it works the same with the plain
+ * auto-configured pool and with the routing data sources.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "custom.sql-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfiguration {
+
+    // static, so wrapping the data source does not pull this configuration in before post-processors are ready
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatsRecorder sqlStatsRecorder(SqlStatsProperties properties) {
+        return new SqlStatsRecorder(properties);
+    }
+
+    @Bean
+    public SqlStatsJobAspect sqlStatsJobAspect(SqlStatsRecorder recorder) {
+        return new SqlStatsJobAspect(recorder);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(SqlStatsRecorder recorder) {
+        FilterRegistrationBean<SqlStatsFilter> registration = new FilterRegistrationBean<>(new SqlStatsFilter(recorder));
+        // right after the route filter and ahead of security, which loads the user
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
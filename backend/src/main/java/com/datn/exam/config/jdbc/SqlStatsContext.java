@@ -0,0 +1,36 @@
+package com.datn.exam.config.jdbc;
+
+/**
+ * Per-thread {@link SqlStatementStats} of the running request or job. The outermost scope wins:
+ * a job calling a service that opens its own scope is still counted as the job.
+ */
+public final class SqlStatsContext {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatsContext() {
+    }
+
+    /**
+     * Opens a scope unless one is already open. Returns its stats, or null when an outer scope
+     * owns the thread; the caller closes what it opened with {@link #close(SqlStatementStats)}.
+     */
+    public static SqlStatementStats open(String name) {
+        if (CURRENT.get() != null) {
+            return null;
+        }
+        SqlStatementStats stats = new SqlStatementStats(name);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void close(SqlStatementStats stats) {
+        if (stats != null && CURRENT.get() == stats) {
+            CURRENT.remove();
+        }
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+}
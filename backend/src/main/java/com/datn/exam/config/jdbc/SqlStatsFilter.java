@@ -0,0 +1,43 @@
+package com.datn.exam.config.jdbc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link SqlStatsContext} scope for one request. The endpoint is the matched handler
+ * pattern rather than the URI, so path variables do not turn into one tag per exam session.
+ */
+@RequiredArgsConstructor
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final SqlStatsRecorder recorder;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatsContext.open(UNMATCHED);
+        if (stats == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatsContext.close(stats);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            stats.setName(request.getMethod() + " " + (pattern != null ? pattern : UNMATCHED));
+            recorder.record(SqlStatsRecorder.SCOPE_HTTP, stats);
+        }
+    }
+}
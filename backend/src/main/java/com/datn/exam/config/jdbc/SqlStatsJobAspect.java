@@ -0,0 +1,37 @@
+package com.datn.exam.config.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+
+/**
+ * Opens a {@link SqlStatsContext} scope around every {@link org.springframework.scheduling.annotation.Scheduled}
+ * run, tagged ClassName.method.
+ */
+@Aspect
+@RequiredArgsConstructor
+public class SqlStatsJobAspect {
+
+    private final SqlStatsRecorder recorder;
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Scheduled)")
+    public Object countStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> targetClass = joinPoint.getTarget() != null
+                ? AopUtils.getTargetClass(joinPoint.getTarget())
+                : joinPoint.getSignature().getDeclaringType();
+        SqlStatementStats stats = SqlStatsContext.open(
+                targetClass.getSimpleName() + "." + joinPoint.getSignature().getName());
+        if (stats == null) {
+            return joinPoint.proceed();
+        }
+
+        try {
+            return joinPoint.proceed();
+        } finally {
+            SqlStatsContext.close(stats);
+            recorder.record(SqlStatsRecorder.SCOPE_JOB, stats);
+        }
+    }
+}
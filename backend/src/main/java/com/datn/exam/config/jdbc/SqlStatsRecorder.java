@@ -0,0 +1,78 @@
+package com.datn.exam.config.jdbc;
+
+import com.datn.exam.config.properties.SqlStatsProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes the stats of each finished scope as sql.statements, sql.rows and sql.time, tagged by
+ * scope (http or job) and endpoint, and logs scopes that ran over their budget. Until a registry
+ * binds it only the budget check runs.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatsRecorder implements MeterBinder {
+
+    public static final String SCOPE_HTTP = "http";
+    public static final String SCOPE_JOB = "job";
+
+    // statement texts are logged up to this length, a generated IN list can run to kilobytes
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final SqlStatsProperties properties;
+
+    private volatile MeterRegistry registry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(String scope, SqlStatementStats stats) {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry != null) {
+            DistributionSummary.builder("sql.statements")
+                    .tags("scope", scope, "endpoint", stats.getName())
+                    .register(meterRegistry)
+                    .record(stats.getQueryCount());
+            DistributionSummary.builder("sql.rows")
+                    .tags("scope", scope, "endpoint", stats.getName())
+                    .register(meterRegistry)
+                    .record(stats.getRows());
+            Timer.builder("sql.time")
+                    .tags("scope", scope, "endpoint", stats.getName())
+                    .register(meterRegistry)
+                    .record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        int budget = properties.getStatementBudgets().getOrDefault(stats.getName(), properties.getStatementBudget());
+        long dbMillis = TimeUnit.NANOSECONDS.toMillis(stats.getDbNanos());
+        if (stats.getQueryCount() > budget || dbMillis > properties.getDbTimeBudget().toMillis()) {
+            log.warn("{} {} ran {} statements (budget {}), {} rows, {} ms in the database; most repeated: {}",
+                    scope, stats.getName(), stats.getQueryCount(), budget, stats.getRows(), dbMillis,
+                    describe(stats));
+        }
+    }
+
+    private String describe(SqlStatementStats stats) {
+        return stats.mostRepeated(properties.getTopStatements()).stream()
+                .map(SqlStatsRecorder::describe)
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String describe(Map.Entry<String, Integer> execution) {
+        String sql = execution.getKey().replaceAll("\\s+", " ").trim();
+        if (sql.length() > MAX_LOGGED_SQL_LENGTH) {
+            sql = sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+        }
+        return execution.getValue() + "x " + sql;
+    }
+}
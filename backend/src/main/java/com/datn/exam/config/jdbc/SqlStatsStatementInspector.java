@@ -0,0 +1,20 @@
+package com.datn.exam.config.jdbc;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the statements Hibernate prepares, registered through
+ * hibernate.session_factory.statement_inspector. Hibernate creates it by class name, so it keeps
+ * no state of its own and reports to {@link SqlStatsContext}.
+ */
+public class SqlStatsStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStats stats = SqlStatsContext.current();
+        if (stats != null) {
+            stats.hibernateStatementPrepared();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,162 @@
+package com.datn.exam.config.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reports every statement executed through the data source to {@link SqlStatsContext}: one per
+ * execute call (a batch is one round trip), the time spent in it, rows read from its result set
+ * and rows reported by updates. Time spent reading a streamed result set is not included.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            Object result = StatementCountingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                default -> result;
+            };
+        }
+    }
+
+    private record StatementHandler(Statement target, String preparedSql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            SqlStatementStats stats = SqlStatsContext.current();
+            if (stats == null) {
+                return StatementCountingDataSource.invoke(target, method, args);
+            }
+
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                long start = System.nanoTime();
+                Object result;
+                try {
+                    result = StatementCountingDataSource.invoke(target, method, args);
+                } finally {
+                    stats.statementExecuted(sql, System.nanoTime() - start);
+                }
+                return counted(stats, result);
+            }
+
+            Object result = StatementCountingDataSource.invoke(target, method, args);
+            return "getResultSet".equals(name) ? counted(stats, result) : result;
+        }
+
+        private static Object counted(SqlStatementStats stats, Object result) {
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, stats));
+            }
+            if (result instanceof Integer count) {
+                stats.rowsRead(Math.max(count, 0));
+            } else if (result instanceof Long count) {
+                stats.rowsRead(Math.max(count, 0));
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    stats.rowsRead(Math.max(count, 0));
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    stats.rowsRead(Math.max(count, 0));
+                }
+            }
+            return result;
+        }
+    }
+
+    private record ResultSetHandler(ResultSet target, SqlStatementStats stats) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            Object result = StatementCountingDataSource.invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                stats.rowsRead(1);
+            }
+            return result;
+        }
+    }
+}
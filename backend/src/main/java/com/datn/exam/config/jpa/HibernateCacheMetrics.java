@@ -0,0 +1,68 @@
+package com.datn.exam.config.jpa;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Second-level and query cache counters from Hibernate statistics
+ * (requires hibernate.generate_statistics).
+ */
+@Component
+@RequiredArgsConstructor
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+
+        FunctionCounter.builder("hibernate.l2.gets", statistics, Statistics::getSecondLevelCacheHitCount)
+                .tags("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("hibernate.l2.gets", statistics, Statistics::getSecondLevelCacheMissCount)
+                .tags("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("hibernate.l2.puts", statistics, Statistics::getSecondLevelCachePutCount)
+                .register(registry);
+        Gauge.builder("hibernate.l2.hit.ratio", statistics, s -> ratio(
+                        s.getSecondLevelCacheHitCount(), s.getSecondLevelCacheMissCount()))
+                .register(registry);
+
+        FunctionCounter.builder("hibernate.query.cache.gets", statistics, Statistics::getQueryCacheHitCount)
+                .tags("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("hibernate.query.cache.gets", statistics, Statistics::getQueryCacheMissCount)
+                .tags("result", "miss")
+                .register(registry);
+        Gauge.builder("hibernate.query.cache.hit.ratio", statistics, s -> ratio(
+                        s.getQueryCacheHitCount(), s.getQueryCacheMissCount()))
+                .register(registry);
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            FunctionCounter.builder("hibernate.l2.region.gets", statistics,
+                            s -> s.getDomainDataRegionStatistics(region).getHitCount())
+                    .tags("region", region, "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("hibernate.l2.region.gets", statistics,
+                            s -> s.getDomainDataRegionStatistics(region).getMissCount())
+                    .tags("region", region, "result", "miss")
+                    .register(registry);
+        }
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
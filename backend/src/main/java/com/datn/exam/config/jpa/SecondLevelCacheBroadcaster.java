@@ -0,0 +1,95 @@
+package com.datn.exam.config.jpa;
+
+import com.datn.exam.config.cache.CacheInvalidationPublisher;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.EntityType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tells the other nodes which cached entities a committed transaction changed, so they evict their
+ * local second-level copies instead of serving them until the region expires. A changed child also
+ * names the cached inverse collection of its parent, e.g. an answer names {@code Question.answers}
+ * of its question. This node keeps its own regions current through READ_WRITE and
+ * {@code hibernate.cache.auto_evict_collection_cache}.
+ */
+@RequiredArgsConstructor
+public class SecondLevelCacheBroadcaster implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    static final String CACHE_PREFIX = "hibernate:";
+
+    private final CacheInvalidationPublisher publisher;
+    private final SessionFactoryImplementor sessionFactory;
+
+    // child entity name -> cached inverse collections of its parents
+    private final Map<String, List<ParentCollection>> parentCollections = new HashMap<>();
+
+    void init() {
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(collection -> {
+            if (collection.hasCache() && collection.isInverse() && collection.getMappedByProperty() != null
+                    && collection.getElementType() instanceof EntityType element) {
+                parentCollections.computeIfAbsent(element.getAssociatedEntityName(), key -> new ArrayList<>())
+                        .add(new ParentCollection(collection.getRole(), collection.getMappedByProperty()));
+            }
+        });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        broadcast(event.getPersister(), event.getId(), event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        broadcast(event.getPersister(), event.getId(), event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        broadcast(event.getPersister(), event.getId(), event.getEntity());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    private void broadcast(EntityPersister persister, Object id, Object entity) {
+        publisher.publishEvict(CACHE_PREFIX + persister.getEntityName(), String.valueOf(id));
+
+        for (ParentCollection collection : parentCollections.getOrDefault(persister.getEntityName(), List.of())) {
+            Object parent = persister.getPropertyValue(entity, collection.mappedBy());
+            if (parent != null) {
+                Object parentId = sessionFactory.getPersistenceUnitUtil().getIdentifier(parent);
+                publisher.publishEvict(CACHE_PREFIX + collection.role(), String.valueOf(parentId));
+            }
+        }
+    }
+
+    private record ParentCollection(String role, String mappedBy) {
+    }
+}
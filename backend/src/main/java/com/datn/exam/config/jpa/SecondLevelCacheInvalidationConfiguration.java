@@ -0,0 +1,53 @@
+package com.datn.exam.config.jpa;
+
+import com.datn.exam.config.cache.CacheInvalidationPublisher;
+import com.datn.exam.config.properties.CustomCacheProperties;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Keeps the node-local second-level regions consistent across nodes over the same pub/sub channel
+ * as the layered caches.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache",
+        havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheInvalidationConfiguration {
+
+    @Bean
+    public SecondLevelCacheBroadcaster secondLevelCacheBroadcaster(
+            EntityManagerFactory entityManagerFactory,
+            CacheInvalidationPublisher cacheInvalidationPublisher) {
+
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        SecondLevelCacheBroadcaster broadcaster = new SecondLevelCacheBroadcaster(cacheInvalidationPublisher, sessionFactory);
+        broadcaster.init();
+
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, broadcaster);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, broadcaster);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, broadcaster);
+        return broadcaster;
+    }
+
+    @Bean
+    public SecondLevelCacheInvalidationListener secondLevelCacheInvalidationListener(
+            EntityManagerFactory entityManagerFactory,
+            RedisMessageListenerContainer cacheInvalidationListenerContainer,
+            CustomCacheProperties customCacheProperties) {
+
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        SecondLevelCacheInvalidationListener listener = new SecondLevelCacheInvalidationListener(
+                sessionFactory.getMappingMetamodel(), sessionFactory.getCache());
+        cacheInvalidationListenerContainer.addMessageListener(
+                listener, new ChannelTopic(customCacheProperties.getLocal().getChannel()));
+        return listener;
+    }
+}
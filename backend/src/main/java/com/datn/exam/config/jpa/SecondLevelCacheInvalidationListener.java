@@ -0,0 +1,74 @@
+package com.datn.exam.config.jpa;
+
+import com.datn.exam.config.cache.CacheInvalidationPublisher;
+import com.datn.exam.support.util.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Evicts the second-level entries another node changed, see {@link SecondLevelCacheBroadcaster}.
+ * Entity changes also drop the query cache, its results may list the entity or miss a new one.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SecondLevelCacheInvalidationListener implements MessageListener {
+
+    private final MappingMetamodel metamodel;
+    private final Cache cache;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationPublisher.CacheInvalidationMessage invalidation;
+        try {
+            invalidation = JsonUtils.unmarshal(
+                    new String(message.getBody(), StandardCharsets.UTF_8),
+                    CacheInvalidationPublisher.CacheInvalidationMessage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+            return;
+        }
+
+        if (CacheInvalidationPublisher.NODE_ID.equals(invalidation.origin())
+                || invalidation.cache() == null
+                || !invalidation.cache().startsWith(SecondLevelCacheBroadcaster.CACHE_PREFIX)
+                || invalidation.key() == null) {
+            return;
+        }
+
+        String name = invalidation.cache().substring(SecondLevelCacheBroadcaster.CACHE_PREFIX.length());
+        EntityPersister entity = metamodel.findEntityDescriptor(name);
+        if (entity != null) {
+            cache.evictEntityData(name, toId(entity.getIdentifierType().getReturnedClass(), invalidation.key()));
+            cache.evictDefaultQueryRegion();
+            return;
+        }
+
+        CollectionPersister collection = metamodel.findCollectionDescriptor(name);
+        if (collection != null) {
+            cache.evictCollectionData(name, toId(collection.getKeyType().getReturnedClass(), invalidation.key()));
+        }
+    }
+
+    private static Object toId(Class<?> type, String key) {
+        if (type == Long.class) {
+            return Long.valueOf(key);
+        }
+        if (type == Integer.class) {
+            return Integer.valueOf(key);
+        }
+        if (type == UUID.class) {
+            return UUID.fromString(key);
+        }
+        return key;
+    }
+}
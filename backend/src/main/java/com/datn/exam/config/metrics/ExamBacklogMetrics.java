@@ -0,0 +1,57 @@
+package com.datn.exam.config.metrics;
+
+import com.datn.exam.config.properties.ExamMetricsProperties;
+import com.datn.exam.repository.data.dao.ExamMetricsDao;
+import com.datn.exam.repository.data.dto.ExamBacklogDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-progress attempts, attempts waiting for the auto-submit job and the mail queue depth. The
+ * three gauges share one query, re-run at most once per custom.metrics.backlog-refresh.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExamBacklogMetrics implements MeterBinder {
+
+    private final ExamMetricsDao examMetricsDao;
+    private final ExamMetricsProperties properties;
+
+    private ExamBacklogDto backlog = new ExamBacklogDto();
+    private long refreshedAt;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "exam.attempts.in_progress", ExamBacklogDto::getInProgressAttempts);
+        gauge(registry, "exam.attempts.expiry.backlog", ExamBacklogDto::getExpiredAttempts);
+        gauge(registry, "mail.queue.depth", ExamBacklogDto::getPendingEmails);
+    }
+
+    private void gauge(MeterRegistry registry, String name, ToLongFunction<ExamBacklogDto> value) {
+        Gauge.builder(name, this, metrics -> value.applyAsLong(metrics.current()))
+                .strongReference(true)
+                .register(registry);
+    }
+
+    // the last known values are kept when the database cannot be reached
+    private synchronized ExamBacklogDto current() {
+        long now = System.nanoTime();
+        if (refreshedAt == 0 || now - refreshedAt >= properties.getBacklogRefresh().toNanos()) {
+            refreshedAt = now;
+            try {
+                backlog = examMetricsDao.findBacklog(LocalDateTime.now());
+            } catch (RuntimeException e) {
+                log.warn("Failed to read the exam backlog: {}", e.getMessage());
+            }
+        }
+        return backlog;
+    }
+}
@@ -0,0 +1,20 @@
+package com.datn.exam.config.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Hot paths of an exam wave, each published as its own timer.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExamOperation {
+    ATTEMPT_START("exam.attempt.start"),
+    ATTEMPT_SUBMIT("exam.attempt.submit"),
+    ATTEMPT_GRADE("exam.attempt.grade"),
+    OTP_REQUEST("exam.otp.request"),
+    OTP_VERIFY("exam.otp.verify"),
+    ROSTER_IMPORT("exam.roster.import");
+
+    private final String metricName;
+}
@@ -0,0 +1,14 @@
+package com.datn.exam.config.metrics;
+
+import java.lang.annotation.*;
+
+/**
+ * Times the method as the given {@link ExamOperation}. The method reports the session it works
+ * on through {@link HotPathContext} so the timer can be tagged with the session size.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface HotPath {
+    ExamOperation value();
+}
@@ -0,0 +1,47 @@
+package com.datn.exam.config.metrics;
+
+/**
+ * What the running {@link HotPath} method works on: a session, whose size is looked up once the
+ * call is timed, or a size it already knows, such as the rows of an imported roster. Calls
+ * outside a hot path are ignored.
+ */
+public final class HotPathContext {
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private HotPathContext() {
+    }
+
+    public static void session(Long sessionId) {
+        State state = STATE.get();
+        if (state != null && sessionId != null) {
+            state.sessionId = sessionId;
+        }
+    }
+
+    public static void size(int size) {
+        State state = STATE.get();
+        if (state != null) {
+            state.size = size;
+        }
+    }
+
+    // the outermost hot path owns the thread, a nested one is timed as part of it
+    static State enter() {
+        if (STATE.get() != null) {
+            return null;
+        }
+        State state = new State();
+        STATE.set(state);
+        return state;
+    }
+
+    static void leave() {
+        STATE.remove();
+    }
+
+    static final class State {
+        Long sessionId;
+        Integer size;
+    }
+}
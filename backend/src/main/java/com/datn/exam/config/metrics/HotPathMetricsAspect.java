@@ -0,0 +1,64 @@
+package com.datn.exam.config.metrics;
+
+import com.datn.exam.support.exception.ResponseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Times {@link HotPath} methods with a percentile histogram, tagged by session size bucket and
+ * outcome: success, the error name of a {@link ResponseException}, or error. Ordered just inside
+ * the pool aspect, the time includes waiting for a connection and the commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class HotPathMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final SessionSizes sessionSizes;
+
+    @Around("@annotation(hotPath)")
+    public Object time(ProceedingJoinPoint joinPoint, HotPath hotPath) throws Throwable {
+        HotPathContext.State state = HotPathContext.enter();
+        if (state == null) {
+            return joinPoint.proceed();
+        }
+
+        String outcome = "success";
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (ResponseException e) {
+            outcome = e.getError().getName();
+            throw e;
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            HotPathContext.leave();
+            // the size lookup runs after the call is timed, so it never shows up in the latency
+            String size = state.size != null
+                    ? sessionSizes.bucket(state.size)
+                    : sessionSizes.bucketOfSession(state.sessionId);
+
+            Timer.builder(hotPath.value().getMetricName())
+                    .tags("size", size, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(5))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry)
+                    .record(Duration.ofNanos(elapsed));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.datn.exam.config.metrics;
+
+import com.datn.exam.config.properties.ExamMetricsProperties;
+import com.datn.exam.repository.data.dao.ExamMetricsDao;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Maps sessions to the size tag of the hot path timers. Student counts are cached, a wave of
+ * submits to one session costs a single count.
+ */
+@Slf4j
+@Component
+public class SessionSizes {
+
+    static final String UNKNOWN = "unknown";
+
+    private final ExamMetricsDao examMetricsDao;
+    private final List<Integer> bounds;
+    private final Cache<Long, Integer> sizes;
+
+    public SessionSizes(ExamMetricsDao examMetricsDao, ExamMetricsProperties properties) {
+        this.examMetricsDao = examMetricsDao;
+        this.bounds = properties.getSessionSizeBuckets().stream().sorted().toList();
+        this.sizes = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(properties.getSessionSizeTtl())
+                .build();
+    }
+
+    public String bucketOfSession(Long sessionId) {
+        if (sessionId == null) {
+            return UNKNOWN;
+        }
+        try {
+            return bucket(sizes.get(sessionId, examMetricsDao::countSessionStudents));
+        } catch (RuntimeException e) {
+            // a failed count must not fail the call it tags
+            log.debug("Failed to count students of session {}: {}", sessionId, e.getMessage());
+            return UNKNOWN;
+        }
+    }
+
+    public String bucket(int size) {
+        int lower = 1;
+        for (int bound : bounds) {
+            if (size <= bound) {
+                return lower + "-" + bound;
+            }
+            lower = bound + 1;
+        }
+        return lower + "+";
+    }
+}
@@ -0,0 +1,112 @@
+package com.datn.exam.config.notification;
+
+import com.datn.exam.config.properties.NotificationProperties;
+import com.datn.exam.model.dto.response.NotificationStatistic;
+import com.datn.exam.repository.data.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user total and unread notification counts kept in Redis, rebuilt from SQL on a miss and
+ * updated with a script afterwards so concurrent changes never lose an increment.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationCounter {
+
+    private static final String KEY_PATTERN = "exam:notification:counter:%s";
+    private static final String TOTAL = "total";
+    private static final String UNREAD = "unread";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisScript<Long> notificationCounterScript;
+    private final NotificationRepository notificationRepository;
+    private final NotificationProperties notificationProperties;
+
+    public NotificationStatistic get(String userId) {
+        String key = key(userId);
+
+        try {
+            Map<Object, Object> counters = redisTemplate.opsForHash().entries(key);
+            if (counters.containsKey(TOTAL) && counters.containsKey(UNREAD)) {
+                return NotificationStatistic.builder()
+                        .total(Integer.parseInt(counters.get(TOTAL).toString()))
+                        .unreadCount(Integer.parseInt(counters.get(UNREAD).toString()))
+                        .build();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot read notification counters of {}: {}", userId, e.getMessage());
+            return notificationRepository.statistic(userId);
+        }
+
+        NotificationStatistic statistic = notificationRepository.statistic(userId);
+        try {
+            redisTemplate.opsForHash().putAll(key, Map.of(
+                    TOTAL, String.valueOf(statistic.getTotal()),
+                    UNREAD, String.valueOf(statistic.getUnreadCount())
+            ));
+            redisTemplate.expire(key, notificationProperties.getCounterTtl());
+        } catch (RuntimeException e) {
+            log.warn("Cannot store notification counters of {}: {}", userId, e.getMessage());
+        }
+
+        return statistic;
+    }
+
+    /**
+     * @return the new unread count, or null when the counters are not cached
+     */
+    public Integer apply(String userId, int totalDelta, int unreadDelta) {
+        return run(List.of(userId), List.of(new int[]{totalDelta, unreadDelta}), false);
+    }
+
+    public Integer resetUnread(String userId) {
+        return run(List.of(userId), List.of(new int[]{0, 0}), true);
+    }
+
+    /**
+     * One script call for many users, used when notifications are created in bulk.
+     */
+    public void applyAll(Map<String, int[]> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        run(new ArrayList<>(deltas.keySet()), new ArrayList<>(deltas.values()), false);
+    }
+
+    private Integer run(List<String> userIds, List<int[]> deltas, boolean resetUnread) {
+        List<String> keys = userIds.stream().map(this::key).toList();
+        Object[] args = new Object[1 + deltas.size() * 2];
+        args[0] = resetUnread ? "1" : "0";
+        for (int i = 0; i < deltas.size(); i++) {
+            args[1 + i * 2] = String.valueOf(deltas.get(i)[0]);
+            args[2 + i * 2] = String.valueOf(deltas.get(i)[1]);
+        }
+
+        try {
+            Long unread = redisTemplate.execute(notificationCounterScript, keys, args);
+            return unread == null || unread < 0 ? null : unread.intValue();
+        } catch (RuntimeException e) {
+            // a stale counter is worse than a missing one, the next read rebuilds it
+            log.warn("Cannot update notification counters, dropping them: {}", e.getMessage());
+            try {
+                redisTemplate.delete(keys);
+            } catch (RuntimeException ignored) {
+                // Redis is down, the counters will expire
+            }
+            return null;
+        }
+    }
+
+    private String key(String userId) {
+        return KEY_PATTERN.formatted(userId);
+    }
+}
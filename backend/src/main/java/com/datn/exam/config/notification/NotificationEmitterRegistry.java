@@ -0,0 +1,76 @@
+package com.datn.exam.config.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SSE streams of the users connected to this node.
+ */
+@Slf4j
+public class NotificationEmitterRegistry {
+
+    private final Map<String, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+
+    public NotificationEmitterRegistry(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter register(String userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(emitter);
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        return emitter;
+    }
+
+    public void deliver(String userId, String event, String data) {
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+
+        for (SseEmitter emitter : userEmitters) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                remove(userId, emitter);
+            }
+        }
+    }
+
+    /**
+     * Keeps idle streams open through proxies and drops the ones whose client is gone.
+     */
+    public void heartbeat() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(userId, emitter);
+                }
+            }
+        });
+    }
+
+    public int size() {
+        return emitters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void remove(String userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (key, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.datn.exam.config.notification;
+
+import com.datn.exam.config.properties.NotificationProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@RequiredArgsConstructor
+public class NotificationPushConfiguration {
+
+    private final NotificationProperties notificationProperties;
+
+    @Bean
+    public NotificationPushPublisher notificationPushPublisher(StringRedisTemplate stringRedisTemplate) {
+        return new NotificationPushPublisher(stringRedisTemplate, notificationProperties.getChannel());
+    }
+
+    @Bean
+    public NotificationEmitterRegistry notificationEmitterRegistry() {
+        return new NotificationEmitterRegistry(notificationProperties.getEmitterTimeout().toMillis());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer notificationListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            NotificationEmitterRegistry notificationEmitterRegistry) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(
+                new NotificationPushListener(notificationEmitterRegistry),
+                new ChannelTopic(notificationProperties.getChannel()));
+        return container;
+    }
+
+    @Scheduled(fixedDelayString = "${custom.notification.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        notificationEmitterRegistry().heartbeat();
+    }
+}
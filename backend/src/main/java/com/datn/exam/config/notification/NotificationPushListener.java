@@ -0,0 +1,32 @@
+package com.datn.exam.config.notification;
+
+import com.datn.exam.support.util.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationPushListener implements MessageListener {
+
+    private final NotificationEmitterRegistry emitterRegistry;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        NotificationPushPublisher.NotificationPushMessage push;
+        try {
+            push = JsonUtils.unmarshal(
+                    new String(message.getBody(), StandardCharsets.UTF_8),
+                    NotificationPushPublisher.NotificationPushMessage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed notification push: {}", e.getMessage());
+            return;
+        }
+
+        emitterRegistry.deliver(push.receiveId(), push.event(), push.data());
+    }
+}
@@ -0,0 +1,64 @@
+package com.datn.exam.config.notification;
+
+import com.datn.exam.support.util.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fans notification events out to every node over Redis pub/sub, each node then writes them to
+ * the streams of the users connected to it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationPushPublisher {
+
+    public static final String EVENT_NOTIFICATION = "notification";
+    public static final String EVENT_UNREAD = "unread";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+
+    public void publish(String receiveId, String event, String data) {
+        publishAll(List.of(new NotificationPushMessage(receiveId, event, data)));
+    }
+
+    public void publishAll(List<NotificationPushMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<String> payloads = new ArrayList<>(messages.size());
+        for (NotificationPushMessage message : messages) {
+            try {
+                payloads.add(JsonUtils.marshal(message));
+            } catch (JsonProcessingException e) {
+                log.error("Cannot marshal notification push {}", message, e);
+            }
+        }
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    payloads.forEach(payload -> operations.convertAndSend(channel, payload));
+                    return null;
+                }
+            });
+        } catch (RuntimeException e) {
+            // clients still get the notification on their next page load
+            log.warn("Cannot publish {} notification pushes: {}", payloads.size(), e.getMessage());
+        }
+    }
+
+    public record NotificationPushMessage(String receiveId, String event, String data) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.datn.exam.config.outbox;
+
+import com.datn.exam.model.entity.DomainEntity;
+import com.datn.exam.model.entity.event.DomainEvent;
+import com.datn.exam.support.util.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drains the events collected on {@link DomainEntity} at flush time and schedules them for the
+ * outbox in the same transaction.
+ */
+@Slf4j
+public class OutboxCaptureListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        capture(event.getSession(), event.getPersister(), event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        capture(event.getSession(), event.getPersister(), event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        capture(event.getSession(), event.getPersister(), event.getEntity(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void capture(EventSource session, EntityPersister persister, Object entity, Object id) {
+        if (!(entity instanceof DomainEntity domainEntity)) {
+            return;
+        }
+
+        List<DomainEvent> events = domainEntity.drainEvents();
+        if (events.isEmpty()) {
+            return;
+        }
+
+        String aggregateType = entity.getClass().getSimpleName();
+        String aggregateId = String.valueOf(id);
+        Long version = resolveVersion(persister, entity);
+
+        List<OutboxRecord> records = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            DomainEvent domainEvent = events.get(i);
+            LocalDateTime occurredAt = domainEvent.happenAt() != null ? domainEvent.happenAt() : LocalDateTime.now();
+
+            records.add(new OutboxRecord(
+                    aggregateType,
+                    aggregateId,
+                    version,
+                    domainEvent.eventName(),
+                    dedupKey(aggregateType, aggregateId, version, domainEvent.eventName(), i),
+                    marshal(domainEvent),
+                    occurredAt));
+        }
+
+        session.getActionQueue().registerProcess(new OutboxWriteProcess(records));
+    }
+
+    private Long resolveVersion(EntityPersister persister, Object entity) {
+        if (!persister.isVersioned()) {
+            return null;
+        }
+
+        Object version = persister.getVersion(entity);
+        return version instanceof Number number ? number.longValue() : null;
+    }
+
+    // versioned aggregates get a deterministic key, so a replayed flush cannot enqueue the same change twice
+    private String dedupKey(String aggregateType, String aggregateId, Long version, String eventType, int index) {
+        if (version == null) {
+            return String.join(":", aggregateType, aggregateId, eventType, UUID.randomUUID().toString());
+        }
+        return String.join(":", aggregateType, aggregateId, String.valueOf(version), eventType, String.valueOf(index));
+    }
+
+    private String marshal(DomainEvent event) {
+        try {
+            return JsonUtils.marshal(event);
+        } catch (JsonProcessingException e) {
+            log.error("Cannot marshal domain event {}", event.eventName(), e);
+            return null;
+        }
+    }
+}
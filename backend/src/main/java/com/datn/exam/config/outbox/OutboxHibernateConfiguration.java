@@ -0,0 +1,19 @@
+package com.datn.exam.config.outbox;
+
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class OutboxHibernateConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer outboxIntegratorCustomizer() {
+        return properties -> properties.put(
+                "hibernate.integrator_provider",
+                (IntegratorProvider) () -> List.of(new OutboxIntegrator()));
+    }
+}
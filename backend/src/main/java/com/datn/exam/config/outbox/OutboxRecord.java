@@ -0,0 +1,13 @@
+package com.datn.exam.config.outbox;
+
+import java.time.LocalDateTime;
+
+public record OutboxRecord(
+        String aggregateType,
+        String aggregateId,
+        Long aggregateVersion,
+        String eventType,
+        String dedupKey,
+        String payload,
+        LocalDateTime occurredAt) {
+}
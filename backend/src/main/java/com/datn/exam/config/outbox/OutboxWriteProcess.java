@@ -0,0 +1,54 @@
+package com.datn.exam.config.outbox;
+
+import org.hibernate.HibernateException;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Writes captured events in the transaction that changed the aggregate, right before commit.
+ */
+public class OutboxWriteProcess implements BeforeTransactionCompletionProcess {
+
+    private static final String INSERT_SQL = """
+            INSERT IGNORE INTO domain_event_outbox
+                (aggregate_type, aggregate_id, aggregate_version, event_type, dedup_key, payload, status, attempts, occurred_at)
+            VALUES (?, ?, ?, ?, ?, ?, 'PENDING', 0, ?)
+            """;
+
+    private final List<OutboxRecord> records;
+
+    public OutboxWriteProcess(List<OutboxRecord> records) {
+        this.records = records;
+    }
+
+    @Override
+    public void doBeforeTransactionCompletion(SessionImplementor session) {
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                for (OutboxRecord record : records) {
+                    statement.setString(1, record.aggregateType());
+                    statement.setString(2, record.aggregateId());
+                    if (record.aggregateVersion() != null) {
+                        statement.setLong(3, record.aggregateVersion());
+                    } else {
+                        statement.setNull(3, Types.BIGINT);
+                    }
+                    statement.setString(4, record.eventType());
+                    statement.setString(5, record.dedupKey());
+                    statement.setString(6, record.payload());
+                    statement.setTimestamp(7, Timestamp.valueOf(record.occurredAt()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            } catch (SQLException e) {
+                throw new HibernateException("Cannot write domain events to outbox", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.datn.exam.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "custom.archive")
+@Data
+public class ArchiveProperties {
+    private boolean enabled = false;
+    private String cron = "0 0 4 * * *";
+    // sessions that ended longer ago than this are moved to the archive tables
+    private Duration after = Duration.ofDays(180);
+    private int sessionsPerRun = 20;
+    // attempts moved per transaction
+    private int chunkSize = 200;
+}
@@ -1,11 +1,15 @@
 package com.datn.exam.config.properties;
 
+import com.datn.exam.config.redis.codec.CacheCodecType;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.autoconfigure.cache.CacheProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 
 @Component
@@ -14,6 +18,10 @@ import java.util.Map;
 public class CustomCacheProperties {
     private Map<String, CacheProperties.Redis> customCache;
 
+    private Codec codec = new Codec();
+
+    private Local local = new Local();
+
 
     @Data
     public static class CustomRedisCacheConfig {
@@ -21,4 +29,32 @@ public class CustomCacheProperties {
         private Boolean cacheNullValues = true;
     }
 
+    @Data
+    public static class Codec {
+        private CacheCodecType type = CacheCodecType.SMILE;
+        // bump to drop every entry written by an incompatible release
+        private int version = 1;
+        // payloads above this size (bytes) are gzipped, 0 disables compression
+        private int compressionThreshold = 1024;
+        // cache name -> value type, caches without a type fall back to JDK serialization
+        private Map<String, Class<?>> types = new HashMap<>();
+    }
+
+    @Data
+    public static class Local {
+        private boolean enabled = true;
+        // pub/sub channel used to drop L1 copies on the other nodes
+        private String channel = "exam:cache:invalidation";
+        private LocalCacheSpec defaults = new LocalCacheSpec(10_000L, Duration.ofMinutes(5));
+        private Map<String, LocalCacheSpec> caches = new HashMap<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LocalCacheSpec {
+        private Long maximumSize;
+        private Duration timeToLive;
+    }
+
 }
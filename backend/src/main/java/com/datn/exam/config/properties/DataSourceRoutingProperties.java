@@ -0,0 +1,62 @@
+package com.datn.exam.config.properties;
+
+import com.datn.exam.config.datasource.WorkloadPool;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "custom.datasource")
+@Data
+public class DataSourceRoutingProperties {
+    private Replica replica = new Replica();
+    private Bulkheads bulkheads = new Bulkheads();
+
+    @Data
+    public static class Replica {
+        // read-only transactions go to the replica only when enabled
+        private boolean enabled = false;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        // replica reads stop above this lag and resume on the next healthy check
+        private Duration maxLag = Duration.ofSeconds(5);
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Bulkheads {
+        // one primary pool per workload instead of a single pool when enabled
+        private boolean enabled = false;
+        private WorkloadPool defaultPool = WorkloadPool.TEACHER;
+        private Map<WorkloadPool, Pool> pools = defaultPools();
+
+        private static Map<WorkloadPool, Pool> defaultPools() {
+            Map<WorkloadPool, Pool> pools = new EnumMap<>(WorkloadPool.class);
+            pools.put(WorkloadPool.CANDIDATE, new Pool(20, 5, Duration.ofSeconds(5), false));
+            pools.put(WorkloadPool.TEACHER, new Pool(10, 2, Duration.ofSeconds(10), false));
+            // reports fail fast instead of queueing behind each other
+            pools.put(WorkloadPool.REPORTING, new Pool(4, 0, Duration.ofMillis(250), true));
+            pools.put(WorkloadPool.JOBS, new Pool(4, 1, Duration.ofSeconds(30), false));
+            return pools;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        private int maximumPoolSize = 10;
+        private int minimumIdle = 2;
+        // Hikari accepts 250ms at the lowest
+        private Duration connectionTimeout = Duration.ofSeconds(30);
+        private boolean failFast = false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.datn.exam.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "custom.metrics")
+@Data
+public class ExamMetricsProperties {
+    // backlog gauges are read from the database at most this often, however often they are scraped
+    private Duration backlogRefresh = Duration.ofSeconds(15);
+    // how long the student count of a session is reused for the size tag
+    private Duration sessionSizeTtl = Duration.ofMinutes(10);
+    // upper bounds of the size tag, e.g. 50, 200, 1000 give 1-50, 51-200, 201-1000 and 1001+
+    private List<Integer> sessionSizeBuckets = new ArrayList<>(List.of(50, 200, 1000));
+}
@@ -0,0 +1,35 @@
+package com.datn.exam.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "custom.mail")
+@Data
+public class MailDispatchProperties {
+    // smtp | fake
+    private String transport = "smtp";
+    private boolean dispatchEnabled = true;
+    private Duration pollInterval = Duration.ofSeconds(2);
+    private int batchSize = 50;
+    private double ratePerSecond = 10;
+    private int maxAttempts = 6;
+    private Duration initialBackoff = Duration.ofSeconds(30);
+    private Duration maxBackoff = Duration.ofHours(1);
+    // how long a claimed mail stays invisible to other nodes before it can be reclaimed
+    private Duration lease = Duration.ofMinutes(5);
+    // template name -> variables shared by every recipient of a batch, the rest is per recipient
+    private Map<String, Template> templates = new HashMap<>();
+
+    @Data
+    public static class Template {
+        private List<String> sharedVariables = new ArrayList<>();
+    }
+}
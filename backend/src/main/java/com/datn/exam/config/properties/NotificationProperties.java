@@ -0,0 +1,17 @@
+package com.datn.exam.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "custom.notification")
+@Data
+public class NotificationProperties {
+    private String channel = "exam:notifications";
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+    private Duration counterTtl = Duration.ofDays(1);
+}
@@ -0,0 +1,31 @@
+package com.datn.exam.config.properties;
+
+import com.datn.exam.support.enums.RateLimitAction;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "custom.otp")
+@Data
+public class OtpProperties {
+    private Duration expiresIn = Duration.ofMinutes(5);
+    private Duration resendCooldown = Duration.ofSeconds(60);
+    private int maxVerifyAttempts = 5;
+    private Map<RateLimitAction, RateLimitRule> rateLimits = new EnumMap<>(RateLimitAction.class);
+
+    @Data
+    public static class RateLimitRule {
+        private Duration window = Duration.ofMinutes(10);
+        private int perEmail = 5;
+        // floor of the session and address limits, all a public session without a roster gets
+        private int perSession = 500;
+        private int perIp = 20;
+        // allowance per roster student, both limits grow to rosterSize * perStudent in large sessions
+        private int perStudent = 3;
+    }
+}
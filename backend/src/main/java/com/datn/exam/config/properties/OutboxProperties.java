@@ -0,0 +1,20 @@
+package com.datn.exam.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "custom.outbox")
+@Data
+public class OutboxProperties {
+    private boolean relayEnabled = true;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private int batchSize = 200;
+    private int maxAttempts = 10;
+    private String streamKey = "exam:domain-events";
+    private long streamMaxLength = 100_000;
+    private Duration retention = Duration.ofDays(7);
+}
@@ -0,0 +1,23 @@
+package com.datn.exam.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "custom.sql-stats")
+@Data
+public class SqlStatsProperties {
+    private boolean enabled = true;
+    // statements one request or job may run before it is logged as an offender
+    private int statementBudget = 50;
+    private Duration dbTimeBudget = Duration.ofSeconds(2);
+    // per-endpoint overrides, keyed like the endpoint tag: "GET /api/exam-session/{id}" or "ClassName.method"
+    private Map<String, Integer> statementBudgets = new HashMap<>();
+    // how many of the most repeated statements an offender log lists
+    private int topStatements = 3;
+}
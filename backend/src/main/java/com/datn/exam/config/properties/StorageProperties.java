@@ -0,0 +1,50 @@
+package com.datn.exam.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "custom.storage")
+@Data
+public class StorageProperties {
+    // s3 (also used against MinIO) or memory
+    private String backend = "s3";
+    private long quotaBytes = 200L * 1024 * 1024;
+    private boolean reconcileEnabled = true;
+    private String reconcileCron = "0 30 3 * * *";
+    // in-flight uploads of a batch through the async client
+    private int uploadConcurrency = 8;
+    private long multipartThresholdBytes = 16L * 1024 * 1024;
+    private long multipartPartSizeBytes = 8L * 1024 * 1024;
+    // DeleteObjects accepts at most 1000 keys per request
+    private int deleteBatchSize = 1000;
+    // roster pictures staged by an Excel preview and never saved are dropped after this
+    private Duration stagingRetention = Duration.ofDays(1);
+    private String stagingCleanupCron = "0 15 * * * *";
+    private PresignedUrlCache presignedUrlCache = new PresignedUrlCache();
+    private Avatar avatar = new Avatar();
+
+    @Data
+    public static class PresignedUrlCache {
+        private long maximumSize = 50_000;
+        // a cached URL is dropped this long before its signature expires
+        private Duration safetyMargin = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Avatar {
+        // longest side in pixels of each variant stored next to an avatar
+        private List<Integer> variantSizes = List.of(96, 256);
+        // variant returned in roster responses once it exists
+        private int rosterSize = 256;
+        private float jpegQuality = 0.82f;
+        // sources above this are not decoded at all
+        private long maxSourcePixels = 40_000_000L;
+        private int workers = 2;
+        private int queueCapacity = 1000;
+    }
+}
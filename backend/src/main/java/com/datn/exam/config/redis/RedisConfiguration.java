@@ -1,6 +1,7 @@
 package com.datn.exam.config.redis;
 
 import com.datn.exam.config.properties.CustomCacheProperties;
+import com.datn.exam.config.redis.codec.CacheCodecRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.EnableCaching;
@@ -10,7 +11,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -26,16 +26,22 @@ public class RedisConfiguration {
     private final CustomCacheProperties customCacheProperties;
 
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public CacheCodecRegistry cacheCodecRegistry() {
+        return new CacheCodecRegistry(customCacheProperties.getCodec());
+    }
+
+    @Bean
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory, CacheCodecRegistry cacheCodecRegistry) {
         RedisCacheConfiguration baseConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .disableCachingNullValues()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new JdkSerializationRedisSerializer()));
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheCodecRegistry.defaultSerializer()));
 
         Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
 
         customCacheProperties.getCustomCache().forEach((key, props) -> {
-            RedisCacheConfiguration cfg = baseConfig;
+            RedisCacheConfiguration cfg = baseConfig.serializeValuesWith(
+                    RedisSerializationContext.SerializationPair.fromSerializer(cacheCodecRegistry.serializerFor(key)));
             if (props.getTimeToLive() != null) cfg = cfg.entryTtl(props.getTimeToLive());
             if (Boolean.FALSE.equals(props.isCacheNullValues())) cfg = cfg.disableCachingNullValues();
             cacheConfigs.put(key, cfg);
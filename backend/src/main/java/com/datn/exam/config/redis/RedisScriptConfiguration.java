@@ -0,0 +1,39 @@
+package com.datn.exam.config.redis;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+@Configuration
+public class RedisScriptConfiguration {
+
+    private static final String SCRIPT_LOCATION = "scripts/redis/%s.lua";
+
+    @Bean
+    public RedisScript<Long> otpIssueScript() {
+        return load("otp_issue");
+    }
+
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> otpVerifyScript() {
+        return RedisScript.of(new ClassPathResource(String.format(SCRIPT_LOCATION, "otp_verify")), List.class);
+    }
+
+    @Bean
+    public RedisScript<Long> slidingWindowRateLimitScript() {
+        return load("sliding_window_rate_limit");
+    }
+
+    @Bean
+    public RedisScript<Long> notificationCounterScript() {
+        return load("notification_counter");
+    }
+
+    private RedisScript<Long> load(String name) {
+        return RedisScript.of(new ClassPathResource(String.format(SCRIPT_LOCATION, name)), Long.class);
+    }
+}
@@ -0,0 +1,12 @@
+package com.datn.exam.config.redis.codec;
+
+public interface CacheCodec {
+    /**
+     * Identifier written into the cache envelope, must be stable across releases.
+     */
+    byte getId();
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes, Class<?> type);
+}
@@ -0,0 +1,41 @@
+package com.datn.exam.config.redis.codec;
+
+import com.datn.exam.config.properties.CustomCacheProperties;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Map;
+
+/**
+ * Resolves the value serializer of each named cache from the registered value types.
+ * Caches without a registered type keep JDK serialization, but still inside the envelope.
+ */
+public class CacheCodecRegistry {
+
+    private final CustomCacheProperties.Codec properties;
+    private final CacheCodec typedCodec;
+    private final CacheCodec fallbackCodec = new JdkCacheCodec();
+
+    public CacheCodecRegistry(CustomCacheProperties.Codec properties) {
+        this.properties = properties;
+        this.typedCodec = switch (properties.getType()) {
+            case SMILE -> new SmileCacheCodec();
+            case JDK -> fallbackCodec;
+        };
+    }
+
+    public RedisSerializer<Object> serializerFor(String cacheName) {
+        Class<?> type = typesOrEmpty().get(cacheName);
+        if (type == null) {
+            return defaultSerializer();
+        }
+        return new EnvelopeCacheSerializer(typedCodec, type, properties.getVersion(), properties.getCompressionThreshold());
+    }
+
+    public RedisSerializer<Object> defaultSerializer() {
+        return new EnvelopeCacheSerializer(fallbackCodec, Object.class, properties.getVersion(), properties.getCompressionThreshold());
+    }
+
+    private Map<String, Class<?>> typesOrEmpty() {
+        return properties.getTypes() == null ? Map.of() : properties.getTypes();
+    }
+}
@@ -0,0 +1,7 @@
+package com.datn.exam.config.redis.codec;
+
+public enum CacheCodecType {
+    JDK,
+    SMILE,
+    ;
+}
@@ -0,0 +1,116 @@
+package com.datn.exam.config.redis.codec;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wraps cache payloads in a small header so entries written by another release can be
+ * recognised and dropped instead of failing the read.
+ * <p>
+ * Layout: {@code magic(2) | version(1) | codec(1) | flags(1) | payload}.
+ * Entries with a foreign magic (e.g. old JDK serialized values), another version or another
+ * codec are reported as a cache miss and get overwritten on the next put.
+ */
+@Slf4j
+public class EnvelopeCacheSerializer implements RedisSerializer<Object> {
+
+    private static final byte MAGIC_0 = (byte) 0xEC;
+    private static final byte MAGIC_1 = (byte) 0x5A;
+    private static final int HEADER_SIZE = 5;
+
+    private static final byte FLAG_COMPRESSED = 0x01;
+
+    private final CacheCodec codec;
+    private final Class<?> type;
+    private final byte version;
+    private final int compressionThreshold;
+
+    public EnvelopeCacheSerializer(CacheCodec codec, Class<?> type, int version, int compressionThreshold) {
+        this.codec = codec;
+        this.type = type;
+        this.version = (byte) version;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+
+        byte[] payload = codec.encode(value);
+        byte flags = 0;
+
+        if (compressionThreshold > 0 && payload.length > compressionThreshold) {
+            payload = compress(payload);
+            flags |= FLAG_COMPRESSED;
+        }
+
+        byte[] bytes = new byte[HEADER_SIZE + payload.length];
+        bytes[0] = MAGIC_0;
+        bytes[1] = MAGIC_1;
+        bytes[2] = version;
+        bytes[3] = codec.getId();
+        bytes[4] = flags;
+        System.arraycopy(payload, 0, bytes, HEADER_SIZE, payload.length);
+
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        if (bytes.length < HEADER_SIZE || bytes[0] != MAGIC_0 || bytes[1] != MAGIC_1) {
+            log.debug("Dropping cache entry without envelope");
+            return null;
+        }
+
+        if (bytes[2] != version || bytes[3] != codec.getId()) {
+            log.debug("Dropping cache entry with version {} codec {}, expected version {} codec {}",
+                    bytes[2], bytes[3], version, codec.getId());
+            return null;
+        }
+
+        byte[] payload = new byte[bytes.length - HEADER_SIZE];
+        System.arraycopy(bytes, HEADER_SIZE, payload, 0, payload.length);
+
+        if ((bytes[4] & FLAG_COMPRESSED) != 0) {
+            payload = decompress(payload);
+        }
+
+        try {
+            return codec.decode(payload, type);
+        } catch (SerializationException e) {
+            log.warn("Dropping undecodable cache entry of type {}: {}", type.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] compress(byte[] payload) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot compress cache value", e);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] decompress(byte[] payload) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new SerializationException("Cannot decompress cache value", e);
+        }
+    }
+}
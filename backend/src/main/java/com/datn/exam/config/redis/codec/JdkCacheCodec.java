@@ -0,0 +1,25 @@
+package com.datn.exam.config.redis.codec;
+
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+public class JdkCacheCodec implements CacheCodec {
+
+    public static final byte ID = 0;
+
+    private final JdkSerializationRedisSerializer delegate = new JdkSerializationRedisSerializer();
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return delegate.serialize(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes, Class<?> type) {
+        return delegate.deserialize(bytes);
+    }
+}
@@ -0,0 +1,51 @@
+package com.datn.exam.config.redis.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+public class SmileCacheCodec implements CacheCodec {
+
+    public static final byte ID = 1;
+
+    private final ObjectMapper mapper;
+
+    public SmileCacheCodec() {
+        this.mapper = SmileMapper.builder()
+                .addModule(new Jdk8Module())
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                // new fields on the reading side must not invalidate entries written by an older node
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot encode cache value of type " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes, Class<?> type) {
+        try {
+            return mapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot decode cache value as " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.datn.exam.config.s3;
+
+import com.datn.exam.config.properties.StorageProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Local cache of presigned GET URLs keyed by object key and signed lifetime. An entry expires
+ * a safety margin before its signature does, so a served URL always has at least that margin
+ * left for the client to use it.
+ */
+@Component
+public class PresignedUrlCache {
+    private final Cache<Key, String> cache;
+    private final Duration safetyMargin;
+
+    public PresignedUrlCache(StorageProperties storageProperties) {
+        StorageProperties.PresignedUrlCache spec = storageProperties.getPresignedUrlCache();
+        this.safetyMargin = spec.getSafetyMargin();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfter(new Expiry<Key, String>() {
+                    @Override
+                    public long expireAfterCreate(Key key, String url, long currentTime) {
+                        return usableLifetime(key.expirationMinutes()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, String url, long currentTime, long currentDuration) {
+                        return usableLifetime(key.expirationMinutes()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, String url, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public String get(String objectKey, int expirationMinutes, Function<String, String> signer) {
+        if (usableLifetime(expirationMinutes).isZero()) {
+            return signer.apply(objectKey);
+        }
+        return cache.get(new Key(objectKey, expirationMinutes), key -> signer.apply(key.objectKey()));
+    }
+
+    public void evict(Collection<String> objectKeys) {
+        if (objectKeys.isEmpty()) {
+            return;
+        }
+        Set<String> evicted = Set.copyOf(objectKeys);
+        cache.asMap().keySet().removeIf(key -> evicted.contains(key.objectKey()));
+    }
+
+    private Duration usableLifetime(int expirationMinutes) {
+        Duration usable = Duration.ofMinutes(expirationMinutes).minus(safetyMargin);
+        return usable.isNegative() ? Duration.ZERO : usable;
+    }
+
+    private record Key(String objectKey, int expirationMinutes) {
+    }
+}
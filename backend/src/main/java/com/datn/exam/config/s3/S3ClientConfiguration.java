@@ -1,5 +1,6 @@
 package com.datn.exam.config.s3;
 
+import com.datn.exam.config.properties.StorageProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -10,6 +11,7 @@ import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
@@ -20,6 +22,7 @@ import java.net.URI;
 @Slf4j
 public class S3ClientConfiguration {
     private final S3Configuration s3Config;
+    private final StorageProperties storageProperties;
 
     private AwsCredentialsProvider getCredentialsProvider() {
         if (StringUtils.hasText(s3Config.getAccessKey())
@@ -45,6 +48,20 @@ public class S3ClientConfiguration {
         }
     }
 
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        return S3AsyncClient.builder()
+                .region(Region.of(s3Config.getRegion()))
+                .endpointOverride(URI.create(s3Config.getBaseUrl()))
+                .credentialsProvider(getCredentialsProvider())
+                .forcePathStyle(true)
+                .multipartEnabled(true)
+                .multipartConfiguration(multipart -> multipart
+                        .thresholdInBytes(storageProperties.getMultipartThresholdBytes())
+                        .minimumPartSizeInBytes(storageProperties.getMultipartPartSizeBytes()))
+                .build();
+    }
+
     @Bean
     public S3Presigner s3Presigner() {
         return S3Presigner.builder()
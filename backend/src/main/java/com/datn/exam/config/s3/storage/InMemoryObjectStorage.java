@@ -0,0 +1,90 @@
+package com.datn.exam.config.s3.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Fake bucket for local runs and tests, enabled with custom.storage.backend=memory.
+ * Objects are kept in memory in key order, like a listing would return them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "custom.storage", name = "backend", havingValue = "memory")
+public class InMemoryObjectStorage implements ObjectStorage {
+    private static final int MAX_DELETE_BATCH = 1000;
+
+    private final ConcurrentNavigableMap<String, byte[]> objects = new ConcurrentSkipListMap<>();
+    private final AtomicInteger deleteRequests = new AtomicInteger();
+
+    @Override
+    public void put(String key, InputStream inputStream, long contentLength, String contentType) throws IOException {
+        objects.put(key, inputStream.readNBytes((int) contentLength));
+    }
+
+    @Override
+    public void putAll(List<ObjectUpload> uploads) {
+        uploads.forEach(upload -> objects.put(upload.key(), upload.data()));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        byte[] data = objects.get(key);
+        if (data == null) {
+            throw new IOException("No such key: " + key);
+        }
+        return new ByteArrayInputStream(data);
+    }
+
+    @Override
+    public void copy(String sourceKey, String destinationKey) throws IOException {
+        byte[] data = objects.get(sourceKey);
+        if (data == null) {
+            throw new IOException("No such key: " + sourceKey);
+        }
+        objects.put(destinationKey, data);
+    }
+
+    @Override
+    public OptionalLong size(String key) {
+        byte[] data = objects.get(key);
+        return data == null ? OptionalLong.empty() : OptionalLong.of(data.length);
+    }
+
+    @Override
+    public void list(String prefix, Consumer<StoredObject> consumer) {
+        objects.tailMap(prefix).entrySet().stream()
+                .takeWhile(entry -> entry.getKey().startsWith(prefix))
+                .forEach(entry -> consumer.accept(new StoredObject(entry.getKey(), entry.getValue().length)));
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> keys) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        for (int from = 0; from < distinct.size(); from += MAX_DELETE_BATCH) {
+            deleteRequests.incrementAndGet();
+            distinct.subList(from, Math.min(distinct.size(), from + MAX_DELETE_BATCH)).forEach(objects::remove);
+        }
+        return List.of();
+    }
+
+    public Set<String> getKeys() {
+        return new TreeSet<>(objects.keySet());
+    }
+
+    public int getDeleteRequestCount() {
+        return deleteRequests.get();
+    }
+
+    public void clear() {
+        objects.clear();
+        deleteRequests.set(0);
+    }
+}
@@ -0,0 +1,43 @@
+package com.datn.exam.config.s3.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+public interface ObjectStorage {
+    /**
+     * Streams the body to the bucket, switching to a multipart upload above the configured threshold.
+     */
+    void put(String key, InputStream inputStream, long contentLength, String contentType) throws IOException;
+
+    /**
+     * Uploads every object with a bounded number of requests in flight, fails if any upload failed.
+     */
+    void putAll(List<ObjectUpload> uploads) throws IOException;
+
+    /**
+     * Opens the object body as a stream, the caller closes it. Nothing is buffered beyond the
+     * client's network buffers.
+     */
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Server-side copy, the body does not travel through the application.
+     */
+    void copy(String sourceKey, String destinationKey) throws IOException;
+
+    OptionalLong size(String key);
+
+    /**
+     * Visits every object under the prefix page by page, with the sizes of the listing.
+     */
+    void list(String prefix, Consumer<StoredObject> consumer);
+
+    /**
+     * Deletes the keys in DeleteObjects batches and returns the keys that could not be deleted.
+     */
+    List<String> deleteAll(Collection<String> keys);
+}
@@ -0,0 +1,4 @@
+package com.datn.exam.config.s3.storage;
+
+public record ObjectUpload(String key, byte[] data, String contentType) {
+}
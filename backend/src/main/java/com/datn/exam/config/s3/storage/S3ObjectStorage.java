@@ -0,0 +1,191 @@
+package com.datn.exam.config.s3.storage;
+
+import com.datn.exam.config.properties.StorageProperties;
+import com.datn.exam.config.s3.S3Configuration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.BlockingInputStreamAsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * S3 (or MinIO) backed storage. Small bodies go through the sync client, large bodies and
+ * batches go through the async client, which splits bodies above the threshold into parts.
+ */
+@Component
+@ConditionalOnProperty(prefix = "custom.storage", name = "backend", havingValue = "s3", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class S3ObjectStorage implements ObjectStorage {
+    private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
+    private final S3Configuration s3Config;
+    private final StorageProperties storageProperties;
+
+    @Override
+    public void put(String key, InputStream inputStream, long contentLength, String contentType) throws IOException {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(s3Config.getBucketName())
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .build();
+
+        try {
+            if (contentLength < storageProperties.getMultipartThresholdBytes()) {
+                s3Client.putObject(request, RequestBody.fromInputStream(inputStream, contentLength));
+                return;
+            }
+
+            // the body is pulled from the stream part by part, never held in memory as a whole
+            BlockingInputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingInputStream(contentLength);
+            CompletableFuture<PutObjectResponse> response = s3AsyncClient.putObject(request, body);
+            body.writeInputStream(inputStream);
+            response.join();
+        } catch (SdkException | CompletionException e) {
+            throw new IOException("Failed to upload file to S3: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void putAll(List<ObjectUpload> uploads) throws IOException {
+        if (uploads.isEmpty()) {
+            return;
+        }
+
+        Semaphore permits = new Semaphore(Math.max(1, storageProperties.getUploadConcurrency()));
+        List<CompletableFuture<PutObjectResponse>> futures = new ArrayList<>(uploads.size());
+
+        try {
+            for (ObjectUpload upload : uploads) {
+                permits.acquire();
+
+                PutObjectRequest request = PutObjectRequest.builder()
+                        .bucket(s3Config.getBucketName())
+                        .key(upload.key())
+                        .contentType(upload.contentType())
+                        .contentLength((long) upload.data().length)
+                        .build();
+
+                futures.add(s3AsyncClient.putObject(request, AsyncRequestBody.fromBytes(upload.data()))
+                        .whenComplete((response, error) -> permits.release()));
+            }
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while uploading files to S3", e);
+        } catch (SdkException | CompletionException e) {
+            throw new IOException("Failed to upload files to S3: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(s3Config.getBucketName())
+                    .key(key)
+                    .build());
+        } catch (SdkException e) {
+            throw new IOException("Failed to download file from S3: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void copy(String sourceKey, String destinationKey) throws IOException {
+        try {
+            s3Client.copyObject(CopyObjectRequest.builder()
+                    .sourceBucket(s3Config.getBucketName())
+                    .sourceKey(sourceKey)
+                    .destinationBucket(s3Config.getBucketName())
+                    .destinationKey(destinationKey)
+                    .build());
+        } catch (SdkException e) {
+            throw new IOException("Failed to copy " + sourceKey + " in S3: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public OptionalLong size(String key) {
+        try {
+            HeadObjectResponse response = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(s3Config.getBucketName())
+                    .key(key)
+                    .build());
+            return OptionalLong.of(response.contentLength());
+        } catch (NoSuchKeyException e) {
+            return OptionalLong.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() != 404) {
+                log.error("Failed to get object size: {}", key, e);
+            }
+            return OptionalLong.empty();
+        }
+    }
+
+    @Override
+    public void list(String prefix, Consumer<StoredObject> consumer) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(s3Config.getBucketName())
+                .prefix(prefix)
+                .build();
+
+        for (S3Object object : s3Client.listObjectsV2Paginator(request).contents()) {
+            consumer.accept(new StoredObject(object.key(), object.size()));
+        }
+    }
+
+    @Override
+    public List<String> deleteAll(Collection<String> keys) {
+        List<String> failed = new ArrayList<>();
+        List<ObjectIdentifier> batch = new ArrayList<>();
+        int batchSize = Math.min(1000, Math.max(1, storageProperties.getDeleteBatchSize()));
+
+        for (String key : new LinkedHashSet<>(keys)) {
+            batch.add(ObjectIdentifier.builder().key(key).build());
+            if (batch.size() == batchSize) {
+                failed.addAll(deleteBatch(batch));
+                batch = new ArrayList<>();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            failed.addAll(deleteBatch(batch));
+        }
+
+        return failed;
+    }
+
+    private List<String> deleteBatch(List<ObjectIdentifier> batch) {
+        try {
+            DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(s3Config.getBucketName())
+                    .delete(Delete.builder().objects(batch).quiet(true).build())
+                    .build());
+
+            // quiet mode only reports the failures
+            return response.errors().stream()
+                    .peek(error -> log.warn("Failed to delete {} from S3: {}", error.key(), error.message()))
+                    .map(S3Error::key)
+                    .toList();
+        } catch (SdkException e) {
+            log.error("Failed to delete a batch of {} objects from S3", batch.size(), e);
+            return batch.stream().map(ObjectIdentifier::key).toList();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.datn.exam.config.s3.storage;
+
+public record StoredObject(String key, long size) {
+}
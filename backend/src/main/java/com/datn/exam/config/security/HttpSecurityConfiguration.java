@@ -1,7 +1,10 @@
 package com.datn.exam.config.security;
 
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -49,10 +52,28 @@ public class HttpSecurityConfiguration {
             "/api/account/register",
             "/api/account/authenticate",
             "/api/join/**",
-            "/api/exam-attempt/**",
-            "/api/logs/**"
+            "/api/exam-attempt/**"
     };
 
+    // candidates report violations while taking the exam, reading the logs is for the session owner
+    private final String[] CANDIDATE_LOG_URLS = {
+            "/api/logs"
+    };
+
+    // probed by the load balancer
+    private final String[] MANAGEMENT_PUBLIC_URLS = {
+            "/actuator/health"
+    };
+
+    // scraped by Prometheus without a token, but only on the management port (kept off the public network)
+    private static final String PROMETHEUS_URL = "/actuator/prometheus";
+
+    @Value("${server.port}")
+    private int serverPort;
+
+    @Value("${management.server.port}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -61,15 +82,27 @@ public class HttpSecurityConfiguration {
                 .authorizeHttpRequests(
                         registry ->
                                 registry
+                                        // SSE streams complete on an async dispatch, the request was authorized already
+                                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                                         .requestMatchers(HttpMethod.GET, QUERY_PUBLIC_URLS).permitAll()
                                         .requestMatchers(COMMAND_PUBLIC_URLS).permitAll()
+                                        .requestMatchers(HttpMethod.POST, CANDIDATE_LOG_URLS).permitAll()
+                                        .requestMatchers(HttpMethod.GET, MANAGEMENT_PUBLIC_URLS).permitAll()
+                                        .requestMatchers(this::isManagementScrape).permitAll()
                                         .anyRequest().authenticated());
 
         http.addFilterBefore(customAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
+    private boolean isManagementScrape(HttpServletRequest request) {
+        return managementPort != serverPort
+                && request.getLocalPort() == managementPort
+                && HttpMethod.GET.matches(request.getMethod())
+                && PROMETHEUS_URL.equals(request.getRequestURI());
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -12,13 +12,15 @@ public class PageDTO<T> {
     private int pageSize;
     private long total;
     private long totalPages;
+    private String nextCursor;
+    private boolean hasNext;
 
     public PageDTO(List<T> data, int pageIndex, int pageSize, long total) {
         this.data = data;
         this.pageIndex = pageIndex;
         this.pageSize = pageSize;
         this.total = total;
-        this.totalPages = (pageSize == 0) ? 0 : (total + pageSize - 1) / pageSize;
+        this.totalPages = (total < 0) ? -1 : (pageSize == 0) ? 0 : (total + pageSize - 1) / pageSize;
     }
 
     public static <T> PageDTO<T> of(List<T> data, int pageIndex, int pageSize, long total) {
@@ -28,4 +30,10 @@ public class PageDTO<T> {
     public static <T> PageDTO<T> empty(int pageIndex, int pageSize) {
         return new PageDTO<>(Collections.emptyList(), pageIndex, pageSize, 0L);
     }
+
+    public PageDTO<T> next(String nextCursor) {
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        return this;
+    }
 }
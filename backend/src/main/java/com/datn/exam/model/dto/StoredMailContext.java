@@ -0,0 +1,73 @@
+package com.datn.exam.model.dto;
+
+import com.datn.exam.model.entity.Email;
+import com.datn.exam.support.util.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.datn.exam.support.constants.MailVariableConstants.EXAM_OTP_MAIL_TEMPLATE;
+
+/**
+ * Mail context rebuilt from an {@link Email} row whose template variables were stored as JSON,
+ * used by the outbox dispatcher long after the request that queued the mail is gone.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PUBLIC)
+public class StoredMailContext implements BaseMailContext {
+
+    private final Email email;
+
+    /**
+     * OTP mails are rebuilt from their columns, every other template needs its stored variables.
+     */
+    public static BaseMailContext of(Email email) {
+        if (EXAM_OTP_MAIL_TEMPLATE.equals(email.getTemplateName())) {
+            return new OtpMailContext(email);
+        }
+        if (email.getVariables() == null) {
+            throw new IllegalStateException("Mail %s (%s) has no stored variables"
+                    .formatted(email.getId(), email.getTemplateName()));
+        }
+        return new StoredMailContext(email);
+    }
+
+    /**
+     * Decimals are stored as plain strings so they render exactly as before the round trip.
+     */
+    public static String serialize(Map<String, Object> variables) {
+        Map<String, Object> stored = new HashMap<>();
+        variables.forEach((key, value) ->
+                stored.put(key, value instanceof BigDecimal decimal ? decimal.toPlainString() : value));
+        try {
+            return JsonUtils.marshal(stored);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize mail variables", e);
+        }
+    }
+
+    @Override
+    public String getTemplateName() {
+        return email.getTemplateName();
+    }
+
+    @Override
+    public String getSubject() {
+        return email.getSubject();
+    }
+
+    @Override
+    public String getTo() {
+        return email.getTo();
+    }
+
+    @Override
+    public Map<String, Object> toVariables() {
+        return JsonUtils.toMap(email.getVariables());
+    }
+}
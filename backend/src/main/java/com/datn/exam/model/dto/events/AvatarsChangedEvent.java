@@ -0,0 +1,16 @@
+package com.datn.exam.model.dto.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+@Getter
+public class AvatarsChangedEvent extends ApplicationEvent {
+    private final List<Long> sessionStudentIds;
+
+    public AvatarsChangedEvent(Object source, List<Long> sessionStudentIds) {
+        super(source);
+        this.sessionStudentIds = sessionStudentIds;
+    }
+}
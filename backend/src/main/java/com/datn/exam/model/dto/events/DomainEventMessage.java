@@ -0,0 +1,22 @@
+package com.datn.exam.model.dto.events;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event relayed from the outbox, delivered to in-process listeners after commit.
+ */
+@Getter
+@Builder
+public class DomainEventMessage {
+    private final Long outboxId;
+    private final String aggregateType;
+    private final String aggregateId;
+    private final Long aggregateVersion;
+    private final String eventType;
+    private final String dedupKey;
+    private final String payload;
+    private final LocalDateTime occurredAt;
+}
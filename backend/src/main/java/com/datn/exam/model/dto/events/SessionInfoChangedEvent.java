@@ -0,0 +1,16 @@
+package com.datn.exam.model.dto.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+@Getter
+public class SessionInfoChangedEvent extends ApplicationEvent {
+    private final List<String> codes;
+
+    public SessionInfoChangedEvent(Object source, List<String> codes) {
+        super(source);
+        this.codes = codes;
+    }
+}
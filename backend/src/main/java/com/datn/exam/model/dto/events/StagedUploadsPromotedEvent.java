@@ -0,0 +1,16 @@
+package com.datn.exam.model.dto.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+@Getter
+public class StagedUploadsPromotedEvent extends ApplicationEvent {
+    private final List<String> stagedKeys;
+
+    public StagedUploadsPromotedEvent(Object source, List<String> stagedKeys) {
+        super(source);
+        this.stagedKeys = stagedKeys;
+    }
+}
@@ -10,6 +10,7 @@ import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring", uses = {DateMapper.class, ExamSessionSettingsMapper.class, InviteCodeMapper.class})
 public abstract class ExamSessionMapper {
+    @Mapping(target = "archivedAt", ignore = true)
     public abstract ExamSessionResponse toExamSessionResponse(ExamSessionDto dto);
 
     @Mapping(source = "settings", target = "settings")
@@ -19,5 +20,7 @@ public abstract class ExamSessionMapper {
     public abstract ExamSessionResponse toExamSessionResponse(ExamSession examSession);
 
     @Mapping(target = "shuffleQuestions", source = "shuffleQuestion")
+    @Mapping(target = "archivedAt", ignore = true)
+    @Mapping(target = "restoredAt", ignore = true)
     public abstract void updateExamSession(@MappingTarget ExamSession examSession, ExamSessionRequest request);
 }
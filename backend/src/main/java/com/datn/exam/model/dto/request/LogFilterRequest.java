@@ -0,0 +1,24 @@
+package com.datn.exam.model.dto.request;
+
+import com.datn.exam.model.entity.Log;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+public class LogFilterRequest {
+
+    private String email;
+
+    private List<Log.Severity> severities;
+
+    @DateTimeFormat(pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime from;
+
+    @DateTimeFormat(pattern = "dd-MM-yyyy HH:mm:ss")
+    private LocalDateTime to;
+}
@@ -12,4 +12,6 @@ public class OtpRequest {
     @Email(message = "INVALID_EMAIL")
     @NotBlank(message = "EMAIL_REQUIRED")
     private String email;
+
+    private String ipAddress;
 }
@@ -26,6 +26,12 @@ public class PagingRequest extends Request {
 
     protected SortOrder sortOrder;
 
+    // nextCursor of the previous page, replaces pageIndex when set
+    protected String cursor;
+
+    // false skips the total, the page then reports total = -1
+    protected boolean withTotal = true;
+
     public void setPageIndex(int pageIndex) {
         this.pageIndex = pageIndex - 1;
     }
@@ -16,4 +16,6 @@ public class VerifyOtpRequest {
 
     @NotBlank(message = "OTP_REQUIRED")
     private String otp;
+
+    private String ipAddress;
 }
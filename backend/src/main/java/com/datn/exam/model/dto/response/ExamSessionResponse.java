@@ -32,6 +32,7 @@ public class ExamSessionResponse {
     @JsonProperty("isPublic")
     private boolean publicFlag;
     private Integer attemptLimit;
+    private LocalDateTime archivedAt;
 
     private ExamSessionSetting settings;
 
@@ -0,0 +1,30 @@
+package com.datn.exam.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultNotificationProgressResponse {
+    private Long sessionId;
+    private Status status;
+    private Long total;
+    private Long queued;
+    private Long skipped;
+    private Long failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        NOT_STARTED,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+}
@@ -39,6 +39,9 @@ public class SessionStudentPreviewResponse {
         private String email;
         private String fullName;
         private String userId;
+        // staged object keys, sent back as avatarImages when the roster is saved
+        private List<String> avatarKeys;
+        // short lived URLs of the staged pictures, for display only
         private List<String> avatarPreviews;
         private int avatarCount;
         private boolean hasAvatars;
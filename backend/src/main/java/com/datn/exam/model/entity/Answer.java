@@ -4,6 +4,8 @@ import com.datn.exam.support.enums.MediaType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,6 +20,8 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "answer")
 public class Answer extends AuditableEntity {
     
     @Id
@@ -40,6 +44,7 @@ public class Answer extends AuditableEntity {
     
     @OneToMany(mappedBy = "answer", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("displayOrder ASC, id ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "answer-media")
     private List<MediaContent> mediaContents = new ArrayList<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
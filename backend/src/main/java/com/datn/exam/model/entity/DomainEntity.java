@@ -28,15 +28,24 @@ public abstract class DomainEntity {
         events.add(event);
     }
 
-    @PostPersist
+    // pending events are drained into the outbox at flush time (see OutboxCaptureListener)
     @PostLoad
-    @PostRemove
     public void clearEvent() {
         if (CollectionUtils.isNotEmpty(this.events)) {
             this.events.clear();
         }
     }
 
+    public List<DomainEvent> drainEvents() {
+        if (CollectionUtils.isEmpty(this.events)) {
+            return Collections.emptyList();
+        }
+
+        List<DomainEvent> drained = new ArrayList<>(this.events);
+        this.events.clear();
+        return drained;
+    }
+
     public List<DomainEvent> getEvents() {
         if (CollectionUtils.isEmpty(this.events)) {
             return Collections.emptyList();
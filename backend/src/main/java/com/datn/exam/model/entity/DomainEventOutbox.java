@@ -0,0 +1,64 @@
+package com.datn.exam.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+        name = "domain_event_outbox",
+        indexes = {
+                @Index(name = "idx_outbox_status_id", columnList = "status, id"),
+                @Index(name = "idx_outbox_aggregate", columnList = "aggregate_type, aggregate_id, status, id")
+        },
+        uniqueConstraints = @UniqueConstraint(name = "uk_outbox_dedup_key", columnNames = "dedup_key")
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DomainEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 100)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 64)
+    private String aggregateId;
+
+    @Column(name = "aggregate_version")
+    private Long aggregateVersion;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "dedup_key", nullable = false, length = 255)
+    private String dedupKey;
+
+    @Column(columnDefinition = "JSON")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public enum Status {
+        PENDING,
+        PUBLISHED,
+        FAILED
+    }
+}
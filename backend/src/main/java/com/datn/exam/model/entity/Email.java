@@ -1,14 +1,25 @@
 package com.datn.exam.model.entity;
 
+import com.datn.exam.support.enums.MailPriority;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name="emails")
+@Table(
+        name = "emails",
+        indexes = {
+                @Index(name = "idx_emails_claim", columnList = "status, priority, id, next_attempt_at"),
+                @Index(name = "idx_emails_attempt_template", columnList = "attempt_id, template_name")
+        }
+)
 @Getter
 @Setter
 @SuperBuilder
@@ -51,8 +62,25 @@ public class Email extends AuditableEntity {
     @Column(name = "attempt_id")
     private Long attemptId;
 
+    // MailPriority lane, lower is dispatched first
+    @Column(nullable = false)
+    @ColumnDefault("10")
+    @Builder.Default
+    private Integer priority = MailPriority.RESULT.getLane();
+
+    // template variables as JSON for mails that cannot be rebuilt from the columns above
+    @Column(columnDefinition = "TEXT")
+    private String variables;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
     public static enum Status {
         PENDING,
+        SENDING,
         SENT,
         FAILED
     }
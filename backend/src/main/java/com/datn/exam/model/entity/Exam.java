@@ -13,7 +13,10 @@ import java.util.LinkedList;
 import java.util.List;
 
 @Entity
-@Table(name = "exams")
+@Table(
+        name = "exams",
+        indexes = @Index(name = "idx_exams_created_at_id", columnList = "created_at, id")
+)
 @Getter
 @Setter
 @Builder
@@ -1,6 +1,7 @@
 package com.datn.exam.model.entity;
 
-import com.datn.exam.support.converter.MapObjectConverter;
+import com.datn.exam.support.converter.LazyJsonMap;
+import com.datn.exam.support.converter.LazyJsonMapConverter;
 import jakarta.persistence.*;
 import lombok.*;
 import org.apache.commons.collections4.CollectionUtils;
@@ -14,7 +15,14 @@ import java.util.Objects;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "exam_attempts")
+@Table(
+        name = "exam_attempts",
+        indexes = {
+                @Index(name = "idx_exam_attempts_session_email_status", columnList = "exam_session_id, student_email, status, attempt_no"),
+                @Index(name = "idx_exam_attempts_session_grading", columnList = "exam_session_id, grading_status"),
+                @Index(name = "idx_exam_attempts_status", columnList = "status")
+        }
+)
 @Getter
 @Setter
 @Builder
@@ -69,9 +77,9 @@ public class ExamAttempt extends AuditableEntity{
     @Column(name = "grading_status")
     private GradingStatus gradingStatus;
 
-    @Convert(converter = MapObjectConverter.class)
+    @Convert(converter = LazyJsonMapConverter.class)
     @Column(name = "snapshot_exam")
-    private Map<String, Object> snapshotExam;
+    private LazyJsonMap snapshotExam;
 
     @Column(name = "fullscreen_exit_count", nullable = false)
     @Builder.Default
@@ -100,4 +108,18 @@ public class ExamAttempt extends AuditableEntity{
         question.setAttempt(this);
     }
 
+    public Map<String, Object> getSnapshotExam() {
+        return snapshotExam != null ? snapshotExam.get() : null;
+    }
+
+    public void setSnapshotExam(Map<String, Object> snapshotExam) {
+        this.snapshotExam = LazyJsonMap.of(snapshotExam);
+    }
+
+    public static class ExamAttemptBuilder {
+        public ExamAttemptBuilder snapshotExam(Map<String, Object> snapshotExam) {
+            this.snapshotExam = LazyJsonMap.of(snapshotExam);
+            return this;
+        }
+    }
 }
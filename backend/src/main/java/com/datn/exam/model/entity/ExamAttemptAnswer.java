@@ -1,6 +1,7 @@
 package com.datn.exam.model.entity;
 
-import com.datn.exam.support.converter.MapObjectConverter;
+import com.datn.exam.support.converter.LazyJsonMap;
+import com.datn.exam.support.converter.LazyJsonMapConverter;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,7 +12,7 @@ import java.util.Map;
 @Table(name = "exam_attempt_answers")
 @Getter
 @Setter
-@Builder(toBuilder = true)
+@Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
@@ -25,7 +26,22 @@ public class ExamAttemptAnswer extends AuditableEntity {
     @JoinColumn(name = "attempt_question_id", nullable = false)
     private ExamAttemptQuestion attemptQuestion;
 
-    @Convert(converter = MapObjectConverter.class)
+    @Convert(converter = LazyJsonMapConverter.class)
     @Column(columnDefinition = "JSON", nullable = false)
-    private Map<String, Object> payload; // ONE/MULTI/TF: selectedAnswerIds; PLAIN_TEXT/ESSAY: text; TABLE_CHOICE: rows[]
-}
\ No newline at end of file
+    private LazyJsonMap payload; // ONE/MULTI/TF: selectedAnswerIds; PLAIN_TEXT/ESSAY: text; TABLE_CHOICE: rows[]
+
+    public Map<String, Object> getPayload() {
+        return payload != null ? payload.get() : null;
+    }
+
+    public void setPayload(Map<String, Object> payload) {
+        this.payload = LazyJsonMap.of(payload);
+    }
+
+    public static class ExamAttemptAnswerBuilder {
+        public ExamAttemptAnswerBuilder payload(Map<String, Object> payload) {
+            this.payload = LazyJsonMap.of(payload);
+            return this;
+        }
+    }
+}
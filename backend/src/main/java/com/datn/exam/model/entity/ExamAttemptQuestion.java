@@ -1,6 +1,7 @@
 package com.datn.exam.model.entity;
 
-import com.datn.exam.support.converter.MapObjectConverter;
+import com.datn.exam.support.converter.LazyJsonMap;
+import com.datn.exam.support.converter.LazyJsonMapConverter;
 import com.datn.exam.support.enums.QuestionType;
 import jakarta.persistence.*;
 import lombok.*;
@@ -39,8 +40,8 @@ public class ExamAttemptQuestion extends AuditableEntity{
     private BigDecimal point; // Điểm snapshot
 
     @Column(name = "question_snapshot", columnDefinition = "TEXT")
-    @Convert(converter = MapObjectConverter.class)
-    private Map<String, Object> questionSnapshot;
+    @Convert(converter = LazyJsonMapConverter.class)
+    private LazyJsonMap questionSnapshot;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "question_id", insertable = false, updatable = false)
@@ -66,4 +67,19 @@ public class ExamAttemptQuestion extends AuditableEntity{
             answer.setAttemptQuestion(this);
         }
     }
+
+    public Map<String, Object> getQuestionSnapshot() {
+        return questionSnapshot != null ? questionSnapshot.get() : null;
+    }
+
+    public void setQuestionSnapshot(Map<String, Object> questionSnapshot) {
+        this.questionSnapshot = LazyJsonMap.of(questionSnapshot);
+    }
+
+    public static class ExamAttemptQuestionBuilder {
+        public ExamAttemptQuestionBuilder questionSnapshot(Map<String, Object> questionSnapshot) {
+            this.questionSnapshot = LazyJsonMap.of(questionSnapshot);
+            return this;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.datn.exam.model.entity;
 
-import com.datn.exam.support.converter.MapObjectConverter;
+import com.datn.exam.support.converter.LazyJsonMap;
+import com.datn.exam.support.converter.LazyJsonMapConverter;
 import com.datn.exam.support.util.InviteCodeUtils;
 import jakarta.persistence.*;
 import lombok.*;
@@ -13,7 +14,10 @@ import java.util.List;
 import java.util.Map;
 
 @Entity
-@Table(name = "exam_sessions")
+@Table(
+        name = "exam_sessions",
+        indexes = @Index(name = "idx_exam_sessions_created_at_id", columnList = "created_at, id")
+)
 @Getter
 @Setter
 @Builder
@@ -57,9 +61,9 @@ public class ExamSession extends AuditableEntity{
     @Column(name = "is_public")
     private boolean isPublic; // Phiên thì có public hay không
 
-    @Convert(converter = MapObjectConverter.class)
+    @Convert(converter = LazyJsonMapConverter.class)
     @Column(columnDefinition = "JSON")
-    private Map<String, Object> settings; // setting chống gian lận (key: tên field, value giá trị field;
+    private LazyJsonMap settings; // setting chống gian lận (key: tên field, value giá trị field;
 
     @Column(name = "attempt_limit")
     private Integer attemptLimit; // mỗi user, mặc định 1
@@ -70,6 +74,14 @@ public class ExamSession extends AuditableEntity{
     @Column(name = "access_password")
     private String accessPassword;
 
+    // attempts, answers, logs and sent mails live in the *_archive tables since then
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    // restored on demand, the nightly archive run leaves it alone for another archive period
+    @Column(name = "restored_at")
+    private LocalDateTime restoredAt;
+
     @ManyToOne
     @JoinColumn(name = "exam_id")
     private Exam exam;
@@ -117,4 +129,19 @@ public class ExamSession extends AuditableEntity{
     public String buildJoinPath() {
         return "/join/" + this.joinToken; // Path
     }
+
+    public Map<String, Object> getSettings() {
+        return settings != null ? settings.get() : null;
+    }
+
+    public void setSettings(Map<String, Object> settings) {
+        this.settings = LazyJsonMap.of(settings);
+    }
+
+    public static class ExamSessionBuilder {
+        public ExamSessionBuilder settings(Map<String, Object> settings) {
+            this.settings = LazyJsonMap.of(settings);
+            return this;
+        }
+    }
 }
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "logs")
+@Table(
+        name = "logs",
+        indexes = @Index(name = "idx_logs_attempt_logged_at", columnList = "attempt_id, logged_at")
+)
 @Getter
 @Setter
 @Builder
@@ -3,6 +3,8 @@ package com.datn.exam.model.entity;
 import com.datn.exam.support.enums.MediaType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "media_contents")
@@ -12,6 +14,8 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "media-content")
 public class MediaContent extends AuditableEntity {
     
     @Id
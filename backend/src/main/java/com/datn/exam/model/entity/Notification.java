@@ -10,7 +10,10 @@ import lombok.*;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "notifications")
+@Table(
+        name = "notifications",
+        indexes = @Index(name = "idx_notifications_receive_id_id", columnList = "receive_id, id")
+)
 public class Notification extends AuditableEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,7 +19,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -29,13 +33,22 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Entity
-@Table(name = "questions")
+@Table(
+        name = "questions",
+        indexes = {
+                @Index(name = "idx_questions_created_at_id", columnList = "created_at, id"),
+                @Index(name = "idx_questions_active_created_at", columnList = "active_status, created_at, id"),
+                @Index(name = "idx_questions_active_level_created_at", columnList = "active_status, level, created_at, id")
+        }
+)
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question")
 public class Question extends AuditableEntity {
 
     @Id
@@ -52,6 +65,7 @@ public class Question extends AuditableEntity {
     private BaseQuestion questionValue; //Entity inner class
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question-tags")
     @JoinTable(
             name = "question_tags",
             joinColumns = @JoinColumn(name = "question_id"),
@@ -61,6 +75,7 @@ public class Question extends AuditableEntity {
 
     @OneToMany(mappedBy = "question", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("orderIndex ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question-answers")
     private List<Answer> answers = new ArrayList<>();
 
     @OneToMany(mappedBy = "question", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -83,6 +98,35 @@ public class Question extends AuditableEntity {
 
     private boolean isPublic;
 
+    // Stored copies of question_value attributes, maintained by MySQL for the JDBC search. The
+    // generated columns and their indexes are declared in db/migration only, Hibernate never writes
+    // them and does not refresh them on a managed entity, use the getters below.
+    @Enumerated(EnumType.STRING)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "value_type", length = 32, insertable = false, updatable = false)
+    private QuestionType valueType;
+
+    @Enumerated(EnumType.STRING)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "value_level", length = 32, insertable = false, updatable = false)
+    private Level valueLevel;
+
+    @Enumerated(EnumType.STRING)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "value_status", length = 32, insertable = false, updatable = false)
+    private Status valueStatus;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @Column(name = "value_public_flag", insertable = false, updatable = false)
+    private Boolean valuePublicFlag;
+
     public QuestionType getType() {
         return questionValue != null ? questionValue.getType() : null;
     }
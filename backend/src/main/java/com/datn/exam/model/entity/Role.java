@@ -4,8 +4,11 @@ import com.datn.exam.support.constants.ValidateConstraint;
 import com.datn.exam.support.enums.ActiveStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Fetch;
 import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.Immutable;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -19,6 +22,9 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "role")
 public class Role extends AuditableEntity{
     @Id
     @Column()
@@ -9,7 +9,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "session_students")
+@Table(
+        name = "session_students",
+        indexes = @Index(name = "idx_session_students_session_user", columnList = "exam_session_id, user_id")
+)
 @Getter
 @Setter
 @Builder
@@ -32,4 +35,10 @@ public class SessionStudent extends AuditableEntity {
     @Column(name = "avatar_urls", columnDefinition = "TEXT")
     @Builder.Default
     private @Size(max = 5) List<String> avatarUrls = new ArrayList<>();
-}
\ No newline at end of file
+
+    // avatar keys whose downscaled variants are already stored next to them
+    @Convert(converter = ListConverter.class)
+    @Column(name = "avatar_thumbnails", columnDefinition = "TEXT")
+    @Builder.Default
+    private List<String> avatarThumbnails = new ArrayList<>();
+}
@@ -0,0 +1,42 @@
+package com.datn.exam.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ledger row of the objects stored under {@code session-students/{sessionId}/}. Kept up to date
+ * by every upload and delete, and corrected periodically from a bucket listing.
+ */
+@Entity
+@Table(
+        name = "storage_usage",
+        indexes = @Index(name = "idx_storage_usage_owner_id", columnList = "owner_id, session_id")
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageUsage {
+
+    @Id
+    @Column(name = "session_id")
+    private Long sessionId;
+
+    @Column(name = "owner_id", length = 36)
+    private String ownerId;
+
+    @Column(nullable = false)
+    private long bytes;
+
+    @Column(name = "object_count", nullable = false)
+    private long objectCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "reconciled_at")
+    private LocalDateTime reconciledAt;
+}
@@ -3,6 +3,8 @@ package com.datn.exam.model.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -12,6 +14,8 @@ import java.util.List;
 @Setter
 @SuperBuilder
 @NoArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tag")
 public class Tag extends AuditableEntity{
 
     @GeneratedValue(strategy = GenerationType.IDENTITY)
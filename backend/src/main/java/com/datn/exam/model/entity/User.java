@@ -20,7 +20,10 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(
+        name = "users",
+        indexes = @Index(name = "idx_users_email", columnList = "email")
+)
 @EqualsAndHashCode(callSuper = true)
 @Data
 @SuperBuilder
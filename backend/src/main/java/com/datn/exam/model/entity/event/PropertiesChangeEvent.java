@@ -1,6 +1,5 @@
 package com.datn.exam.model.entity.event;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,17 +8,23 @@ import java.util.List;
 
 @Getter
 @Setter
-@AllArgsConstructor
 public class PropertiesChangeEvent implements DomainEvent {
     private List<PropertyChange> changes;
 
+    private LocalDateTime happenAt;
+
+    public PropertiesChangeEvent(List<PropertyChange> changes) {
+        this.changes = changes;
+        this.happenAt = LocalDateTime.now();
+    }
+
     @Override
     public String eventName() {
-        return "";
+        return "PropertiesChanged";
     }
 
     @Override
     public LocalDateTime happenAt() {
-        return null;
+        return happenAt;
     }
 }
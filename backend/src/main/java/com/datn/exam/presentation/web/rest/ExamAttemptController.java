@@ -7,6 +7,7 @@ import com.datn.exam.model.dto.response.AttemptDetailResponse;
 import com.datn.exam.model.dto.response.AttemptGradingResponse;
 import com.datn.exam.model.dto.response.AttemptListResponse;
 import com.datn.exam.model.dto.response.Response;
+import com.datn.exam.model.dto.response.ResultNotificationProgressResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.*;
@@ -49,6 +50,9 @@ public interface ExamAttemptController {
 
     @PostMapping("/session/{sessionId}/send-result-notifications")
     Response<Void> sendResultNotifications(@PathVariable Long sessionId);
+
+    @GetMapping("/session/{sessionId}/result-notifications/progress")
+    Response<ResultNotificationProgressResponse> getResultNotificationProgress(@PathVariable Long sessionId);
     
     @PostMapping("/{attemptId}/send-result-notification")
     Response<Void> sendResultNotificationForAttempt(@PathVariable Long attemptId);
@@ -9,6 +9,7 @@ import com.datn.exam.model.dto.response.GuestAccess;
 import com.datn.exam.model.dto.response.Response;
 import com.datn.exam.model.dto.response.SessionInfoResponse;
 import com.datn.exam.model.dto.response.SessionTokenResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -26,13 +27,13 @@ public interface ExamJoinController {
     public Response<JoinSessionMetaResponse> joinByCode(@Valid @RequestBody JoinByCodeRequest request);
 
     @PostMapping("/otp/request")
-    public Response<Void> requestOtp(@Valid @RequestBody OtpRequest request);
+    public Response<Void> requestOtp(@Valid @RequestBody OtpRequest request, HttpServletRequest servletRequest);
 
     @PostMapping("/otp/verify")
-    public Response<SessionTokenResponse> verifyOtp(@Valid @RequestBody VerifyOtpRequest request);
+    public Response<SessionTokenResponse> verifyOtp(@Valid @RequestBody VerifyOtpRequest request, HttpServletRequest servletRequest);
 
     @PostMapping("/otp/resend")
-    public Response<Void> resendOtp(@Valid @RequestBody OtpRequest request);
+    public Response<Void> resendOtp(@Valid @RequestBody OtpRequest request, HttpServletRequest servletRequest);
 
     @GetMapping("/token/validate")
     public Response<GuestAccess> validateSessionToken(@RequestHeader("X-Session-Token") String token);
@@ -41,6 +41,10 @@ public interface ExamSessionController {
             @Valid SessionUserFilterRequest request
     );
 
+    @PostMapping("/{id}/restore")
+    @ResponseStatus(HttpStatus.OK)
+    Response<Integer> restore(@PathVariable(name = "id") Long id);
+
     @GetMapping("/filter/count")
     Response<Integer> count(ExamSessionFilterRequest request);
 
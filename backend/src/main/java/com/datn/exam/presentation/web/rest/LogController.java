@@ -1,10 +1,14 @@
 package com.datn.exam.presentation.web.rest;
 
 import com.datn.exam.model.dto.request.CreateLogRequest;
+import com.datn.exam.model.dto.request.LogFilterRequest;
 import com.datn.exam.model.dto.response.LogResponse;
 import com.datn.exam.model.dto.response.Response;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -32,5 +36,14 @@ public interface LogController {
             @PathVariable Long sessionId,
             @PathVariable String email
     );
-}
 
+    @GetMapping(value = "/session/{sessionId}/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<StreamingResponseBody> streamLogsBySessionId(@PathVariable Long sessionId, LogFilterRequest filter);
+
+    @GetMapping(value = "/session/{sessionId}/student/{email}/grouped/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<StreamingResponseBody> streamLogsGroupedByAttempt(
+            @PathVariable Long sessionId,
+            @PathVariable String email,
+            LogFilterRequest filter
+    );
+}
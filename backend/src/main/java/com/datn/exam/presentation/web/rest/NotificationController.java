@@ -1,14 +1,20 @@
 package com.datn.exam.presentation.web.rest;
 
+import com.datn.exam.model.dto.request.CursorRequest;
 import com.datn.exam.model.dto.response.NotificationStatistic;
 import com.datn.exam.model.dto.response.Response;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RequestMapping("/api/notifications")
 public interface NotificationController {
 
     @GetMapping
-    Response<?> search();
+    Response<?> search(CursorRequest request);
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter stream();
 
     @PutMapping("/{notificationId}/read")
     Response<Void> markRead(@PathVariable int notificationId);
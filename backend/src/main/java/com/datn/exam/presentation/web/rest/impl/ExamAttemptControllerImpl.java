@@ -7,6 +7,7 @@ import com.datn.exam.model.dto.response.AttemptDetailResponse;
 import com.datn.exam.model.dto.response.AttemptGradingResponse;
 import com.datn.exam.model.dto.response.AttemptListResponse;
 import com.datn.exam.model.dto.response.Response;
+import com.datn.exam.model.dto.response.ResultNotificationProgressResponse;
 import com.datn.exam.presentation.web.rest.ExamAttemptController;
 import com.datn.exam.service.ExamAttemptService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -82,6 +83,11 @@ public class ExamAttemptControllerImpl implements ExamAttemptController {
         return Response.ok();
     }
 
+    @Override
+    public Response<ResultNotificationProgressResponse> getResultNotificationProgress(Long sessionId) {
+        return Response.of(examAttemptService.getResultNotificationProgress(sessionId));
+    }
+
     @Override
     public Response<Void> sendResultNotificationForAttempt(Long attemptId) {
         examAttemptService.sendResultNotificationForAttempt(attemptId);
@@ -10,6 +10,8 @@ import com.datn.exam.model.dto.response.SessionInfoResponse;
 import com.datn.exam.model.dto.response.SessionTokenResponse;
 import com.datn.exam.presentation.web.rest.ExamJoinController;
 import com.datn.exam.service.ExamJoinService;
+import com.datn.exam.support.util.RequestUtils;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -34,18 +36,21 @@ public class ExamJoinControllerImpl implements ExamJoinController {
     }
 
     @Override
-    public Response<Void> requestOtp(OtpRequest request) {
+    public Response<Void> requestOtp(OtpRequest request, HttpServletRequest servletRequest) {
+        request.setIpAddress(RequestUtils.getClientIp(servletRequest));
         examJoinService.requestOtp(request);
         return Response.ok();
     }
 
     @Override
-    public Response<SessionTokenResponse> verifyOtp(VerifyOtpRequest request) {
+    public Response<SessionTokenResponse> verifyOtp(VerifyOtpRequest request, HttpServletRequest servletRequest) {
+        request.setIpAddress(RequestUtils.getClientIp(servletRequest));
         return Response.of(examJoinService.verifyOtp(request));
     }
 
     @Override
-    public Response<Void> resendOtp(OtpRequest request) {
+    public Response<Void> resendOtp(OtpRequest request, HttpServletRequest servletRequest) {
+        request.setIpAddress(RequestUtils.getClientIp(servletRequest));
         examJoinService.resendOtp(request);
         return Response.ok();
     }
@@ -6,6 +6,7 @@ import com.datn.exam.model.dto.request.IdsRequest;
 import com.datn.exam.model.dto.request.SessionUserFilterRequest;
 import com.datn.exam.model.dto.response.*;
 import com.datn.exam.presentation.web.rest.ExamSessionController;
+import com.datn.exam.service.ExamSessionArchiveService;
 import com.datn.exam.service.ExamSessionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.RestController;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class ExamSessionControllerImpl implements ExamSessionController {
     private final ExamSessionService examSessionService;
+    private final ExamSessionArchiveService examSessionArchiveService;
 
     @Override
     public Response<ExamSessionResponse> create(ExamSessionRequest request) {
@@ -35,6 +37,11 @@ public class ExamSessionControllerImpl implements ExamSessionController {
         return null;
     }
 
+    @Override
+    public Response<Integer> restore(Long id) {
+        return Response.of(examSessionArchiveService.restore(id));
+    }
+
     @Override
     public Response<ExamSessionResponse> getById(Long id) {
         return Response.of(examSessionService.getById(id));
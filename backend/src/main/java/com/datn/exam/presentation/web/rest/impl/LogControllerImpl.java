@@ -1,13 +1,17 @@
 package com.datn.exam.presentation.web.rest.impl;
 
 import com.datn.exam.model.dto.request.CreateLogRequest;
+import com.datn.exam.model.dto.request.LogFilterRequest;
 import com.datn.exam.model.dto.response.LogResponse;
 import com.datn.exam.model.dto.response.Response;
 import com.datn.exam.presentation.web.rest.LogController;
 import com.datn.exam.service.LogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -55,5 +59,22 @@ public class LogControllerImpl implements LogController {
         List<Map<String, Object>> groupedLogs = logService.getLogsGroupedByAttempt(sessionId, email);
         return Response.of(groupedLogs);
     }
-}
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamLogsBySessionId(Long sessionId, LogFilterRequest filter) {
+        log.info("Streaming logs for session: {}", sessionId);
+        logService.checkSessionOwner(sessionId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> logService.streamLogsBySessionId(sessionId, filter, out));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamLogsGroupedByAttempt(Long sessionId, String email, LogFilterRequest filter) {
+        log.info("Streaming logs grouped by attempt for session: {} and student: {}", sessionId, email);
+        logService.checkSessionOwner(sessionId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> logService.streamLogsGroupedByAttempt(sessionId, email, filter, out));
+    }
+}
@@ -1,11 +1,13 @@
 package com.datn.exam.presentation.web.rest.impl;
 
+import com.datn.exam.model.dto.request.CursorRequest;
 import com.datn.exam.model.dto.response.NotificationStatistic;
 import com.datn.exam.model.dto.response.Response;
 import com.datn.exam.presentation.web.rest.NotificationController;
 import com.datn.exam.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequiredArgsConstructor
@@ -14,8 +16,13 @@ public class NotificationControllerImpl implements NotificationController {
     private final NotificationService notificationService;
 
     @Override
-    public Response<?> search() {
-        return Response.of(notificationService.search());
+    public Response<?> search(CursorRequest request) {
+        return Response.of(notificationService.search(request));
+    }
+
+    @Override
+    public SseEmitter stream() {
+        return notificationService.stream();
     }
 
     @Override
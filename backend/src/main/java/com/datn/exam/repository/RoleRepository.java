@@ -1,8 +1,11 @@
 package com.datn.exam.repository;
 
 import com.datn.exam.model.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,12 +14,15 @@ import java.util.UUID;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, UUID> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Role r WHERE r.deleted = FALSE AND r.id IN :ids")
     List<Role> findActiveByIds(List<UUID> ids);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Role r WHERE r.deleted = FALSE AND r.code = :code")
     Optional<Role> findByCode(String code);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Role r WHERE r.deleted = FALSE AND r.code IN :codes")
     List<Role> findAllByCodes(List<String> codes);
 }
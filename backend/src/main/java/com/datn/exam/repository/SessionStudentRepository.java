@@ -3,8 +3,10 @@ package com.datn.exam.repository;
 import com.datn.exam.model.entity.SessionStudent;
 import com.datn.exam.repository.projection.SessionUserProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,7 +14,11 @@ import java.util.UUID;
 
 public interface SessionStudentRepository extends JpaRepository<SessionStudent, Long> {
 
-    List<SessionStudent> findByExamSessionId(Long examSessionId);
+    // the roster reads every student's user, one join instead of a select per student
+    @Query("SELECT ss FROM SessionStudent ss JOIN FETCH ss.user WHERE ss.examSession.id = :examSessionId")
+    List<SessionStudent> findByExamSessionId(@Param("examSessionId") Long examSessionId);
+
+    long countByExamSessionId(Long examSessionId);
 
     boolean existsByExamSessionIdAndUserId(Long examSessionId, UUID userId);
 
@@ -40,4 +46,10 @@ public interface SessionStudentRepository extends JpaRepository<SessionStudent,
                 WHERE ss.exam_session_id IN (:sessionIds)
             """, nativeQuery = true)
     List<SessionUserProjection> findUserIdsBySessionIds(@Param("sessionIds") List<Long> sessionIds);
+
+    // written by the thumbnail workers without loading the entity, the column holds the JSON list
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE session_students SET avatar_thumbnails = :thumbnails WHERE id = :id", nativeQuery = true)
+    int updateAvatarThumbnails(@Param("id") Long id, @Param("thumbnails") String thumbnails);
 }
@@ -1,24 +1,26 @@
 package com.datn.exam.repository;
 
 import com.datn.exam.model.entity.Tag;
+import com.datn.exam.repository.custom.TagRepositoryCustom;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 
 @Repository
-public interface TagRepository extends JpaRepository<Tag, Long> {
+public interface TagRepository extends JpaRepository<Tag, Long>, TagRepositoryCustom {
 
     @Query("SELECT t FROM Tag t " +
             "WHERE (:keyword IS NULL OR LOWER(t.name) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     List<Tag> search(String keyword);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Tag> findByCreatedBy(String createdBy);
-
-    @Query("SELECT t FROM Tag t WHERE t.id IN :tagIds")
-    List<Tag> findByIds(List<Long> tagIds);
 }
@@ -0,0 +1,40 @@
+package com.datn.exam.repository.custom;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.commons.collections4.CollectionUtils;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Id lookups through {@link Session#byMultipleIds(Class)}, which resolves entities from the
+ * persistence context and the second-level cache first and only selects the misses.
+ * A JPQL {@code IN} query always goes to the database.
+ */
+public abstract class MultiLoadRepositorySupport<T, ID> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Class<T> entityClass;
+
+    protected MultiLoadRepositorySupport(Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    protected List<T> multiLoad(Collection<ID> ids) {
+        if (CollectionUtils.isEmpty(ids)) {
+            return new ArrayList<>();
+        }
+
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(entityClass)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(false)
+                .multiLoad(new ArrayList<>(new LinkedHashSet<>(ids)));
+    }
+}
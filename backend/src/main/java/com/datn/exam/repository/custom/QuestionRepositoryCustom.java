@@ -0,0 +1,9 @@
+package com.datn.exam.repository.custom;
+
+import com.datn.exam.model.entity.Question;
+
+import java.util.List;
+
+public interface QuestionRepositoryCustom {
+    List<Question> findByIds(List<Long> ids);
+}
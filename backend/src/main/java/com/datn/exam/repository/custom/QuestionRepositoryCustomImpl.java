@@ -0,0 +1,18 @@
+package com.datn.exam.repository.custom;
+
+import com.datn.exam.model.entity.Question;
+
+import java.util.List;
+
+public class QuestionRepositoryCustomImpl extends MultiLoadRepositorySupport<Question, Long>
+        implements QuestionRepositoryCustom {
+
+    public QuestionRepositoryCustomImpl() {
+        super(Question.class);
+    }
+
+    @Override
+    public List<Question> findByIds(List<Long> ids) {
+        return multiLoad(ids);
+    }
+}
@@ -0,0 +1,9 @@
+package com.datn.exam.repository.custom;
+
+import com.datn.exam.model.entity.Tag;
+
+import java.util.List;
+
+public interface TagRepositoryCustom {
+    List<Tag> findByIds(List<Long> tagIds);
+}
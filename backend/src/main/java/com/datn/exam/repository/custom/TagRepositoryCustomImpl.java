@@ -0,0 +1,18 @@
+package com.datn.exam.repository.custom;
+
+import com.datn.exam.model.entity.Tag;
+
+import java.util.List;
+
+public class TagRepositoryCustomImpl extends MultiLoadRepositorySupport<Tag, Long>
+        implements TagRepositoryCustom {
+
+    public TagRepositoryCustomImpl() {
+        super(Tag.class);
+    }
+
+    @Override
+    public List<Tag> findByIds(List<Long> tagIds) {
+        return multiLoad(tagIds);
+    }
+}
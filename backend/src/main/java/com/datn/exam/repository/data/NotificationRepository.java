@@ -2,9 +2,12 @@ package com.datn.exam.repository.data;
 
 import com.datn.exam.model.dto.response.NotificationStatistic;
 import com.datn.exam.model.entity.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,11 +16,43 @@ public interface NotificationRepository extends JpaRepository<Notification, Inte
     @Query("SELECT n FROM Notification n WHERE n.id = :notificationId AND n.isDeleted IS FALSE")
     Optional<Notification> findByIdAndNotDeleted(int notificationId);
 
-    @Query("SELECT n FROM Notification n WHERE n.receiveId = :userId AND n.isRead IS FALSE AND n.isDeleted IS FALSE")
-    List<Notification> findByReceiveIdAndIsReadFalseAndNotDeleted(String userId);
-
+    // keyset pages over idx_notifications_receive_id_id
     @Query("SELECT n FROM Notification n WHERE n.receiveId = :userId AND n.isDeleted IS FALSE ORDER BY n.id DESC")
-    List<Notification> findAllAndNotDeleted(String userId);
+    List<Notification> findFirstPage(String userId, Limit limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.receiveId = :userId AND n.id < :cursorId AND n.isDeleted IS FALSE ORDER BY n.id DESC")
+    List<Notification> findPageBefore(String userId, int cursorId, Limit limit);
+
+    @Modifying
+    @Query("""
+                UPDATE Notification n
+                SET n.isRead = TRUE, n.lastModifiedAt = :now
+                WHERE n.receiveId = :userId
+                AND n.isRead IS FALSE
+                AND n.isDeleted IS FALSE
+            """)
+    int markAllRead(String userId, LocalDateTime now);
+
+    // the conditional updates let only one concurrent caller move the counters
+    @Modifying
+    @Query("""
+                UPDATE Notification n
+                SET n.isRead = TRUE, n.lastModifiedAt = :now
+                WHERE n.id = :notificationId
+                AND n.isRead IS FALSE
+                AND n.isDeleted IS FALSE
+            """)
+    int markRead(int notificationId, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+                UPDATE Notification n
+                SET n.isDeleted = TRUE, n.lastModifiedAt = :now
+                WHERE n.id = :notificationId
+                AND n.isRead = :read
+                AND n.isDeleted IS FALSE
+            """)
+    int markDeleted(int notificationId, boolean read, LocalDateTime now);
 
     @Query("""
                 SELECT new com.datn.exam.model.dto.response.NotificationStatistic(
@@ -0,0 +1,38 @@
+package com.datn.exam.repository.data.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchiveDao {
+    /**
+     * Sessions that ended before {@code cutoff}, are not archived yet and have no attempt in
+     * progress, oldest first. A restored session is held back until its restore is older than
+     * {@code cutoff} too.
+     */
+    List<Long> findArchivableSessions(LocalDateTime cutoff, int limit);
+
+    List<Long> findAttemptIds(Long sessionId, boolean archived, int limit);
+
+    /**
+     * Creates missing archive tables, must run before the first move.
+     */
+    void prepareArchiveTables();
+
+    /**
+     * Moves the attempts with their questions, answers, logs and finished mails to the archive
+     * tables in one transaction.
+     */
+    void archiveAttempts(List<Long> attemptIds);
+
+    void restoreAttempts(List<Long> attemptIds);
+
+    /**
+     * Sets the archive mark of the session and drops its restore hold.
+     */
+    void markArchived(Long sessionId, LocalDateTime archivedAt);
+
+    /**
+     * Clears the archive mark of the session and holds it back from the next archive runs.
+     */
+    void markRestored(Long sessionId, LocalDateTime restoredAt);
+}
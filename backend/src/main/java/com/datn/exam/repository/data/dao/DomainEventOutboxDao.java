@@ -0,0 +1,16 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.repository.data.dto.OutboxEventDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DomainEventOutboxDao {
+    List<OutboxEventDto> claimPending(int batchSize);
+
+    void markPublished(List<Long> ids);
+
+    void markFailed(List<Long> ids, int maxAttempts);
+
+    int deletePublishedBefore(LocalDateTime threshold);
+}
@@ -0,0 +1,14 @@
+package com.datn.exam.repository.data.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxDao {
+    List<Long> claimDue(int batchSize, LocalDateTime leaseUntil);
+
+    void markSent(List<Long> ids);
+
+    void reschedule(Long id, LocalDateTime nextAttemptAt, String error);
+
+    void markFailed(Long id, String error);
+}
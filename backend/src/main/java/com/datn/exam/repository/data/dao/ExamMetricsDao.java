@@ -0,0 +1,11 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.repository.data.dto.ExamBacklogDto;
+
+import java.time.LocalDateTime;
+
+public interface ExamMetricsDao {
+    ExamBacklogDto findBacklog(LocalDateTime now);
+
+    int countSessionStudents(long sessionId);
+}
@@ -0,0 +1,36 @@
+package com.datn.exam.repository.data.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Filter totals are approximate: a COUNT over the whole filter is reused for a short while, so
+ * paging through a result set costs one count instead of one per page. Totals are scoped by the
+ * aggregate they count, so a relayed domain event of that aggregate drops them before they expire.
+ */
+@Component
+public class FilterCountCache {
+
+    private final Cache<List<Object>, Long> counts = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .build();
+
+    Long get(String aggregateType, String sql, MapSqlParameterSource params, Supplier<Long> counter) {
+        // the SQL text and parameters identify the filter, including the caller for owner scoped filters
+        Map<String, Object> values = new TreeMap<>(params.getValues());
+        return counts.get(List.of(aggregateType, sql, values.toString()), key -> counter.get());
+    }
+
+    public void evict(String aggregateType) {
+        counts.asMap().keySet().removeIf(key -> aggregateType.equals(key.get(0)));
+    }
+}
@@ -0,0 +1,192 @@
+package com.datn.exam.repository.data.dao;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Moves attempt data between the hot tables and their {@code *_archive} copies with
+ * INSERT ... SELECT, the rows never leave the database. Archive tables are created LIKE the hot
+ * ones, without foreign keys and compressed.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcArchiveDao implements ArchiveDao {
+
+    private static final String ARCHIVE_SUFFIX = "_archive";
+
+    // parents first: rows are copied in this order and deleted in the reverse one. %s is the
+    // suffix of the side being read
+    private static final List<ArchivedTable> TABLES = List.of(
+            new ArchivedTable("exam_attempts", "id IN (:attempt_ids)"),
+            new ArchivedTable("exam_attempt_questions", "attempt_id IN (:attempt_ids)"),
+            new ArchivedTable("exam_attempt_answers", """
+                    attempt_question_id IN (
+                        SELECT q.id FROM exam_attempt_questions%s q WHERE q.attempt_id IN (:attempt_ids)
+                    )"""),
+            new ArchivedTable("logs", "attempt_id IN (:attempt_ids)"),
+            // mails still waiting for the dispatcher stay where it looks for them
+            new ArchivedTable("emails", "attempt_id IN (:attempt_ids) AND status IN ('SENT', 'FAILED')")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // table -> column list shared by the hot and the archive table
+    private final Map<String, String> columnLists = new ConcurrentHashMap<>();
+
+    @Override
+    public List<Long> findArchivableSessions(LocalDateTime cutoff, int limit) {
+        String sql = """
+                SELECT es.id
+                FROM exam_sessions es
+                WHERE es.end_time < :cutoff
+                    AND es.archived_at IS NULL
+                    AND (es.restored_at IS NULL OR es.restored_at < :cutoff)
+                    AND NOT EXISTS (
+                        SELECT 1 FROM exam_attempts a
+                        WHERE a.exam_session_id = es.id AND a.status = 'IN_PROGRESS'
+                    )
+                ORDER BY es.end_time
+                LIMIT :limit
+                """;
+
+        return jdbcTemplate.queryForList(sql, new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("limit", limit), Long.class);
+    }
+
+    @Override
+    public List<Long> findAttemptIds(Long sessionId, boolean archived, int limit) {
+        String sql = """
+                SELECT a.id
+                FROM exam_attempts%s a
+                WHERE a.exam_session_id = :session_id
+                ORDER BY a.id
+                LIMIT :limit
+                """.formatted(archived ? ARCHIVE_SUFFIX : "");
+
+        return jdbcTemplate.queryForList(sql, new MapSqlParameterSource()
+                .addValue("session_id", sessionId)
+                .addValue("limit", limit), Long.class);
+    }
+
+    /**
+     * Creates missing archive tables and checks they still have every column of the hot table.
+     * DDL commits implicitly in MySQL, so this runs before and outside the move transactions.
+     */
+    @Override
+    public void prepareArchiveTables() {
+        for (ArchivedTable table : TABLES) {
+            columnLists.computeIfAbsent(table.name(), this::resolveColumns);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void archiveAttempts(List<Long> attemptIds) {
+        move(attemptIds, "", ARCHIVE_SUFFIX);
+    }
+
+    @Override
+    @Transactional
+    public void restoreAttempts(List<Long> attemptIds) {
+        move(attemptIds, ARCHIVE_SUFFIX, "");
+    }
+
+    @Override
+    public void markArchived(Long sessionId, LocalDateTime archivedAt) {
+        jdbcTemplate.update("UPDATE exam_sessions SET archived_at = :archived_at, restored_at = NULL WHERE id = :session_id",
+                new MapSqlParameterSource()
+                        .addValue("archived_at", archivedAt)
+                        .addValue("session_id", sessionId));
+    }
+
+    @Override
+    public void markRestored(Long sessionId, LocalDateTime restoredAt) {
+        jdbcTemplate.update("UPDATE exam_sessions SET archived_at = NULL, restored_at = :restored_at WHERE id = :session_id",
+                new MapSqlParameterSource()
+                        .addValue("restored_at", restoredAt)
+                        .addValue("session_id", sessionId));
+    }
+
+    private void move(List<Long> attemptIds, String fromSuffix, String toSuffix) {
+        if (attemptIds.isEmpty()) {
+            return;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("attempt_ids", attemptIds);
+
+        for (ArchivedTable table : TABLES) {
+            String columns = requireColumns(table.name());
+            jdbcTemplate.update("INSERT INTO %s%s (%s) SELECT %s FROM %s%s WHERE %s".formatted(
+                    table.name(), toSuffix, columns, columns, table.name(), fromSuffix, table.where(fromSuffix)), params);
+        }
+
+        for (int i = TABLES.size() - 1; i >= 0; i--) {
+            ArchivedTable table = TABLES.get(i);
+            jdbcTemplate.update("DELETE FROM %s%s WHERE %s".formatted(
+                    table.name(), fromSuffix, table.where(fromSuffix)), params);
+        }
+    }
+
+    private String requireColumns(String table) {
+        String columns = columnLists.get(table);
+        if (columns == null) {
+            throw new IllegalStateException("Archive table of " + table + " is not prepared");
+        }
+        return columns;
+    }
+
+    private String resolveColumns(String table) {
+        String archiveTable = table + ARCHIVE_SUFFIX;
+
+        if (columnsOf(archiveTable).isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE IF NOT EXISTS %s LIKE %s".formatted(archiveTable, table));
+            jdbcTemplate.getJdbcTemplate().execute("ALTER TABLE %s ROW_FORMAT=COMPRESSED".formatted(archiveTable));
+            log.info("Created archive table {}", archiveTable);
+        }
+
+        List<String> hotColumns = columnsOf(table);
+        List<String> archiveColumns = columnsOf(archiveTable);
+
+        List<String> missing = hotColumns.stream()
+                .filter(column -> !archiveColumns.contains(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Archive table %s lacks columns %s".formatted(archiveTable, missing));
+        }
+
+        return hotColumns.stream()
+                .map(column -> "`" + column + "`")
+                .collect(Collectors.joining(", "));
+    }
+
+    private List<String> columnsOf(String table) {
+        String sql = """
+                SELECT c.column_name
+                FROM information_schema.columns c
+                WHERE c.table_schema = DATABASE()
+                    AND c.table_name = :table
+                    AND c.extra NOT LIKE '%GENERATED%'
+                ORDER BY c.ordinal_position
+                """;
+
+        return jdbcTemplate.queryForList(sql, new MapSqlParameterSource("table", table), String.class);
+    }
+
+    private record ArchivedTable(String name, String condition) {
+        String where(String suffix) {
+            return condition.formatted(suffix);
+        }
+    }
+}
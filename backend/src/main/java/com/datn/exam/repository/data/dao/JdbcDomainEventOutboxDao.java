@@ -0,0 +1,137 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.repository.data.dto.OutboxEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcDomainEventOutboxDao implements DomainEventOutboxDao {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims the oldest pending event of each aggregate. Later events of the same aggregate stay
+     * behind until the head is published, which keeps per-aggregate ordering across nodes.
+     * <p>
+     * The heads are picked first without locks, then locked with SKIP LOCKED, so a head held by
+     * another node is skipped together with its aggregate instead of letting the next event of
+     * that aggregate through. Once locked, the heads are checked again against the committed rows
+     * and dropped when an earlier event became visible in the meantime.
+     * Must run inside a READ COMMITTED transaction, rows stay locked until it ends.
+     */
+    @Override
+    public List<OutboxEventDto> claimPending(int batchSize) {
+        String headsSql = """
+                SELECT MIN(o.id)
+                FROM domain_event_outbox o
+                WHERE o.status = 'PENDING'
+                GROUP BY o.aggregate_type, o.aggregate_id
+                ORDER BY MIN(o.id)
+                LIMIT :limit
+                """;
+
+        List<Long> heads = jdbcTemplate.queryForList(headsSql, new MapSqlParameterSource("limit", batchSize), Long.class);
+        if (heads.isEmpty()) {
+            return List.of();
+        }
+
+        String lockSql = """
+                SELECT
+                    o.id,
+                    o.aggregate_type AS aggregateType,
+                    o.aggregate_id AS aggregateId,
+                    o.aggregate_version AS aggregateVersion,
+                    o.event_type AS eventType,
+                    o.dedup_key AS dedupKey,
+                    o.payload,
+                    o.attempts,
+                    o.occurred_at AS occurredAt
+                FROM domain_event_outbox o
+                WHERE o.id IN (:ids)
+                    AND o.status = 'PENDING'
+                ORDER BY o.id
+                FOR UPDATE SKIP LOCKED
+                """;
+
+        List<OutboxEventDto> locked = jdbcTemplate.query(lockSql, new MapSqlParameterSource("ids", heads),
+                new BeanPropertyRowMapper<>(OutboxEventDto.class));
+        if (locked.isEmpty()) {
+            return locked;
+        }
+
+        String behindSql = """
+                SELECT DISTINCT o.id
+                FROM domain_event_outbox o
+                JOIN domain_event_outbox prev
+                    ON prev.aggregate_type = o.aggregate_type
+                    AND prev.aggregate_id = o.aggregate_id
+                    AND prev.id < o.id
+                WHERE o.id IN (:ids)
+                    AND prev.status = 'PENDING'
+                """;
+
+        List<Long> lockedIds = locked.stream().map(OutboxEventDto::getId).toList();
+        Set<Long> behind = new HashSet<>(jdbcTemplate.queryForList(behindSql,
+                new MapSqlParameterSource("ids", lockedIds), Long.class));
+        if (behind.isEmpty()) {
+            return locked;
+        }
+
+        log.debug("Skipping {} outbox events queued behind an earlier event of their aggregate", behind.size());
+        return locked.stream()
+                .filter(event -> !behind.contains(event.getId()))
+                .toList();
+    }
+
+    @Override
+    public void markPublished(List<Long> ids) {
+        String sql = """
+                UPDATE domain_event_outbox
+                SET status = 'PUBLISHED', published_at = :now
+                WHERE id IN (:ids)
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", LocalDateTime.now())
+                .addValue("ids", ids);
+
+        jdbcTemplate.update(sql, params);
+    }
+
+    @Override
+    public void markFailed(List<Long> ids, int maxAttempts) {
+        String sql = """
+                UPDATE domain_event_outbox
+                SET attempts = attempts + 1,
+                    status = CASE WHEN attempts + 1 >= :max_attempts THEN 'FAILED' ELSE 'PENDING' END
+                WHERE id IN (:ids)
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("max_attempts", maxAttempts)
+                .addValue("ids", ids);
+
+        jdbcTemplate.update(sql, params);
+    }
+
+    @Override
+    public int deletePublishedBefore(LocalDateTime threshold) {
+        String sql = """
+                DELETE FROM domain_event_outbox
+                WHERE status = 'PUBLISHED' AND published_at < :threshold
+                LIMIT 5000
+                """;
+
+        return jdbcTemplate.update(sql, new MapSqlParameterSource("threshold", threshold));
+    }
+}
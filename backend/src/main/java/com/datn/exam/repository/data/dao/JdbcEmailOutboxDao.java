@@ -0,0 +1,128 @@
+package com.datn.exam.repository.data.dao;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcEmailOutboxDao implements EmailOutboxDao {
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims due mails and leases them as SENDING, so the SMTP work happens outside of the
+     * claiming transaction. A SENDING row whose lease expired belongs to a node that died
+     * mid-batch, those are claimed first, then the PENDING rows fill the batch. Each branch
+     * walks idx_emails_claim in lane then id order and locks only the rows it returns.
+     */
+    @Override
+    @Transactional
+    public List<Long> claimDue(int batchSize, LocalDateTime leaseUntil) {
+        String expiredSql = """
+                SELECT e.id
+                FROM emails e
+                WHERE e.status = 'SENDING'
+                    AND e.next_attempt_at <= :now
+                ORDER BY e.priority, e.id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+                """;
+
+        String pendingSql = """
+                SELECT e.id
+                FROM emails e
+                WHERE e.status = 'PENDING'
+                    AND (e.next_attempt_at IS NULL OR e.next_attempt_at <= :now)
+                ORDER BY e.priority, e.id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+                """;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(jdbcTemplate.queryForList(expiredSql, new MapSqlParameterSource()
+                .addValue("now", now)
+                .addValue("limit", batchSize), Long.class));
+
+        if (ids.size() < batchSize) {
+            ids.addAll(jdbcTemplate.queryForList(pendingSql, new MapSqlParameterSource()
+                    .addValue("now", now)
+                    .addValue("limit", batchSize - ids.size()), Long.class));
+        }
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        String leaseSql = """
+                UPDATE emails
+                SET status = 'SENDING',
+                    next_attempt_at = :lease_until,
+                    retry_count = COALESCE(retry_count, 0) + 1
+                WHERE id IN (:ids)
+                """;
+
+        jdbcTemplate.update(leaseSql, new MapSqlParameterSource()
+                .addValue("lease_until", leaseUntil)
+                .addValue("ids", ids));
+
+        return ids;
+    }
+
+    @Override
+    public void markSent(List<Long> ids) {
+        String sql = """
+                UPDATE emails
+                SET status = 'SENT', next_attempt_at = NULL, last_error = NULL, last_modified_at = :now
+                WHERE id IN (:ids)
+                """;
+
+        jdbcTemplate.update(sql, new MapSqlParameterSource()
+                .addValue("now", LocalDateTime.now())
+                .addValue("ids", ids));
+    }
+
+    @Override
+    public void reschedule(Long id, LocalDateTime nextAttemptAt, String error) {
+        String sql = """
+                UPDATE emails
+                SET status = 'PENDING', next_attempt_at = :next_attempt_at, last_error = :error, last_modified_at = :now
+                WHERE id = :id
+                """;
+
+        jdbcTemplate.update(sql, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("next_attempt_at", nextAttemptAt)
+                .addValue("error", truncate(error))
+                .addValue("now", LocalDateTime.now()));
+    }
+
+    @Override
+    public void markFailed(Long id, String error) {
+        String sql = """
+                UPDATE emails
+                SET status = 'FAILED', next_attempt_at = NULL, last_error = :error, last_modified_at = :now
+                WHERE id = :id
+                """;
+
+        jdbcTemplate.update(sql, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("error", truncate(error))
+                .addValue("now", LocalDateTime.now()));
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -17,6 +17,7 @@ import java.util.List;
 @Slf4j
 public class JdbcExamDao implements ExamDao{
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final FilterCountCache filterCountCache;
 
     @Override
     public Long count(ExamFilterRequest request) {
@@ -32,7 +33,8 @@ public class JdbcExamDao implements ExamDao{
 
         String finalSql = String.format(sql, whereFilter.toString());
 
-        return jdbcTemplate.queryForObject(finalSql, params, Long.class);
+        return filterCountCache.get("Exam", finalSql, params,
+                () -> jdbcTemplate.queryForObject(finalSql, params, Long.class));
     }
 
     @Override
@@ -49,17 +51,16 @@ public class JdbcExamDao implements ExamDao{
                     e.last_modified_at AS lastModifiedAt
                 FROM exams e
                 WHERE 1 = 1 %s
-                ORDER BY e.created_at DESC
-                LIMIT :limit OFFSET :offset
+                %s
                 """;
 
         StringBuilder whereFilter = new StringBuilder();
         MapSqlParameterSource params = this.buildWhereConditions(request, whereFilter);
 
-        params.addValue("limit", request.getPageSize());
-        params.addValue("offset", request.getPageSize() * request.getPageIndex());
+        whereFilter.append(KeysetPaging.where(request, "e", params));
+        String page = KeysetPaging.orderAndLimit(request, "e", params);
 
-        String finalSql = String.format(sql, whereFilter);
+        String finalSql = String.format(sql, whereFilter, page);
 
         return jdbcTemplate.query(finalSql, params, BeanPropertyRowMapper.newInstance(ExamDto.class));
     }
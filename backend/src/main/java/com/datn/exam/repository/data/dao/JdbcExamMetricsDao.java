@@ -0,0 +1,59 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.repository.data.dto.ExamBacklogDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcExamMetricsDao implements ExamMetricsDao {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * One round trip for all backlog gauges. The deadline matches AutoSubmitExpiredAttemptsJob:
+     * the attempt duration, cut short by the session end plus its late join window.
+     */
+    @Override
+    public ExamBacklogDto findBacklog(LocalDateTime now) {
+        String sql = """
+                SELECT
+                    (SELECT COUNT(*)
+                     FROM exam_attempts
+                     WHERE status = 'IN_PROGRESS') AS in_progress_attempts,
+                    (SELECT COUNT(*)
+                     FROM exam_attempts ea
+                     JOIN exam_sessions es ON es.id = ea.exam_session_id
+                     WHERE ea.status = 'IN_PROGRESS'
+                        AND (ea.started_at + INTERVAL es.duration_minutes MINUTE < :now
+                            OR es.end_time + INTERVAL COALESCE(es.late_join_minutes, 0) MINUTE < :now)) AS expired_attempts,
+                    (SELECT COUNT(*)
+                     FROM emails
+                     WHERE status IN ('PENDING', 'SENDING')) AS pending_emails
+                """;
+
+        return jdbcTemplate.queryForObject(sql, new MapSqlParameterSource("now", now), (rs, rowNum) ->
+                ExamBacklogDto.builder()
+                        .inProgressAttempts(rs.getLong("in_progress_attempts"))
+                        .expiredAttempts(rs.getLong("expired_attempts"))
+                        .pendingEmails(rs.getLong("pending_emails"))
+                        .build());
+    }
+
+    // public sessions have no roster, their size is the number of students who took part so far
+    @Override
+    public int countSessionStudents(long sessionId) {
+        String sql = """
+                SELECT GREATEST(
+                    (SELECT COUNT(*) FROM session_students WHERE exam_session_id = :session_id),
+                    (SELECT COUNT(DISTINCT student_email) FROM exam_attempts WHERE exam_session_id = :session_id))
+                """;
+
+        Integer count = jdbcTemplate.queryForObject(sql, new MapSqlParameterSource("session_id", sessionId), Integer.class);
+        return count != null ? count : 0;
+    }
+}
@@ -17,6 +17,7 @@ import java.util.List;
 @Slf4j
 public class JdbcExamSessionDao implements ExamSessionDao {
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final FilterCountCache filterCountCache;
 
     @Override
     public Long count(ExamSessionFilterRequest request) {
@@ -32,7 +33,8 @@ public class JdbcExamSessionDao implements ExamSessionDao {
 
         String finalSql = String.format(sql, whereFilter.toString());
 
-        return jdbcTemplate.queryForObject(finalSql, params, Long.class);
+        return filterCountCache.get("ExamSession", finalSql, params,
+                () -> jdbcTemplate.queryForObject(finalSql, params, Long.class));
     }
 
     @Override
@@ -46,21 +48,21 @@ public class JdbcExamSessionDao implements ExamSessionDao {
                     es.start_time AS startTime,
                     es.end_time AS endTime,
                     e.score,
-                    es.duration_minutes AS durationMinutes
+                    es.duration_minutes AS durationMinutes,
+                    es.created_at AS createdAt
                 FROM exam_sessions es
                 LEFT JOIN exams e ON es.exam_id = e.id
                 WHERE 1 = 1 %s
-                ORDER BY es.created_at DESC
-                LIMIT :limit OFFSET :offset
+                %s
                 """;
 
         StringBuilder wheFilter = new StringBuilder();
         MapSqlParameterSource params = this.buildWhereConditions(request, wheFilter);
 
-        params.addValue("limit", request.getPageSize());
-        params.addValue("offset", request.getPageSize() * request.getPageIndex());
+        wheFilter.append(KeysetPaging.where(request, "es", params));
+        String page = KeysetPaging.orderAndLimit(request, "es", params);
 
-        String finalSql = String.format(sql, wheFilter.toString());
+        String finalSql = String.format(sql, wheFilter, page);
 
         return jdbcTemplate.query(finalSql, params, BeanPropertyRowMapper.newInstance(ExamSessionDto.class));
     }
@@ -0,0 +1,125 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.model.dto.request.LogFilterRequest;
+import com.datn.exam.model.dto.response.LogResponse;
+import com.datn.exam.repository.data.dto.AttemptLogDto;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+@Repository
+public class JdbcLogDao implements LogDao {
+
+    // Connector/J streams row by row only with this fetch size, any other value buffers the
+    // whole result unless the URL sets useCursorFetch
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private static final String LOG_COLUMNS = """
+            l.id, l.attempt_id, a.exam_session_id, a.student_email, l.log_type, l.severity,
+            l.message, l.evidence, l.logged_at, a.started_at, a.submitted_at
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public JdbcLogDao(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        JdbcTemplate streaming = new JdbcTemplate(Objects.requireNonNull(
+                namedParameterJdbcTemplate.getJdbcTemplate().getDataSource()));
+        streaming.setFetchSize(STREAMING_FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    @Override
+    public void streamBySession(Long sessionId, LogFilterRequest filter, Consumer<LogResponse> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource("session_id", sessionId);
+
+        StringBuilder sql = new StringBuilder("""
+                SELECT %s
+                FROM logs l
+                JOIN exam_attempts a ON a.id = l.attempt_id
+                WHERE a.exam_session_id = :session_id
+                """.formatted(LOG_COLUMNS));
+
+        if (StringUtils.isNotBlank(filter.getEmail())) {
+            sql.append(" AND a.student_email = :email");
+            params.addValue("email", filter.getEmail());
+        }
+        appendLogFilter(sql, filter, params);
+        sql.append(" ORDER BY l.logged_at DESC, l.id DESC");
+
+        jdbcTemplate.query(sql.toString(), params, (RowCallbackHandler) rs -> consumer.accept(mapLog(rs)));
+    }
+
+    @Override
+    public void streamByAttempt(Long sessionId, String studentEmail, LogFilterRequest filter, Consumer<AttemptLogDto> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("session_id", sessionId)
+                .addValue("email", studentEmail);
+
+        // log filters go into the join so attempts without matching logs are still listed
+        StringBuilder join = new StringBuilder("LEFT JOIN logs l ON l.attempt_id = a.id");
+        appendLogFilter(join, filter, params);
+
+        String sql = """
+                SELECT %s, a.id AS row_attempt_id, a.attempt_no, a.status AS attempt_status
+                FROM exam_attempts a
+                %s
+                WHERE a.exam_session_id = :session_id
+                    AND a.student_email = :email
+                ORDER BY a.id, l.logged_at DESC, l.id DESC
+                """.formatted(LOG_COLUMNS, join);
+
+        jdbcTemplate.query(sql, params, (RowCallbackHandler) rs -> {
+            AttemptLogDto row = new AttemptLogDto();
+            row.setAttemptId(rs.getLong("row_attempt_id"));
+            row.setAttemptNo(rs.getInt("attempt_no"));
+            row.setAttemptStartedAt(rs.getObject("started_at", LocalDateTime.class));
+            row.setAttemptSubmittedAt(rs.getObject("submitted_at", LocalDateTime.class));
+            row.setStatus(rs.getString("attempt_status"));
+            if (rs.getObject("id") != null) {
+                row.setLog(mapLog(rs));
+            }
+            consumer.accept(row);
+        });
+    }
+
+    private static void appendLogFilter(StringBuilder sql, LogFilterRequest filter, MapSqlParameterSource params) {
+        if (CollectionUtils.isNotEmpty(filter.getSeverities())) {
+            sql.append(" AND l.severity IN (:severities)");
+            params.addValue("severities", filter.getSeverities().stream().map(Enum::name).toList());
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" AND l.logged_at >= :from");
+            params.addValue("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND l.logged_at < :to");
+            params.addValue("to", filter.getTo());
+        }
+    }
+
+    private static LogResponse mapLog(ResultSet rs) throws SQLException {
+        return LogResponse.builder()
+                .id(rs.getLong("id"))
+                .attemptId(rs.getLong("attempt_id"))
+                .sessionId(rs.getLong("exam_session_id"))
+                .studentEmail(rs.getString("student_email"))
+                .logType(rs.getString("log_type"))
+                .severity(rs.getString("severity"))
+                .message(rs.getString("message"))
+                .evidence(rs.getString("evidence"))
+                .loggedAt(rs.getObject("logged_at", LocalDateTime.class))
+                .attemptStartedAt(rs.getObject("started_at", LocalDateTime.class))
+                .attemptSubmittedAt(rs.getObject("submitted_at", LocalDateTime.class))
+                .build();
+    }
+}
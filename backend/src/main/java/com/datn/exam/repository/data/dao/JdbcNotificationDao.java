@@ -0,0 +1,60 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.model.entity.Notification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcNotificationDao implements NotificationDao {
+    private static final String SYSTEM_AUDITOR = "system";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+                INSERT INTO notifications
+                    (content, type, receive_id, is_read, is_deleted, created_by, created_at)
+                VALUES
+                    (:content, :type, :receive_id, :is_read, :is_deleted, :created_by, :created_at)
+                """;
+
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource[] batch = notifications.stream()
+                .map(notification -> new MapSqlParameterSource()
+                        .addValue("content", notification.getContent())
+                        .addValue("type", notification.getType().name())
+                        .addValue("receive_id", notification.getReceiveId())
+                        .addValue("is_read", notification.isRead())
+                        .addValue("is_deleted", notification.isDeleted())
+                        .addValue("created_by", notification.getCreatedBy() != null ? notification.getCreatedBy() : SYSTEM_AUDITOR)
+                        .addValue("created_at", now))
+                .toArray(MapSqlParameterSource[]::new);
+
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(sql, batch, keyHolder, new String[]{"id"});
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < notifications.size() && i < keys.size(); i++) {
+            Object id = keys.get(i).values().stream().findFirst().orElse(null);
+            if (id instanceof Number number) {
+                notifications.get(i).setId(number.intValue());
+            }
+            notifications.get(i).setCreatedAt(now);
+        }
+    }
+}
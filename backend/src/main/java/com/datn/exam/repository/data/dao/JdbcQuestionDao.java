@@ -21,16 +21,15 @@ import java.util.List;
 @Slf4j
 public class JdbcQuestionDao implements QuestionDao{
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final FilterCountCache filterCountCache;
     private final ObjectMapper mapper;
 
     @Override
     public Long count(QuestionSearchRequest request) {
         String sql = """
                 SELECT
-                    COUNT(DISTINCT q.id)
+                    COUNT(*)
                 FROM questions q
-                LEFT JOIN question_tags qt ON q.id = qt.question_id
-                LEFT JOIN tags t ON qt.tag_id = t.id
                 WHERE 1 = 1 %s
                 """;
 
@@ -39,40 +38,38 @@ public class JdbcQuestionDao implements QuestionDao{
 
         String finalSql = String.format(sql, whereFilter.toString());
 
-        return jdbcTemplate.queryForObject(finalSql, params, Long.class);
+        return filterCountCache.get("Question", finalSql, params,
+                () -> jdbcTemplate.queryForObject(finalSql, params, Long.class));
     }
 
     @Override
     public List<QuestionDto> search(QuestionSearchRequest request) {
         String sql = """
-                SELECT DISTINCT
+                SELECT
                     q.id,
                     q.point,
                     q.text,
-                    JSON_UNQUOTE(JSON_EXTRACT(q.question_value, '$.type'))  AS type,
-                    JSON_UNQUOTE(JSON_EXTRACT(q.question_value, '$.level')) AS level,
-                    JSON_UNQUOTE(JSON_EXTRACT(q.question_value, '$.status')) AS status,
-                    JSON_UNQUOTE(JSON_EXTRACT(q.question_value,'$.public_flag')) AS publicFlag,
+                    q.value_type AS type,
+                    q.value_level AS level,
+                    q.value_status AS status,
+                    q.value_public_flag AS publicFlag,
                     q.question_value AS questionValue,
                     q.created_at as createdAt,
                     q.created_by as createdBy,
                     q.last_modified_at as lastModifiedAt,
                     q.last_modified_by as lastModifiedBy
                 FROM questions q
-                LEFT JOIN question_tags qt ON qt.question_id = q.id
-                LEFT JOIN tags t ON qt.tag_id = t.id
                 WHERE 1 = 1 %s
-                ORDER BY q.created_at DESC
-                LIMIT :limit OFFSET :offset
+                %s
                 """;
 
         StringBuilder whereFilter = new StringBuilder();
         MapSqlParameterSource params = this.buildWhereConditions(request, whereFilter);
 
-        params.addValue("limit", request.getPageSize());
-        params.addValue("offset", request.getPageSize() * request.getPageIndex());
+        whereFilter.append(KeysetPaging.where(request, "q", params));
+        String page = KeysetPaging.orderAndLimit(request, "q", params);
 
-        String finalSql = String.format(sql, whereFilter.toString());
+        String finalSql = String.format(sql, whereFilter, page);
 
         List<QuestionDto> list = jdbcTemplate.query(finalSql, params, BeanPropertyRowMapper.newInstance(QuestionDto.class));
 
@@ -87,10 +84,10 @@ public class JdbcQuestionDao implements QuestionDao{
                 SELECT
                 q.id,
                 q.text,
-                JSON_UNQUOTE(JSON_UNQUOTE(q.question_value, '$.type')) AS type,
-                JSON_UNQUOTE(JSON_UNQUOTE(q.question_value, '$.level')) AS level,
-                JSON_UNQUOTE(JSON_UNQUOTE(q.question_value, '$.status')) AS status
-                JSON_UNQUOTE(JSON_UNQUOTE(q.question_value, '$.public_flag')) AS publicFlag
+                q.value_type AS type,
+                q.value_level AS level,
+                q.value_status AS status,
+                q.value_public_flag AS publicFlag
                 FROM questions q
                 WHERE q.id IN (:ids)
                 """;
@@ -117,7 +114,7 @@ public class JdbcQuestionDao implements QuestionDao{
         }
 
         if (request.getType() != null) {
-            whereFilter.append(" AND JSON_UNQUOTE(JSON_EXTRACT(q.question_value, '$.type')) = :type ");
+            whereFilter.append(" AND q.value_type = :type ");
             params.addValue("type", request.getType().name()); 
         }
 
@@ -140,7 +137,9 @@ public class JdbcQuestionDao implements QuestionDao{
         }
 
         if (StringUtils.isNotBlank(request.getTagName())) {
-            whereFilter.append(" AND t.name = :tagName ");
+            // a semi-join keeps one row per question, so the page needs no DISTINCT over the tag rows
+            whereFilter.append(" AND EXISTS (SELECT 1 FROM question_tags qt JOIN tags t ON t.id = qt.tag_id"
+                    + " WHERE qt.question_id = q.id AND t.name = :tagName) ");
             params.addValue("tagName", request.getTagName());
         }
 
@@ -0,0 +1,165 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.model.entity.Email;
+import com.datn.exam.repository.data.dto.AttemptResultSummaryDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcResultNotificationDao implements ResultNotificationDao {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Same rows as {@link #findGradedAttemptIds}, so the progress total adds up to
+     * queued + skipped + failed.
+     */
+    @Override
+    public long countGradedAttempts(Long sessionId) {
+        String sql = """
+                SELECT COUNT(*)
+                FROM exam_attempts a
+                WHERE a.exam_session_id = :session_id
+                    AND a.grading_status = 'DONE'
+                    AND NOT EXISTS (
+                        SELECT 1
+                        FROM emails e
+                        WHERE e.attempt_id = a.id
+                            AND e.template_name = 'mail-notification-result-template'
+                            AND e.status IN ('PENDING', 'SENDING')
+                    )
+                """;
+
+        Long count = jdbcTemplate.queryForObject(sql, new MapSqlParameterSource("session_id", sessionId), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Keyset page over the graded attempts of a session. Attempts whose result mail is still
+     * waiting in the outbox are left out, so running the pipeline twice does not queue duplicates.
+     */
+    @Override
+    public List<Long> findGradedAttemptIds(Long sessionId, Long afterId, int limit) {
+        String sql = """
+                SELECT a.id
+                FROM exam_attempts a
+                WHERE a.exam_session_id = :session_id
+                    AND a.grading_status = 'DONE'
+                    AND a.id > :after_id
+                    AND NOT EXISTS (
+                        SELECT 1
+                        FROM emails e
+                        WHERE e.attempt_id = a.id
+                            AND e.template_name = 'mail-notification-result-template'
+                            AND e.status IN ('PENDING', 'SENDING')
+                    )
+                ORDER BY a.id
+                LIMIT :limit
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("session_id", sessionId)
+                .addValue("after_id", afterId)
+                .addValue("limit", limit);
+
+        return jdbcTemplate.queryForList(sql, params, Long.class);
+    }
+
+    /**
+     * MySQL's JSON_ARRAYAGG takes no ORDER BY, its window form keeps the cheating logs in the
+     * order they were recorded.
+     */
+    @Override
+    public List<AttemptResultSummaryDto> findAttemptSummaries(List<Long> attemptIds) {
+        String sql = """
+                SELECT
+                    a.id AS attemptId,
+                    a.student_email AS studentEmail,
+                    a.student_name AS studentName,
+                    a.submitted_at AS submittedAt,
+                    a.score_auto AS scoreAuto,
+                    a.score_manual AS scoreManual,
+                    a.fullscreen_exit_count AS fullscreenExitCount,
+                    COALESCE(q.total_questions, 0) AS totalQuestions,
+                    COALESCE(q.correct_answers, 0) AS correctAnswers,
+                    COALESCE(q.incorrect_answers, 0) AS incorrectAnswers,
+                    COALESCE(q.max_score, 0) AS maxScore,
+                    l.cheating_logs AS cheatingLogs
+                FROM exam_attempts a
+                LEFT JOIN (
+                    SELECT
+                        eaq.attempt_id,
+                        COUNT(*) AS total_questions,
+                        SUM(CASE WHEN eaq.correct = TRUE THEN 1 ELSE 0 END) AS correct_answers,
+                        SUM(CASE WHEN eaq.correct = FALSE THEN 1 ELSE 0 END) AS incorrect_answers,
+                        SUM(eaq.point) AS max_score
+                    FROM exam_attempt_questions eaq
+                    WHERE eaq.attempt_id IN (:attempt_ids)
+                    GROUP BY eaq.attempt_id
+                ) q ON q.attempt_id = a.id
+                LEFT JOIN (
+                    SELECT w.attempt_id, w.cheating_logs
+                    FROM (
+                        SELECT
+                            lg.attempt_id,
+                            JSON_ARRAYAGG(JSON_OBJECT('type', lg.log_type, 'message', lg.message)) OVER (
+                                PARTITION BY lg.attempt_id
+                                ORDER BY lg.logged_at, lg.id
+                                ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING
+                            ) AS cheating_logs,
+                            ROW_NUMBER() OVER (PARTITION BY lg.attempt_id ORDER BY lg.logged_at, lg.id) AS rn
+                        FROM logs lg
+                        WHERE lg.attempt_id IN (:attempt_ids)
+                            AND lg.severity IN ('WARNING', 'SERIOUS', 'CRITICAL')
+                    ) w
+                    WHERE w.rn = 1
+                ) l ON l.attempt_id = a.id
+                WHERE a.id IN (:attempt_ids)
+                ORDER BY a.id
+                """;
+
+        MapSqlParameterSource params = new MapSqlParameterSource("attempt_ids", attemptIds);
+
+        return jdbcTemplate.query(sql, params, new BeanPropertyRowMapper<>(AttemptResultSummaryDto.class));
+    }
+
+    @Override
+    public void insertResultMails(List<Email> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+                INSERT INTO emails
+                    (from_email, to_email, subject, template_name, status, retry_count, attempt_id,
+                     priority, variables, created_by, created_at)
+                VALUES
+                    (:from_email, :to_email, :subject, :template_name, 'PENDING', 0, :attempt_id,
+                     :priority, :variables, :created_by, :created_at)
+                """;
+
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource[] batch = emails.stream()
+                .map(email -> new MapSqlParameterSource()
+                        .addValue("from_email", email.getFrom())
+                        .addValue("to_email", email.getTo())
+                        .addValue("subject", email.getSubject())
+                        .addValue("template_name", email.getTemplateName())
+                        .addValue("attempt_id", email.getAttemptId())
+                        .addValue("priority", email.getPriority())
+                        .addValue("variables", email.getVariables())
+                        .addValue("created_by", email.getCreatedBy())
+                        .addValue("created_at", now))
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+}
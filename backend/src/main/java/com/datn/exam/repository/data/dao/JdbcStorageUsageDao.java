@@ -0,0 +1,122 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.model.entity.StorageUsage;
+import com.datn.exam.repository.data.dto.StorageUsageDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcStorageUsageDao implements StorageUsageDao {
+
+    // the owner of a session folder is the teacher who created the session
+    private static final String OWNER_SQL = """
+            (SELECT u.id
+             FROM exam_sessions es
+             JOIN users u ON u.email = es.created_by
+             WHERE es.id = :session_id
+             LIMIT 1)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void increment(Map<Long, StorageUsageDto> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        String sql = """
+                INSERT INTO storage_usage (session_id, owner_id, bytes, object_count, updated_at)
+                VALUES (:session_id, %s, GREATEST(:bytes, 0), GREATEST(:object_count, 0), :now)
+                ON DUPLICATE KEY UPDATE
+                    owner_id = COALESCE(owner_id, VALUES(owner_id)),
+                    bytes = GREATEST(bytes + :bytes, 0),
+                    object_count = GREATEST(object_count + :object_count, 0),
+                    updated_at = VALUES(updated_at)
+                """.formatted(OWNER_SQL);
+
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource[] batch = deltas.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("session_id", entry.getKey())
+                        .addValue("bytes", entry.getValue().bytes())
+                        .addValue("object_count", entry.getValue().objectCount())
+                        .addValue("now", now))
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbcTemplate.batchUpdate(sql, batch);
+    }
+
+    @Override
+    public List<StorageUsage> findByOwner(UUID ownerId) {
+        String sql = """
+                SELECT su.session_id, su.owner_id, su.bytes, su.object_count, su.updated_at, su.reconciled_at
+                FROM storage_usage su
+                WHERE su.owner_id = :owner_id
+                    AND su.object_count > 0
+                ORDER BY su.session_id
+                """;
+
+        return jdbcTemplate.query(sql,
+                new MapSqlParameterSource("owner_id", ownerId.toString()),
+                new BeanPropertyRowMapper<>(StorageUsage.class));
+    }
+
+    /**
+     * Overwrites the ledger with a listing taken since {@code startedAt}. Rows touched by an upload
+     * or a delete while the bucket was being listed are left alone, the listing may predate that
+     * change, they are corrected by the next run. Folders missing from the listing are zeroed.
+     */
+    @Override
+    @Transactional
+    public int reconcile(Map<Long, StorageUsageDto> usage, LocalDateTime startedAt) {
+        LocalDateTime now = LocalDateTime.now();
+
+        if (!usage.isEmpty()) {
+            String upsertSql = """
+                    INSERT INTO storage_usage (session_id, owner_id, bytes, object_count, updated_at, reconciled_at)
+                    VALUES (:session_id, %s, :bytes, :object_count, :now, :now)
+                    ON DUPLICATE KEY UPDATE
+                        bytes = IF(updated_at < :started_at, VALUES(bytes), bytes),
+                        object_count = IF(updated_at < :started_at, VALUES(object_count), object_count),
+                        owner_id = COALESCE(VALUES(owner_id), owner_id),
+                        reconciled_at = VALUES(reconciled_at)
+                    """.formatted(OWNER_SQL);
+
+            MapSqlParameterSource[] batch = usage.entrySet().stream()
+                    .map(entry -> new MapSqlParameterSource()
+                            .addValue("session_id", entry.getKey())
+                            .addValue("bytes", entry.getValue().bytes())
+                            .addValue("object_count", entry.getValue().objectCount())
+                            .addValue("started_at", startedAt)
+                            .addValue("now", now))
+                    .toArray(MapSqlParameterSource[]::new);
+
+            jdbcTemplate.batchUpdate(upsertSql, batch);
+        }
+
+        String clearSql = """
+                UPDATE storage_usage
+                SET bytes = 0, object_count = 0, reconciled_at = :now
+                WHERE updated_at < :started_at
+                    AND (reconciled_at IS NULL OR reconciled_at < :started_at)
+                    AND (bytes > 0 OR object_count > 0)
+                """;
+
+        return jdbcTemplate.update(clearSql, new MapSqlParameterSource()
+                .addValue("started_at", startedAt)
+                .addValue("now", now));
+    }
+}
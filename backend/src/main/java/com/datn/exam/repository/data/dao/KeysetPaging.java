@@ -0,0 +1,63 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.model.dto.request.PagingRequest;
+import com.datn.exam.support.util.CursorCodeUtils;
+import com.datn.exam.support.util.ExceptionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.Map;
+
+/**
+ * Ordering and page window of the filter searches, newest first on (created_at, id).
+ * <p>
+ * With a cursor the page starts right after the cursor row, so the index on created_at
+ * serves any depth at the cost of one page. Without it the old OFFSET window is kept for
+ * callers still sending a page index. Both fetch one extra row to tell whether a next page exists.
+ */
+final class KeysetPaging {
+
+    private KeysetPaging() {
+    }
+
+    static String where(PagingRequest request, String alias, MapSqlParameterSource params) {
+        if (StringUtils.isBlank(request.getCursor())) {
+            return "";
+        }
+
+        Map<String, Object> cursor = CursorCodeUtils.decode(request.getCursor());
+        // an id-only cursor of the old id paging has no place in this order
+        if (!cursor.containsKey("createdAt")) {
+            throw ExceptionUtils.withMessage("Invalid cursor format");
+        }
+
+        try {
+            params.addValue("cursorId", Long.parseLong((String) cursor.get("id")));
+        } catch (NumberFormatException e) {
+            throw ExceptionUtils.withMessage("Invalid cursor format");
+        }
+
+        // rows without created_at sort last in a descending order, only their ids are left to compare
+        if (cursor.get("createdAt") == null) {
+            return String.format(" AND (%1$s.created_at IS NULL AND %1$s.id < :cursorId) ", alias);
+        }
+
+        params.addValue("cursorCreatedAt", cursor.get("createdAt"));
+
+        // expanded row comparison, MySQL does not use the index for (a, b) < (x, y)
+        return String.format(" AND (%1$s.created_at < :cursorCreatedAt OR (%1$s.created_at = :cursorCreatedAt AND %1$s.id < :cursorId)"
+                + " OR %1$s.created_at IS NULL) ", alias);
+    }
+
+    static String orderAndLimit(PagingRequest request, String alias, MapSqlParameterSource params) {
+        params.addValue("limit", request.getPageSize() + 1);
+
+        String order = String.format(" ORDER BY %1$s.created_at DESC, %1$s.id DESC LIMIT :limit ", alias);
+        if (StringUtils.isNotBlank(request.getCursor())) {
+            return order;
+        }
+
+        params.addValue("offset", request.getPageSize() * request.getPageIndex());
+        return order + " OFFSET :offset ";
+    }
+}
@@ -0,0 +1,21 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.model.dto.request.LogFilterRequest;
+import com.datn.exam.model.dto.response.LogResponse;
+import com.datn.exam.repository.data.dto.AttemptLogDto;
+
+import java.util.function.Consumer;
+
+public interface LogDao {
+    /**
+     * Hands the logs of the session to {@code consumer} one row at a time, newest first, as
+     * they come off a forward-only cursor.
+     */
+    void streamBySession(Long sessionId, LogFilterRequest filter, Consumer<LogResponse> consumer);
+
+    /**
+     * Streams the attempts of the student in the session ordered by id, each followed by its
+     * logs newest first. The filter narrows the logs, never the attempts.
+     */
+    void streamByAttempt(Long sessionId, String studentEmail, LogFilterRequest filter, Consumer<AttemptLogDto> consumer);
+}
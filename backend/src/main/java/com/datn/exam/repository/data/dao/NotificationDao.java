@@ -0,0 +1,12 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.model.entity.Notification;
+
+import java.util.List;
+
+public interface NotificationDao {
+    /**
+     * Inserts the notifications with one JDBC batch and sets their generated ids.
+     */
+    void batchInsert(List<Notification> notifications);
+}
@@ -0,0 +1,16 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.model.entity.Email;
+import com.datn.exam.repository.data.dto.AttemptResultSummaryDto;
+
+import java.util.List;
+
+public interface ResultNotificationDao {
+    long countGradedAttempts(Long sessionId);
+
+    List<Long> findGradedAttemptIds(Long sessionId, Long afterId, int limit);
+
+    List<AttemptResultSummaryDto> findAttemptSummaries(List<Long> attemptIds);
+
+    void insertResultMails(List<Email> emails);
+}
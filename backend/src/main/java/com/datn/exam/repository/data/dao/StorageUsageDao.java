@@ -0,0 +1,17 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.model.entity.StorageUsage;
+import com.datn.exam.repository.data.dto.StorageUsageDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface StorageUsageDao {
+    void increment(Map<Long, StorageUsageDto> deltas);
+
+    List<StorageUsage> findByOwner(UUID ownerId);
+
+    int reconcile(Map<Long, StorageUsageDto> usage, LocalDateTime startedAt);
+}
@@ -0,0 +1,21 @@
+package com.datn.exam.repository.data.dto;
+
+import com.datn.exam.model.dto.response.LogResponse;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of an attempt joined to its logs, {@code log} is null for an attempt without any.
+ */
+@Getter
+@Setter
+public class AttemptLogDto {
+    private Long attemptId;
+    private Integer attemptNo;
+    private LocalDateTime attemptStartedAt;
+    private LocalDateTime attemptSubmittedAt;
+    private String status;
+    private LogResponse log;
+}
@@ -0,0 +1,25 @@
+package com.datn.exam.repository.data.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class AttemptResultSummaryDto {
+    private Long attemptId;
+    private String studentEmail;
+    private String studentName;
+    private LocalDateTime submittedAt;
+    private BigDecimal scoreAuto;
+    private BigDecimal scoreManual;
+    private Integer fullscreenExitCount;
+    private Integer totalQuestions;
+    private Integer correctAnswers;
+    private Integer incorrectAnswers;
+    private BigDecimal maxScore;
+    // JSON array of {type, message} for WARNING and above
+    private String cheatingLogs;
+}
@@ -0,0 +1,17 @@
+package com.datn.exam.repository.data.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamBacklogDto {
+    private long inProgressAttempts;
+    // in-progress attempts past their deadline that the auto-submit job has not closed yet
+    private long expiredAttempts;
+    private long pendingEmails;
+}
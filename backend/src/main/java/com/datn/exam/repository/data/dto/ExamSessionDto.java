@@ -18,6 +18,7 @@ public class ExamSessionDto {
     private LocalDateTime endTime;
     private BigDecimal score; // Điểm max
     private Integer durationMinutes;
+    private LocalDateTime createdAt;
     private Integer countSubmit;     // Số lượng đã nộp
     private Integer totalSubmit;     // Tổng số cần nộp
     private Integer countMarked;     // Số lượng đã chấm
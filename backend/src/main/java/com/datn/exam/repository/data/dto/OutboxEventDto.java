@@ -0,0 +1,20 @@
+package com.datn.exam.repository.data.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class OutboxEventDto {
+    private Long id;
+    private String aggregateType;
+    private String aggregateId;
+    private Long aggregateVersion;
+    private String eventType;
+    private String dedupKey;
+    private String payload;
+    private Integer attempts;
+    private LocalDateTime occurredAt;
+}
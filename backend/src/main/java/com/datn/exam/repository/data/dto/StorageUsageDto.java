@@ -0,0 +1,20 @@
+package com.datn.exam.repository.data.dto;
+
+/**
+ * Bytes and object count of a storage folder, either absolute (a listing) or a delta
+ * (an upload or a delete).
+ */
+public record StorageUsageDto(long bytes, long objectCount) {
+
+    public static StorageUsageDto of(long bytes, long objectCount) {
+        return new StorageUsageDto(bytes, objectCount);
+    }
+
+    public StorageUsageDto plus(StorageUsageDto other) {
+        return new StorageUsageDto(bytes + other.bytes, objectCount + other.objectCount);
+    }
+
+    public StorageUsageDto negate() {
+        return new StorageUsageDto(-bytes, -objectCount);
+    }
+}
@@ -0,0 +1,24 @@
+package com.datn.exam.service;
+
+import com.datn.exam.model.entity.SessionStudent;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AvatarThumbnailService {
+
+    /**
+     * Stores the missing downscaled variants of the student's avatars, on the avatar worker pool.
+     */
+    void generate(Long sessionStudentId);
+
+    /**
+     * Key served in roster responses: the roster variant once it exists, the original until then.
+     */
+    String rosterKey(SessionStudent student, String avatarKey);
+
+    /**
+     * The given avatars together with every variant key they may have, for deletes and evictions.
+     */
+    List<String> withVariants(Collection<String> avatarKeys);
+}
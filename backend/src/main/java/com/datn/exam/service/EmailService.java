@@ -1,8 +1,14 @@
 package com.datn.exam.service;
 
 import com.datn.exam.model.dto.BaseMailContext;
-import com.datn.exam.model.dto.OtpMailContext;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 
 public interface EmailService {
     void sendMail(BaseMailContext context);
+
+    /**
+     * Renders the template of the context into a message without sending it.
+     */
+    MimeMessage compose(BaseMailContext context) throws MessagingException;
 }
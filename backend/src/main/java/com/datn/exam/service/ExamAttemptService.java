@@ -6,6 +6,7 @@ import com.datn.exam.model.dto.request.SubmitAttemptRequest;
 import com.datn.exam.model.dto.response.AttemptDetailResponse;
 import com.datn.exam.model.dto.response.AttemptGradingResponse;
 import com.datn.exam.model.dto.response.AttemptListResponse;
+import com.datn.exam.model.dto.response.ResultNotificationProgressResponse;
 
 import java.util.List;
 
@@ -25,6 +26,8 @@ public interface ExamAttemptService {
     void incrementFullscreenExitCount(Long attemptId);
     
     void sendResultNotifications(Long sessionId);
+
+    ResultNotificationProgressResponse getResultNotificationProgress(Long sessionId);
     
     void sendResultNotificationForAttempt(Long attemptId);
 }
@@ -9,6 +9,9 @@ import com.datn.exam.model.dto.response.SessionInfoResponse;
 import com.datn.exam.model.dto.response.SessionTokenResponse;
 
 public interface ExamJoinService {
+    // join page lookups by code, L1 + L2 (see LayeredCacheManager), evicted on session update/delete
+    String SESSION_INFO_CACHE = "sessions";
+
     SessionInfoResponse getSessionInfo(String code);
     
     JoinSessionMetaResponse joinByToken(String joinToken);
@@ -0,0 +1,14 @@
+package com.datn.exam.service;
+
+public interface ExamSessionArchiveService {
+    /**
+     * Moves the attempts of the session to the archive tables chunk by chunk and marks the
+     * session archived. Returns the number of attempts moved.
+     */
+    int archive(Long sessionId);
+
+    /**
+     * Brings archived attempts of the session back to the hot tables.
+     */
+    int restore(Long sessionId);
+}
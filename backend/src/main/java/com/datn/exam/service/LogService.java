@@ -1,9 +1,12 @@
 package com.datn.exam.service;
 
 import com.datn.exam.model.dto.request.CreateLogRequest;
+import com.datn.exam.model.dto.request.LogFilterRequest;
 import com.datn.exam.model.dto.response.LogResponse;
 import com.datn.exam.model.entity.Log;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -19,4 +22,22 @@ public interface LogService {
     List<Map<String, Object>> getLogsGroupedByAttempt(Long sessionId, String studentEmail);
     
     List<LogResponse> getLogsByAttemptIdAndSeverity(Long attemptId, List<Log.Severity> severities);
+
+    /**
+     * Throws unless the current user created the session. The streaming reads do not check it
+     * themselves, the check has to pass before the response starts.
+     */
+    void checkSessionOwner(Long sessionId);
+
+    /**
+     * Writes the session logs as a {@code Response} JSON document straight to {@code out}, row by
+     * row, memory use does not depend on the number of logs.
+     */
+    void streamLogsBySessionId(Long sessionId, LogFilterRequest filter, OutputStream out) throws IOException;
+
+    /**
+     * Streaming counterpart of {@link #getLogsGroupedByAttempt(Long, String)} with the filter
+     * applied to the logs.
+     */
+    void streamLogsGroupedByAttempt(Long sessionId, String studentEmail, LogFilterRequest filter, OutputStream out) throws IOException;
 }
@@ -1,34 +1,121 @@
 package com.datn.exam.service;
 
+import com.datn.exam.config.notification.NotificationCounter;
+import com.datn.exam.config.notification.NotificationEmitterRegistry;
+import com.datn.exam.config.notification.NotificationPushPublisher;
+import com.datn.exam.model.dto.request.CursorRequest;
 import com.datn.exam.model.dto.response.CursorResponse;
 import com.datn.exam.model.dto.response.NotificationResponse;
 import com.datn.exam.model.dto.response.NotificationStatistic;
 import com.datn.exam.model.entity.Notification;
 import com.datn.exam.repository.data.NotificationRepository;
+import com.datn.exam.support.util.CursorCodeUtils;
 import com.datn.exam.support.util.ExceptionUtils;
 import com.datn.exam.support.util.SecurityUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
 
-    public CursorResponse<NotificationResponse> search() {
+    private final NotificationCounter notificationCounter;
+
+    private final NotificationPushPublisher notificationPushPublisher;
+
+    private final NotificationEmitterRegistry notificationEmitterRegistry;
+
+    private final ObjectMapper objectMapper;
+
+    public CursorResponse<NotificationResponse> search(CursorRequest request) {
         String currentUserId = SecurityUtils.getCurrentUserId().toString();
 
-        var result = notificationRepository.findAllAndNotDeleted(currentUserId);
+        int limit = request.getLimit();
+        Limit fetchSize = Limit.of(limit + 1);
+
+        List<Notification> result;
+        if (StringUtils.isNotBlank(request.getCursor())) {
+            var decoded = CursorCodeUtils.decode(request.getCursor());
+            int cursorId = Integer.parseInt((String) decoded.get("id"));
+            result = notificationRepository.findPageBefore(currentUserId, cursorId, fetchSize);
+        } else {
+            result = notificationRepository.findFirstPage(currentUserId, fetchSize);
+        }
+
+        boolean hasNext = result.size() > limit;
+        if (hasNext) {
+            result = result.subList(0, limit);
+        }
+
+        String nextCursor = null;
+        if (hasNext && !result.isEmpty()) {
+            nextCursor = CursorCodeUtils.encode(result.get(result.size() - 1).getId());
+        }
 
         return CursorResponse.<NotificationResponse>builder()
                 .data(toResponses(result))
+                .nextCursor(nextCursor)
+                .previousCursor(request.getCursor())
+                .hasNext(hasNext)
+                .hasPrevious(request.getCursor() != null)
+                .pageSize(limit)
                 .build();
     }
 
+    public SseEmitter stream() {
+        String currentUserId = SecurityUtils.getCurrentUserId().toString();
+
+        return notificationEmitterRegistry.register(currentUserId);
+    }
+
+    /**
+     * Counts and pushes notifications that were just inserted, to their receivers on any node.
+     */
+    public void onCreated(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+
+        Map<String, int[]> deltas = new HashMap<>();
+        List<NotificationPushPublisher.NotificationPushMessage> pushes = new ArrayList<>(notifications.size());
+
+        for (Notification notification : notifications) {
+            int[] delta = deltas.computeIfAbsent(notification.getReceiveId(), key -> new int[2]);
+            delta[0]++;
+            if (!notification.isRead()) {
+                delta[1]++;
+            }
+
+            String data = toJson(toResponse(notification));
+            if (data != null) {
+                pushes.add(new NotificationPushPublisher.NotificationPushMessage(
+                        notification.getReceiveId(),
+                        NotificationPushPublisher.EVENT_NOTIFICATION,
+                        data));
+            }
+        }
+
+        notificationCounter.applyAll(deltas);
+        notificationPushPublisher.publishAll(pushes);
+    }
+
     private List<NotificationResponse> toResponses(List<Notification> result) {
         if (result.isEmpty()) {
             return List.of();
@@ -51,12 +138,14 @@ public class NotificationService {
                 .build();
     }
 
+    @Transactional
     public void markRead(int notificationId) {
         var notification = findNotification(notificationId);
+        if (notificationRepository.markRead(notificationId, LocalDateTime.now()) == 0) {
+            return;
+        }
 
-        notification.setRead(true);
-
-        notificationRepository.save(notification);
+        pushUnread(notification.getReceiveId(), notificationCounter.apply(notification.getReceiveId(), 0, -1));
     }
 
     private Notification findNotification(int notificationId) {
@@ -68,33 +157,60 @@ public class NotificationService {
         return notification.get();
     }
 
+    @Transactional
     public void delete(int notificationId) {
         var notification = findNotification(notificationId);
+        var now = LocalDateTime.now();
+
+        // try the unread row first, a concurrent markRead can still flip it in between
+        int unreadDelta = -1;
+        int updated = notificationRepository.markDeleted(notificationId, false, now);
+        if (updated == 0) {
+            unreadDelta = 0;
+            updated = notificationRepository.markDeleted(notificationId, true, now);
+        }
+        if (updated == 0) {
+            return;
+        }
 
-        notification.setDeleted(true);
-
-        notificationRepository.save(notification);
+        var unread = notificationCounter.apply(notification.getReceiveId(), -1, unreadDelta);
+        pushUnread(notification.getReceiveId(), unread);
     }
 
+    @Transactional
     public void markAllRead() {
         var currentUserId = SecurityUtils.getCurrentUserId();
         Objects.requireNonNull(currentUserId);
 
-        var notifications = notificationRepository
-                .findByReceiveIdAndIsReadFalseAndNotDeleted(currentUserId.toString());
-        if (notifications.isEmpty()) {
+        var userId = currentUserId.toString();
+        int updated = notificationRepository.markAllRead(userId, LocalDateTime.now());
+        if (updated == 0) {
             return;
         }
 
-        notifications.forEach(n -> n.setRead(true));
-
-        notificationRepository.saveAll(notifications);
+        pushUnread(userId, notificationCounter.resetUnread(userId));
     }
 
     public NotificationStatistic statistic() {
         var currentUserId = SecurityUtils.getCurrentUserId();
         Objects.requireNonNull(currentUserId);
 
-        return notificationRepository.statistic(currentUserId.toString());
+        return notificationCounter.get(currentUserId.toString());
+    }
+
+    // other tabs and devices of the user refresh their badge
+    private void pushUnread(String userId, Integer unread) {
+        var count = unread != null ? unread : notificationCounter.get(userId).getUnreadCount();
+
+        notificationPushPublisher.publish(userId, NotificationPushPublisher.EVENT_UNREAD, String.valueOf(count));
+    }
+
+    private String toJson(NotificationResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            log.warn("Cannot serialize notification {}: {}", response.getId(), e.getMessage());
+            return null;
+        }
     }
 }
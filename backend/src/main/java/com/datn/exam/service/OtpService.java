@@ -3,9 +3,9 @@ package com.datn.exam.service;
 import com.datn.exam.model.entity.ExamSession;
 
 public interface OtpService {
-    void sendOtp(String email, ExamSession examSession);
+    void sendOtp(String email, ExamSession examSession, String clientIp);
 
-    boolean verifyOtp(String email, Long sessionId, String rawOtp);
+    boolean verifyOtp(String email, Long sessionId, String rawOtp, String clientIp);
 
-    void resendOtp(String email, ExamSession examSession);
+    void resendOtp(String email, ExamSession examSession, String clientIp);
 }
@@ -0,0 +1,21 @@
+package com.datn.exam.service;
+
+import com.datn.exam.support.enums.RateLimitAction;
+
+import java.util.List;
+
+public interface RateLimitService {
+    void acquire(RateLimitAction action, String email, Long sessionId, String clientIp);
+
+    /**
+     * Keys and arguments of the sliding window check, for scripts that take the hit together with
+     * their own work in one round trip. Null when the action has no limits.
+     */
+    Window window(RateLimitAction action, String email, Long sessionId, String clientIp);
+
+    void reject(RateLimitAction action, long retryAfterMillis, String email, Long sessionId, String clientIp);
+
+    // args: now, window, member, then one limit per key
+    record Window(List<String> keys, List<String> args) {
+    }
+}
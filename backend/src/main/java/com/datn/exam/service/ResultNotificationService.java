@@ -0,0 +1,12 @@
+package com.datn.exam.service;
+
+import com.datn.exam.model.dto.response.ResultNotificationProgressResponse;
+
+public interface ResultNotificationService {
+    /**
+     * Queues result mails of every graded attempt in the session in the background.
+     */
+    void start(Long sessionId);
+
+    ResultNotificationProgressResponse getProgress(Long sessionId);
+}
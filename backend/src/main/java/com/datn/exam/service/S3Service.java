@@ -1,5 +1,7 @@
 package com.datn.exam.service;
 
+import com.datn.exam.config.s3.storage.ObjectUpload;
+import com.datn.exam.repository.data.dto.StorageUsageDto;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -12,14 +14,43 @@ public interface S3Service {
 
     String uploadFromBase64(String base64Data, String key) throws IOException;
 
-    byte[] downloadFile(String key) throws IOException;
+    /**
+     * Uploads the decoded bodies concurrently, keyed in iteration order, and returns the keys.
+     */
+    java.util.List<String> uploadAllFromBase64(java.util.Map<String, String> base64ByKey) throws IOException;
+
+    void uploadAll(java.util.List<ObjectUpload> uploads) throws IOException;
+
+    /**
+     * Copies staged uploads to their final keys (final key -> staged key) with server-side copies.
+     * The staged objects stay until deleted, see {@link com.datn.exam.model.dto.events.StagedUploadsPromotedEvent}.
+     */
+    void promoteStaged(java.util.Map<String, String> stagedKeyByKey) throws IOException;
+
+    /**
+     * Streams the object body, the caller closes the stream.
+     */
+    InputStream openFile(String key) throws IOException;
 
     boolean fileExists(String key);
 
     boolean deleteFile(String key);
 
+    /**
+     * Deletes keys or URLs in DeleteObjects batches and returns how many were deleted.
+     */
+    int deleteFiles(java.util.Collection<String> keysOrUrls);
+
     String generatePresignedGetUrl(String key, int expirationMinutes);
 
+    /**
+     * Same as {@link #generatePresignedGetUrl} but reuses a URL signed earlier for the key
+     * while it still has the cache's safety margin left.
+     */
+    String getCachedPresignedGetUrl(String key, int expirationMinutes);
+
+    void evictPresignedUrls(java.util.Collection<String> keys);
+
     String extractKeyFromUrl(String url);
 
     // Storage management methods
@@ -29,5 +60,8 @@ public interface S3Service {
 
     boolean deleteFolder(String prefix);
 
-    java.util.Map<String, Long> getFolderSizes(String prefix);
+    /**
+     * Bytes and object count per first-level folder under the prefix, from the listing sizes only.
+     */
+    java.util.Map<String, StorageUsageDto> summarizeFolders(String prefix);
 }
@@ -5,24 +5,22 @@ import com.datn.exam.model.entity.Notification;
 import com.datn.exam.repository.ExamSessionRepository;
 import com.datn.exam.repository.SessionStudentRepository;
 import com.datn.exam.repository.UserRepository;
-import com.datn.exam.repository.data.NotificationRepository;
+import com.datn.exam.repository.data.dao.NotificationDao;
 import com.datn.exam.repository.projection.SessionUserProjection;
-import com.datn.exam.support.util.JsonUtils;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,16 +30,17 @@ import java.util.stream.Stream;
 public class ScheduleNotificationService {
 
     private static final int REMINDER_WINDOW_SIZE = 5;
-    private static final int REDIS_TTL_HOURS = 24;
+
+    // sent markers outlive the session by a day, in case its start is moved back into the window
+    private static final Duration SENT_MARKER_GRACE = Duration.ofDays(1);
 
     private static final CacheKeyStrategy cacheKeyStrategy = new DefaultKeyStrategy();
 
-    // first level cache
-    private static final ConcurrentHashMap<String, ReminderStatus> localCache = new ConcurrentHashMap<>();
-    // second level cache
-    private final RedisTemplate<String, String> redisTemplate;
+    private final StringRedisTemplate redisTemplate;
+
+    private final NotificationDao notificationDao;
 
-    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
 
     private final ExamSessionRepository examSessionRepository;
 
@@ -50,7 +49,6 @@ public class ScheduleNotificationService {
     private final UserRepository userRepository;
 
     @Scheduled(cron = "0 * * * * *")
-    @Transactional
     public void sendExamReminder() {
         var now = LocalDateTime.now();
         var reminderWindow = now.plusMinutes(REMINDER_WINDOW_SIZE);
@@ -75,9 +73,11 @@ public class ScheduleNotificationService {
                         Collectors.mapping(SessionUserProjection::getUserId, Collectors.toList())
                 ));
 
+        var creatorIdsByEmail = findCreatorIds(upComingExamSessions);
+
         for (var examSession : upComingExamSessions) {
             try {
-                sendReminderForExamSession(examSession, userIdsExamSessions);
+                sendReminderForExamSession(examSession, userIdsExamSessions, creatorIdsByEmail);
             } catch (Exception e) {
                 log.error("Failed to send reminder for session {}: {}",
                         examSession.getId(),
@@ -86,90 +86,116 @@ public class ScheduleNotificationService {
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void sendReminderForExamSession(
             ExamSession examSession,
-            Map<Long, List<UUID>> userIdsExamSessions) {
+            Map<Long, List<UUID>> userIdsExamSessions,
+            Map<String, List<String>> creatorIdsByEmail) {
 
         final var examSessionId = examSession.getId();
 
-        // TODO: N + 1 query
-        var userIds = findUserNeedSend(examSession, userIdsExamSessions);
+        var userIds = findUserNeedSend(examSession, userIdsExamSessions, creatorIdsByEmail);
         if (userIds.isEmpty()) {
             log.info("Users in the examSession {} empty", examSessionId);
+            return;
         }
 
-        String examSessionIdString = String.valueOf(examSessionId);
-
-        List<Notification> notifications = new ArrayList<>();
+        var sentKey = cacheKeyStrategy.sentKey(String.valueOf(examSessionId), examSession.getStartTime());
+        var receiverIds = claimReminders(sentKey, userIds, examSession);
+        if (receiverIds.isEmpty()) {
+            log.debug("Reminders already sent for examSession {}", examSessionId);
+            return;
+        }
 
-        for (var userId : userIds) {
-            if (hasAlreadySentReminder(examSession, userId)) {
-                log.debug("Reminder already sent for examSession {} and userId {}",
-                        examSessionIdString,
-                        userId);
-                continue;
-            }
+        var notifications = receiverIds.stream()
+                .map(userId -> buildNotification(examSession, userId))
+                .toList();
 
-            var notification = buildNotification(examSession, userId);
-            notifications.add(notification);
+        try {
+            notificationDao.batchInsert(notifications);
+        } catch (RuntimeException e) {
+            releaseClaims(sentKey, receiverIds);
+            throw e;
         }
+        notificationService.onCreated(notifications);
+        log.info("Sent {} reminders for examSession {}", notifications.size(), examSessionId);
+    }
 
-        if (!notifications.isEmpty()) {
-            notificationRepository.saveAll(notifications);
+    private Map<String, List<String>> findCreatorIds(List<ExamSession> examSessions) {
+        var creatorEmails = examSessions.stream()
+                .map(ExamSession::getCreatedBy)
+                .filter(Objects::nonNull)
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
 
-            for (var userId : userIds) {
-                try {
-                    this.markToCache(examSession, userId);
-                } catch (Exception e) {
-                    log.warn("Failed to update cache for user {}: {}",
-                            userId,
-                            examSession.getId());
-                }
-            }
+        if (creatorEmails.isEmpty()) {
+            return Map.of();
         }
+
+        return userRepository.findByEmails(creatorEmails)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        user -> user.getEmail().toLowerCase(Locale.ROOT),
+                        Collectors.mapping(user -> user.getId().toString(), Collectors.toList())
+                ));
     }
 
-    private List<String> findUserNeedSend(ExamSession examSession, Map<Long, List<UUID>> userIdsExamSessions) {
+    private List<String> findUserNeedSend(
+            ExamSession examSession,
+            Map<Long, List<UUID>> userIdsExamSessions,
+            Map<String, List<String>> creatorIdsByEmail) {
         var userIds = userIdsExamSessions.getOrDefault(examSession.getId(), List.of())
                 .stream()
-                .map(UUID::toString)
-                .toList();
+                .map(UUID::toString);
 
-        var createdUsers = userRepository.findByEmail(examSession.getCreatedBy());
+        var createdBy = examSession.getCreatedBy();
+        var creatorIds = createdBy == null
+                ? List.<String>of()
+                : creatorIdsByEmail.getOrDefault(createdBy.toLowerCase(Locale.ROOT), List.of());
 
-        return Stream.concat(
-                        userIds.stream(),
-                        createdUsers.stream()
-                                .map(u -> u.getId().toString())
-                )
+        return Stream.concat(userIds, creatorIds.stream())
+                .distinct()
                 .toList();
     }
 
-    private void markToCache(ExamSession examSession, String userId) {
-        var reminderStatus = buildReminderStatus(examSession);
+    /**
+     * Claims the reminder of each user with one pipelined SADD per user, the users whose SADD
+     * added the member are the ones this node sends to. Checking Redis on every send keeps the
+     * nodes from each sending off their own stale copy of the set.
+     */
+    private List<String> claimReminders(String sentKey, List<String> userIds, ExamSession examSession) {
+        var expireAt = Optional.ofNullable(examSession.getEndTime())
+                .orElse(examSession.getStartTime())
+                .plus(SENT_MARKER_GRACE);
+        var ttl = Duration.between(LocalDateTime.now(), expireAt);
+
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (var userId : userIds) {
+                    operations.opsForSet().add(sentKey, userId);
+                }
+                operations.expire(sentKey, ttl.isNegative() ? SENT_MARKER_GRACE : ttl);
+                return null;
+            }
+        });
 
-        this.putLocalCache(examSession, userId, reminderStatus);
-        this.putToRedis(examSession, userId, reminderStatus);
+        List<String> claimed = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            if (results.get(i) instanceof Long added && added > 0) {
+                claimed.add(userIds.get(i));
+            }
+        }
+        return claimed;
     }
 
-    private void putToRedis(
-            ExamSession examSession,
-            String userId,
-            ReminderStatus reminderStatus) {
-
-        String redisKey = cacheKeyStrategy.redisCacheKey(String.valueOf(examSession.getId()), userId);
-
+    // hands the claims back so the next tick retries the users whose notifications were not stored
+    private void releaseClaims(String sentKey, List<String> userIds) {
         try {
-            this.redisTemplate.opsForValue().set(
-                    redisKey,
-                    JsonUtils.marshal(reminderStatus),
-                    REDIS_TTL_HOURS,
-                    TimeUnit.HOURS);
-        } catch (JsonProcessingException e) {
-            log.error("Error during put value to redis {} : {}",
-                    redisKey,
-                    e.getMessage());
+            redisTemplate.opsForSet().remove(sentKey, userIds.toArray());
+        } catch (Exception e) {
+            log.warn("Failed to release reminder claims on {}: {}", sentKey, e.getMessage());
         }
     }
 
@@ -193,153 +219,25 @@ public class ScheduleNotificationService {
                 .build();
     }
 
-    private boolean hasAlreadySentReminder(ExamSession examSession, String userId) {
-        return findLocal(examSession, userId)
-                .or(() -> findRedis(examSession, userId))
-                .orElse(false);
-    }
-
-    private Optional<Boolean> findRedis(
-            ExamSession examSession,
-            String userId) {
-
-        final String examSessionId = String.valueOf(examSession.getId());
-
-        String redisKey = cacheKeyStrategy.redisCacheKey(examSessionId, userId);
-
-        try {
-            String jsonValue = redisTemplate.opsForValue().get(redisKey);
-            if (jsonValue == null) {
-                return Optional.of(false);
-            }
-
-            var remainderStatus = JsonUtils.unmarshal(jsonValue, ReminderStatus.class);
-            if (checkNotSame(remainderStatus, examSession, userId)) {
-                return Optional.of(false);
-            }
-
-            this.updateLocalCache(examSession, userId);
-
-            return Optional.of(true);
-        } catch (JsonProcessingException e) {
-            log.error("Error during get value from redis with cache key {}", redisKey);
-            return Optional.empty();
-        }
-    }
-
-    private void updateLocalCache(ExamSession examSession, String userId) {
-        var reminderStatus = buildReminderStatus(examSession);
-
-        this.putLocalCache(examSession, userId, reminderStatus);
-    }
-
-    private void putLocalCache(
-            ExamSession examSession,
-            String userId,
-            ReminderStatus reminderStatus) {
-
-        var localKey = cacheKeyStrategy.localCacheKey(String.valueOf(examSession.getId()), userId);
-
-        localCache.put(localKey, reminderStatus);
-    }
-
-    private ReminderStatus buildReminderStatus(ExamSession examSession) {
-        return new ReminderStatus(
-                LocalDateTime.now(),
-                examSession.getStartTime(),
-                examSession.getEndTime()
-        );
-    }
-
-    private boolean checkNotSame(
-            ReminderStatus remainderStatus,
-            ExamSession examSession,
-            String userId) {
-
-        if (remainderStatus.sameExamSession(examSession)) {
-            return false;
-        }
-
-        log.debug("ExamSession {} already updated", examSession.getId());
-        this.invalidCache(String.valueOf(examSession.getId()), userId);
-
-        return true;
-    }
-
-    private Optional<Boolean> findLocal(
-            ExamSession examSession,
-            String userId) {
-
-        String localKey = cacheKeyStrategy.localCacheKey(String.valueOf(examSession.getId()), userId);
-
-        var reminderStatus = localCache.get(localKey);
-        if (reminderStatus == null) {
-            return Optional.empty();
-        }
-
-        if (checkNotSame(reminderStatus, examSession, userId)) {
-            return Optional.empty();
-        }
-
-        return Optional.of(true);
-    }
-
-    private void invalidCache(String examSessionId, String userId) {
-        var localKey = cacheKeyStrategy.localCacheKey(examSessionId, userId);
-        var redisKey = cacheKeyStrategy.redisCacheKey(examSessionId, userId);
-
-        invalidLocalCache(localKey);
-        invalidRedisCache(redisKey);
-    }
-
-    private void invalidRedisCache(String redisKey) {
-        redisTemplate.delete(redisKey);
-    }
-
-
-    private void invalidLocalCache(String key) {
-        localCache.remove(key);
-    }
-
-    // Cache value model
-    public record ReminderStatus(
-            LocalDateTime createdAt,
-            LocalDateTime examStartAt,
-            LocalDateTime examEndAt) {
-
-        public boolean sameExamSession(ExamSession examSession) {
-            return Objects.equals(examStartAt, examSession.getStartTime())
-                    && Objects.equals(examEndAt, examSession.getEndTime());
-        }
-    }
-
     // Cache key pattern
     public interface CacheKeyStrategy {
-        String localCacheKey(String examId, String userId);
-
-        String redisCacheKey(String examId, String userId);
+        String sentKey(String examSessionId, LocalDateTime startTime);
     }
 
     static class DefaultKeyStrategy implements CacheKeyStrategy {
 
-        private static final String LOCAL_KEY_PATTERN = "local:exam:reminder:%s:%s";
-        private static final String REDIS_KEY_PATTERN = "redis:exam:reminder:%s:%s";
-
-        @Override
-        public String localCacheKey(String examId, String userId) {
-            require(examId, userId);
-            return String.format(LOCAL_KEY_PATTERN, examId, userId);
-        }
+        // the start time is part of the key, rescheduling a session sends its reminders again
+        private static final String KEY_PATTERN = "exam:reminder:sent:%s:%s";
 
         @Override
-        public String redisCacheKey(String examId, String userId) {
-            require(examId, userId);
-            return String.format(REDIS_KEY_PATTERN, examId, userId);
+        public String sentKey(String examSessionId, LocalDateTime startTime) {
+            require(examSessionId, startTime);
+            return String.format(KEY_PATTERN, examSessionId, startTime.toEpochSecond(ZoneOffset.UTC));
         }
 
-        private void require(String examId, String userId) {
-            Assert.notNull(examId, "ExamId is required");
-            Assert.notNull(userId, "UserId is required");
+        private void require(String examSessionId, LocalDateTime startTime) {
+            Assert.notNull(examSessionId, "ExamSessionId is required");
+            Assert.notNull(startTime, "StartTime is required");
         }
     }
 }
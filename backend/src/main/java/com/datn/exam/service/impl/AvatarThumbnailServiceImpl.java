@@ -0,0 +1,131 @@
+package com.datn.exam.service.impl;
+
+import com.datn.exam.config.properties.StorageProperties;
+import com.datn.exam.config.s3.storage.ObjectUpload;
+import com.datn.exam.model.entity.SessionStudent;
+import com.datn.exam.repository.SessionStudentRepository;
+import com.datn.exam.service.AvatarThumbnailService;
+import com.datn.exam.service.S3Service;
+import com.datn.exam.support.util.ImageUtils;
+import com.datn.exam.support.util.JsonUtils;
+import com.datn.exam.support.util.StorageKeyUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvatarThumbnailServiceImpl implements AvatarThumbnailService {
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+
+    private final SessionStudentRepository sessionStudentRepository;
+    private final S3Service s3Service;
+    private final StorageProperties storageProperties;
+
+    @Override
+    @Async("avatarExecutor")
+    public void generate(Long sessionStudentId) {
+        SessionStudent student = sessionStudentRepository.findById(sessionStudentId).orElse(null);
+        if (student == null) {
+            return;
+        }
+
+        List<String> avatarKeys = student.getAvatarUrls().stream()
+                .filter(key -> key != null && key.startsWith(StorageKeyUtils.SESSION_PREFIX))
+                .toList();
+
+        // entries of removed avatars are dropped on the way
+        Set<String> done = new LinkedHashSet<>(student.getAvatarThumbnails());
+        done.retainAll(avatarKeys);
+        boolean changed = done.size() != student.getAvatarThumbnails().size();
+
+        // every upload gets a fresh key (StorageKeyUtils.rosterAvatarKey), a done key never holds another image
+        for (String key : avatarKeys) {
+            if (done.contains(key)) {
+                continue;
+            }
+
+            try {
+                List<ObjectUpload> variants = buildVariants(key);
+                if (variants.isEmpty()) {
+                    continue;
+                }
+                s3Service.uploadAll(variants);
+                done.add(key);
+                changed = true;
+            } catch (Exception e) {
+                log.warn("Failed to build thumbnails for avatar {}", key, e);
+            }
+        }
+
+        if (!changed) {
+            return;
+        }
+
+        try {
+            sessionStudentRepository.updateAvatarThumbnails(sessionStudentId,
+                    done.isEmpty() ? null : JsonUtils.marshal(new ArrayList<>(done)));
+            log.debug("Session student {} has thumbnails for {} of {} avatars",
+                    sessionStudentId, done.size(), avatarKeys.size());
+        } catch (Exception e) {
+            log.warn("Failed to record thumbnails of session student {}", sessionStudentId, e);
+        }
+    }
+
+    @Override
+    public String rosterKey(SessionStudent student, String avatarKey) {
+        List<String> thumbnails = student.getAvatarThumbnails();
+        if (thumbnails == null || !thumbnails.contains(avatarKey)) {
+            return avatarKey;
+        }
+        return StorageKeyUtils.variantKey(avatarKey, storageProperties.getAvatar().getRosterSize());
+    }
+
+    @Override
+    public List<String> withVariants(Collection<String> avatarKeys) {
+        List<String> keys = new ArrayList<>();
+        for (String key : avatarKeys) {
+            if (key == null || key.isBlank()) {
+                continue;
+            }
+            keys.add(key);
+            if (key.startsWith(StorageKeyUtils.SESSION_PREFIX)) {
+                for (Integer size : storageProperties.getAvatar().getVariantSizes()) {
+                    keys.add(StorageKeyUtils.variantKey(key, size));
+                }
+            }
+        }
+        return keys;
+    }
+
+    private List<ObjectUpload> buildVariants(String key) throws Exception {
+        StorageProperties.Avatar avatar = storageProperties.getAvatar();
+        int largest = avatar.getVariantSizes().stream()
+                .mapToInt(Integer::intValue)
+                .max()
+                .orElse(avatar.getRosterSize());
+
+        BufferedImage source;
+        try (InputStream inputStream = s3Service.openFile(key)) {
+            source = ImageUtils.decode(inputStream, largest, avatar.getMaxSourcePixels());
+        }
+
+        if (source == null) {
+            log.warn("Avatar {} is not a decodable image or too large, serving the original", key);
+            return List.of();
+        }
+
+        List<ObjectUpload> uploads = new ArrayList<>();
+        for (Integer size : avatar.getVariantSizes()) {
+            byte[] data = ImageUtils.encodeJpeg(ImageUtils.resize(source, size), avatar.getJpegQuality());
+            uploads.add(new ObjectUpload(StorageKeyUtils.variantKey(key, size), data, VARIANT_CONTENT_TYPE));
+        }
+        return uploads;
+    }
+}
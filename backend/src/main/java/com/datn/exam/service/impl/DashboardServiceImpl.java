@@ -1,5 +1,7 @@
 package com.datn.exam.service.impl;
 
+import com.datn.exam.config.datasource.UsePool;
+import com.datn.exam.config.datasource.WorkloadPool;
 import com.datn.exam.model.dto.response.DashboardStatsResponse;
 import com.datn.exam.model.entity.Exam;
 import com.datn.exam.model.entity.ExamAttempt;
@@ -26,6 +28,7 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@UsePool(WorkloadPool.REPORTING)
 public class DashboardServiceImpl implements DashboardService {
     private final ExamRepository examRepository;
     private final ExamSessionRepository examSessionRepository;
@@ -1,19 +1,18 @@
 package com.datn.exam.service.impl;
 
+import com.datn.exam.config.email.template.MailTemplateRenderer;
 import com.datn.exam.model.dto.BaseMailContext;
 import com.datn.exam.model.dto.OtpMailContext;
 import com.datn.exam.service.EmailService;
 import com.datn.exam.support.enums.error.BadRequestError;
 import com.datn.exam.support.exception.ResponseException;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.spring6.SpringTemplateEngine;
-
-import org.thymeleaf.context.Context;
 
 
 @RequiredArgsConstructor
@@ -21,24 +20,12 @@ import org.thymeleaf.context.Context;
 @Slf4j
 public class EmailServiceImpl implements EmailService {
     private final JavaMailSender mailSender;
-    private final SpringTemplateEngine templateEngine;
+    private final MailTemplateRenderer mailTemplateRenderer;
 
     @Override
     public void sendMail(BaseMailContext ctx) {
         try {
-            validate(ctx);
-
-            Context thymeleafCtx = new Context();
-            ctx.toVariables().forEach(thymeleafCtx::setVariable);
-
-            String html = templateEngine.process(ctx.getTemplateName(), thymeleafCtx);
-
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setTo(ctx.getTo());
-            helper.setSubject(ctx.getSubject());
-            helper.setText(html, true);
+            MimeMessage message = compose(ctx);
 
             mailSender.send(message);
             log.info("Email sent using template [{}] to {}", ctx.getTemplateName(), ctx.getTo());
@@ -48,6 +35,22 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
+    @Override
+    public MimeMessage compose(BaseMailContext ctx) throws MessagingException {
+        validate(ctx);
+
+        String html = mailTemplateRenderer.render(ctx.getTemplateName(), ctx.toVariables());
+
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setTo(ctx.getTo());
+        helper.setSubject(ctx.getSubject());
+        helper.setText(html, true);
+
+        return message;
+    }
+
     private void validate(BaseMailContext ctx) {
         if (ctx == null) throw new IllegalArgumentException("ctx is null");
         if (ctx.getTo() == null || ctx.getTo().isBlank()) throw new IllegalArgumentException("to is empty");
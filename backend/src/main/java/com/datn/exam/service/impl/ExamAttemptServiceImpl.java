@@ -1,5 +1,11 @@
 package com.datn.exam.service.impl;
 
+import com.datn.exam.config.datasource.PinToPrimary;
+import com.datn.exam.config.datasource.UsePool;
+import com.datn.exam.config.metrics.ExamOperation;
+import com.datn.exam.config.metrics.HotPath;
+import com.datn.exam.config.metrics.HotPathContext;
+import com.datn.exam.config.datasource.WorkloadPool;
 import com.datn.exam.model.dto.mapper.AnswerPayloadMapper;
 import com.datn.exam.model.dto.request.ManualGradingRequest;
 import com.datn.exam.model.dto.request.StartAttemptRequest;
@@ -9,12 +15,14 @@ import com.datn.exam.model.dto.response.AttemptGradingResponse;
 import com.datn.exam.model.dto.response.AttemptListResponse;
 import com.datn.exam.model.dto.response.GuestAccess;
 import com.datn.exam.model.dto.response.InvalidFieldError;
+import com.datn.exam.model.dto.response.ResultNotificationProgressResponse;
 import com.datn.exam.model.entity.*;
 import com.datn.exam.repository.*;
 import com.datn.exam.service.AutoGradingService;
 import com.datn.exam.service.ExamAttemptService;
 import com.datn.exam.service.ExamJoinService;
 import com.datn.exam.service.MailPersistenceService;
+import com.datn.exam.service.ResultNotificationService;
 import com.datn.exam.service.validation.SubmitAttemptValidator;
 import com.datn.exam.support.enums.QuestionType;
 import com.datn.exam.support.enums.error.AuthorizationError;
@@ -22,6 +30,7 @@ import com.datn.exam.support.enums.error.BadRequestError;
 import com.datn.exam.support.enums.error.NotFoundError;
 import com.datn.exam.support.exception.DomainValidationException;
 import com.datn.exam.support.exception.ResponseException;
+import com.datn.exam.support.util.CheatingLogUtils;
 import com.datn.exam.support.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +48,7 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@UsePool(WorkloadPool.CANDIDATE)
 public class ExamAttemptServiceImpl implements ExamAttemptService {
     private final ExamSessionRepository examSessionRepository;
     private final ExamAttemptRepository examAttemptRepository;
@@ -50,10 +60,13 @@ public class ExamAttemptServiceImpl implements ExamAttemptService {
     private final SubmitAttemptValidator submitAttemptValidator;
     private final ExamJoinService examJoinService;
     private final MailPersistenceService mailPersistenceService;
+    private final ResultNotificationService resultNotificationService;
 
     @Override
     @Transactional
+    @HotPath(ExamOperation.ATTEMPT_START)
     public AttemptDetailResponse startAttempt(StartAttemptRequest request) {
+        HotPathContext.session(request.getSessionId());
         GuestAccess guestAccess = examJoinService.validateSessionToken(request.getSessionToken());
 
         if (!guestAccess.getSessionId().equals(request.getSessionId())) {
@@ -137,11 +150,13 @@ public class ExamAttemptServiceImpl implements ExamAttemptService {
 
     @Transactional
     @Override
+    @HotPath(ExamOperation.ATTEMPT_SUBMIT)
     public AttemptDetailResponse submitAttempt(Long attemptId, SubmitAttemptRequest request, String sessionToken) {
         GuestAccess guestAccess = examJoinService.validateSessionToken(sessionToken);
 
         ExamAttempt attempt = examAttemptRepository.findById(attemptId)
                 .orElseThrow(() -> new ResponseException(NotFoundError.EXAM_ATTEMPT_NOT_FOUND));
+        HotPathContext.session(attempt.getExamSession().getId());
 
         if (!attempt.getStudentEmail().equalsIgnoreCase(guestAccess.getEmail())) {
             throw new ResponseException(AuthorizationError.ACCESS_DENIED);
@@ -212,6 +227,7 @@ public class ExamAttemptServiceImpl implements ExamAttemptService {
         return this.buildAttemptDetailResponse(savedAttempt, savedAttempt.getExamSession().getDurationMinutes());
     }
 
+    @PinToPrimary
     @Transactional(readOnly = true)
     @Override
     public AttemptDetailResponse getCurrentAttempt(Long sessionId, String sessionToken) {
@@ -489,6 +505,7 @@ public class ExamAttemptServiceImpl implements ExamAttemptService {
                 .build();
     }
 
+    @UsePool(WorkloadPool.TEACHER)
     @Override
     @Transactional(readOnly = true)
     public List<AttemptListResponse> getAttemptBySession(Long sessionId) {
@@ -508,6 +525,7 @@ public class ExamAttemptServiceImpl implements ExamAttemptService {
                 .collect(Collectors.toList());
     }
 
+    @UsePool(WorkloadPool.TEACHER)
     @Override
     @Transactional(readOnly = true)
     public AttemptGradingResponse getAttemptForGrading(Long attemptId) {
@@ -528,8 +546,10 @@ public class ExamAttemptServiceImpl implements ExamAttemptService {
         return buildAttemptGradingResponse(attempt);
     }
 
+    @UsePool(WorkloadPool.TEACHER)
     @Override
     @Transactional
+    @HotPath(ExamOperation.ATTEMPT_GRADE)
     public void manualGrading(Long attemptId, ManualGradingRequest request) {
         UUID currentUserId = SecurityUtils.getCurrentUserId();
 
@@ -537,6 +557,7 @@ public class ExamAttemptServiceImpl implements ExamAttemptService {
                 .orElseThrow(() -> new ResponseException(NotFoundError.EXAM_ATTEMPT_NOT_FOUND));
 
         ExamSession session = attempt.getExamSession();
+        HotPathContext.session(session.getId());
         // Check authorization if needed
 
         // Allow grading for both SUBMITTED and ABANDONED (auto-submitted) attempts
@@ -835,54 +856,24 @@ public class ExamAttemptServiceImpl implements ExamAttemptService {
         return details;
     }
 
+    @UsePool(WorkloadPool.TEACHER)
     @Override
-    @Transactional
     public void sendResultNotifications(Long sessionId) {
         if (sessionId == null) {
             throw new ResponseException(BadRequestError.EXAM_SESSION_ID_REQUIRED);
         }
 
-        // Kiểm tra session tồn tại
-        ExamSession session = examSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResponseException(NotFoundError.EXAM_SESSION_NOT_FOUND));
-
-        // Query tất cả các attempt đã chấm (gradingStatus = DONE) của session này
-        List<ExamAttempt> attempts = examAttemptRepository.findByExamSessionIdAndGradingStatus(
-                sessionId,
-                ExamAttempt.GradingStatus.DONE
-        );
-
-        if (attempts.isEmpty()) {
-            log.info("No graded attempts found for session {}", sessionId);
-            return;
-        }
-
-        log.info("Found {} graded attempts for session {}, sending result notifications", attempts.size(), sessionId);
-
-        int successCount = 0;
-        int skipCount = 0;
-        int errorCount = 0;
-
-        for (ExamAttempt attempt : attempts) {
-            // Kiểm tra email có hợp lệ không
-            if (attempt.getStudentEmail() == null || attempt.getStudentEmail().isBlank()) {
-                log.warn("Attempt {} has no student email, skipping email notification", attempt.getId());
-                skipCount++;
-                continue;
-            }
+        resultNotificationService.start(sessionId);
+    }
 
-            try {
-                sendResultEmailForAttempt(attempt);
-                successCount++;
-            } catch (Exception e) {
-                log.error("Failed to send result email for attempt {}: {}", attempt.getId(), e.getMessage(), e);
-                errorCount++;
-                // Tiếp tục gửi cho các attempt khác
-            }
+    @UsePool(WorkloadPool.TEACHER)
+    @Override
+    public ResultNotificationProgressResponse getResultNotificationProgress(Long sessionId) {
+        if (sessionId == null) {
+            throw new ResponseException(BadRequestError.EXAM_SESSION_ID_REQUIRED);
         }
 
-        log.info("Result notification summary for session {}: {} sent, {} skipped, {} errors",
-                sessionId, successCount, skipCount, errorCount);
+        return resultNotificationService.getProgress(sessionId);
     }
 
     @Override
@@ -903,88 +894,6 @@ public class ExamAttemptServiceImpl implements ExamAttemptService {
         log.info("Result notification email re-queued for attempt {} to {}", attemptId, attempt.getStudentEmail());
     }
 
-    private void sendResultEmailForAttempt(ExamAttempt attempt) {
-        ExamSession session = attempt.getExamSession();
-        Exam exam = session.getExam();
-
-        List<ExamAttemptQuestion> questions = attempt.getAttemptQuestions();
-        int totalQuestions = questions.size();
-        int correctAnswers = (int) questions.stream()
-                .filter(q -> Boolean.TRUE.equals(q.getCorrect()))
-                .count();
-        int incorrectAnswers = (int) questions.stream()
-                .filter(q -> Boolean.FALSE.equals(q.getCorrect()))
-                .count();
-
-        BigDecimal maxScore = questions.stream()
-                .map(ExamAttemptQuestion::getPoint)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal finalScore = attempt.getScoreManual() != null &&
-                attempt.getScoreManual().compareTo(BigDecimal.ZERO) > 0
-                ? attempt.getScoreManual()
-                : attempt.getScoreAuto();
-
-        int accuracy = totalQuestions > 0
-                ? (int) Math.round((correctAnswers * 100.0) / totalQuestions)
-                : 0;
-
-        // Format thời gian
-        String duration = session.getDurationMinutes() + " phút";
-        String submittedDate = attempt.getSubmittedAt() != null
-                ? attempt.getSubmittedAt().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))
-                : "N/A";
-
-        // Lấy cheating logs
-        List<String> cheatingLogs = new ArrayList<>();
-        boolean hasCheatingLogs = false;
-
-        if (attempt.getLogs() != null && !attempt.getLogs().isEmpty()) {
-            for (Log log : attempt.getLogs()) {
-                if (log.getSeverity() == Log.Severity.WARNING ||
-                        log.getSeverity() == Log.Severity.SERIOUS ||
-                        log.getSeverity() == Log.Severity.CRITICAL) {
-                    hasCheatingLogs = true;
-                    String logMessage = buildLogMessage(log);
-                    if (logMessage != null) {
-                        cheatingLogs.add(logMessage);
-                    }
-                }
-            }
-        }
-
-        // Thêm fullscreen exit count nếu có
-        if (attempt.getFullscreenExitCount() != null && attempt.getFullscreenExitCount() > 0) {
-            hasCheatingLogs = true;
-            cheatingLogs.add("Thoát chế độ toàn màn hình " + attempt.getFullscreenExitCount() + " lần");
-        }
-
-        String subject = "Kết quả bài thi - " + exam.getName();
-
-        mailPersistenceService.createResultMail(
-                attempt.getStudentEmail(),
-                subject,
-                "mail-notification-result-template",
-                attempt.getStudentName() != null ? attempt.getStudentName() : attempt.getStudentEmail(),
-                exam.getName(),
-                session.getCode(),
-                duration,
-                submittedDate,
-                finalScore,
-                maxScore,
-                totalQuestions,
-                correctAnswers,
-                incorrectAnswers,
-                accuracy,
-                hasCheatingLogs,
-                cheatingLogs,
-                attempt.getId()
-        );
-
-        log.info("Result notification email queued for attempt {} to {}", attempt.getId(), attempt.getStudentEmail());
-    }
-
     private void sendResultEmailForAttemptWithUpdate(ExamAttempt attempt) {
         ExamSession session = attempt.getExamSession();
         Exam exam = session.getExam();
@@ -1036,7 +945,7 @@ public class ExamAttemptServiceImpl implements ExamAttemptService {
         
         if (attempt.getFullscreenExitCount() != null && attempt.getFullscreenExitCount() > 0) {
             hasCheatingLogs = true;
-            cheatingLogs.add("Thoát chế độ toàn màn hình " + attempt.getFullscreenExitCount() + " lần");
+            cheatingLogs.add(CheatingLogUtils.describeFullscreenExits(attempt.getFullscreenExitCount()));
         }
         
         String subject = "Kết quả bài thi - " + exam.getName();
@@ -1065,23 +974,6 @@ public class ExamAttemptServiceImpl implements ExamAttemptService {
     }
 
     private String buildLogMessage(Log log) {
-        if (log.getMessage() != null && !log.getMessage().isBlank()) {
-            return log.getMessage();
-        }
-
-        switch (log.getLogType()) {
-            case FULLSCREEN_EXIT:
-                return "Thoát chế độ toàn màn hình";
-            case TAB_SWITCH:
-                return "Chuyển tab trình duyệt";
-            case DEVTOOLS_OPEN:
-                return "Mở công cụ phát triển";
-            case COPY_PASTE_ATTEMPT:
-                return "Thực hiện copy/paste";
-            case SUSPICIOUS_ACTIVITY:
-                return "Hành vi nghi ngờ";
-            default:
-                return null;
-        }
+        return CheatingLogUtils.describe(log.getLogType(), log.getMessage());
     }
 }
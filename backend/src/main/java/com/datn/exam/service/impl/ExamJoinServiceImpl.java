@@ -1,5 +1,11 @@
 package com.datn.exam.service.impl;
 
+import com.datn.exam.config.datasource.PinToPrimary;
+import com.datn.exam.config.datasource.UsePool;
+import com.datn.exam.config.datasource.WorkloadPool;
+import com.datn.exam.config.metrics.ExamOperation;
+import com.datn.exam.config.metrics.HotPath;
+import com.datn.exam.config.metrics.HotPathContext;
 import com.datn.exam.model.dto.request.JoinByCodeRequest;
 import com.datn.exam.model.dto.request.JoinSessionMetaResponse;
 import com.datn.exam.model.dto.request.OtpRequest;
@@ -22,6 +28,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +40,8 @@ import java.util.concurrent.TimeUnit;
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@PinToPrimary
+@UsePool(WorkloadPool.CANDIDATE)
 public class ExamJoinServiceImpl implements ExamJoinService {
     private static final String GUEST_TOKEN_KEY = "exam:guest:token:%s";
     private static final long TOKEN_TTL_HOURS = 2;
@@ -46,6 +55,7 @@ public class ExamJoinServiceImpl implements ExamJoinService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = SESSION_INFO_CACHE, key = "#code")
     public SessionInfoResponse getSessionInfo(String code) {
         ExamSession session = examSessionRepository.findByCode(code)
                 .orElseThrow(() -> new ResponseException(NotFoundError.EXAM_SESSION_NOT_FOUND));
@@ -83,9 +93,11 @@ public class ExamJoinServiceImpl implements ExamJoinService {
     }
 
     @Override
+    @HotPath(ExamOperation.OTP_REQUEST)
     public void requestOtp(OtpRequest request) {
         ExamSession examSession = examSessionRepository.findByCode(request.getSessionCode())
                 .orElseThrow(() -> new ResponseException(NotFoundError.EXAM_SESSION_NOT_FOUND));
+        HotPathContext.session(examSession.getId());
 
         if (Boolean.TRUE.equals(examSession.getDeleted())) {
             throw new ResponseException(NotFoundError.EXAM_SESSION_NOT_FOUND);
@@ -140,17 +152,19 @@ public class ExamJoinServiceImpl implements ExamJoinService {
             throw new ResponseException(BadRequestError.ATTEMPT_LIMIT_REACHED);
         }
 
-        otpService.sendOtp(email, examSession);
+        otpService.sendOtp(email, examSession, request.getIpAddress());
     }
 
     @Override
+    @HotPath(ExamOperation.OTP_VERIFY)
     public SessionTokenResponse verifyOtp(VerifyOtpRequest request) {
         ExamSession session = examSessionRepository.findByCode(request.getSessionCode())
                 .orElseThrow(() -> new ResponseException(NotFoundError.EXAM_SESSION_NOT_FOUND));
+        HotPathContext.session(session.getId());
 
         String email = request.getEmail();
 
-        boolean valid = otpService.verifyOtp(email, session.getId(), request.getOtp());
+        boolean valid = otpService.verifyOtp(email, session.getId(), request.getOtp(), request.getIpAddress());
         if (!valid) {
             throw new ResponseException(BadRequestError.INVALID_OTP);
         }
@@ -170,9 +184,11 @@ public class ExamJoinServiceImpl implements ExamJoinService {
     }
 
     @Override
+    @HotPath(ExamOperation.OTP_REQUEST)
     public void resendOtp(OtpRequest request) {
         ExamSession examSession = examSessionRepository.findByCode(request.getSessionCode())
                 .orElseThrow(() -> new ResponseException(NotFoundError.EXAM_SESSION_NOT_FOUND));
+        HotPathContext.session(examSession.getId());
 
         if (Boolean.TRUE.equals(examSession.getDeleted())) {
             throw new ResponseException(NotFoundError.EXAM_SESSION_NOT_FOUND);
@@ -222,7 +238,7 @@ public class ExamJoinServiceImpl implements ExamJoinService {
             throw new ResponseException(BadRequestError.ATTEMPT_LIMIT_REACHED);
         }
 
-        otpService.resendOtp(email, examSession);
+        otpService.resendOtp(email, examSession, request.getIpAddress());
     }
 
     @Override
@@ -21,6 +21,7 @@ import com.datn.exam.support.enums.error.BadRequestError;
 import com.datn.exam.support.enums.error.NotFoundError;
 import com.datn.exam.support.exception.DomainValidationException;
 import com.datn.exam.support.exception.ResponseException;
+import com.datn.exam.support.util.CursorCodeUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -119,7 +120,7 @@ public class ExamServiceImpl implements ExamService {
 
     @Override
     public PageDTO<ExamResponse> filter(ExamFilterRequest request) {
-        Long count = this.examDao.count(request);
+        Long count = request.isWithTotal() ? this.examDao.count(request) : -1L;
 
         if (Objects.equals(count, 0L)) {
             return PageDTO.empty(request.getPageIndex(), request.getPageSize());
@@ -127,10 +128,17 @@ public class ExamServiceImpl implements ExamService {
 
         List<ExamDto> examDtoList = this.examDao.search(request);
 
+        String nextCursor = null;
+        if (examDtoList.size() > request.getPageSize()) {
+            examDtoList = examDtoList.subList(0, request.getPageSize());
+            ExamDto last = examDtoList.get(examDtoList.size() - 1);
+            nextCursor = CursorCodeUtils.encode(last.getCreatedAt(), last.getId());
+        }
+
         List<ExamResponse> examResponses = examDtoList.stream().map(examMapper::toExamResponse)
                 .toList();
 
-        return PageDTO.of(examResponses, request.getPageIndex(), request.getPageSize(), count);
+        return PageDTO.of(examResponses, request.getPageIndex(), request.getPageSize(), count).next(nextCursor);
     }
 
     @Override
@@ -0,0 +1,79 @@
+package com.datn.exam.service.impl;
+
+import com.datn.exam.config.properties.ArchiveProperties;
+import com.datn.exam.model.entity.ExamSession;
+import com.datn.exam.repository.ExamSessionRepository;
+import com.datn.exam.repository.data.dao.ArchiveDao;
+import com.datn.exam.service.ExamSessionArchiveService;
+import com.datn.exam.support.enums.error.AuthorizationError;
+import com.datn.exam.support.enums.error.NotFoundError;
+import com.datn.exam.support.exception.ResponseException;
+import com.datn.exam.support.util.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Every chunk is its own transaction, an interrupted run leaves whole attempts on either side
+ * and the next run carries on. The session is marked only once all its attempts moved. A restored
+ * session stays out of the nightly archive runs for another {@code custom.archive.after}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExamSessionArchiveServiceImpl implements ExamSessionArchiveService {
+    private final ArchiveDao archiveDao;
+    private final ArchiveProperties archiveProperties;
+    private final ExamSessionRepository examSessionRepository;
+
+    @Override
+    public int archive(Long sessionId) {
+        int moved = moveAll(sessionId, false);
+        archiveDao.markArchived(sessionId, LocalDateTime.now());
+
+        log.info("Archived {} attempts of session {}", moved, sessionId);
+        return moved;
+    }
+
+    @Override
+    public int restore(Long sessionId) {
+        Optional<String> username = SecurityUtils.getCurrentUser();
+
+        ExamSession examSession = examSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResponseException(NotFoundError.EXAM_SESSION_NOT_FOUND, sessionId));
+
+        if (!Objects.equals(username.orElse(null), examSession.getCreatedBy())) {
+            throw new ResponseException(AuthorizationError.ACCESS_DENIED);
+        }
+
+        int moved = moveAll(sessionId, true);
+        archiveDao.markRestored(sessionId, LocalDateTime.now());
+
+        log.info("Restored {} attempts of session {}", moved, sessionId);
+        return moved;
+    }
+
+    private int moveAll(Long sessionId, boolean fromArchive) {
+        archiveDao.prepareArchiveTables();
+
+        int chunkSize = Math.max(1, archiveProperties.getChunkSize());
+        int moved = 0;
+
+        List<Long> attemptIds;
+        while (!(attemptIds = archiveDao.findAttemptIds(sessionId, fromArchive, chunkSize)).isEmpty()) {
+            if (fromArchive) {
+                archiveDao.restoreAttempts(attemptIds);
+            } else {
+                archiveDao.archiveAttempts(attemptIds);
+            }
+            moved += attemptIds.size();
+        }
+
+        return moved;
+    }
+}
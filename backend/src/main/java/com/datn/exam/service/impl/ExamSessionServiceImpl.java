@@ -26,20 +26,27 @@ import com.datn.exam.repository.SessionStudentRepository;
 import com.datn.exam.repository.UserRepository;
 import com.datn.exam.repository.data.dao.ExamSessionDao;
 import com.datn.exam.repository.data.dto.ExamSessionDto;
+import com.datn.exam.model.dto.events.AvatarsChangedEvent;
+import com.datn.exam.model.dto.events.StagedUploadsPromotedEvent;
+import com.datn.exam.model.dto.events.SessionInfoChangedEvent;
+import com.datn.exam.service.AvatarThumbnailService;
 import com.datn.exam.service.ExamSessionService;
 import com.datn.exam.service.S3Service;
 import com.datn.exam.support.enums.error.AuthorizationError;
 import com.datn.exam.support.enums.error.BadRequestError;
 import com.datn.exam.support.enums.error.NotFoundError;
 import com.datn.exam.support.exception.ResponseException;
+import com.datn.exam.support.util.StorageKeyUtils;
 import com.datn.exam.support.util.InviteCodeUtils;
 import com.datn.exam.support.util.JsonUtils;
 import com.datn.exam.support.util.EmailUtils;
 import com.datn.exam.support.util.SecurityUtils;
+import com.datn.exam.support.util.CursorCodeUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -64,6 +71,8 @@ public class ExamSessionServiceImpl implements ExamSessionService {
     private final S3Service s3Service;
     private final SessionStudentRepository sessionStudentRepository;
     private final UserRepository userRepository;
+    private final AvatarThumbnailService avatarThumbnailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -155,6 +164,7 @@ public class ExamSessionServiceImpl implements ExamSessionService {
         examSession.setAccessPassword(null); // Removed PASSWORD mode
 
         examSessionRepository.save(examSession);
+        eventPublisher.publishEvent(new SessionInfoChangedEvent(this, List.of(code)));
 
         List<SessionStudent> sessionStudents = synchronizeSessionStudents(examSession, request);
 
@@ -164,13 +174,20 @@ public class ExamSessionServiceImpl implements ExamSessionService {
 
     @Override
     public PageDTO<ExamSessionResponse> filter(ExamSessionFilterRequest request) {
-        Long count = this.examSessionDao.count(request);
+        Long count = request.isWithTotal() ? this.examSessionDao.count(request) : -1L;
 
         if (Objects.equals(count, 0L)) {
             return PageDTO.empty(request.getPageIndex(), request.getPageSize());
         }
 
         List<ExamSessionDto> examSessionDtoList = this.examSessionDao.search(request);
+
+        String nextCursor = null;
+        if (examSessionDtoList.size() > request.getPageSize()) {
+            examSessionDtoList = examSessionDtoList.subList(0, request.getPageSize());
+            ExamSessionDto last = examSessionDtoList.get(examSessionDtoList.size() - 1);
+            nextCursor = CursorCodeUtils.encode(last.getCreatedAt(), last.getId());
+        }
         var examSessionIds = examSessionDtoList.stream()
                 .map(ExamSessionDto::getId)
                 .toList();
@@ -185,7 +202,7 @@ public class ExamSessionServiceImpl implements ExamSessionService {
                 request.getPageIndex(),
                 request.getPageSize(),
                 count
-        );
+        ).next(nextCursor);
     }
 
     private List<ExamSessionResponse> getResponseByIds(List<Long> examSessionIds) {
@@ -215,6 +232,8 @@ public class ExamSessionServiceImpl implements ExamSessionService {
         }
 
         examSessionRepository.softDeleteByIds(request.getIds());
+        eventPublisher.publishEvent(new SessionInfoChangedEvent(this,
+                examSessions.stream().map(ExamSession::getCode).toList()));
     }
 
     @Override
@@ -317,9 +336,11 @@ public class ExamSessionServiceImpl implements ExamSessionService {
             }
         }
 
+        // uploads and deletions of the whole roster go to S3 in one batch each
+        AvatarChanges avatarChanges = new AvatarChanges();
+
         if (!duplicatesToDelete.isEmpty()) {
-            
-            deleteStudentAvatars(duplicatesToDelete);
+            duplicatesToDelete.forEach(duplicate -> avatarChanges.discard(duplicate.getAvatarUrls()));
             sessionStudentRepository.deleteAll(duplicatesToDelete);
             Set<Long> duplicateIds = duplicatesToDelete.stream()
                     .map(SessionStudent::getId)
@@ -343,31 +364,29 @@ public class ExamSessionServiceImpl implements ExamSessionService {
         for (User student : students) {
             SessionStudent existing = existingByUserId.get(student.getId());
             List<String> newAvatarBase64List = studentAvatars.get(student.getId());
-            List<String> avatarUrls;
+            final List<String> avatarUrls;
 
             // Xử lý 3 trường hợp:
             // 1. newAvatarBase64List = null: không có data → giữ nguyên ảnh cũ
             // 2. newAvatarBase64List = []: empty array → XÓA HẾT ảnh
-            // 3. newAvatarBase64List = [...]: có ảnh mới → upload và xóa ảnh cũ
-            
+            // 3. newAvatarBase64List = [...]: có ảnh mới → upload và xóa những ảnh cũ không còn trong danh sách
+            List<String> existingAvatars = existing != null && existing.getAvatarUrls() != null
+                    ? existing.getAvatarUrls()
+                    : Collections.emptyList();
+
             if (newAvatarBase64List == null) {
                 // Không update ảnh, giữ nguyên
-                avatarUrls = existing != null && existing.getAvatarUrls() != null 
-                    ? existing.getAvatarUrls() 
-                    : Collections.emptyList();
+                avatarUrls = existingAvatars;
             } else if (newAvatarBase64List.isEmpty()) {
                 // User XÓA HẾT ảnh → xóa ảnh cũ trên S3 và set empty
-                if (existing != null && CollectionUtils.isNotEmpty(existing.getAvatarUrls())) {
-                    deleteAvatarUrls(existing.getAvatarUrls());
-                }
+                avatarChanges.discard(existingAvatars);
                 avatarUrls = Collections.emptyList();
             } else {
-                // Upload ảnh mới và xóa ảnh cũ
-                avatarUrls = uploadAvatarsToS3(session.getId(), student.getId(), newAvatarBase64List);
-                
-                if (existing != null && CollectionUtils.isNotEmpty(existing.getAvatarUrls())) {
-                    deleteAvatarUrls(existing.getAvatarUrls());
-                }
+                avatarUrls = collectAvatars(session.getId(), student.getId(), newAvatarBase64List,
+                        existingAvatars, avatarChanges);
+                avatarChanges.discard(existingAvatars.stream()
+                        .filter(avatar -> !avatarUrls.contains(avatar))
+                        .toList());
             }
             
             if (existing != null) {
@@ -398,18 +417,29 @@ public class ExamSessionServiceImpl implements ExamSessionService {
 
         if (CollectionUtils.isNotEmpty(removedStudents)) {
             log.info("Removing {} students no longer in session {}", removedStudents.size(), session.getId());
-            deleteStudentAvatars(removedStudents);
+            removedStudents.forEach(removed -> avatarChanges.discard(removed.getAvatarUrls()));
             sessionStudentRepository.deleteAll(removedStudents);
         }
 
+        avatarChanges.upload("session " + session.getId());
+
         entityManager.flush();
         entityManager.clear();
 
+        // old avatars go once nothing can fail on the new ones
         if (results.isEmpty()) {
+            avatarChanges.deleteDiscarded(results);
             return Collections.emptyList();
         }
 
-        return sessionStudentRepository.saveAll(results);
+        List<SessionStudent> saved = sessionStudentRepository.saveAll(results);
+        avatarChanges.deleteDiscarded(saved);
+        eventPublisher.publishEvent(new AvatarsChangedEvent(this, saved.stream()
+                .filter(ss -> CollectionUtils.isNotEmpty(ss.getAvatarUrls()))
+                .map(SessionStudent::getId)
+                .toList()));
+
+        return saved;
     }
 
     private List<SessionStudent> createStudentsFromImport(ExamSession session,
@@ -489,14 +519,17 @@ public class ExamSessionServiceImpl implements ExamSessionService {
         }
 
         List<String> resultUrls = new ArrayList<>();
-        int uploadIndex = 0;
+        Map<String, String> pendingUploads = new LinkedHashMap<>();
+        // final key -> staged key of a roster picture uploaded during the Excel preview
+        Map<String, String> pendingPromotions = new LinkedHashMap<>();
 
         Set<String> existingUrlSet = new HashSet<>(existingUrls != null ? existingUrls : Collections.emptyList());
 
-        for (String avatar : newAvatarImages) {
-            if (StringUtils.isBlank(avatar)) {
+        for (String image : newAvatarImages) {
+            if (StringUtils.isBlank(image)) {
                 continue;
             }
+            String avatar = stagedKeyOf(image);
 
             if ((avatar.startsWith("http://") || avatar.startsWith("https://")) && existingUrlSet.contains(avatar)) {
                 resultUrls.add(avatar);
@@ -514,26 +547,28 @@ public class ExamSessionServiceImpl implements ExamSessionService {
             }
 
             String sanitizedEmail = normalizedEmail.replace("@", "_at_").replace(".", "_");
-            String key = String.format("session-students/%d/%s/%d", sessionId, sanitizedEmail, ++uploadIndex);
-
-            try {
-                String base64Data = avatar;
-                if (avatar.startsWith("data:")) {
-                    int commaIndex = avatar.indexOf(',');
-                    if (commaIndex > 0) {
-                        base64Data = avatar.substring(commaIndex + 1);
-                    }
-                }
+            String key = StorageKeyUtils.rosterAvatarKey(sessionId, sanitizedEmail);
+
+            if (StorageKeyUtils.isStaged(avatar)) {
+                pendingPromotions.put(key, avatar);
+                resultUrls.add(key);
+                continue;
+            }
 
-                String url = s3Service.uploadFromBase64(base64Data, key);
-                resultUrls.add(url);
-                log.debug("Uploaded new avatar for student {}: {}", normalizedEmail, url);
-            } catch (IOException e) {
-                log.error("Failed to upload student avatar for {}", normalizedEmail, e);
-                throw new ResponseException(BadRequestError.FILE_UPLOAD_FAILED);
+            String base64Data = avatar;
+            if (avatar.startsWith("data:")) {
+                int commaIndex = avatar.indexOf(',');
+                if (commaIndex > 0) {
+                    base64Data = avatar.substring(commaIndex + 1);
+                }
             }
+
+            // the upload returns the key, so the slot is known before the batch runs
+            pendingUploads.put(key, base64Data);
+            resultUrls.add(key);
         }
 
+        uploadAvatars(pendingUploads, pendingPromotions, normalizedEmail);
         return resultUrls;
     }
 
@@ -545,12 +580,14 @@ public class ExamSessionServiceImpl implements ExamSessionService {
         }
 
         List<String> uploadedUrls = new ArrayList<>();
-        int index = 0;
-
-        for (String avatar : avatarImages) {
-            if (StringUtils.isBlank(avatar)) {
+        Map<String, String> pendingUploads = new LinkedHashMap<>();
+        // final key -> staged key of a roster picture uploaded during the Excel preview
+        Map<String, String> pendingPromotions = new LinkedHashMap<>();
+        for (String image : avatarImages) {
+            if (StringUtils.isBlank(image)) {
                 continue;
             }
+            String avatar = stagedKeyOf(image);
 
             if (avatar.startsWith("http://") || avatar.startsWith("https://") || avatar.startsWith("blob:")) {
                 uploadedUrls.add(avatar);
@@ -562,117 +599,205 @@ public class ExamSessionServiceImpl implements ExamSessionService {
             }
 
             String sanitizedEmail = normalizedEmail.replace("@", "_at_").replace(".", "_");
-            String key = String.format("session-students/%d/%s/%d", sessionId, sanitizedEmail, ++index);
-
-            try {
-                String base64Data = avatar;
-                if (avatar.startsWith("data:")) {
-                    int commaIndex = avatar.indexOf(',');
-                    if (commaIndex > 0) {
-                        base64Data = avatar.substring(commaIndex + 1);
-                    }
-                }
+            String key = StorageKeyUtils.rosterAvatarKey(sessionId, sanitizedEmail);
 
-                String url = s3Service.uploadFromBase64(base64Data, key);
-                uploadedUrls.add(url);
-            } catch (IOException e) {
-                log.error("Failed to upload student avatar for {}", normalizedEmail, e);
-                throw new ResponseException(BadRequestError.FILE_UPLOAD_FAILED);
+            if (StorageKeyUtils.isStaged(avatar)) {
+                pendingPromotions.put(key, avatar);
+                uploadedUrls.add(key);
+                continue;
+            }
+
+            String base64Data = avatar;
+            if (avatar.startsWith("data:")) {
+                int commaIndex = avatar.indexOf(',');
+                if (commaIndex > 0) {
+                    base64Data = avatar.substring(commaIndex + 1);
+                }
             }
+
+            pendingUploads.put(key, base64Data);
+            uploadedUrls.add(key);
         }
 
+        uploadAvatars(pendingUploads, pendingPromotions, normalizedEmail);
         return uploadedUrls;
     }
 
-    private List<String> uploadAvatarsToS3(Long sessionId, UUID userId, List<String> base64List) {
+    /**
+     * Resolves the avatars sent for one student: avatars it already has are kept under their key,
+     * even when they come back as presigned URLs, new ones are queued on {@code changes} under a
+     * fresh key.
+     */
+    private List<String> collectAvatars(Long sessionId, UUID userId, List<String> base64List,
+                                        List<String> existingAvatars, AvatarChanges changes) {
         List<String> uploadedUrls = new ArrayList<>();
-        int index = 0;
+        Map<String, String> existingByKey = new HashMap<>();
+        for (String existing : existingAvatars) {
+            if (StringUtils.isNotBlank(existing)) {
+                existingByKey.put(storedKeyOf(existing), existing);
+            }
+        }
 
-        for (String base64 : base64List) {
-            if (StringUtils.isBlank(base64)) {
+        for (String image : base64List) {
+            if (StringUtils.isBlank(image)) {
                 continue;
             }
+            String base64 = storedKeyOf(image);
 
             if (uploadedUrls.size() >= 5) {
                 break;
             }
 
+            String kept = existingByKey.get(base64);
+            if (kept != null) {
+                if (!uploadedUrls.contains(kept)) {
+                    uploadedUrls.add(kept);
+                }
+                continue;
+            }
+
             // Skip if it's already an S3 URL (existing avatar)
             if (base64.startsWith("http://") || base64.startsWith("https://")) {
                 uploadedUrls.add(base64);
                 continue;
             }
 
-            String key = String.format("session-students/%d/%s/%d", sessionId, userId.toString(), ++index);
+            String key = StorageKeyUtils.rosterAvatarKey(sessionId, userId.toString());
 
-            try {
-                String preview = base64.length() > 100 ? base64.substring(0, 100) + "..." : base64;
-                
-                String base64Data = base64;
-                
-                if (base64.startsWith("data:")) {
-                    int commaIndex = base64.indexOf(',');
-                    if (commaIndex > 0) {
-                        base64Data = base64.substring(commaIndex + 1);
-                    } else {
-                        continue;
-                    }
-                }
+            if (StorageKeyUtils.isStaged(base64)) {
+                changes.promotions.put(key, base64);
+                uploadedUrls.add(key);
+                continue;
+            }
+
+            String base64Data = base64;
 
-                base64Data = base64Data.replaceAll("\\s+", "");
-                
-                if (!base64Data.matches("^[A-Za-z0-9+/]+=*$")) {
-                    log.error("Invalid base64 format after cleaning. First 50 chars: {}", 
-                        base64Data.substring(0, Math.min(50, base64Data.length())));
+            if (base64.startsWith("data:")) {
+                int commaIndex = base64.indexOf(',');
+                if (commaIndex > 0) {
+                    base64Data = base64.substring(commaIndex + 1);
+                } else {
                     continue;
                 }
+            }
+
+            base64Data = base64Data.replaceAll("\\s+", "");
 
-                String url = s3Service.uploadFromBase64(base64Data, key);
-                uploadedUrls.add(url);
-            } catch (IOException e) {
-                throw new ResponseException(BadRequestError.FILE_UPLOAD_FAILED);
+            if (!base64Data.matches("^[A-Za-z0-9+/]+=*$")) {
+                log.error("Invalid base64 format after cleaning. First 50 chars: {}",
+                    base64Data.substring(0, Math.min(50, base64Data.length())));
+                continue;
             }
+
+            changes.uploads.put(key, base64Data);
+            uploadedUrls.add(key);
         }
 
         return uploadedUrls;
     }
 
-    private void deleteAvatarUrls(List<String> avatarUrls) {
-        if (CollectionUtils.isEmpty(avatarUrls)) {
+    private void uploadAvatars(Map<String, String> base64ByKey, Map<String, String> stagedKeyByKey, String owner) {
+        if (base64ByKey.isEmpty() && stagedKeyByKey.isEmpty()) {
             return;
         }
 
-        for (String url : avatarUrls) {
-            if (StringUtils.isNotBlank(url) && url.startsWith("http")) {
-                try {
-                    s3Service.deleteFile(url);
-                    log.debug("Deleted avatar: {}", url);
-                } catch (Exception ex) {
-                    log.warn("Failed to delete avatar {}", url, ex);
-                }
+        try {
+            s3Service.promoteStaged(stagedKeyByKey);
+            if (!stagedKeyByKey.isEmpty()) {
+                // the staged copies go once the roster is committed, a rollback leaves them for a retry
+                eventPublisher.publishEvent(new StagedUploadsPromotedEvent(this, List.copyOf(stagedKeyByKey.values())));
+            }
+            if (!base64ByKey.isEmpty()) {
+                s3Service.uploadAllFromBase64(base64ByKey);
             }
+            log.debug("Stored {} avatars for student {}", base64ByKey.size() + stagedKeyByKey.size(), owner);
+        } catch (IOException e) {
+            log.error("Failed to upload student avatars for {}", owner, e);
+            throw new ResponseException(BadRequestError.FILE_UPLOAD_FAILED);
         }
     }
 
+    // roster pictures may come back as the preview URL of their staged key
+    private String stagedKeyOf(String avatar) {
+        if (avatar.startsWith("http://") || avatar.startsWith("https://")) {
+            String key = s3Service.extractKeyFromUrl(avatar);
+            if (StorageKeyUtils.isStaged(key)) {
+                return key;
+            }
+        }
+        return avatar;
+    }
+
+    // kept avatars come back as presigned URLs, staged roster pictures as their preview URL
+    private String storedKeyOf(String avatar) {
+        if (avatar.startsWith("http://") || avatar.startsWith("https://")) {
+            String key = s3Service.extractKeyFromUrl(avatar);
+            if (StorageKeyUtils.isStaged(key) || key.startsWith(StorageKeyUtils.SESSION_PREFIX)) {
+                return key;
+            }
+        }
+        return avatar;
+    }
+
     private void deleteStudentAvatars(List<SessionStudent> students) {
         if (CollectionUtils.isEmpty(students)) {
             return;
         }
 
-        for (SessionStudent student : students) {
-            List<String> avatarUrls = student.getAvatarUrls();
-            if (CollectionUtils.isNotEmpty(avatarUrls)) {
-                for (String url : avatarUrls) {
-                    if (StringUtils.isNotBlank(url) && url.startsWith("http")) {
-                        try {
-                            s3Service.deleteFile(url);
-                        } catch (Exception ex) {
-                            log.warn("Failed to delete student avatar {}", url, ex);
-                        }
-                    }
-                }
+        deleteAvatars(students.stream()
+                .map(SessionStudent::getAvatarUrls)
+                .filter(CollectionUtils::isNotEmpty)
+                .flatMap(List::stream)
+                .toList());
+    }
+
+    // avatars are stored as object keys, older rows may still hold full URLs
+    private void deleteAvatars(List<String> avatars) {
+        List<String> stored = avatars.stream()
+                .filter(StringUtils::isNotBlank)
+                .filter(avatar -> avatar.startsWith("http") || avatar.startsWith(StorageKeyUtils.SESSION_PREFIX))
+                .toList();
+
+        if (stored.isEmpty()) {
+            return;
+        }
+
+        try {
+            int deleted = s3Service.deleteFiles(avatarThumbnailService.withVariants(stored));
+            log.debug("Deleted {} of {} avatars", deleted, stored.size());
+        } catch (Exception ex) {
+            log.warn("Failed to delete {} avatars", stored.size(), ex);
+        }
+    }
+
+    /**
+     * Avatar uploads and deletions of one roster save.
+     */
+    private final class AvatarChanges {
+        private final Map<String, String> uploads = new LinkedHashMap<>();
+        // final key -> staged key of a roster picture uploaded during the Excel preview
+        private final Map<String, String> promotions = new LinkedHashMap<>();
+        private final List<String> discarded = new ArrayList<>();
+
+        void discard(List<String> avatars) {
+            if (CollectionUtils.isNotEmpty(avatars)) {
+                discarded.addAll(avatars);
             }
         }
+
+        void upload(String owner) {
+            uploadAvatars(uploads, promotions, owner);
+        }
+
+        // rows that duplicated a student could share its avatar keys
+        void deleteDiscarded(List<SessionStudent> kept) {
+            Set<String> stillUsed = kept.stream()
+                    .map(SessionStudent::getAvatarUrls)
+                    .filter(CollectionUtils::isNotEmpty)
+                    .flatMap(List::stream)
+                    .collect(Collectors.toSet());
+            deleteAvatars(discarded.stream().filter(avatar -> !stillUsed.contains(avatar)).toList());
+        }
     }
 
     private ExamSessionResponse buildExamSessionResponse(ExamSession session, List<SessionStudent> persistedStudents) {
@@ -708,7 +833,8 @@ public class ExamSessionServiceImpl implements ExamSessionService {
         List<String> presignedUrls = CollectionUtils.isEmpty(avatarKeys)
                 ? Collections.emptyList()
                 : avatarKeys.stream()
-                    .map(key -> s3Service.generatePresignedGetUrl(key, 1440)) // 24 hours
+                    .map(key -> s3Service.getCachedPresignedGetUrl(
+                            avatarThumbnailService.rosterKey(student, key), 1440)) // 24 hours
                     .collect(Collectors.toList());
 
         return SessionStudentEntryResponse.builder()
@@ -1,19 +1,37 @@
 package com.datn.exam.service.impl;
 
+import com.datn.exam.config.datasource.UsePool;
+import com.datn.exam.config.datasource.WorkloadPool;
 import com.datn.exam.model.dto.request.CreateLogRequest;
+import com.datn.exam.model.dto.request.LogFilterRequest;
 import com.datn.exam.model.dto.response.LogResponse;
 import com.datn.exam.model.entity.ExamAttempt;
+import com.datn.exam.model.entity.ExamSession;
 import com.datn.exam.model.entity.Log;
 import com.datn.exam.repository.ExamAttemptRepository;
+import com.datn.exam.repository.ExamSessionRepository;
 import com.datn.exam.repository.LogRepository;
+import com.datn.exam.repository.data.dao.LogDao;
+import com.datn.exam.repository.data.dto.AttemptLogDto;
 import com.datn.exam.service.LogService;
+import com.datn.exam.support.enums.ResponseStatus;
+import com.datn.exam.support.enums.error.AuthorizationError;
 import com.datn.exam.support.enums.error.NotFoundError;
 import com.datn.exam.support.exception.ResponseException;
+import com.datn.exam.support.util.SecurityUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -22,11 +40,17 @@ import java.util.Comparator;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@UsePool(WorkloadPool.REPORTING)
 public class LogServiceImpl implements LogService {
     
     private final LogRepository logRepository;
     private final ExamAttemptRepository examAttemptRepository;
+    private final ExamSessionRepository examSessionRepository;
+    private final LogDao logDao;
+    private final ObjectMapper objectMapper;
     
+    // written by candidates during the exam, it must not be turned away with the reports
+    @UsePool(WorkloadPool.CANDIDATE)
     @Override
     @Transactional
     public LogResponse createLog(CreateLogRequest request) {
@@ -51,6 +75,10 @@ public class LogServiceImpl implements LogService {
     @Override
     @Transactional(readOnly = true)
     public List<LogResponse> getLogsByAttemptId(Long attemptId) {
+        ExamAttempt attempt = examAttemptRepository.findById(attemptId)
+                .orElseThrow(() -> new ResponseException(NotFoundError.EXAM_ATTEMPT_NOT_FOUND));
+        checkOwner(attempt.getExamSession());
+
         return logRepository.findByAttemptIdOrderByLoggedAtDesc(attemptId)
                 .stream()
                 .map(LogResponse::fromEntity)
@@ -60,6 +88,7 @@ public class LogServiceImpl implements LogService {
     @Override
     @Transactional(readOnly = true)
     public List<LogResponse> getLogsBySessionId(Long sessionId) {
+        checkSessionOwner(sessionId);
         return logRepository.findBySessionIdOrderByLoggedAtDesc(sessionId)
                 .stream()
                 .map(LogResponse::fromEntity)
@@ -69,6 +98,7 @@ public class LogServiceImpl implements LogService {
     @Override
     @Transactional(readOnly = true)
     public List<LogResponse> getLogsBySessionIdAndStudentEmail(Long sessionId, String studentEmail) {
+        checkSessionOwner(sessionId);
         return logRepository.findBySessionIdAndStudentEmailOrderByLoggedAtDesc(sessionId, studentEmail)
                 .stream()
                 .map(LogResponse::fromEntity)
@@ -78,6 +108,8 @@ public class LogServiceImpl implements LogService {
     @Override
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getLogsGroupedByAttempt(Long sessionId, String studentEmail) {
+        checkSessionOwner(sessionId);
+
         List<ExamAttempt> attempts = examAttemptRepository
                 .findBySessionIdAndStudentEmailOrderByStartedAtDesc(sessionId, studentEmail)
                 .stream()
@@ -114,4 +146,116 @@ public class LogServiceImpl implements LogService {
                 .map(LogResponse::fromEntity)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void checkSessionOwner(Long sessionId) {
+        ExamSession examSession = examSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResponseException(NotFoundError.EXAM_SESSION_NOT_FOUND, sessionId));
+        checkOwner(examSession);
+    }
+
+    private void checkOwner(ExamSession examSession) {
+        Optional<String> username = SecurityUtils.getCurrentUser();
+        if (!Objects.equals(username.orElse(null), examSession.getCreatedBy())) {
+            throw new ResponseException(AuthorizationError.ACCESS_DENIED);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamLogsBySessionId(Long sessionId, LogFilterRequest filter, OutputStream out) throws IOException {
+        ObjectWriter writer = streamingWriter();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            startResponse(generator, writer);
+            generator.writeStartArray();
+
+            logDao.streamBySession(sessionId, filter, logResponse -> {
+                try {
+                    writer.writeValue(generator, logResponse);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamLogsGroupedByAttempt(Long sessionId, String studentEmail, LogFilterRequest filter, OutputStream out) throws IOException {
+        ObjectWriter writer = streamingWriter();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            startResponse(generator, writer);
+            generator.writeStartArray();
+
+            // rows come ordered by attempt, a group is closed when the next one starts
+            Long[] currentAttempt = {null};
+            logDao.streamByAttempt(sessionId, studentEmail, filter, row -> {
+                try {
+                    if (!row.getAttemptId().equals(currentAttempt[0])) {
+                        if (currentAttempt[0] != null) {
+                            endAttempt(generator);
+                        }
+                        startAttempt(generator, writer, row);
+                        currentAttempt[0] = row.getAttemptId();
+                    }
+                    if (row.getLog() != null) {
+                        writer.writeValue(generator, row.getLog());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            if (currentAttempt[0] != null) {
+                endAttempt(generator);
+            }
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // flushing after every value would turn each log into its own network write
+    private ObjectWriter streamingWriter() {
+        return objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // same envelope as Response.of, with data written last so it can be streamed
+    private static void startResponse(JsonGenerator generator, ObjectWriter writer) throws IOException {
+        generator.writeStartObject();
+        generator.writeBooleanField("success", true);
+        generator.writeNumberField("code", 200);
+        generator.writeNullField("message");
+        generator.writeFieldName("timestamp");
+        writer.writeValue(generator, Instant.now());
+        generator.writeStringField("status", ResponseStatus.SUCCESS.name());
+        generator.writeFieldName("data");
+    }
+
+    private static void startAttempt(JsonGenerator generator, ObjectWriter writer, AttemptLogDto row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("attemptId", row.getAttemptId());
+        generator.writeNumberField("attemptNo", row.getAttemptNo());
+        generator.writeFieldName("attemptStartedAt");
+        writer.writeValue(generator, row.getAttemptStartedAt());
+        generator.writeFieldName("attemptSubmittedAt");
+        writer.writeValue(generator, row.getAttemptSubmittedAt());
+        generator.writeStringField("status", row.getStatus());
+        generator.writeArrayFieldStart("logs");
+    }
+
+    private static void endAttempt(JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
 }
@@ -2,11 +2,13 @@ package com.datn.exam.service.impl;
 
 import com.datn.exam.model.dto.OtpMailContext;
 import com.datn.exam.model.dto.ResultMailContext;
+import com.datn.exam.model.dto.StoredMailContext;
 import com.datn.exam.model.dto.events.ExamOtpEvent;
 import com.datn.exam.model.dto.events.ResultMailEvent;
 import com.datn.exam.model.entity.Email;
 import com.datn.exam.repository.EmailRepository;
 import com.datn.exam.service.MailPersistenceService;
+import com.datn.exam.support.enums.MailPriority;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
@@ -77,10 +79,9 @@ public class MailPersistenceServiceImpl implements MailPersistenceService {
                 .status(Email.Status.PENDING)
                 .retryCount(0)
                 .attemptId(attemptId)
+                .priority(MailPriority.RESULT.getLane())
                 .build();
 
-        emailRepository.save(mailEntity);
-        
         ResultMailContext context = ResultMailContext.builder()
                 .email(mailEntity)
                 .studentName(studentName)
@@ -97,7 +98,10 @@ public class MailPersistenceServiceImpl implements MailPersistenceService {
                 .hasCheatingLogs(hasCheatingLogs)
                 .cheatingLogs(cheatingLogs)
                 .build();
-        
+
+        mailEntity.setVariables(StoredMailContext.serialize(context.toVariables()));
+        emailRepository.save(mailEntity);
+
         eventPublisher.publishEvent(new ResultMailEvent(this, context));
     }
 
@@ -129,10 +133,11 @@ public class MailPersistenceServiceImpl implements MailPersistenceService {
             // Update bản ghi cũ - lấy bản ghi mới nhất
             mailEntity = existingEmails.get(0);
             mailEntity.setStatus(Email.Status.PENDING);
-            mailEntity.setRetryCount(mailEntity.getRetryCount() + 1);
+            mailEntity.setRetryCount(0);
+            mailEntity.setNextAttemptAt(null);
+            mailEntity.setLastError(null);
             mailEntity.setSubject(subject);
             mailEntity.setTo(email);
-            emailRepository.save(mailEntity);
         } else {
             // Tạo mới nếu chưa có
             mailEntity = Email.builder()
@@ -143,8 +148,8 @@ public class MailPersistenceServiceImpl implements MailPersistenceService {
                     .status(Email.Status.PENDING)
                     .retryCount(0)
                     .attemptId(attemptId)
+                    .priority(MailPriority.RESULT.getLane())
                     .build();
-            emailRepository.save(mailEntity);
         }
         
         ResultMailContext context = ResultMailContext.builder()
@@ -163,7 +168,10 @@ public class MailPersistenceServiceImpl implements MailPersistenceService {
                 .hasCheatingLogs(hasCheatingLogs)
                 .cheatingLogs(cheatingLogs)
                 .build();
-        
+
+        mailEntity.setVariables(StoredMailContext.serialize(context.toVariables()));
+        emailRepository.save(mailEntity);
+
         eventPublisher.publishEvent(new ResultMailEvent(this, context));
     }
 
@@ -186,6 +194,7 @@ public class MailPersistenceServiceImpl implements MailPersistenceService {
                 .lateJoinMinutes(lateJoinMinutes)
                 .status(Email.Status.PENDING)
                 .retryCount(0)
+                .priority(MailPriority.OTP.getLane())
                 .build();
     }
 }
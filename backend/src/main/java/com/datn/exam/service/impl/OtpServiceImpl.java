@@ -1,113 +1,137 @@
 package com.datn.exam.service.impl;
 
+import com.datn.exam.config.properties.OtpProperties;
 import com.datn.exam.model.entity.ExamSession;
 import com.datn.exam.service.MailPersistenceService;
 import com.datn.exam.service.OtpService;
+import com.datn.exam.service.RateLimitService;
 import com.datn.exam.support.constants.MailVariableConstants;
+import com.datn.exam.support.enums.RateLimitAction;
 import com.datn.exam.support.enums.error.BadRequestError;
 import com.datn.exam.support.exception.ResponseException;
 import com.datn.exam.support.util.OtpUtils;
 import com.datn.exam.support.util.StringUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OtpServiceImpl implements OtpService {
 
-    private static final String OTP_KEY = "exam:otp:%s:%d";
-    private static final String OTP_SALT_KEY = "exam:otp:salt:%s:%d";
-    private static final int DEFAULT_EXPIRES_MINUTES = 5;
+    // hash fields: hash, salt, attempts
+    private static final String OTP_KEY = "exam:otp:hash:%s:%d";
+
+    private static final long OTP_ISSUED = 0L;
+    private static final long OTP_MATCHED = 1L;
+    private static final long OTP_RATE_LIMITED = 2L;
 
     private final RedisTemplate<String, String> redisTemplate;
+    private final RedisScript<Long> otpIssueScript;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> otpVerifyScript;
     private final MailPersistenceService persistenceService;
+    private final RateLimitService rateLimitService;
+    private final OtpProperties otpProperties;
 
-    @SuppressWarnings("OptionalOfNullableMisuse")
     @Override
-    public void sendOtp(String email, ExamSession examSession) {
-        String otpKey = buildKey(email, examSession.getId());
+    public void sendOtp(String email, ExamSession examSession, String clientIp) {
+        rateLimitService.acquire(RateLimitAction.OTP_REQUEST, email, examSession.getId(), clientIp);
 
-        long ttl = Optional.ofNullable(redisTemplate.getExpire(otpKey, TimeUnit.SECONDS)).orElse(0L);
-        if (ttl > 0) {
-            throw new ResponseException(BadRequestError.OTP_STILL_VALID, String.valueOf(ttl));
+        // any live otp blocks a fresh request
+        long waitSeconds = generateAndSendNewOtp(email, examSession, 0L);
+        if (waitSeconds > 0) {
+            throw new ResponseException(BadRequestError.OTP_STILL_VALID, String.valueOf(waitSeconds));
         }
-
-        generateAndSendNewOtp(email, examSession);
     }
 
+    /**
+     * The rate limit hit, the hash check and the consume run as one script call.
+     */
     @Override
-    public boolean verifyOtp(String email, Long sessionId, String rawOtp) {
-        String otpKey = buildKey(email, sessionId);
-        String saltKey = buildSaltKey(email, sessionId);
+    public boolean verifyOtp(String email, Long sessionId, String rawOtp, String clientIp) {
+        RateLimitService.Window window = rateLimitService.window(RateLimitAction.OTP_VERIFY, email, sessionId, clientIp);
+
+        List<String> keys = new ArrayList<>();
+        keys.add(buildKey(email, sessionId));
+        List<String> args = new ArrayList<>(List.of(rawOtp, String.valueOf(otpProperties.getMaxVerifyAttempts())));
+        if (window != null) {
+            keys.addAll(window.keys());
+            args.addAll(window.args());
+        } else {
+            // no limits configured: an empty window with no dimension keys
+            args.addAll(List.of(String.valueOf(System.currentTimeMillis()), "0", ""));
+        }
 
-        String hash = redisTemplate.opsForValue().get(otpKey);
-        String salt = redisTemplate.opsForValue().get(saltKey);
+        List<?> result = redisTemplate.execute(otpVerifyScript, keys, args.toArray());
+        long status = result != null && !result.isEmpty() ? ((Number) result.get(0)).longValue() : -1L;
 
-        if (hash == null || salt == null) {
-            log.warn("OTP expired or not found for email={}, sessionId={}", email, sessionId);
-            return false;
+        if (status == OTP_RATE_LIMITED) {
+            rateLimitService.reject(RateLimitAction.OTP_VERIFY, ((Number) result.get(1)).longValue(),
+                    email, sessionId, clientIp);
         }
-        boolean valid = OtpUtils.matches(rawOtp, salt, hash);
 
-        if (valid) {
-            redisTemplate.delete(otpKey);
-            redisTemplate.delete(saltKey);
-        } else {
-            log.warn("Invalid OTP for email={}, sessionId={}", email, sessionId);
+        boolean valid = status == OTP_MATCHED;
+        if (!valid) {
+            log.warn("Invalid, expired or missing OTP for email={}, sessionId={}", email, sessionId);
         }
 
         return valid;
     }
 
-    @SuppressWarnings("OptionalOfNullableMisuse")
     @Override
-    public void resendOtp(String email, ExamSession examSession) {
-        String otpKey = buildKey(email, examSession.getId());
-
-        long ttl = Optional.ofNullable(redisTemplate.getExpire(otpKey, TimeUnit.SECONDS)).orElse(0L);
-
-        if (ttl > (DEFAULT_EXPIRES_MINUTES * 60) - 60) {
-            long waitTime = ttl - ((DEFAULT_EXPIRES_MINUTES * 60) - 60);
-            throw new ResponseException(BadRequestError.OTP_RESEND_TOO_EARLY, String.valueOf(waitTime));
+    public void resendOtp(String email, ExamSession examSession, String clientIp) {
+        rateLimitService.acquire(RateLimitAction.OTP_RESEND, email, examSession.getId(), clientIp);
+
+        // a live otp can be replaced once it is older than the resend cooldown
+        long threshold = otpProperties.getExpiresIn().toSeconds() - otpProperties.getResendCooldown().toSeconds();
+        long waitSeconds = generateAndSendNewOtp(email, examSession, Math.max(threshold, 0L));
+        if (waitSeconds > 0) {
+            throw new ResponseException(BadRequestError.OTP_RESEND_TOO_EARLY, String.valueOf(waitSeconds));
         }
-
-        generateAndSendNewOtp(email, examSession);
     }
 
-    private void generateAndSendNewOtp(String email, ExamSession examSession) {
+    private long generateAndSendNewOtp(String email, ExamSession examSession, long reissueThresholdSeconds) {
         String otpKey = buildKey(email, examSession.getId());
-        String saltKey = buildSaltKey(email, examSession.getId());
 
         String otp = OtpUtils.generate6();
         String salt = OtpUtils.randomSalt(16);
         String hash = OtpUtils.hash(otp, salt);
 
-        redisTemplate.opsForValue().set(otpKey, hash, DEFAULT_EXPIRES_MINUTES, TimeUnit.MINUTES);
-        redisTemplate.opsForValue().set(saltKey, salt, DEFAULT_EXPIRES_MINUTES, TimeUnit.MINUTES);
+        long waitSeconds = Optional.ofNullable(redisTemplate.execute(
+                otpIssueScript,
+                List.of(otpKey),
+                hash,
+                salt,
+                String.valueOf(otpProperties.getExpiresIn().toSeconds()),
+                String.valueOf(reissueThresholdSeconds)
+        )).orElse(OTP_ISSUED);
+
+        if (waitSeconds > OTP_ISSUED) {
+            return waitSeconds;
+        }
 
         persistenceService.createMail(
                 email,
                 StringUtils.buildSubject(examSession.getCode()),
                 otp,
                 MailVariableConstants.EXAM_OTP_MAIL_TEMPLATE,
-                DEFAULT_EXPIRES_MINUTES,
+                (int) otpProperties.getExpiresIn().toMinutes(),
                 examSession.getDurationMinutes(),
                 examSession.getLateJoinMinutes()
         );
+
+        return OTP_ISSUED;
     }
 
     private String buildKey(String email, Long sessionId) {
         return String.format(OTP_KEY, email.toLowerCase(), sessionId);
     }
-
-    private String buildSaltKey(String email, Long sessionId) {
-        return String.format(OTP_SALT_KEY, email.toLowerCase(), sessionId);
-    }
 }
@@ -27,6 +27,7 @@ import com.datn.exam.support.enums.error.NotFoundError;
 import com.datn.exam.support.exception.DomainValidationException;
 import com.datn.exam.support.exception.ResponseException;
 import com.datn.exam.support.util.SecurityUtils;
+import com.datn.exam.support.util.CursorCodeUtils;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -118,7 +119,7 @@ public class QuestionServiceImpl implements QuestionService {
 
     @Override
     public PageDTO<QuestionResponse> search(QuestionSearchRequest request) {
-        Long count = this.questionDao.count(request);
+        Long count = request.isWithTotal() ? this.questionDao.count(request) : -1L;
 
         if (Objects.equals(count, 0L)) {
             return PageDTO.empty(request.getPageIndex(), request.getPageSize());
@@ -126,6 +127,13 @@ public class QuestionServiceImpl implements QuestionService {
 
         List<QuestionDto> questionDtoList = this.questionDao.search(request);
 
+        String nextCursor = null;
+        if (questionDtoList.size() > request.getPageSize()) {
+            questionDtoList = questionDtoList.subList(0, request.getPageSize());
+            QuestionDto last = questionDtoList.get(questionDtoList.size() - 1);
+            nextCursor = CursorCodeUtils.encode(last.getCreatedAt(), last.getId());
+        }
+
         List<Long> questionIds = questionDtoList.stream()
                 .map(QuestionDto::getId)
                 .toList();
@@ -149,7 +157,7 @@ public class QuestionServiceImpl implements QuestionService {
                         }
                 ).toList();
 
-        return PageDTO.of(questions, request.getPageIndex(), request.getPageSize(), count);
+        return PageDTO.of(questions, request.getPageIndex(), request.getPageSize(), count).next(nextCursor);
     }
 
     @Override
@@ -0,0 +1,116 @@
+package com.datn.exam.service.impl;
+
+import com.datn.exam.config.properties.OtpProperties;
+import com.datn.exam.repository.SessionStudentRepository;
+import com.datn.exam.service.RateLimitService;
+import com.datn.exam.support.enums.RateLimitAction;
+import com.datn.exam.support.enums.error.BadRequestError;
+import com.datn.exam.support.exception.ResponseException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitServiceImpl implements RateLimitService {
+
+    private static final String RATE_LIMIT_KEY = "exam:rate:%s:%s:%s";
+
+    // roster sizes only move while a teacher edits the session, a minute behind is fine for a limit
+    private final Cache<Long, Long> rosterSizes = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisScript<Long> slidingWindowRateLimitScript;
+    private final OtpProperties otpProperties;
+    private final SessionStudentRepository sessionStudentRepository;
+
+    @Override
+    public void acquire(RateLimitAction action, String email, Long sessionId, String clientIp) {
+        Window window = window(action, email, sessionId, clientIp);
+        if (window == null) {
+            return;
+        }
+
+        long retryAfterMillis = Optional.ofNullable(
+                redisTemplate.execute(slidingWindowRateLimitScript, window.keys(), window.args().toArray())
+        ).orElse(0L);
+
+        if (retryAfterMillis > 0) {
+            reject(action, retryAfterMillis, email, sessionId, clientIp);
+        }
+    }
+
+    /**
+     * The session limit and the address limit grow with the roster, so a large session or a lab
+     * sitting it behind one NAT address is not throttled as a whole. The address key is scoped to
+     * the session for the same reason.
+     */
+    @Override
+    public Window window(RateLimitAction action, String email, Long sessionId, String clientIp) {
+        OtpProperties.RateLimitRule rule = otpProperties.getRateLimits().get(action);
+        if (rule == null) {
+            return null;
+        }
+
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+
+        long now = System.currentTimeMillis();
+        args.add(String.valueOf(now));
+        args.add(String.valueOf(rule.getWindow().toMillis()));
+        args.add(now + ":" + UUID.randomUUID());
+
+        long rosterAllowance = sessionId == null ? 0 : rosterSize(sessionId) * rule.getPerStudent();
+        int sessionLimit = (int) Math.min(Integer.MAX_VALUE, Math.max(rule.getPerSession(), rosterAllowance));
+        int ipLimit = (int) Math.min(Integer.MAX_VALUE, Math.max(rule.getPerIp(), rosterAllowance));
+
+        addDimension(keys, args, action, "email", email == null ? null : email.toLowerCase(), rule.getPerEmail());
+        addDimension(keys, args, action, "session", sessionId == null ? null : String.valueOf(sessionId), sessionLimit);
+        addDimension(keys, args, action, "ip",
+                StringUtils.isBlank(clientIp) ? null : (sessionId == null ? "" : sessionId + ":") + clientIp, ipLimit);
+
+        return keys.isEmpty() ? null : new Window(keys, args);
+    }
+
+    @Override
+    public void reject(RateLimitAction action, long retryAfterMillis, String email, Long sessionId, String clientIp) {
+        long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+        log.warn("Rate limit {} exceeded for email={}, sessionId={}, ip={}", action, email, sessionId, clientIp);
+        throw new ResponseException(BadRequestError.TOO_MANY_REQUESTS, String.valueOf(retryAfterSeconds));
+    }
+
+    private long rosterSize(Long sessionId) {
+        return rosterSizes.get(sessionId, sessionStudentRepository::countByExamSessionId);
+    }
+
+    private void addDimension(
+            List<String> keys,
+            List<String> args,
+            RateLimitAction action,
+            String dimension,
+            String value,
+            int limit) {
+
+        if (StringUtils.isBlank(value) || limit <= 0) {
+            return;
+        }
+
+        keys.add(String.format(RATE_LIMIT_KEY, action.name().toLowerCase(), dimension, value));
+        args.add(String.valueOf(limit));
+    }
+}
@@ -0,0 +1,115 @@
+package com.datn.exam.service.impl;
+
+import com.datn.exam.config.application.jobs.ResultNotificationJob;
+import com.datn.exam.model.dto.response.ResultNotificationProgressResponse;
+import com.datn.exam.model.entity.ExamSession;
+import com.datn.exam.repository.ExamSessionRepository;
+import com.datn.exam.repository.data.dao.ResultNotificationDao;
+import com.datn.exam.service.ResultNotificationService;
+import com.datn.exam.support.enums.error.BadRequestError;
+import com.datn.exam.support.enums.error.NotFoundError;
+import com.datn.exam.support.exception.ResponseException;
+import com.datn.exam.support.util.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResultNotificationServiceImpl implements ResultNotificationService {
+    private static final Duration LOCK_TTL = Duration.ofHours(1);
+
+    private final ExamSessionRepository examSessionRepository;
+    private final ResultNotificationDao resultNotificationDao;
+    private final ResultNotificationJob resultNotificationJob;
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void start(Long sessionId) {
+        ExamSession session = examSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResponseException(NotFoundError.EXAM_SESSION_NOT_FOUND));
+
+        long total = resultNotificationDao.countGradedAttempts(sessionId);
+        if (total == 0) {
+            log.info("No graded attempts found for session {}", sessionId);
+            return;
+        }
+
+        String lockKey = ResultNotificationJob.LOCK_KEY.formatted(sessionId);
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(lockKey, "1", LOCK_TTL);
+        if (!Boolean.TRUE.equals(locked)) {
+            throw new ResponseException(BadRequestError.RESULT_NOTIFICATION_IN_PROGRESS);
+        }
+
+        // the job releases the lock when it ends, until it is running that is up to us
+        String progressKey = ResultNotificationJob.PROGRESS_KEY.formatted(sessionId);
+        try {
+            redisTemplate.delete(progressKey);
+            redisTemplate.opsForHash().putAll(progressKey, Map.of(
+                    "status", ResultNotificationProgressResponse.Status.RUNNING.name(),
+                    "total", String.valueOf(total),
+                    "queued", "0",
+                    "skipped", "0",
+                    "failed", "0",
+                    "startedAt", LocalDateTime.now().toString()
+            ));
+            redisTemplate.expire(progressKey, ResultNotificationJob.PROGRESS_TTL);
+
+            String auditor = SecurityUtils.getCurrentUser().orElse("system");
+            ResultNotificationJob.SessionInfo info = new ResultNotificationJob.SessionInfo(
+                    session.getId(),
+                    session.getExam().getName(),
+                    session.getCode(),
+                    session.getDurationMinutes()
+            );
+
+            log.info("Queueing result notifications for {} graded attempts of session {}", total, sessionId);
+            resultNotificationJob.run(info, auditor);
+        } catch (RuntimeException e) {
+            log.error("Cannot start result notifications for session {}: {}", sessionId, e.getMessage());
+            redisTemplate.delete(List.of(lockKey, progressKey));
+            throw e;
+        }
+    }
+
+    @Override
+    public ResultNotificationProgressResponse getProgress(Long sessionId) {
+        Map<Object, Object> progress = redisTemplate.opsForHash()
+                .entries(ResultNotificationJob.PROGRESS_KEY.formatted(sessionId));
+
+        if (progress.isEmpty()) {
+            return ResultNotificationProgressResponse.builder()
+                    .sessionId(sessionId)
+                    .status(ResultNotificationProgressResponse.Status.NOT_STARTED)
+                    .build();
+        }
+
+        return ResultNotificationProgressResponse.builder()
+                .sessionId(sessionId)
+                .status(ResultNotificationProgressResponse.Status.valueOf((String) progress.get("status")))
+                .total(toLong(progress.get("total")))
+                .queued(toLong(progress.get("queued")))
+                .skipped(toLong(progress.get("skipped")))
+                .failed(toLong(progress.get("failed")))
+                .startedAt(toDateTime(progress.get("startedAt")))
+                .finishedAt(toDateTime(progress.get("finishedAt")))
+                .build();
+    }
+
+    private Long toLong(Object value) {
+        return value == null ? 0L : Long.parseLong(value.toString());
+    }
+
+    private LocalDateTime toDateTime(Object value) {
+        return value == null ? null : LocalDateTime.parse(value.toString());
+    }
+}
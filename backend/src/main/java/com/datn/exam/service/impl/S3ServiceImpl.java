@@ -1,21 +1,24 @@
 package com.datn.exam.service.impl;
 
+import com.datn.exam.config.s3.PresignedUrlCache;
+import com.datn.exam.config.s3.storage.ObjectStorage;
+import com.datn.exam.config.s3.storage.ObjectUpload;
+import com.datn.exam.config.s3.storage.StoredObject;
+import com.datn.exam.repository.data.dao.StorageUsageDao;
+import com.datn.exam.repository.data.dto.StorageUsageDto;
 import com.datn.exam.service.S3Service;
 import com.datn.exam.support.enums.error.BadRequestError;
 import com.datn.exam.support.exception.ResponseException;
 import com.datn.exam.support.util.FileUtils;
+import com.datn.exam.support.util.StorageKeyUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
-import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
@@ -23,15 +26,17 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
-import java.util.Base64;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class S3ServiceImpl implements S3Service {
 
-    private final S3Client s3Client;
+    private final ObjectStorage objectStorage;
     private final S3Presigner s3Presigner;
+    private final StorageUsageDao storageUsageDao;
+    private final PresignedUrlCache presignedUrlCache;
 
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
@@ -48,20 +53,21 @@ public class S3ServiceImpl implements S3Service {
     @Override
     public String uploadFile(InputStream inputStream, String key, String contentType, long contentLength) throws IOException {
         try {
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .contentType(contentType)
-                    .contentLength(contentLength)
-                    // XÓA .acl(ObjectCannedACL.PUBLIC_READ) để file là private
-                    .build();
+            // only ledger-tracked keys pay for the HEAD that tells an overwrite from a new object
+            Long previousSize = null;
+            if (StorageKeyUtils.sessionIdOf(key) != null) {
+                OptionalLong existing = objectStorage.size(key);
+                previousSize = existing.isPresent() ? existing.getAsLong() : null;
+            }
 
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(inputStream, contentLength));
+            // Objects stay private (no public-read ACL), they are served through pre-signed URLs
+            objectStorage.put(key, inputStream, contentLength, contentType);
+            recordUsage(key, written(contentLength, previousSize));
             // Return object key instead of pre-signed URL to avoid expiration issues
             return key;
-        } catch (S3Exception e) {
+        } catch (IOException e) {
             log.error("Failed to upload file to S3: {}", key, e);
-            throw new IOException("Failed to upload file to S3: " + e.getMessage(), e);
+            throw e;
         }
     }
 
@@ -76,11 +82,96 @@ public class S3ServiceImpl implements S3Service {
             contentType = FileUtils.getContentType(file.getOriginalFilename());
         }
 
-        return uploadFile(file.getInputStream(), key, contentType, file.getSize());
+        try (InputStream inputStream = file.getInputStream()) {
+            return uploadFile(inputStream, key, contentType, file.getSize());
+        }
     }
 
     @Override
     public String uploadFromBase64(String base64Data, String key) throws IOException {
+        ObjectUpload upload = decodeBase64(base64Data, key);
+        return uploadFile(new ByteArrayInputStream(upload.data()), key, upload.contentType(), upload.data().length);
+    }
+
+    @Override
+    public List<String> uploadAllFromBase64(Map<String, String> base64ByKey) throws IOException {
+        List<ObjectUpload> uploads = new ArrayList<>(base64ByKey.size());
+        for (Map.Entry<String, String> entry : base64ByKey.entrySet()) {
+            uploads.add(decodeBase64(entry.getValue(), entry.getKey()));
+        }
+
+        uploadAll(uploads);
+        return uploads.stream().map(ObjectUpload::key).toList();
+    }
+
+    @Override
+    public void uploadAll(List<ObjectUpload> uploads) throws IOException {
+        Map<String, Long> previousSizes = listSizes(uploads.stream()
+                .map(ObjectUpload::key)
+                .filter(key -> StorageKeyUtils.sessionIdOf(key) != null)
+                .toList());
+
+        try {
+            objectStorage.putAll(uploads);
+        } catch (IOException e) {
+            log.error("Failed to upload {} files to S3", uploads.size(), e);
+            throw e;
+        }
+
+        Map<Long, StorageUsageDto> uploaded = new HashMap<>();
+        for (ObjectUpload upload : uploads) {
+            Long sessionId = StorageKeyUtils.sessionIdOf(upload.key());
+            if (sessionId != null) {
+                uploaded.merge(sessionId, written(upload.data().length, previousSizes.get(upload.key())), StorageUsageDto::plus);
+            }
+        }
+        recordUsage(uploaded);
+    }
+
+    /**
+     * Copies staged objects to their final keys inside the bucket. The staged copies are left for
+     * the caller to drop once the keys are committed. Sizes for the ledger come from one listing
+     * per staging folder and one per target folder, for the keys being overwritten.
+     */
+    @Override
+    public void promoteStaged(Map<String, String> stagedKeyByKey) throws IOException {
+        if (stagedKeyByKey.isEmpty()) {
+            return;
+        }
+
+        for (String stagedKey : stagedKeyByKey.values()) {
+            if (!StorageKeyUtils.isStaged(stagedKey)) {
+                throw new ResponseException(BadRequestError.FILE_UPLOAD_FAILED);
+            }
+        }
+
+        Map<String, Long> sizes = listSizes(stagedKeyByKey.values());
+        Map<String, Long> previousSizes = listSizes(stagedKeyByKey.keySet().stream()
+                .filter(key -> StorageKeyUtils.sessionIdOf(key) != null)
+                .toList());
+        Map<Long, StorageUsageDto> promoted = new HashMap<>();
+
+        for (Map.Entry<String, String> entry : stagedKeyByKey.entrySet()) {
+            String key = entry.getKey();
+            String stagedKey = entry.getValue();
+            if (!sizes.containsKey(stagedKey)) {
+                log.warn("Staged upload {} no longer exists", stagedKey);
+                throw new ResponseException(BadRequestError.FILE_UPLOAD_FAILED);
+            }
+
+            objectStorage.copy(stagedKey, key);
+
+            Long sessionId = StorageKeyUtils.sessionIdOf(key);
+            if (sessionId != null) {
+                promoted.merge(sessionId, written(sizes.get(stagedKey), previousSizes.get(key)), StorageUsageDto::plus);
+            }
+        }
+
+        recordUsage(promoted);
+        log.debug("Promoted {} staged uploads", stagedKeyByKey.size());
+    }
+
+    private ObjectUpload decodeBase64(String base64Data, String key) throws IOException {
         if (base64Data == null || base64Data.isEmpty()) {
             throw new ResponseException(BadRequestError.INVALID_BASE64_DATA);
         }
@@ -104,15 +195,13 @@ public class S3ServiceImpl implements S3Service {
             }
 
             byte[] imageBytes = Base64.getDecoder().decode(base64String);
-            InputStream inputStream = new ByteArrayInputStream(imageBytes);
-            return uploadFile(inputStream, key, contentType, imageBytes.length);
+            return new ObjectUpload(key, imageBytes, contentType);
         } catch (IllegalArgumentException e) {
             log.error("Invalid Base64 data", e);
             throw new IOException("Invalid Base64 data", e);
         }
     }
 
-
     private String detectContentTypeFromBase64(String base64String) {
         String contentType = FileUtils.getContentTypeFromBase64(base64String);
 
@@ -125,57 +214,71 @@ public class S3ServiceImpl implements S3Service {
     }
 
     @Override
-    public byte[] downloadFile(String key) throws IOException {
-        try {
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .build();
-
-            return s3Client.getObject(getObjectRequest).readAllBytes();
-        } catch (S3Exception e) {
-            throw new IOException("Failed to download file from S3: " + e.getMessage(), e);
-        }
+    public InputStream openFile(String key) throws IOException {
+        return objectStorage.open(key);
     }
 
     @Override
     public boolean fileExists(String key) {
-        try {
-            HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .build();
+        return objectStorage.size(key).isPresent();
+    }
 
-            s3Client.headObject(headObjectRequest);
-            return true;
-        } catch (NoSuchKeyException e) {
-            return false;
-        } catch (S3Exception e) {
-            log.error("Error checking file existence: {}", key, e);
+    @Override
+    public boolean deleteFile(String key) {
+        if (key.startsWith("http")) {
+            key = extractKeyFromUrl(key);
+        }
+
+        presignedUrlCache.evict(List.of(key));
+
+        // only ledger-tracked keys pay for the HEAD, the listing-free way to learn the size
+        long size = StorageKeyUtils.sessionIdOf(key) != null ? objectStorage.size(key).orElse(0) : 0;
+
+        if (!objectStorage.deleteAll(List.of(key)).isEmpty()) {
             return false;
         }
+
+        if (size > 0) {
+            recordUsage(key, StorageUsageDto.of(-size, -1));
+        }
+        log.info("Deleted file from S3: {}", key);
+        return true;
     }
 
+    /**
+     * Sizes for the ledger come from one listing per parent folder of the deleted keys,
+     * instead of one HEAD per key.
+     */
     @Override
-    public boolean deleteFile(String key) {
-        try {
-            if (key.startsWith("http")) {
-                key = extractKeyFromUrl(key);
+    public int deleteFiles(Collection<String> keysOrUrls) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String value : keysOrUrls) {
+            if (value != null && !value.isBlank()) {
+                keys.add(value.startsWith("http") ? extractKeyFromUrl(value) : value);
             }
+        }
 
-            DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .build();
+        if (keys.isEmpty()) {
+            return 0;
+        }
 
-            s3Client.deleteObject(deleteObjectRequest);
-            log.info("Deleted file from S3: {}", key);
-            return true;
+        Map<String, Long> sizes = listSizes(keys.stream()
+                .filter(key -> StorageKeyUtils.sessionIdOf(key) != null)
+                .toList());
 
-        } catch (S3Exception e) {
-            log.error("Failed to delete file from S3: {}", key, e);
-            return false;
-        }
+        presignedUrlCache.evict(keys);
+        Set<String> failed = new HashSet<>(objectStorage.deleteAll(keys));
+
+        Map<Long, StorageUsageDto> deleted = new HashMap<>();
+        sizes.forEach((key, size) -> {
+            if (!failed.contains(key)) {
+                deleted.merge(StorageKeyUtils.sessionIdOf(key), StorageUsageDto.of(-size, -1), StorageUsageDto::plus);
+            }
+        });
+        recordUsage(deleted);
+
+        log.info("Deleted {} of {} files from S3", keys.size() - failed.size(), keys.size());
+        return keys.size() - failed.size();
     }
 
     @Override
@@ -201,6 +304,16 @@ public class S3ServiceImpl implements S3Service {
         }
     }
 
+    @Override
+    public String getCachedPresignedGetUrl(String key, int expirationMinutes) {
+        return presignedUrlCache.get(key, expirationMinutes, objectKey -> generatePresignedGetUrl(objectKey, expirationMinutes));
+    }
+
+    @Override
+    public void evictPresignedUrls(Collection<String> keys) {
+        presignedUrlCache.evict(keys);
+    }
+
     @Override
     public String extractKeyFromUrl(String url) {
         if (url == null || url.isEmpty()) {
@@ -238,83 +351,117 @@ public class S3ServiceImpl implements S3Service {
     }
 
     @Override
-    public java.util.List<String> listObjects(String prefix) {
+    public List<String> listObjects(String prefix) {
+        List<String> keys = new ArrayList<>();
         try {
-            ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
-                    .bucket(bucketName)
-                    .prefix(prefix)
-                    .build();
-
-            ListObjectsV2Response response = s3Client.listObjectsV2(listRequest);
-            
-            return response.contents().stream()
-                    .map(S3Object::key)
-                    .collect(java.util.stream.Collectors.toList());
+            objectStorage.list(prefix, object -> keys.add(object.key()));
         } catch (S3Exception e) {
             log.error("Failed to list objects with prefix: {}", prefix, e);
-            return java.util.Collections.emptyList();
         }
+        return keys;
     }
 
     @Override
     public long getObjectSize(String key) {
-        try {
-            HeadObjectRequest headRequest = HeadObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(key)
-                    .build();
-
-            HeadObjectResponse response = s3Client.headObject(headRequest);
-            return response.contentLength();
-        } catch (S3Exception e) {
-            log.error("Failed to get object size: {}", key, e);
-            return 0;
-        }
+        return objectStorage.size(key).orElse(0);
     }
 
     @Override
     public boolean deleteFolder(String prefix) {
+        Map<Long, StorageUsageDto> deleted = new HashMap<>();
+
         try {
-            java.util.List<String> keys = listObjects(prefix);
-            
-            if (keys.isEmpty()) {
+            List<StoredObject> objects = new ArrayList<>();
+            objectStorage.list(prefix, objects::add);
+
+            if (objects.isEmpty()) {
                 return true;
             }
 
-            for (String key : keys) {
-                deleteFile(key);
+            List<String> keys = objects.stream().map(StoredObject::key).toList();
+            presignedUrlCache.evict(keys);
+            Set<String> failed = new HashSet<>(objectStorage.deleteAll(keys));
+
+            for (StoredObject object : objects) {
+                Long sessionId = StorageKeyUtils.sessionIdOf(object.key());
+                if (sessionId != null && !object.key().endsWith("/") && !failed.contains(object.key())) {
+                    deleted.merge(sessionId, StorageUsageDto.of(-object.size(), -1), StorageUsageDto::plus);
+                }
             }
 
-            log.info("Deleted folder and {} files: {}", keys.size(), prefix);
-            return true;
+            log.info("Deleted folder and {} files: {}", objects.size() - failed.size(), prefix);
+            return failed.isEmpty();
         } catch (Exception e) {
             log.error("Failed to delete folder: {}", prefix, e);
             return false;
+        } finally {
+            recordUsage(deleted);
         }
     }
 
     @Override
-    public java.util.Map<String, Long> getFolderSizes(String prefix) {
-        java.util.Map<String, Long> folderSizes = new java.util.HashMap<>();
-        
-        try {
-            java.util.List<String> keys = listObjects(prefix);
-            
-            for (String key : keys) {
-                // Extract folder name from key (e.g., "whitelists/123/" from "whitelists/123/user_at_gmail_com/1")
-                String relativePath = key.substring(prefix.length());
-                String[] parts = relativePath.split("/");
-                
-                if (parts.length > 0 && !parts[0].isEmpty()) {
-                    String folderName = parts[0];
-                    long size = getObjectSize(key);
-                    folderSizes.merge(folderName, size, Long::sum);
-                }
+    public Map<String, StorageUsageDto> summarizeFolders(String prefix) {
+        Map<String, StorageUsageDto> folders = new HashMap<>();
+
+        objectStorage.list(prefix, object -> {
+            String relativePath = object.key().substring(prefix.length());
+            int end = relativePath.indexOf('/');
+            if (end <= 0 || object.key().endsWith("/")) {
+                return;
             }
+            // not under the folder of their session, see StorageKeyUtils#sessionIdOf
+            if (StorageKeyUtils.isLegacyStudentAvatar(object.key())) {
+                return;
+            }
+
+            folders.merge(relativePath.substring(0, end),
+                    StorageUsageDto.of(object.size(), 1),
+                    StorageUsageDto::plus);
+        });
+
+        return folders;
+    }
+
+    private Map<String, Long> listSizes(Collection<String> keys) {
+        Set<String> wanted = new HashSet<>(keys);
+        Map<String, Long> sizes = new HashMap<>();
+
+        wanted.stream()
+                .map(key -> key.substring(0, key.lastIndexOf('/') + 1))
+                .distinct()
+                .forEach(folder -> objectStorage.list(folder, object -> {
+                    if (wanted.contains(object.key())) {
+                        sizes.put(object.key(), object.size());
+                    }
+                }));
+
+        return sizes;
+    }
+
+    // a write over an existing key replaces its bytes, it is not one more object
+    private static StorageUsageDto written(long size, Long previousSize) {
+        return previousSize == null
+                ? StorageUsageDto.of(size, 1)
+                : StorageUsageDto.of(size - previousSize, 0);
+    }
+
+    private void recordUsage(String key, StorageUsageDto delta) {
+        Long sessionId = StorageKeyUtils.sessionIdOf(key);
+        if (sessionId != null) {
+            recordUsage(Map.of(sessionId, delta));
+        }
+    }
+
+    // the object operation already happened, a ledger failure only leaves drift for the reconciliation
+    private void recordUsage(Map<Long, StorageUsageDto> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            storageUsageDao.increment(deltas);
         } catch (Exception e) {
-            log.error("Failed to get folder sizes for prefix: {}", prefix, e);
+            log.warn("Failed to record storage usage for sessions {}: {}", deltas.keySet(), e.getMessage());
         }
-        
-        return folderSizes;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,10 @@
 package com.datn.exam.service.impl;
 
+import com.datn.exam.config.metrics.ExamOperation;
+import com.datn.exam.config.metrics.HotPath;
+import com.datn.exam.config.metrics.HotPathContext;
+import com.datn.exam.config.properties.StorageProperties;
+import com.datn.exam.config.s3.storage.ObjectUpload;
 import com.datn.exam.model.dto.response.SessionStudentPreviewResponse;
 import com.datn.exam.model.entity.ExamSession;
 import com.datn.exam.model.entity.SessionStudent;
@@ -14,17 +19,24 @@ import com.datn.exam.support.enums.error.BadRequestError;
 import com.datn.exam.support.enums.error.NotFoundError;
 import com.datn.exam.support.exception.ResponseException;
 import com.datn.exam.support.util.EmailUtils;
-import com.datn.exam.support.util.ExcelUtils;
+import com.datn.exam.support.excel.RosterWorkbookReader;
+import com.datn.exam.support.util.StorageKeyUtils;
+import com.datn.exam.model.dto.events.AvatarsChangedEvent;
+import com.datn.exam.service.AvatarThumbnailService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.*;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -37,9 +49,15 @@ public class SessionStudentServiceImpl implements SessionStudentService {
     private final UserRepository userRepository;
     private final S3Service s3Service;
     
+    private final StorageProperties storageProperties;
+    private final AvatarThumbnailService avatarThumbnailService;
+    private final ApplicationEventPublisher eventPublisher;
+    
     private static final int MAX_AVATARS_PER_STUDENT = 5;
+    private static final int STAGED_PREVIEW_MINUTES = 60;
 
     @Override
+    @HotPath(ExamOperation.ROSTER_IMPORT)
     public SessionStudentPreviewResponse previewFromExcel(Long sessionId, MultipartFile file) {
         if (file.isEmpty()) {
             throw new ResponseException(BadRequestError.FILE_EMPTY);
@@ -68,11 +86,15 @@ public class SessionStudentServiceImpl implements SessionStudentService {
 
         List<SessionStudentPreviewResponse.StudentItem> allStudents;
         try {
-            allStudents = parseStudentsWithImages(file);
+            allStudents = isOoxml(file)
+                    ? parseStudentsWithStagedImages(file)
+                    : parseStudents(file);
         } catch (IOException e) {
             log.error("Failed to parse Excel with images", e);
             throw new ResponseException(BadRequestError.INVALID_EXCEL_FILE);
         }
+        // an import is as large as its workbook, whatever the session already holds
+        HotPathContext.size(allStudents.size());
 
         Set<String> emails = allStudents.stream()
                 .map(s -> s.getEmail().toLowerCase())
@@ -159,85 +181,64 @@ public class SessionStudentServiceImpl implements SessionStudentService {
                 .build();
     }
 
-    private List<SessionStudentPreviewResponse.StudentItem> parseStudentsWithImages(MultipartFile file) throws IOException {
-        List<SessionStudentPreviewResponse.StudentItem> students = new ArrayList<>();
+    /**
+     * Streams the workbook from a temporary file and sends each embedded picture straight to a
+     * staging key, a few pictures at a time. The preview only carries the staged keys and short
+     * lived URLs to display them, saving the roster promotes the staged keys into the session.
+     */
+    private List<SessionStudentPreviewResponse.StudentItem> parseStudentsWithStagedImages(MultipartFile file) throws IOException {
+        PictureStaging staging = new PictureStaging();
 
-        try (InputStream is = file.getInputStream();
-             Workbook workbook = WorkbookFactory.create(is)) {
+        Path workbook = Files.createTempFile("roster-", ".xlsx");
+        try {
+            file.transferTo(workbook);
 
-            Sheet sheet = workbook.getSheetAt(0);
-            Map<Integer, List<String>> rowToAvatarList = new HashMap<>();
-            if (sheet instanceof XSSFSheet) {
-                rowToAvatarList = extractMultipleImagesAsBase64((XSSFSheet) sheet);
-            }
+            List<RosterWorkbookReader.RosterRow> rows = RosterWorkbookReader.read(workbook, MAX_AVATARS_PER_STUDENT,
+                    (row, contentType, size, data) -> staging.add(row, contentType, data.readNBytes((int) size)));
+            staging.flush();
 
-            int rowNumber = 0;
-            for (Row row : sheet) {
-                rowNumber++;
-
-                // Skip header
-                if (rowNumber == 1) {
-                    Cell firstCell = row.getCell(0);
-                    if (firstCell != null && firstCell.getCellType() == CellType.STRING) {
-                        String header = firstCell.getStringCellValue().toLowerCase();
-                        if (header.contains("email") || header.contains("mail")) {
-                            continue;
-                        }
-                    }
-                }
-
-                Cell emailCell = row.getCell(0);
-                if (emailCell == null) continue;
-
-                String email = ExcelUtils.getCellValue(emailCell).trim();
-                if (email.isEmpty()) continue;
-
-                List<String> avatars = rowToAvatarList.getOrDefault(rowNumber - 1, new ArrayList<>());
-
-                students.add(SessionStudentPreviewResponse.StudentItem.builder()
-                        .row(rowNumber)
-                        .email(email)
-                        .avatarPreviews(avatars)
-                        .avatarCount(avatars.size())
-                        .hasAvatars(!avatars.isEmpty())
-                        .build());
-            }
+            return rows.stream()
+                    .map(row -> staging.item(row.row(), row.email()))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(workbook);
         }
-
-        return students;
     }
 
-    private Map<Integer, List<String>> extractMultipleImagesAsBase64(XSSFSheet sheet) {
-        Map<Integer, List<String>> rowToAvatars = new HashMap<>();
+    // .xls rosters are read with the workbook model, their pictures are staged like for .xlsx
+    private List<SessionStudentPreviewResponse.StudentItem> parseStudents(MultipartFile file) throws IOException {
+        PictureStaging staging = new PictureStaging();
 
-        XSSFDrawing drawing = sheet.getDrawingPatriarch();
-        if (drawing == null) return rowToAvatars;
-
-        for (XSSFShape shape : drawing.getShapes()) {
-            if (!(shape instanceof XSSFPicture picture)) continue;
-
-            XSSFPictureData pictureData = picture.getPictureData();
-            if (pictureData == null) continue;
-
-            byte[] imageBytes = pictureData.getData();
-            String mimeType = pictureData.getMimeType();
+        List<RosterWorkbookReader.RosterRow> rows;
+        try (InputStream is = file.getInputStream()) {
+            rows = RosterWorkbookReader.readLegacy(is, MAX_AVATARS_PER_STUDENT,
+                    (row, contentType, size, data) -> staging.add(row, contentType, data.readNBytes((int) size)));
+        }
+        staging.flush();
 
-            XSSFClientAnchor anchor = (XSSFClientAnchor) picture.getClientAnchor();
-            int rowIndex = anchor.getRow1(); // 0-based
+        return rows.stream()
+                .map(row -> staging.item(row.row(), row.email()))
+                .toList();
+    }
 
-            String base64Data = convertToBase64DataUrl(imageBytes, mimeType);
-            rowToAvatars.computeIfAbsent(rowIndex, k -> new ArrayList<>()).add(base64Data);
+    // by content, a workbook saved under the other extension still opens
+    private boolean isOoxml(MultipartFile file) throws IOException {
+        try (InputStream is = FileMagic.prepareToCheckMagic(file.getInputStream())) {
+            return FileMagic.valueOf(is) == FileMagic.OOXML;
         }
+    }
 
-        rowToAvatars.replaceAll((row, avatars) -> {
-            if (avatars.size() > MAX_AVATARS_PER_STUDENT) {
-                log.warn("Row {} has {} avatars, limit to {}", row + 1, avatars.size(), MAX_AVATARS_PER_STUDENT);
-                return avatars.subList(0, MAX_AVATARS_PER_STUDENT);
-            }
-            return avatars;
-        });
-
-        return rowToAvatars;
+    private String extensionOf(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        return switch (contentType.toLowerCase()) {
+            case "image/png" -> ".png";
+            case "image/jpeg", "image/jpg" -> ".jpg";
+            case "image/gif" -> ".gif";
+            case "image/bmp", "image/x-ms-bmp" -> ".bmp";
+            default -> "";
+        };
     }
 
     @Transactional
@@ -250,13 +251,14 @@ public class SessionStudentServiceImpl implements SessionStudentService {
             throw new ResponseException(BadRequestError.MAX_AVATARS_REACHED);
         }
 
-        String avatarUrl = uploadAvatarToS3(sessionStudentId, file);
+        String avatarUrl = uploadAvatarToS3(student, file);
 
         List<String> avatars = new ArrayList<>(student.getAvatarUrls());
         avatars.add(avatarUrl);
         student.setAvatarUrls(avatars);
         
         sessionStudentRepository.save(student);
+        eventPublisher.publishEvent(new AvatarsChangedEvent(this, List.of(sessionStudentId)));
     }
 
     @Transactional
@@ -270,13 +272,7 @@ public class SessionStudentServiceImpl implements SessionStudentService {
         }
 
         String removedUrl = student.getAvatarUrls().get(index);
-        if (isS3Url(removedUrl)) {
-            try {
-                s3Service.deleteFile(removedUrl);
-            } catch (Exception e) {
-                log.error("Failed to delete avatar from S3: {}", removedUrl, e);
-            }
-        }
+        deleteAvatar(student, removedUrl);
 
         List<String> avatars = new ArrayList<>(student.getAvatarUrls());
         avatars.remove(index.intValue());
@@ -296,24 +292,38 @@ public class SessionStudentServiceImpl implements SessionStudentService {
         }
 
         String oldUrl = student.getAvatarUrls().get(index);
-        if (isS3Url(oldUrl)) {
-            try {
-                s3Service.deleteFile(oldUrl);
-            } catch (Exception e) {
-                log.error("Failed to delete old avatar from S3: {}", oldUrl, e);
-            }
-        }
+        deleteAvatar(student, oldUrl);
 
-        String newUrl = uploadAvatarToS3(sessionStudentId, file);
+        String newUrl = uploadAvatarToS3(student, file);
         
         List<String> avatars = new ArrayList<>(student.getAvatarUrls());
         avatars.set(index, newUrl);
         student.setAvatarUrls(avatars);
 
         sessionStudentRepository.save(student);
+        eventPublisher.publishEvent(new AvatarsChangedEvent(this, List.of(sessionStudentId)));
     }
 
-    private String uploadAvatarToS3(Long sessionStudentId, MultipartFile file) {
+    // the thumbnail variants go with the original
+    private void deleteAvatar(SessionStudent student, String avatar) {
+        List<String> keys = avatarThumbnailService.withVariants(List.of(avatar));
+        s3Service.evictPresignedUrls(keys);
+
+        List<String> thumbnails = new ArrayList<>(student.getAvatarThumbnails());
+        thumbnails.remove(avatar);
+        student.setAvatarThumbnails(thumbnails);
+
+        if (isS3Url(avatar) || avatar.startsWith(StorageKeyUtils.SESSION_PREFIX)) {
+            try {
+                s3Service.deleteFiles(keys);
+            } catch (Exception e) {
+                log.error("Failed to delete avatar from S3: {}", avatar, e);
+            }
+        }
+    }
+
+    // stored in the folder of the student's session, which the storage ledger charges
+    private String uploadAvatarToS3(SessionStudent student, MultipartFile file) {
         try {
             String timestamp = String.valueOf(System.currentTimeMillis());
             String originalFilename = file.getOriginalFilename();
@@ -322,8 +332,8 @@ public class SessionStudentServiceImpl implements SessionStudentService {
                 extension = originalFilename.substring(originalFilename.lastIndexOf("."));
             }
 
-            String key = String.format("session-students/%d/avatars/%s%s",
-                    sessionStudentId, timestamp, extension);
+            String key = StorageKeyUtils.studentAvatarKey(
+                    student.getExamSession().getId(), student.getId(), timestamp + extension);
 
             return s3Service.uploadFile(file, key);
 
@@ -340,11 +350,52 @@ public class SessionStudentServiceImpl implements SessionStudentService {
         return url.contains(".amazonaws.com") || url.contains("cloudfront.net");
     }
 
-    private String convertToBase64DataUrl(byte[] imageBytes, String mimeType) {
-        if (imageBytes == null || imageBytes.length == 0) {
-            return null;
+    /**
+     * Roster pictures of one preview, uploaded under a fresh staging folder in chunks of
+     * upload-concurrency so that only a chunk of pictures is held at a time.
+     */
+    private final class PictureStaging {
+        private final String folder = StorageKeyUtils.STAGING_PREFIX
+                + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "/"
+                + UUID.randomUUID() + "/";
+        private final int chunkSize = Math.max(1, storageProperties.getUploadConcurrency());
+        private final Map<Integer, List<String>> keysByRow = new HashMap<>();
+        private final List<ObjectUpload> pending = new ArrayList<>();
+
+        void add(int row, String contentType, byte[] data) throws IOException {
+            List<String> keys = keysByRow.computeIfAbsent(row, k -> new ArrayList<>());
+            String key = folder + row + "-" + (keys.size() + 1) + extensionOf(contentType);
+            keys.add(key);
+
+            pending.add(new ObjectUpload(key, data, contentType));
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (!pending.isEmpty()) {
+                s3Service.uploadAll(List.copyOf(pending));
+                pending.clear();
+            }
+        }
+
+        List<String> keysOf(int row) {
+            return keysByRow.getOrDefault(row, List.of());
+        }
+
+        SessionStudentPreviewResponse.StudentItem item(int row, String email) {
+            List<String> avatarKeys = keysOf(row);
+            return SessionStudentPreviewResponse.StudentItem.builder()
+                    .row(row)
+                    .email(email)
+                    .avatarKeys(avatarKeys)
+                    .avatarPreviews(avatarKeys.stream()
+                            .map(key -> s3Service.generatePresignedGetUrl(key, STAGED_PREVIEW_MINUTES))
+                            .toList())
+                    .avatarCount(avatarKeys.size())
+                    .hasAvatars(!avatarKeys.isEmpty())
+                    .build();
         }
-        String base64 = Base64.getEncoder().encodeToString(imageBytes);
-        return String.format("data:%s;base64,%s", mimeType, base64);
     }
 }
@@ -1,14 +1,18 @@
 package com.datn.exam.service.impl;
 
+import com.datn.exam.config.properties.StorageProperties;
 import com.datn.exam.model.dto.request.DeleteStorageRequest;
 import com.datn.exam.model.dto.response.StorageFileResponse;
 import com.datn.exam.model.dto.response.StorageStatsResponse;
 import com.datn.exam.model.entity.ExamSession;
+import com.datn.exam.model.entity.StorageUsage;
 import com.datn.exam.model.entity.User;
 import com.datn.exam.repository.ExamSessionRepository;
 import com.datn.exam.repository.UserRepository;
+import com.datn.exam.repository.data.dao.StorageUsageDao;
 import com.datn.exam.service.S3Service;
 import com.datn.exam.service.StorageService;
+import com.datn.exam.support.util.StorageKeyUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -23,91 +27,54 @@ public class StorageServiceImpl implements StorageService {
     private final S3Service s3Service;
     private final ExamSessionRepository examSessionRepository;
     private final UserRepository userRepository;
+    private final StorageUsageDao storageUsageDao;
+    private final StorageProperties storageProperties;
     
-    private static final String WHITELIST_PREFIX = "session-students/";
-    private static final long MAX_STORAGE_BYTES = 200L * 1024 * 1024; // 200 MB
+    private static final String WHITELIST_PREFIX = StorageKeyUtils.SESSION_PREFIX;
     
+    /**
+     * Served from the storage usage ledger, one indexed read per call whatever the number of
+     * objects. The ledger follows uploads and deletes and is reconciled from the bucket listing
+     * by {@link com.datn.exam.config.application.jobs.StorageUsageReconciliationJob}.
+     */
     @Override
     public StorageStatsResponse getStorageStats(UUID userId) {
         try {
-            User user = userRepository.findById(userId).orElse(null);
-            if (user == null) {
+            List<StorageUsage> usages = storageUsageDao.findByOwner(userId);
+            if (usages.isEmpty()) {
                 return buildEmptyStats();
             }
-            String userEmail = user.getEmail();
-            
-            List<ExamSession> userSessions = examSessionRepository.findAll().stream()
-                    .filter(session -> userEmail.equals(session.getCreatedBy()))
-                    .toList();
-            
-            Set<String> userSessionIds = userSessions.stream()
-                    .map(session -> String.valueOf(session.getId()))
-                    .collect(Collectors.toSet());
-            
-            String userPrefix = WHITELIST_PREFIX;
-            List<String> allKeys = s3Service.listObjects(userPrefix);
-            
+
+            long maxStorageBytes = storageProperties.getQuotaBytes();
             long totalUsedBytes = 0;
-            int fileCount = 0;
-            Set<String> sessionFolders = new HashSet<>();
-            
-            for (String key : allKeys) {
-                String relativePath = key.substring(WHITELIST_PREFIX.length());
-                String[] parts = relativePath.split("/");
-                if (parts.length == 0 || parts[0].isEmpty()) {
-                    continue;
-                }
-                
-                String sessionId = parts[0];
-                
-                if (!userSessionIds.contains(sessionId)) {
-                    continue;
-                }
-                
-                sessionFolders.add(sessionId);
-                
-                if (!key.endsWith("/")) {
-                    long size = s3Service.getObjectSize(key);
-                    totalUsedBytes += size;
-                    fileCount++;
-                }
+            long fileCount = 0;
+            List<StorageStatsResponse.StorageFolderInfo> folders = new ArrayList<>(usages.size());
+
+            for (StorageUsage usage : usages) {
+                totalUsedBytes += usage.getBytes();
+                fileCount += usage.getObjectCount();
+
+                String folderName = String.valueOf(usage.getSessionId());
+                StorageStatsResponse.StorageFolderInfo folderInfo = new StorageStatsResponse.StorageFolderInfo();
+                folderInfo.setName(folderName);
+                folderInfo.setPath(WHITELIST_PREFIX + folderName + "/");
+                folderInfo.setSizeBytes(usage.getBytes());
+                folderInfo.setSizeFormatted(formatBytes(usage.getBytes()));
+                folderInfo.setFileCount((int) usage.getObjectCount());
+                folders.add(folderInfo);
             }
-            
-            Map<String, Long> folderSizes = s3Service.getFolderSizes(userPrefix);
-            List<StorageStatsResponse.StorageFolderInfo> folders = folderSizes.entrySet().stream()
-                    .filter(entry -> userSessionIds.contains(entry.getKey()))
-                    .map(entry -> {
-                        String folderName = entry.getKey();
-                        long sizeBytes = entry.getValue();
-                        String sizeFormatted = formatBytes(sizeBytes);
-                        
-                        String folderPrefix = userPrefix + folderName + "/";
-                        List<String> folderKeys = s3Service.listObjects(folderPrefix);
-                        int folderFileCount = (int) folderKeys.stream()
-                                .filter(k -> !k.endsWith("/"))
-                                .count();
-                        
-                        StorageStatsResponse.StorageFolderInfo folderInfo = new StorageStatsResponse.StorageFolderInfo();
-                        folderInfo.setName(folderName);
-                        folderInfo.setPath(folderPrefix);
-                        folderInfo.setSizeBytes(sizeBytes);
-                        folderInfo.setSizeFormatted(sizeFormatted);
-                        folderInfo.setFileCount(folderFileCount);
-                        return folderInfo;
-                    })
-                    .collect(Collectors.toList());
-            
-            long remainingBytes = Math.max(0, MAX_STORAGE_BYTES - totalUsedBytes);
-            
+
+            long remainingBytes = Math.max(0, maxStorageBytes - totalUsedBytes);
+
             return StorageStatsResponse.builder()
-                    .totalSizeBytes(MAX_STORAGE_BYTES)
-                    .totalSizeFormatted(formatBytes(MAX_STORAGE_BYTES))
+                    .totalSizeBytes(maxStorageBytes)
+                    .totalSizeFormatted(formatBytes(maxStorageBytes))
                     .usedSizeBytes(Long.valueOf(totalUsedBytes))
                     .usedSizeFormatted(formatBytes(totalUsedBytes))
                     .remainingSizeBytes(Long.valueOf(remainingBytes))
                     .remainingSizeFormatted(formatBytes(remainingBytes))
-                    .fileCount(fileCount)
-                    .folderCount(sessionFolders.size())
+                    .fileCount((int) fileCount)
+                    .folderCount(folders.size())
                     .folders(folders)
                     .build();
         } catch (Exception e) {
@@ -118,12 +85,12 @@ public class StorageServiceImpl implements StorageService {
     
     private StorageStatsResponse buildEmptyStats() {
         return StorageStatsResponse.builder()
-                .totalSizeBytes(MAX_STORAGE_BYTES)
-                .totalSizeFormatted(formatBytes(MAX_STORAGE_BYTES))
+                .totalSizeBytes(storageProperties.getQuotaBytes())
+                .totalSizeFormatted(formatBytes(storageProperties.getQuotaBytes()))
                 .usedSizeBytes(0L)
                 .usedSizeFormatted("0 B")
-                .remainingSizeBytes(MAX_STORAGE_BYTES)
-                .remainingSizeFormatted(formatBytes(MAX_STORAGE_BYTES))
+                .remainingSizeBytes(storageProperties.getQuotaBytes())
+                .remainingSizeFormatted(formatBytes(storageProperties.getQuotaBytes()))
                 .fileCount(0)
                 .folderCount(0)
                 .folders(Collections.emptyList())
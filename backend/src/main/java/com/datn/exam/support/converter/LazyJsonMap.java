@@ -0,0 +1,103 @@
+package com.datn.exam.support.converter;
+
+import com.datn.exam.support.util.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.MutableMutabilityPlan;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JSON object column kept as its raw text until it is first read, then parsed once and cached.
+ * An unread value is written back as the same text and compared as text by the dirty check, so
+ * loading an entity no longer parses and re-marshals columns nobody looks at. A value that was
+ * read may have been changed in place, it is compared parsed and marshalled again on write.
+ */
+@Mutability(LazyJsonMap.CopyPlan.class)
+public final class LazyJsonMap {
+
+    private static final TypeReference<Map<String, Object>> MAP_OBJECT = new TypeReference<>() {
+    };
+
+    private final String raw;
+    private Map<String, Object> value;
+
+    private LazyJsonMap(String raw, Map<String, Object> value) {
+        this.raw = raw;
+        this.value = value;
+    }
+
+    public static LazyJsonMap ofJson(String json) {
+        return json == null ? null : new LazyJsonMap(json, null);
+    }
+
+    public static LazyJsonMap of(Map<String, Object> value) {
+        return value == null ? null : new LazyJsonMap(null, value);
+    }
+
+    /**
+     * The parsed map, mutable like the one the eager converter returned.
+     */
+    public Map<String, Object> get() {
+        if (value == null) {
+            try {
+                value = JsonUtils.unmarshal(raw, MAP_OBJECT);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return value;
+    }
+
+    public boolean isParsed() {
+        return value != null;
+    }
+
+    public String toJson() {
+        if (value == null) {
+            return raw;
+        }
+        try {
+            return JsonUtils.marshal(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LazyJsonMap other)) {
+            return false;
+        }
+        if (value == null && other.value == null) {
+            return raw.equals(other.raw);
+        }
+        return get().equals(other.get());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(get());
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    /**
+     * Snapshot for the dirty check: shares the text while the value is unread.
+     */
+    public static class CopyPlan extends MutableMutabilityPlan<LazyJsonMap> {
+        @Override
+        protected LazyJsonMap deepCopyNotNull(LazyJsonMap value) {
+            return ofJson(value.toJson());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.datn.exam.support.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Lazy counterpart of {@link MapObjectConverter}, see {@link LazyJsonMap}.
+ */
+@Converter
+public class LazyJsonMapConverter implements AttributeConverter<LazyJsonMap, String> {
+
+    @Override
+    public String convertToDatabaseColumn(LazyJsonMap attribute) {
+        return attribute == null ? null : attribute.toJson();
+    }
+
+    @Override
+    public LazyJsonMap convertToEntityAttribute(String dbData) {
+        return LazyJsonMap.ofJson(dbData);
+    }
+}
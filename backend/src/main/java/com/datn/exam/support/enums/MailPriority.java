@@ -0,0 +1,16 @@
+package com.datn.exam.support.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Dispatch lanes of the mail outbox, lower lanes are always claimed first.
+ */
+@Getter
+@AllArgsConstructor
+public enum MailPriority {
+    OTP(0),
+    RESULT(10);
+
+    private final int lane;
+}
@@ -0,0 +1,8 @@
+package com.datn.exam.support.enums;
+
+public enum RateLimitAction {
+    OTP_REQUEST,
+    OTP_RESEND,
+    OTP_VERIFY,
+    ;
+}
@@ -85,6 +85,8 @@ public enum BadRequestError implements ResponseError {
     OTP_RESEND_TOO_EARLY(400102, "Gửi lại OTP quá sớm. Vui lòng đợi %s giây trước khi thử lại."),
     TEACHER_CANNOT_JOIN(400103, "Email của giáo viên không được phép tham gia phiên thi này."),
     SESSION_IDENTIFIER_REQUIRED(400104, "Yêu cầu sessionId hoặc sessionCode"),
+    TOO_MANY_REQUESTS(400105, "Bạn đã thao tác quá nhiều lần. Vui lòng thử lại sau %s giây."),
+    RESULT_NOTIFICATION_IN_PROGRESS(400106, "Hệ thống đang gửi thông báo kết quả cho phiên thi này. Vui lòng đợi hoàn tất."),
     FILE_EMPTY(400200, "File trống"),
     INVALID_FILE_FORMAT(400201, "Định dạng file không hợp lệ. Chỉ cho phép .xlsx hoặc .xls"),
     INVALID_EXCEL_FILE(400202, "Không thể đọc file Excel"),
@@ -0,0 +1,34 @@
+package com.datn.exam.support.enums.error;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ServiceUnavailableError implements ResponseError {
+    REPORTING_BUSY(503001, "Hệ thống đang bận, vui lòng thử lại sau"),
+    ;
+
+    private final int code;
+    private final String message;
+
+    @Override
+    public String getName() {
+        return name();
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public int getStatus() {
+        return 503;
+    }
+
+    @Override
+    public int getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,286 @@
+package com.datn.exam.support.excel;
+
+import org.apache.poi.hssf.usermodel.*;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.*;
+import org.apache.poi.poifs.filesystem.OfficeXmlFileException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.Styles;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Reads a roster workbook (.xlsx) without building the workbook model: the first sheet is parsed
+ * with SAX for the emails of column A, then its drawing is scanned for the pictures anchored on
+ * those rows. Each picture is handed over as a stream over its zip entry, opened from a file so
+ * the entry sizes are known and nothing but the current picture is ever read.
+ * <p>
+ * Legacy .xls rosters have no such layout and go through {@link #readLegacy}, which builds the
+ * workbook model but hands over rows and pictures the same way.
+ */
+public final class RosterWorkbookReader {
+
+    private static final String DRAWING_NS = "http://schemas.openxmlformats.org/drawingml/2006/spreadsheetDrawing";
+    private static final String RELATIONSHIP_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    public record RosterRow(int row, String email) {
+    }
+
+    @FunctionalInterface
+    public interface PictureConsumer {
+        /**
+         * @param row 1-based row the picture is anchored on
+         */
+        void accept(int row, String contentType, long size, InputStream data) throws IOException;
+    }
+
+    private RosterWorkbookReader() {
+    }
+
+    /**
+     * Returns the rows with an email, then streams at most {@code maxPicturesPerRow} pictures of
+     * each of those rows, in drawing order.
+     */
+    public static List<RosterRow> read(Path workbook, int maxPicturesPerRow, PictureConsumer pictures) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(workbook.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return List.of();
+            }
+
+            List<RosterRow> rows;
+            PackagePart sheetPart;
+            try (InputStream sheet = sheets.next()) {
+                sheetPart = sheets.getSheetPart();
+                rows = readRows(sheet, reader.getStylesTable(), new ReadOnlySharedStringsTable(pkg));
+            }
+
+            Set<Integer> rowNumbers = new HashSet<>();
+            rows.forEach(row -> rowNumbers.add(row.row()));
+            readPictures(sheetPart, rowNumbers, maxPicturesPerRow, pictures);
+
+            return rows;
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException | XMLStreamException e) {
+            throw new IOException("Invalid roster workbook", e);
+        }
+    }
+
+    /**
+     * Same as {@link #read} for a .xls workbook. The pictures are already in memory with the
+     * workbook, they are handed over as streams over their bytes.
+     */
+    public static List<RosterRow> readLegacy(InputStream workbook, int maxPicturesPerRow, PictureConsumer pictures) throws IOException {
+        try (HSSFWorkbook hssf = new HSSFWorkbook(workbook)) {
+            if (hssf.getNumberOfSheets() == 0) {
+                return List.of();
+            }
+
+            HSSFSheet sheet = hssf.getSheetAt(0);
+            DataFormatter formatter = new DataFormatter();
+            List<RosterRow> rows = new ArrayList<>();
+
+            for (Row row : sheet) {
+                Cell cell = row.getCell(0);
+                if (cell == null) {
+                    continue;
+                }
+
+                String email = formatter.formatCellValue(cell).trim();
+                if (email.isEmpty()) {
+                    continue;
+                }
+
+                // Skip header
+                String header = email.toLowerCase();
+                if (row.getRowNum() == sheet.getFirstRowNum() && (header.contains("email") || header.contains("mail"))) {
+                    continue;
+                }
+
+                rows.add(new RosterRow(row.getRowNum() + 1, email));
+            }
+
+            HSSFPatriarch drawing = sheet.getDrawingPatriarch();
+            if (drawing == null) {
+                return rows;
+            }
+
+            Set<Integer> rowNumbers = new HashSet<>();
+            rows.forEach(row -> rowNumbers.add(row.row()));
+            Map<Integer, Integer> picturesPerRow = new HashMap<>();
+
+            for (HSSFShape shape : drawing.getChildren()) {
+                if (!(shape instanceof HSSFPicture picture) || picture.getPictureData() == null) {
+                    continue;
+                }
+
+                int row = picture.getClientAnchor().getRow1() + 1;
+                if (!rowNumbers.contains(row) || picturesPerRow.getOrDefault(row, 0) >= maxPicturesPerRow) {
+                    continue;
+                }
+
+                picturesPerRow.merge(row, 1, Integer::sum);
+                HSSFPictureData data = picture.getPictureData();
+                pictures.accept(row, data.getMimeType(), data.getData().length, new ByteArrayInputStream(data.getData()));
+            }
+
+            return rows;
+        } catch (OfficeXmlFileException e) {
+            // an .xlsx workbook saved under a .xls name
+            throw new IOException("Invalid roster workbook", e);
+        }
+    }
+
+    private static List<RosterRow> readRows(InputStream sheet, Styles styles, SharedStrings strings)
+            throws IOException, SAXException, ParserConfigurationException {
+        List<RosterRow> rows = new ArrayList<>();
+
+        XSSFSheetXMLHandler.SheetContentsHandler handler = new XSSFSheetXMLHandler.SheetContentsHandler() {
+            private boolean firstRow = true;
+            private int currentRow;
+
+            @Override
+            public void startRow(int rowNum) {
+                currentRow = rowNum;
+            }
+
+            @Override
+            public void endRow(int rowNum) {
+                firstRow = false;
+            }
+
+            @Override
+            public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+                if (cellReference == null || !isFirstColumn(cellReference) || formattedValue == null) {
+                    return;
+                }
+
+                String email = formattedValue.trim();
+                if (email.isEmpty()) {
+                    return;
+                }
+
+                // Skip header
+                String header = email.toLowerCase();
+                if (firstRow && (header.contains("email") || header.contains("mail"))) {
+                    return;
+                }
+
+                rows.add(new RosterRow(currentRow + 1, email));
+            }
+        };
+
+        XMLReader parser = XMLHelper.newXMLReader();
+        parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings, handler, new DataFormatter(), false));
+        parser.parse(new InputSource(sheet));
+
+        return rows;
+    }
+
+    private static boolean isFirstColumn(String cellReference) {
+        return cellReference.length() > 1
+                && cellReference.charAt(0) == 'A'
+                && Character.isDigit(cellReference.charAt(1));
+    }
+
+    private static void readPictures(PackagePart sheetPart,
+                                     Set<Integer> rowNumbers,
+                                     int maxPicturesPerRow,
+                                     PictureConsumer pictures)
+            throws IOException, InvalidFormatException, XMLStreamException {
+        Map<Integer, Integer> picturesPerRow = new HashMap<>();
+
+        for (PackageRelationship drawingRelation : sheetPart.getRelationshipsByType(XSSFRelation.DRAWINGS.getRelation())) {
+            PackagePart drawingPart = sheetPart.getRelatedPart(drawingRelation);
+
+            for (Map.Entry<String, Integer> anchored : readAnchors(drawingPart)) {
+                int row = anchored.getValue();
+                if (!rowNumbers.contains(row) || picturesPerRow.getOrDefault(row, 0) >= maxPicturesPerRow) {
+                    continue;
+                }
+
+                PackageRelationship imageRelation = drawingPart.getRelationship(anchored.getKey());
+                if (imageRelation == null) {
+                    continue;
+                }
+
+                PackagePart imagePart = drawingPart.getRelatedPart(imageRelation);
+                if (imagePart == null || imagePart.getSize() <= 0) {
+                    continue;
+                }
+
+                picturesPerRow.merge(row, 1, Integer::sum);
+                try (InputStream data = imagePart.getInputStream()) {
+                    pictures.accept(row, imagePart.getContentType(), imagePart.getSize(), data);
+                }
+            }
+        }
+    }
+
+    /**
+     * Picture relationship id to the 1-based row of its top-left anchor, in drawing order.
+     */
+    private static List<Map.Entry<String, Integer>> readAnchors(PackagePart drawingPart) throws IOException, XMLStreamException {
+        List<Map.Entry<String, Integer>> anchors = new ArrayList<>();
+
+        try (InputStream drawing = drawingPart.getInputStream()) {
+            XMLStreamReader xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(drawing);
+            try {
+                boolean inFrom = false;
+                Integer fromRow = null;
+                String embed = null;
+
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if ("from".equals(name) && DRAWING_NS.equals(xml.getNamespaceURI())) {
+                            inFrom = true;
+                        } else if ("row".equals(name) && inFrom) {
+                            fromRow = Integer.parseInt(xml.getElementText().trim()) + 1;
+                        } else if ("blip".equals(name)) {
+                            embed = xml.getAttributeValue(RELATIONSHIP_NS, "embed");
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if ("from".equals(name)) {
+                            inFrom = false;
+                        } else if (name.endsWith("Anchor") && DRAWING_NS.equals(xml.getNamespaceURI())) {
+                            if (fromRow != null && embed != null) {
+                                anchors.add(Map.entry(embed, fromRow));
+                            }
+                            fromRow = null;
+                            embed = null;
+                        }
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        }
+
+        return anchors;
+    }
+}
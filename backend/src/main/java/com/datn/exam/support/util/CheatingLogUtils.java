@@ -0,0 +1,35 @@
+package com.datn.exam.support.util;
+
+import com.datn.exam.model.entity.Log;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CheatingLogUtils {
+
+    /**
+     * Line shown to the student in the result mail, null when the log type is not reportable.
+     */
+    public static String describe(Log.LogType logType, String message) {
+        if (message != null && !message.isBlank()) {
+            return message;
+        }
+
+        if (logType == null) {
+            return null;
+        }
+
+        return switch (logType) {
+            case FULLSCREEN_EXIT -> "Thoát chế độ toàn màn hình";
+            case TAB_SWITCH -> "Chuyển tab trình duyệt";
+            case DEVTOOLS_OPEN -> "Mở công cụ phát triển";
+            case COPY_PASTE_ATTEMPT -> "Thực hiện copy/paste";
+            case SUSPICIOUS_ACTIVITY -> "Hành vi nghi ngờ";
+            default -> null;
+        };
+    }
+
+    public static String describeFullscreenExits(int count) {
+        return "Thoát chế độ toàn màn hình " + count + " lần";
+    }
+}
@@ -4,7 +4,9 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.HashMap;
 import java.util.Map;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -18,6 +20,16 @@ public final class CursorCodeUtils {
         return Base64.getEncoder().encodeToString(raw.getBytes());
     }
 
+    /**
+     * Keyset cursor on (created_at, id), the id stays first so {@link #decode} keeps reading it.
+     * A row without created_at leaves the timestamp empty, {@link #decode} maps it back to null.
+     */
+    public static String encode(LocalDateTime createdAt, Object id) {
+        String raw = String.format("%s%s%s", id, CURSOR_DELIMITER, createdAt != null ? createdAt : "");
+
+        return Base64.getEncoder().encodeToString(raw.getBytes());
+    }
+
     /**
      * Decode va tra ve cac properties
      */
@@ -28,11 +40,15 @@ public final class CursorCodeUtils {
 
         try {
             String raw = new String(Base64.getDecoder().decode(cursor.getBytes()));
-            String[] parts = raw.split(CURSOR_DELIMITER);
-
-            return Map.of(
-                    "id", parts[0]
-            );
+            // the timestamp contains the delimiter itself
+            String[] parts = raw.split(CURSOR_DELIMITER, 2);
+
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("id", parts[0]);
+            if (parts.length > 1) {
+                properties.put("createdAt", parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]));
+            }
+            return properties;
         } catch (Exception e) {
             throw ExceptionUtils.withMessage("Invalid cursor format");
         }
@@ -0,0 +1,111 @@
+package com.datn.exam.support.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+public final class ImageUtils {
+
+    /**
+     * Decodes an image with source subsampling, so a camera picture is never held at full
+     * resolution when the largest wanted side is {@code targetSize}. Returns null when the
+     * format is unknown or the source exceeds {@code maxPixels}.
+     */
+    public static BufferedImage decode(InputStream inputStream, int targetSize, long maxPixels) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(inputStream)) {
+            if (input == null) {
+                return null;
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    return null;
+                }
+
+                // keep twice the target on the longest side, the final pass downscales with filtering
+                int subsampling = Math.max(1, Math.max(width, height) / (targetSize * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Downscales so the longest side is at most {@code size} (never upscales) and flattens
+     * transparency on white, ready for JPEG.
+     */
+    public static BufferedImage resize(BufferedImage source, int size) {
+        double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        // halving steps keep bilinear filtering from skipping pixels on large ratios
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, currentWidth, currentHeight);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+
+        return current;
+    }
+
+    public static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DISABLED);
+
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+
+        return output.toByteArray();
+    }
+}
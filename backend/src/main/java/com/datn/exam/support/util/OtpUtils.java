@@ -19,9 +19,11 @@ public final class OtpUtils {
         return HexFormat.of().formatHex(b);
     }
 
+    // SHA-1 so otp_verify.lua can check a candidate with redis.sha1hex; the TTL and the attempt
+    // limit protect a six digit code, not the digest
     public static String hash(String otp, String salt) {
         try {
-            var md = MessageDigest.getInstance("SHA-256");
+            var md = MessageDigest.getInstance("SHA-1");
             md.update(salt.getBytes());
             md.update(otp.getBytes());
 
@@ -0,0 +1,97 @@
+package com.datn.exam.support.util;
+
+public final class StorageKeyUtils {
+
+    public static final String SESSION_PREFIX = "session-students/";
+
+    // staging/roster/{yyyyMMdd}/{batchId}/..., uploads waiting to be promoted into a session folder
+    public static final String STAGING_PREFIX = "staging/roster/";
+
+    private static final String STUDENT_AVATAR_FOLDER = "avatars";
+
+    /**
+     * Returns the session id of a {@code session-students/{sessionId}/...} key, or null when the
+     * key lives outside of the session folders. Legacy student avatars are not charged to any
+     * session, see {@link #isLegacyStudentAvatar}.
+     */
+    public static Long sessionIdOf(String key) {
+        if (key == null || !key.startsWith(SESSION_PREFIX) || isLegacyStudentAvatar(key)) {
+            return null;
+        }
+
+        int end = key.indexOf('/', SESSION_PREFIX.length());
+        if (end <= SESSION_PREFIX.length()) {
+            return null;
+        }
+
+        return parseSessionId(key.substring(SESSION_PREFIX.length(), end));
+    }
+
+    /**
+     * Key of a roster avatar. Every upload gets a fresh key, so a replaced avatar never shares
+     * its key, thumbnails or cached URLs with the one it replaces.
+     */
+    public static String rosterAvatarKey(long sessionId, String owner) {
+        return SESSION_PREFIX + sessionId + "/" + owner + "/" + java.util.UUID.randomUUID();
+    }
+
+    /**
+     * Key of an avatar uploaded for one session student, inside the folder of its session.
+     */
+    public static String studentAvatarKey(long sessionId, long sessionStudentId, String fileName) {
+        return SESSION_PREFIX + sessionId + "/" + STUDENT_AVATAR_FOLDER + "/" + sessionStudentId + "/" + fileName;
+    }
+
+    /**
+     * Student avatars used to be uploaded to {@code session-students/{sessionStudentId}/avatars/{file}},
+     * where the first folder is a session student and not a session.
+     */
+    public static boolean isLegacyStudentAvatar(String key) {
+        if (key == null || !key.startsWith(SESSION_PREFIX)) {
+            return false;
+        }
+
+        String[] parts = key.substring(SESSION_PREFIX.length()).split("/", -1);
+        return parts.length == 3 && STUDENT_AVATAR_FOLDER.equals(parts[1]);
+    }
+
+    public static Long parseSessionId(String folder) {
+        try {
+            return Long.parseLong(folder);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Key of a downscaled copy stored next to the original, e.g. {@code .../avatars/1_96.jpg}.
+     */
+    public static String variantKey(String key, int size) {
+        return key + "_" + size + ".jpg";
+    }
+
+    public static boolean isStaged(String key) {
+        return key != null && key.startsWith(STAGING_PREFIX) && !key.contains("..");
+    }
+
+    /**
+     * Returns the staging day of a {@code staging/roster/{yyyyMMdd}/...} key, or null.
+     */
+    public static java.time.LocalDate stagedOn(String key) {
+        if (!isStaged(key)) {
+            return null;
+        }
+
+        int end = key.indexOf('/', STAGING_PREFIX.length());
+        if (end < 0) {
+            return null;
+        }
+
+        try {
+            return java.time.LocalDate.parse(key.substring(STAGING_PREFIX.length(), end),
+                    java.time.format.DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (java.time.format.DateTimeParseException e) {
+            return null;
+        }
+    }
+}
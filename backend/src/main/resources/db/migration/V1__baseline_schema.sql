@@ -0,0 +1,318 @@
+-- the schema ddl-auto created before migrations were applied. Databases that already have tables
+-- are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this script.
+
+CREATE TABLE answers (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    explanation varchar(255),
+    explanation_html TEXT,
+    orderIndex integer not null,
+    is_correct bit,
+    value varchar(255),
+    version integer,
+    question_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE emails (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    attempt_id bigint,
+    duration_minutes integer,
+    expires_minutes integer,
+    from_email varchar(255),
+    late_join_minutes integer,
+    otp varchar(255),
+    retry_count integer,
+    status enum ('FAILED','PENDING','SENT'),
+    subject varchar(255),
+    template_name varchar(255),
+    to_email varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE exam_attempt_answers (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    payload JSON not null,
+    attempt_question_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE exam_attempt_questions (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    auto_score decimal(38,2),
+    correct bit,
+    exam_question_id bigint not null,
+    feedback TEXT,
+    manual_score decimal(38,2),
+    orderIndex integer,
+    point decimal(38,2),
+    question_id bigint,
+    question_snapshot TEXT,
+    type tinyint,
+    attempt_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE exam_attempts (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    attempt_no integer not null,
+    auto_submitted_at datetime(6),
+    fullscreen_exit_count integer not null,
+    grading_status enum ('DONE','PENDING'),
+    score_auto decimal(38,2),
+    score_manual decimal(38,2),
+    snapshot_exam varchar(255),
+    started_at datetime(6) not null,
+    status enum ('ABANDONED','IN_PROGRESS','SUBMITTED') not null,
+    student_email varchar(255),
+    student_name varchar(255),
+    submitted_at datetime(6),
+    exam_session_id bigint not null,
+    user_id varchar(36),
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE exam_questions (
+    id bigint not null auto_increment,
+    orderIndex integer,
+    point decimal(38,2),
+    exam_id bigint,
+    question_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE exam_sessions (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    access_mode enum ('PRIVATE','PUBLIC') not null,
+    access_password varchar(255),
+    attempt_limit integer,
+    code varchar(255),
+    deleted bit,
+    duration_minutes integer,
+    end_time datetime(6),
+    exam_status enum ('CLOSED','OPEN'),
+    is_public bit,
+    join_token varchar(36) not null,
+    late_join_minutes integer,
+    name varchar(255),
+    settings JSON,
+    shuffle_answers bit,
+    shuffle_questions bit,
+    start_time datetime(6),
+    student_email varchar(255),
+    student_name varchar(255),
+    exam_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE exam_tags (
+    exam_id bigint not null,
+    tag_id bigint not null
+) engine=InnoDB;
+
+CREATE TABLE exams (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    deleted bit,
+    is_public bit,
+    level enum ('DIFFICULT','EASY','MEDIUM','NORMAL') not null,
+    name varchar(255),
+    owner_id bigint,
+    score decimal(38,2),
+    status enum ('ARCHIVED','DRAFT','PUBLISHED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE logs (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    evidence varchar(255),
+    log_type enum ('COPY_PASTE_ATTEMPT','DEVTOOLS_OPEN','FULLSCREEN_EXIT','LATE_JOIN','OTHER','SUBMISSION','SUSPICIOUS_ACTIVITY','TAB_SWITCH') not null,
+    logged_at datetime(6) not null,
+    message varchar(500),
+    severity enum ('CRITICAL','INFO','SERIOUS','WARNING'),
+    attempt_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE media_contents (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    content_type varchar(255),
+    description varchar(255),
+    display_order integer,
+    duration integer,
+    file_name varchar(255),
+    file_size bigint,
+    height integer,
+    thumbnail_url varchar(255),
+    type enum ('AUDIO','IMAGE','VIDEO') not null,
+    url varchar(255) not null,
+    version integer,
+    width integer,
+    answer_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE notifications (
+    id integer not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    content TEXT,
+    is_deleted bit,
+    is_read bit,
+    receive_id VARCHAR(50),
+    type enum ('ADD_EXAM','EXAM_REMINDER','EXAM_RESULT','RE_GRADE_EXAM'),
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE question_tags (
+    question_id bigint not null,
+    tag_id bigint not null
+) engine=InnoDB;
+
+CREATE TABLE questions (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    active_status enum ('ACTIVE','INACTIVE'),
+    isPublic bit not null,
+    level enum ('DIFFICULT','EASY','MEDIUM','NORMAL'),
+    point decimal(5,2),
+    question_value JSON,
+    status enum ('ARCHIVED','DRAFT','PUBLISHED'),
+    text varchar(255),
+    version integer,
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE roles (
+    id varchar(36) not null,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    code varchar(36) not null,
+    deleted bit not null,
+    description varchar(255),
+    name varchar(100) not null,
+    status enum ('ACTIVE','INACTIVE') not null,
+    version bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE session_students (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    avatar_urls TEXT,
+    exam_session_id bigint not null,
+    user_id varchar(36) not null,
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE tags (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    color_code varchar(255),
+    name varchar(255),
+    slug varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE user_roles (
+    id varchar(36) not null,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    deleted bit not null,
+    roleId varchar(36),
+    userId varchar(36),
+    primary key (id)
+) engine=InnoDB;
+
+CREATE TABLE users (
+    id varchar(36) not null,
+    created_at datetime(6) not null,
+    created_by varchar(255) not null,
+    last_modified_at datetime(6),
+    last_modified_by varchar(255),
+    account_type enum ('FACEBOOK','GITHUB','GOOGLE','SYSTEM'),
+    deleted bit not null,
+    email varchar(255),
+    address varchar(200),
+    avatar_url varchar(255),
+    date_of_birth datetime(6),
+    first_name varchar(255),
+    gender enum ('FEMALE','MALE','OTHER'),
+    last_name varchar(255),
+    phone varchar(20),
+    password varchar(255),
+    status enum ('ACTIVE','INACTIVE') not null,
+    version bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+ALTER TABLE exam_sessions ADD CONSTRAINT UK5b1ga8108m2km9gd0nnr53gyu UNIQUE (join_token);
+ALTER TABLE roles ADD CONSTRAINT UKch1113horj4qr56f91omojv8 UNIQUE (code);
+ALTER TABLE answers ADD CONSTRAINT FK3erw1a3t0r78st8ty27x6v3g1 FOREIGN KEY (question_id) REFERENCES questions (id);
+ALTER TABLE exam_attempt_answers ADD CONSTRAINT FK1m0ufxem73b09es1ba98rtamq FOREIGN KEY (attempt_question_id) REFERENCES exam_attempt_questions (id);
+ALTER TABLE exam_attempt_questions ADD CONSTRAINT FK33e4o87qqs0f2h45qsyasyysu FOREIGN KEY (attempt_id) REFERENCES exam_attempts (id);
+ALTER TABLE exam_attempt_questions ADD CONSTRAINT FK3vbub7fjbdtfso86pvrv17ih6 FOREIGN KEY (question_id) REFERENCES questions (id);
+ALTER TABLE exam_attempts ADD CONSTRAINT FKoumo9or9p9w8xpaoc79uia3yi FOREIGN KEY (exam_session_id) REFERENCES exam_sessions (id);
+ALTER TABLE exam_attempts ADD CONSTRAINT FKb4cd93dglthtxs1o5yvm155e8 FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE exam_questions ADD CONSTRAINT FK5cd6sjmccb11rrwpyabyc81c0 FOREIGN KEY (exam_id) REFERENCES exams (id);
+ALTER TABLE exam_questions ADD CONSTRAINT FKs0t1710in6q97whp93ggrs1wg FOREIGN KEY (question_id) REFERENCES questions (id);
+ALTER TABLE exam_sessions ADD CONSTRAINT FKm60na3ox1i5yx7v4ti1i53h5i FOREIGN KEY (exam_id) REFERENCES exams (id);
+ALTER TABLE exam_tags ADD CONSTRAINT FKojmy09andkwncqbsyttq681dv FOREIGN KEY (tag_id) REFERENCES tags (id);
+ALTER TABLE exam_tags ADD CONSTRAINT FKn91oouer044knom06qwku72vo FOREIGN KEY (exam_id) REFERENCES exams (id);
+ALTER TABLE logs ADD CONSTRAINT FKn4qe9xc0yf8uglbn8a1g3fvgm FOREIGN KEY (attempt_id) REFERENCES exam_attempts (id);
+ALTER TABLE media_contents ADD CONSTRAINT FKh0r7auiu1hd9m4k8h77hgj5va FOREIGN KEY (answer_id) REFERENCES answers (id);
+ALTER TABLE question_tags ADD CONSTRAINT FK4s4qdqgvc98lx55s3hu9vqam7 FOREIGN KEY (tag_id) REFERENCES tags (id);
+ALTER TABLE question_tags ADD CONSTRAINT FKee6kn1hbh2ka2qj64bv30esbw FOREIGN KEY (question_id) REFERENCES questions (id);
+ALTER TABLE session_students ADD CONSTRAINT FKm9ujtxbkalw1wbj9xt0ewae2k FOREIGN KEY (exam_session_id) REFERENCES exam_sessions (id);
+ALTER TABLE session_students ADD CONSTRAINT FKd6epxyh7wd6kl7xxjh2fwmjs7 FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE user_roles ADD CONSTRAINT FK778hu8eivee4l216kecqwg8fb FOREIGN KEY (roleId) REFERENCES roles (id);
+ALTER TABLE user_roles ADD CONSTRAINT FK2dff78xgdmi7mwge9l55xknfl FOREIGN KEY (userId) REFERENCES users (id);
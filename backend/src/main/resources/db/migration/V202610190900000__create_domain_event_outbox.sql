@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS domain_event_outbox (
+    id                BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type    VARCHAR(100) NOT NULL,
+    aggregate_id      VARCHAR(64)  NOT NULL,
+    aggregate_version BIGINT       NULL,
+    event_type        VARCHAR(100) NOT NULL,
+    dedup_key         VARCHAR(255) NOT NULL,
+    payload           JSON         NULL,
+    status            ENUM('FAILED', 'PENDING', 'PUBLISHED') NOT NULL,
+    attempts          INT          NOT NULL DEFAULT 0,
+    occurred_at       DATETIME(6)  NOT NULL,
+    published_at      DATETIME(6)  NULL,
+    CONSTRAINT uk_outbox_dedup_key UNIQUE (dedup_key),
+    INDEX idx_outbox_status_id (status, id),
+    INDEX idx_outbox_aggregate (aggregate_type, aggregate_id, status, id)
+);
@@ -0,0 +1,9 @@
+CALL add_column_if_missing('emails', 'priority', 'INT NULL');
+CALL add_column_if_missing('emails', 'variables', 'TEXT NULL');
+CALL add_column_if_missing('emails', 'next_attempt_at', 'DATETIME(6) NULL');
+CALL add_column_if_missing('emails', 'last_error', 'VARCHAR(500) NULL');
+
+-- the dispatcher claims PENDING rows as SENDING, ddl-auto never widens an existing enum
+ALTER TABLE emails MODIFY COLUMN status ENUM('FAILED', 'PENDING', 'SENDING', 'SENT') NULL;
+
+CALL add_index_if_missing('emails', 'idx_emails_dispatch', '(status, priority, next_attempt_at, id)');
@@ -0,0 +1 @@
+CALL add_index_if_missing('notifications', 'idx_notifications_receive_id_id', '(receive_id, id)');
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS storage_usage (
+    session_id    BIGINT      NOT NULL PRIMARY KEY,
+    owner_id      VARCHAR(36) NULL,
+    bytes         BIGINT      NOT NULL DEFAULT 0,
+    object_count  BIGINT      NOT NULL DEFAULT 0,
+    updated_at    DATETIME(6) NOT NULL,
+    reconciled_at DATETIME(6) NULL,
+    INDEX idx_storage_usage_owner_id (owner_id, session_id)
+);
@@ -0,0 +1,2 @@
+-- original avatar keys whose downscaled variants (<key>_<size>.jpg) are stored
+CALL add_column_if_missing('session_students', 'avatar_thumbnails', 'TEXT NULL');
@@ -0,0 +1,4 @@
+-- keyset pages of the question, exam and session filters walk (created_at, id) backwards
+CALL add_index_if_missing('questions', 'idx_questions_created_at_id', '(created_at, id)');
+CALL add_index_if_missing('exams', 'idx_exams_created_at_id', '(created_at, id)');
+CALL add_index_if_missing('exam_sessions', 'idx_exam_sessions_created_at_id', '(created_at, id)');
@@ -0,0 +1,14 @@
+-- question_value attributes as stored generated columns, each ALTER rebuilds the table and fills existing rows
+CALL add_column_if_missing('questions', 'value_type',
+    'VARCHAR(32) GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(question_value, ''$.type''))) STORED');
+CALL add_column_if_missing('questions', 'value_level',
+    'VARCHAR(32) GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(question_value, ''$.level''))) STORED');
+CALL add_column_if_missing('questions', 'value_status',
+    'VARCHAR(32) GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(question_value, ''$.status''))) STORED');
+CALL add_column_if_missing('questions', 'value_public_flag',
+    'BOOLEAN GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(question_value, ''$.public_flag'')) = ''true'') STORED');
+
+-- the search always filters on active_status and pages on (created_at, id), optionally by type or level
+CALL add_index_if_missing('questions', 'idx_questions_active_created_at', '(active_status, created_at, id)');
+CALL add_index_if_missing('questions', 'idx_questions_active_type_created_at', '(active_status, value_type, created_at, id)');
+CALL add_index_if_missing('questions', 'idx_questions_active_level_created_at', '(active_status, level, created_at, id)');
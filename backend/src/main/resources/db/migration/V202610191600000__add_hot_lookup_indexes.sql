@@ -0,0 +1,15 @@
+-- attempt lookups by session and candidate; attempt_no keeps MAX(attempt_no) inside the index
+CALL add_index_if_missing('exam_attempts', 'idx_exam_attempts_session_email_status', '(exam_session_id, student_email, status, attempt_no)');
+CALL add_index_if_missing('exam_attempts', 'idx_exam_attempts_session_grading', '(exam_session_id, grading_status)');
+-- auto-submit job scans IN_PROGRESS attempts
+CALL add_index_if_missing('exam_attempts', 'idx_exam_attempts_status', '(status)');
+
+-- proctoring logs of an attempt, newest first; session lookups reach them through exam_attempts
+CALL add_index_if_missing('logs', 'idx_logs_attempt_logged_at', '(attempt_id, logged_at)');
+
+-- result mails of an attempt or of a whole session
+CALL add_index_if_missing('emails', 'idx_emails_attempt_template', '(attempt_id, template_name)');
+
+-- roster membership check joins session_students to users by email
+CALL add_index_if_missing('session_students', 'idx_session_students_session_user', '(exam_session_id, user_id)');
+CALL add_index_if_missing('users', 'idx_users_email', '(email)');
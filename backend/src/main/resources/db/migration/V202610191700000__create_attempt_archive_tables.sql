@@ -0,0 +1,15 @@
+-- finished sessions older than custom.archive.after move their attempt data here, see JdbcArchiveDao
+CALL add_column_if_missing('exam_sessions', 'archived_at', 'DATETIME(6) NULL');
+
+-- LIKE copies columns and indexes but no foreign keys
+CREATE TABLE IF NOT EXISTS exam_attempts_archive LIKE exam_attempts;
+CREATE TABLE IF NOT EXISTS exam_attempt_questions_archive LIKE exam_attempt_questions;
+CREATE TABLE IF NOT EXISTS exam_attempt_answers_archive LIKE exam_attempt_answers;
+CREATE TABLE IF NOT EXISTS logs_archive LIKE logs;
+CREATE TABLE IF NOT EXISTS emails_archive LIKE emails;
+
+ALTER TABLE exam_attempts_archive ROW_FORMAT=COMPRESSED;
+ALTER TABLE exam_attempt_questions_archive ROW_FORMAT=COMPRESSED;
+ALTER TABLE exam_attempt_answers_archive ROW_FORMAT=COMPRESSED;
+ALTER TABLE logs_archive ROW_FORMAT=COMPRESSED;
+ALTER TABLE emails_archive ROW_FORMAT=COMPRESSED;
@@ -0,0 +1,5 @@
+-- mails queued before the dispatch lanes existed, see MailPriority: only OTP mails take the fast lane
+UPDATE emails SET priority = 0 WHERE priority IS NULL AND template_name = 'exam-otp-template';
+UPDATE emails SET priority = 10 WHERE priority IS NULL;
+
+ALTER TABLE emails MODIFY COLUMN priority INT NOT NULL DEFAULT 10;
@@ -0,0 +1,2 @@
+-- a session restored from the archive is held back from the nightly archive run, see JdbcArchiveDao
+CALL add_column_if_missing('exam_sessions', 'restored_at', 'DATETIME(6) NULL');
@@ -0,0 +1,21 @@
+-- claimDue walks (status, priority, id) in index order and stops at LIMIT, next_attempt_at is
+-- filtered from the index before a row is locked
+DROP PROCEDURE IF EXISTS drop_index_if_exists;
+
+DELIMITER //
+
+CREATE PROCEDURE drop_index_if_exists(IN p_table VARCHAR(64), IN p_index VARCHAR(64))
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = p_table AND index_name = p_index) THEN
+        SET @ddl = CONCAT('DROP INDEX `', p_index, '` ON `', p_table, '`');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END //
+
+DELIMITER ;
+
+CALL add_index_if_missing('emails', 'idx_emails_claim', '(status, priority, id, next_attempt_at)');
+CALL drop_index_if_exists('emails', 'idx_emails_dispatch');
@@ -0,0 +1,30 @@
+-- Apply deltas to per-user notification counters, only when they are already initialized.
+-- KEYS[i]      : counter hash of a user (fields total, unread)
+-- ARGV[1]      : '1' to zero the unread field before applying the deltas
+-- ARGV[2i]     : total delta for KEYS[i]
+-- ARGV[2i + 1] : unread delta for KEYS[i]
+-- Returns the unread count of KEYS[1], or -1 when it is not initialized (the reader rebuilds it from SQL).
+-- A counter going negative has drifted and is dropped for the same reason.
+local result = -1
+
+for i, key in ipairs(KEYS) do
+    if redis.call('EXISTS', key) == 1 then
+        if ARGV[1] == '1' then
+            redis.call('HSET', key, 'unread', 0)
+        end
+
+        local total = redis.call('HINCRBY', key, 'total', tonumber(ARGV[2 * i]))
+        local unread = redis.call('HINCRBY', key, 'unread', tonumber(ARGV[2 * i + 1]))
+
+        if total < 0 or unread < 0 or unread > total then
+            redis.call('DEL', key)
+            unread = -1
+        end
+
+        if i == 1 then
+            result = unread
+        end
+    end
+end
+
+return result
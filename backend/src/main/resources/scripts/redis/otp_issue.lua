@@ -0,0 +1,19 @@
+-- Issue a new OTP atomically.
+-- KEYS[1] : otp hash key
+-- ARGV[1] : otp hash
+-- ARGV[2] : otp salt
+-- ARGV[3] : ttl in seconds
+-- ARGV[4] : reissue threshold in seconds, an existing otp whose ttl is above it blocks the issue
+-- Returns 0 when issued, otherwise the number of seconds the caller has to wait.
+local ttl = redis.call('TTL', KEYS[1])
+local threshold = tonumber(ARGV[4])
+
+if ttl > threshold then
+    return ttl - threshold
+end
+
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[1], 'hash', ARGV[1], 'salt', ARGV[2], 'attempts', 0)
+redis.call('EXPIRE', KEYS[1], ARGV[3])
+
+return 0
@@ -0,0 +1,55 @@
+-- Take a verify hit on the rate limits, then verify and consume the OTP, in one round trip.
+-- KEYS[1]      : otp hash key (fields hash, salt, attempts)
+-- KEYS[1 + i]  : one sorted set per rate limit dimension (email, session, ip...)
+-- ARGV[1]      : candidate otp
+-- ARGV[2]      : max failed attempts before the otp is dropped
+-- ARGV[3]      : now in milliseconds
+-- ARGV[4]      : window in milliseconds
+-- ARGV[5]      : unique member for this hit
+-- ARGV[5 + i]  : limit for KEYS[1 + i]
+-- Returns {1, 0} when matched (and consumed), {0, 0} when mismatched, {-1, 0} when expired or not found,
+-- {2, retryAfterMillis} when a limit is exhausted. The window part mirrors sliding_window_rate_limit.lua.
+local now = tonumber(ARGV[3])
+local window = tonumber(ARGV[4])
+local retryAfter = 0
+
+for i = 2, #KEYS do
+    redis.call('ZREMRANGEBYSCORE', KEYS[i], '-inf', now - window)
+    local limit = tonumber(ARGV[4 + i])
+    if redis.call('ZCARD', KEYS[i]) >= limit then
+        local oldest = redis.call('ZRANGE', KEYS[i], 0, 0, 'WITHSCORES')
+        local wait = window
+        if oldest[2] then
+            wait = tonumber(oldest[2]) + window - now
+        end
+        if wait > retryAfter then
+            retryAfter = wait
+        end
+    end
+end
+
+if retryAfter > 0 then
+    return {2, retryAfter}
+end
+
+for i = 2, #KEYS do
+    redis.call('ZADD', KEYS[i], now, ARGV[5])
+    redis.call('PEXPIRE', KEYS[i], window)
+end
+
+local stored = redis.call('HMGET', KEYS[1], 'hash', 'salt')
+if not stored[1] or not stored[2] then
+    return {-1, 0}
+end
+
+if redis.sha1hex(stored[2] .. ARGV[1]) == stored[1] then
+    redis.call('DEL', KEYS[1])
+    return {1, 0}
+end
+
+local attempts = redis.call('HINCRBY', KEYS[1], 'attempts', 1)
+if attempts >= tonumber(ARGV[2]) then
+    redis.call('DEL', KEYS[1])
+end
+
+return {0, 0}
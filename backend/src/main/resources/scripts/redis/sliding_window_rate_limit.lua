@@ -0,0 +1,36 @@
+-- Sliding window log rate limiter over several dimensions at once.
+-- KEYS       : one sorted set per dimension (email, session, ip...)
+-- ARGV[1]    : now in milliseconds
+-- ARGV[2]    : window in milliseconds
+-- ARGV[3]    : unique member for this hit
+-- ARGV[3 + i]: limit for KEYS[i]
+-- Returns 0 when the hit is accepted on every dimension, otherwise the milliseconds until a slot frees up.
+local now = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local retryAfter = 0
+
+for i, key in ipairs(KEYS) do
+    redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window)
+    local limit = tonumber(ARGV[3 + i])
+    if redis.call('ZCARD', key) >= limit then
+        local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+        local wait = window
+        if oldest[2] then
+            wait = tonumber(oldest[2]) + window - now
+        end
+        if wait > retryAfter then
+            retryAfter = wait
+        end
+    end
+end
+
+if retryAfter > 0 then
+    return retryAfter
+end
+
+for _, key in ipairs(KEYS) do
+    redis.call('ZADD', key, now, ARGV[3])
+    redis.call('PEXPIRE', key, window)
+end
+
+return 0
@@ -0,0 +1,88 @@
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.config.cache.CacheInvalidationPublisher;
+import com.datn.exam.config.properties.OutboxProperties;
+import com.datn.exam.model.dto.events.DomainEventMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class DomainEventStreamConsumerTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final StreamOperations<String, Object, Object> streams = mock(StreamOperations.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final OutboxProperties properties = new OutboxProperties();
+
+    private final DomainEventStreamConsumer consumer = new DomainEventStreamConsumer(redisTemplate, eventPublisher, properties);
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForStream()).thenReturn(streams);
+        when(streams.reverseRange(anyString(), any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void republishesEventsOfOtherNodesAndSkipsItsOwn() {
+        when(streams.read(any(StreamReadOptions.class), any(StreamOffset[].class))).thenReturn(List.of(
+                record("1-0", "other-node", "7"),
+                record("2-0", CacheInvalidationPublisher.NODE_ID, "8")));
+
+        consumer.consume();
+
+        ArgumentCaptor<DomainEventMessage> published = ArgumentCaptor.forClass(DomainEventMessage.class);
+        verify(eventPublisher, times(1)).publishEvent(published.capture());
+        assertEquals("Question", published.getValue().getAggregateType());
+        assertEquals("7", published.getValue().getAggregateId());
+        assertEquals(3L, published.getValue().getAggregateVersion());
+    }
+
+    @Test
+    void continuesAfterTheLastRecordRead() {
+        when(streams.read(any(StreamReadOptions.class), any(StreamOffset[].class)))
+                .thenReturn(List.of(record("5-0", "other-node", "7")))
+                .thenReturn(List.of());
+
+        consumer.consume();
+        consumer.consume();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<StreamOffset<String>> offsets = ArgumentCaptor.forClass(StreamOffset.class);
+        verify(streams, times(2)).read(any(StreamReadOptions.class), offsets.capture());
+        assertEquals(ReadOffset.from("0-0"), offsets.getAllValues().get(0).getOffset());
+        assertEquals(ReadOffset.from("5-0"), offsets.getAllValues().get(1).getOffset());
+    }
+
+    private MapRecord<String, Object, Object> record(String id, String origin, String aggregateId) {
+        Map<Object, Object> body = Map.of(
+                DomainEventStreamConsumer.ORIGIN, origin,
+                "outbox_id", "1" + aggregateId,
+                "aggregate_type", "Question",
+                "aggregate_id", aggregateId,
+                "aggregate_version", "3",
+                "event_type", "PropertiesChanged",
+                "dedup_key", "Question:" + aggregateId + ":3:PropertiesChanged:0",
+                "occurred_at", "2026-10-19T10:00");
+        return StreamRecords.<String, Object, Object>mapBacked(body)
+                .withStreamKey(properties.getStreamKey())
+                .withId(RecordId.of(id));
+    }
+}
@@ -0,0 +1,115 @@
+package com.datn.exam.config.application.jobs;
+
+import com.datn.exam.config.email.transport.InMemoryMailTransport;
+import com.datn.exam.config.properties.MailDispatchProperties;
+import com.datn.exam.model.dto.BaseMailContext;
+import com.datn.exam.model.dto.OtpMailContext;
+import com.datn.exam.model.entity.Email;
+import com.datn.exam.repository.EmailRepository;
+import com.datn.exam.repository.data.dao.EmailOutboxDao;
+import com.datn.exam.service.EmailService;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.datn.exam.support.constants.MailVariableConstants.EXAM_OTP_MAIL_TEMPLATE;
+import static com.datn.exam.support.constants.MailVariableConstants.RESULT_MAIL_TEMPLATE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MailOutboxDispatcherTest {
+
+    private final EmailOutboxDao emailOutboxDao = mock(EmailOutboxDao.class);
+    private final EmailRepository emailRepository = mock(EmailRepository.class);
+    private final EmailService emailService = mock(EmailService.class);
+    private final InMemoryMailTransport mailTransport = new InMemoryMailTransport();
+    private final MailDispatchProperties properties = new MailDispatchProperties();
+    private final Map<String, MimeMessage> messages = new HashMap<>();
+
+    private MailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties.setRatePerSecond(0);
+        dispatcher = new MailOutboxDispatcher(emailOutboxDao, emailRepository, emailService, mailTransport, properties);
+
+        when(emailService.compose(any())).thenAnswer(invocation -> messageTo(invocation.<BaseMailContext>getArgument(0).getTo()));
+    }
+
+    @Test
+    void sendsOtpLaneFirstOverOneConnection() throws Exception {
+        Email result = email(1L, RESULT_MAIL_TEMPLATE, 10, "{\"score\":\"8.5\"}");
+        Email legacyResult = email(2L, RESULT_MAIL_TEMPLATE, null, "{\"score\":\"7\"}");
+        Email otp = email(3L, EXAM_OTP_MAIL_TEMPLATE, 0, null);
+        claim(result, legacyResult, otp);
+
+        dispatcher.dispatch();
+
+        assertEquals(List.of(messageTo("3@example.com"), messageTo("1@example.com"), messageTo("2@example.com")),
+                mailTransport.getDelivered());
+        assertEquals(1, mailTransport.getConnectionCount());
+        verify(emailOutboxDao).markSent(List.of(3L, 1L, 2L));
+
+        ArgumentCaptor<BaseMailContext> contexts = ArgumentCaptor.forClass(BaseMailContext.class);
+        verify(emailService, times(3)).compose(contexts.capture());
+        assertInstanceOf(OtpMailContext.class, contexts.getAllValues().get(0));
+    }
+
+    @Test
+    void mailWithoutStoredVariablesIsRetriedInsteadOfSentAsOtp() throws Exception {
+        claim(email(4L, RESULT_MAIL_TEMPLATE, null, null));
+
+        dispatcher.dispatch();
+
+        assertTrue(mailTransport.getDelivered().isEmpty());
+        verify(emailService, never()).compose(any());
+        verify(emailOutboxDao).reschedule(eq(4L), any(), anyString());
+        verify(emailOutboxDao, never()).markSent(any());
+    }
+
+    @Test
+    void wakeUpDuringARunIsReplayed() {
+        when(emailOutboxDao.claimDue(anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    // a mail queued while this run is claiming
+                    dispatcher.dispatch();
+                    return List.of();
+                })
+                .thenReturn(List.of());
+
+        dispatcher.dispatch();
+
+        verify(emailOutboxDao, times(2)).claimDue(anyInt(), any());
+    }
+
+    private void claim(Email... emails) {
+        List<Long> ids = Arrays.stream(emails).map(Email::getId).toList();
+        when(emailOutboxDao.claimDue(anyInt(), any())).thenReturn(ids).thenReturn(List.of());
+        when(emailRepository.findAllById(ids)).thenReturn(List.of(emails));
+    }
+
+    private Email email(Long id, String templateName, Integer priority, String variables) {
+        return Email.builder()
+                .id(id)
+                .to(id + "@example.com")
+                .subject("subject")
+                .templateName(templateName)
+                .priority(priority)
+                .variables(variables)
+                .retryCount(1)
+                .build();
+    }
+
+    private MimeMessage messageTo(String to) {
+        return messages.computeIfAbsent(to, key -> mock(MimeMessage.class));
+    }
+}
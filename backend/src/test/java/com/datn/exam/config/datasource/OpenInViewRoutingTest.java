@@ -0,0 +1,101 @@
+package com.datn.exam.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+/**
+ * A request under open-in-view that reads in a read-only transaction and then writes, against a
+ * Hibernate session that stays open across both transactions like it does for a web request.
+ */
+class OpenInViewRoutingTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final HikariDataSource replica = mock(HikariDataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaHealth replicaHealth = spy(new ReplicaHealth(replica, Duration.ofSeconds(5)));
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private JpaTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        doReturn(true).when(replicaHealth).isAvailable();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.dialect", "org.hibernate.dialect.MySQLDialect");
+        properties.put("hibernate.boot.allow_jdbc_metadata_access", false);
+        new DataSourceRoutingConfiguration(null, null, null).connectionReleaseCustomizer().customize(properties);
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primary, replica, replicaHealth)));
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setPackagesToScan(OpenInViewRoutingTest.class.getPackageName());
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        transactionManager = new JpaTransactionManager(entityManagerFactory);
+
+        // what OpenEntityManagerInViewInterceptor and DataSourceRouteFilter do for a request
+        DataSourceRouteContext.beginRequest();
+        entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        entityManager.close();
+        factoryBean.destroy();
+        DataSourceRouteContext.endRequest();
+    }
+
+    @Test
+    void writeAfterAReadOnlyTransactionGoesToThePrimary() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertSame(replicaConnection, readOnly.execute(status -> currentConnection()));
+        assertSame(primaryConnection, new TransactionTemplate(transactionManager).execute(status -> currentConnection()));
+    }
+
+    private Connection currentConnection() {
+        AtomicReference<Connection> target = new AtomicReference<>();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            // the first statement makes the lazy proxy fetch its target
+            connection.createStatement();
+            target.set(((ConnectionProxy) connection).getTargetConnection());
+        });
+        return target.get();
+    }
+}
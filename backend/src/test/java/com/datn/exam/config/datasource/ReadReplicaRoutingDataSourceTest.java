@@ -0,0 +1,95 @@
+package com.datn.exam.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final HikariDataSource primary = mock(HikariDataSource.class);
+    private final HikariDataSource replica = mock(HikariDataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaHealth replicaHealth = spy(new ReplicaHealth(replica, Duration.ofSeconds(5)));
+    private final ReadReplicaRoutingDataSource dataSource = new ReadReplicaRoutingDataSource(primary, replica, replicaHealth);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        doReturn(true).when(replicaHealth).isAvailable();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        DataSourceRouteContext.endRequest();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() throws SQLException {
+        readOnlyTransaction();
+
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void writesAndNonTransactionalWorkStayOnThePrimary() throws SQLException {
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void pinnedReadsStayOnThePrimary() throws SQLException {
+        readOnlyTransaction();
+
+        DataSourceRouteContext.pin();
+        try {
+            assertSame(primaryConnection, dataSource.getConnection());
+        } finally {
+            DataSourceRouteContext.unpin();
+        }
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void readsAfterAWriteInTheSameRequestStayOnThePrimary() throws SQLException {
+        DataSourceRouteContext.beginRequest();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        dataSource.getConnection();
+
+        readOnlyTransaction();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhenTheReplicaFails() throws SQLException {
+        readOnlyTransaction();
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        verify(replicaHealth).markFailed(any());
+
+        doReturn(false).when(replicaHealth).isAvailable();
+        assertSame(primaryConnection, dataSource.getConnection());
+        verify(replica, times(1)).getConnection();
+    }
+
+    private static void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+}
@@ -0,0 +1,74 @@
+package com.datn.exam.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkloadPoolDataSourceTest {
+
+    private final HikariDataSource candidate = mock(HikariDataSource.class);
+    private final HikariDataSource teacher = mock(HikariDataSource.class);
+    private final HikariDataSource reporting = mock(HikariDataSource.class);
+    private final Connection candidateConnection = mock(Connection.class);
+    private final Connection teacherConnection = mock(Connection.class);
+    private final WorkloadPoolDataSource dataSource = new WorkloadPoolDataSource(
+            Map.of(WorkloadPool.CANDIDATE, candidate,
+                    WorkloadPool.TEACHER, teacher,
+                    WorkloadPool.REPORTING, reporting),
+            EnumSet.of(WorkloadPool.REPORTING),
+            WorkloadPool.TEACHER);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(candidate.getConnection()).thenReturn(candidateConnection);
+        when(teacher.getConnection()).thenReturn(teacherConnection);
+        when(reporting.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        DataSourceRouteContext.leavePool();
+    }
+
+    @Test
+    void connectionsComeFromTheCurrentPool() throws SQLException {
+        assertTrue(DataSourceRouteContext.enterPool(WorkloadPool.CANDIDATE));
+
+        assertSame(candidateConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void outermostPoolWins() throws SQLException {
+        assertTrue(DataSourceRouteContext.enterPool(WorkloadPool.CANDIDATE));
+        assertFalse(DataSourceRouteContext.enterPool(WorkloadPool.REPORTING));
+
+        assertSame(candidateConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void unknownOrMissingPoolFallsBackToTheDefault() throws SQLException {
+        assertSame(teacherConnection, dataSource.getConnection());
+
+        DataSourceRouteContext.enterPool(WorkloadPool.JOBS);
+        assertSame(teacherConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void exhaustedFailFastPoolIsReported() {
+        DataSourceRouteContext.enterPool(WorkloadPool.REPORTING);
+
+        WorkloadPoolExhaustedException e = assertThrows(WorkloadPoolExhaustedException.class, dataSource::getConnection);
+        assertTrue(e.getMessage().contains("reporting"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.datn.exam.config.email.template;
+
+import com.datn.exam.config.email.TemplateEngineConfiguration;
+import com.datn.exam.config.properties.MailDispatchProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The pre-rendered skeleton against a full Thymeleaf pass per recipient, on
+ * mail-notification-result-template.html.
+ */
+class MailTemplateRendererTest {
+
+    private static final String TEMPLATE = "mail-notification-result-template";
+    private static final int RECIPIENTS = 200;
+
+    private MailTemplateRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        MailDispatchProperties.Template spec = new MailDispatchProperties.Template();
+        spec.setSharedVariables(List.of("examName", "sessionCode", "duration"));
+
+        MailDispatchProperties properties = new MailDispatchProperties();
+        properties.getTemplates().put(TEMPLATE, spec);
+
+        renderer = new MailTemplateRenderer(new TemplateEngineConfiguration().springTemplateEngine(), properties);
+    }
+
+    @Test
+    void skeletonMatchesFullRendering() {
+        List<Map<String, Object>> recipients = List.of(
+                recipient(1, List.of()),
+                recipient(2, List.of("Chuyển tab trình duyệt")),
+                recipient(3, List.of("Mở công cụ phát triển", "<script>alert('x')</script> & \"quoted\"")),
+                recipient(4, List.of())
+        );
+
+        for (Map<String, Object> variables : recipients) {
+            assertEquals(renderer.renderFull(TEMPLATE, variables), renderer.render(TEMPLATE, variables));
+        }
+    }
+
+    @Test
+    void recipientsWithOtherVariableKeysGetTheirOwnSkeleton() {
+        Map<String, Object> withoutScore = recipient(1, List.of());
+        withoutScore.remove("maxScore");
+        Map<String, Object> withScore = recipient(2, List.of());
+
+        assertEquals(renderer.renderFull(TEMPLATE, withoutScore), renderer.render(TEMPLATE, withoutScore));
+        assertEquals(renderer.renderFull(TEMPLATE, withScore), renderer.render(TEMPLATE, withScore));
+        assertTrue(renderer.render(TEMPLATE, withScore).contains("10.00"));
+    }
+
+    @Test
+    void skeletonMatchesFullRenderingAcrossABatch() {
+        for (int i = 0; i < RECIPIENTS; i++) {
+            Map<String, Object> variables = recipient(i, i % 10 == 0 ? List.of("Chuyển tab trình duyệt", "Thực hiện copy/paste") : List.of());
+            if (i % 7 == 0) {
+                variables.remove("submittedDate");
+            }
+            assertEquals(renderer.renderFull(TEMPLATE, variables), renderer.render(TEMPLATE, variables));
+        }
+    }
+
+    private Map<String, Object> recipient(int index, List<String> cheatingLogs) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("studentName", "Nguyễn Văn " + index);
+        variables.put("examName", "Kiểm tra Toán học - Học kỳ I");
+        variables.put("sessionCode", "EXAM2024-12-001");
+        variables.put("duration", "45 phút");
+        variables.put("submittedDate", "07/12/2025 14:" + (10 + index % 50));
+        variables.put("score", String.valueOf(index % 10) + ".50");
+        variables.put("maxScore", "10.00");
+        variables.put("totalQuestions", 20);
+        variables.put("correctAnswers", index % 20);
+        variables.put("incorrectAnswers", 20 - index % 20);
+        variables.put("accuracy", (index % 20) * 5);
+        variables.put("hasCheatingLogs", !cheatingLogs.isEmpty());
+        variables.put("cheatingLogs", cheatingLogs);
+        return variables;
+    }
+}
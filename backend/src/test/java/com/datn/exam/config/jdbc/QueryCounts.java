@@ -0,0 +1,55 @@
+package com.datn.exam.config.jdbc;
+
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement budgets for service calls in tests:
+ * <pre>
+ * var result = QueryCounts.assertMaxQueries(3, () -> examResultService.getResults(sessionId));
+ * </pre>
+ * Counts what the JDBC proxy sees when the application context wraps the data source and what
+ * {@link SqlStatsStatementInspector} sees otherwise, e.g. in a {@code @DataJpaTest}.
+ */
+public final class QueryCounts {
+
+    private QueryCounts() {
+    }
+
+    public static <T> T assertMaxQueries(int max, ThrowingSupplier<T> call) {
+        SqlStatementStats stats = SqlStatsContext.open("test");
+        if (stats == null) {
+            throw new IllegalStateException("A statement scope is already open on this thread");
+        }
+
+        T result;
+        try {
+            result = call.get();
+        } catch (Throwable e) {
+            throw e instanceof RuntimeException runtime ? runtime : new IllegalStateException(e);
+        } finally {
+            SqlStatsContext.close(stats);
+        }
+
+        assertTrue(stats.getQueryCount() <= max, () -> "Expected at most " + max + " statements but ran "
+                + stats.getQueryCount() + ", most repeated:\n" + stats.mostRepeated(5).stream()
+                .map(QueryCounts::describe)
+                .collect(Collectors.joining("\n")));
+        return result;
+    }
+
+    public static void assertMaxQueries(int max, Runnable call) {
+        assertMaxQueries(max, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private static String describe(Map.Entry<String, Integer> execution) {
+        return execution.getValue() + "x " + execution.getKey();
+    }
+}
@@ -0,0 +1,114 @@
+package com.datn.exam.config.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StatementCountingDataSourceTest {
+
+    private static final String SELECT_LOGS = "select * from logs where exam_attempt_id = ?";
+    private static final String UPDATE_ATTEMPT = "update exam_attempts set status = ? where id = ?";
+
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement select = mock(PreparedStatement.class);
+    private final PreparedStatement update = mock(PreparedStatement.class);
+    private final ResultSet resultSet = mock(ResultSet.class);
+    private final StatementCountingDataSource dataSource = new StatementCountingDataSource(target);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation ->
+                SELECT_LOGS.equals(invocation.getArgument(0)) ? select : update);
+        when(select.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false, true, false);
+        when(update.executeUpdate()).thenReturn(4);
+        when(update.executeBatch()).thenReturn(new int[]{1, 1, PreparedStatement.SUCCESS_NO_INFO});
+    }
+
+    @Test
+    void countsStatementsAndRowsOfTheScope() {
+        SqlStatementStats stats = SqlStatsContext.open("test");
+        try {
+            readLogs();
+            readLogs();
+            updateAttempts();
+        } finally {
+            SqlStatsContext.close(stats);
+        }
+
+        assertEquals(4, stats.getStatements());
+        assertEquals(2 + 1 + 4 + 2, stats.getRows());
+        assertEquals(SELECT_LOGS, stats.mostRepeated(1).get(0).getKey());
+        assertEquals(2, stats.mostRepeated(1).get(0).getValue());
+        assertNull(SqlStatsContext.current());
+    }
+
+    @Test
+    void outermostScopeWins() {
+        SqlStatementStats outer = SqlStatsContext.open("outer");
+        try {
+            assertNull(SqlStatsContext.open("inner"));
+            readLogs();
+        } finally {
+            SqlStatsContext.close(outer);
+        }
+
+        assertEquals(1, outer.getStatements());
+    }
+
+    @Test
+    void assertMaxQueriesFailsOverBudget() {
+        QueryCounts.assertMaxQueries(2, this::readLogs);
+
+        AssertionFailedError error = assertThrows(AssertionFailedError.class,
+                () -> QueryCounts.assertMaxQueries(1, () -> {
+                    readLogs();
+                    readLogs();
+                }));
+        assertTrue(error.getMessage().contains("2x " + SELECT_LOGS));
+    }
+
+    @Test
+    void nothingIsCountedOutsideAScope() throws SQLException {
+        readLogs();
+
+        assertNull(SqlStatsContext.current());
+        assertSame(resultSet, dataSource.getConnection().prepareStatement(SELECT_LOGS).executeQuery());
+    }
+
+    private void readLogs() {
+        try (Connection proxy = dataSource.getConnection();
+             PreparedStatement statement = proxy.prepareStatement(SELECT_LOGS);
+             ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                rows.getString(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void updateAttempts() {
+        try (Connection proxy = dataSource.getConnection();
+             PreparedStatement statement = proxy.prepareStatement(UPDATE_ATTEMPT)) {
+            statement.executeUpdate();
+            statement.addBatch();
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.datn.exam.config.jpa;
+
+import com.datn.exam.config.cache.CacheInvalidationPublisher;
+import com.datn.exam.model.entity.Question;
+import com.datn.exam.support.util.JsonUtils;
+import org.hibernate.Cache;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SecondLevelCacheInvalidationListenerTest {
+
+    private static final String QUESTION = Question.class.getName();
+    private static final String ANSWERS = QUESTION + ".answers";
+
+    private final MappingMetamodel metamodel = mock(MappingMetamodel.class);
+    private final Cache cache = mock(Cache.class);
+
+    private final SecondLevelCacheInvalidationListener listener = new SecondLevelCacheInvalidationListener(metamodel, cache);
+
+    @BeforeEach
+    void setUp() {
+        EntityPersister question = mock(EntityPersister.class);
+        Type longType = mock(Type.class);
+        doReturn(Long.class).when(longType).getReturnedClass();
+        when(question.getIdentifierType()).thenReturn(longType);
+        when(metamodel.findEntityDescriptor(QUESTION)).thenReturn(question);
+
+        CollectionPersister answers = mock(CollectionPersister.class);
+        when(answers.getKeyType()).thenReturn(longType);
+        when(metamodel.findCollectionDescriptor(ANSWERS)).thenReturn(answers);
+    }
+
+    @Test
+    void evictsTheEntityAndTheQueryResultsChangedOnAnotherNode() throws Exception {
+        listener.onMessage(message("other-node", "hibernate:" + QUESTION, "7"), null);
+
+        verify(cache).evictEntityData(QUESTION, 7L);
+        verify(cache).evictDefaultQueryRegion();
+    }
+
+    @Test
+    void evictsTheParentCollectionOfAChangedChild() throws Exception {
+        listener.onMessage(message("other-node", "hibernate:" + ANSWERS, "7"), null);
+
+        verify(cache).evictCollectionData(ANSWERS, 7L);
+        verify(cache, never()).evictDefaultQueryRegion();
+    }
+
+    @Test
+    void ignoresItsOwnAndLayeredCacheMessages() throws Exception {
+        listener.onMessage(message(CacheInvalidationPublisher.NODE_ID, "hibernate:" + QUESTION, "7"), null);
+        listener.onMessage(message("other-node", "sessions", "7"), null);
+
+        verify(cache, never()).evictEntityData(anyString(), any());
+    }
+
+    private DefaultMessage message(String origin, String cacheName, String key) throws Exception {
+        String body = JsonUtils.marshal(new CacheInvalidationPublisher.CacheInvalidationMessage(origin, cacheName, key));
+        return new DefaultMessage("exam:cache:invalidation".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
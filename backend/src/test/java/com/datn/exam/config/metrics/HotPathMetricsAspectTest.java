@@ -0,0 +1,88 @@
+package com.datn.exam.config.metrics;
+
+import com.datn.exam.config.properties.ExamMetricsProperties;
+import com.datn.exam.repository.data.dao.ExamMetricsDao;
+import com.datn.exam.support.enums.error.BadRequestError;
+import com.datn.exam.support.exception.ResponseException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HotPathMetricsAspectTest {
+
+    private final ExamMetricsDao examMetricsDao = mock(ExamMetricsDao.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SessionSizes sessionSizes = new SessionSizes(examMetricsDao, new ExamMetricsProperties());
+    private Operations operations;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Operations());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new HotPathMetricsAspect(registry, sessionSizes));
+        operations = factory.getProxy();
+    }
+
+    @Test
+    void tagsBySizeOfTheReportedSession() {
+        when(examMetricsDao.countSessionStudents(7L)).thenReturn(120);
+
+        operations.submit(7L);
+        operations.submit(7L);
+
+        Timer timer = registry.find("exam.attempt.submit").tags("size", "51-200", "outcome", "success").timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        // the student count is cached between calls
+        verify(examMetricsDao, times(1)).countSessionStudents(7L);
+    }
+
+    @Test
+    void importsAreTaggedByTheirOwnSize() {
+        operations.importRoster(1_500);
+
+        assertNotNull(registry.find("exam.roster.import").tags("size", "1001+").timer());
+        verifyNoInteractions(examMetricsDao);
+    }
+
+    @Test
+    void failedCallsAreTaggedWithTheErrorName() {
+        assertThrows(ResponseException.class, () -> operations.rejectOtp(3L));
+
+        assertNotNull(registry.find("exam.otp.verify")
+                .tags("size", "unknown", "outcome", BadRequestError.INVALID_OTP.getName())
+                .timer());
+    }
+
+    @Test
+    void bucketsFollowTheConfiguredBounds() {
+        assertEquals("1-50", sessionSizes.bucket(0));
+        assertEquals("1-50", sessionSizes.bucket(50));
+        assertEquals("201-1000", sessionSizes.bucket(201));
+        assertEquals("1001+", sessionSizes.bucket(1001));
+    }
+
+    static class Operations {
+
+        @HotPath(ExamOperation.ATTEMPT_SUBMIT)
+        public void submit(Long sessionId) {
+            HotPathContext.session(sessionId);
+        }
+
+        @HotPath(ExamOperation.ROSTER_IMPORT)
+        public void importRoster(int rows) {
+            HotPathContext.size(rows);
+        }
+
+        // fails before the session is known
+        @HotPath(ExamOperation.OTP_VERIFY)
+        public void rejectOtp(Long sessionId) {
+            throw new ResponseException(BadRequestError.INVALID_OTP);
+        }
+    }
+}
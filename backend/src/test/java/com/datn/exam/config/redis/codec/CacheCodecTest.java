@@ -0,0 +1,132 @@
+package com.datn.exam.config.redis.codec;
+
+import com.datn.exam.model.dto.response.SessionInfoResponse;
+import com.datn.exam.model.entity.ExamSession;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trips and payload size of the envelope codecs against plain JDK serialization, on a DTO
+ * shaped like the cached exam/session responses.
+ */
+class CacheCodecTest {
+
+    @Test
+    void envelopesAreSmallerThanJdkSerialization() {
+        CachedExam exam = sampleExam(40);
+
+        RedisSerializer<Object> jdk = new JdkSerializationRedisSerializer();
+        RedisSerializer<Object> smile = new EnvelopeCacheSerializer(new SmileCacheCodec(), CachedExam.class, 1, 0);
+        RedisSerializer<Object> smileGzip = new EnvelopeCacheSerializer(new SmileCacheCodec(), CachedExam.class, 1, 1024);
+
+        int jdkBytes = roundTrip(jdk, exam);
+        int smileBytes = roundTrip(smile, exam);
+        int smileGzipBytes = roundTrip(smileGzip, exam);
+
+        assertTrue(smileBytes < jdkBytes);
+        assertTrue(smileGzipBytes < smileBytes);
+    }
+
+    @Test
+    void dropsEntriesFromOtherReleases() {
+        CachedExam exam = sampleExam(1);
+
+        byte[] legacy = new JdkSerializationRedisSerializer().serialize(exam);
+        byte[] previousVersion = new EnvelopeCacheSerializer(new SmileCacheCodec(), CachedExam.class, 1, 0).serialize(exam);
+
+        EnvelopeCacheSerializer current = new EnvelopeCacheSerializer(new SmileCacheCodec(), CachedExam.class, 2, 0);
+
+        assertNull(current.deserialize(legacy));
+        assertNull(current.deserialize(previousVersion));
+        assertEquals(exam, current.deserialize(current.serialize(exam)));
+    }
+
+    @Test
+    void roundTripsSessionInfo() {
+        SessionInfoResponse info = SessionInfoResponse.builder()
+                .sessionId(7L)
+                .sessionName("Ca thi sáng")
+                .accessMode(ExamSession.AccessMode.PRIVATE)
+                .isPrivate(true)
+                .examName("Kiểm tra giữa kỳ")
+                .settings(Map.of("maxTabSwitches", 3, "blockCopyPaste", true))
+                .startTime(LocalDateTime.of(2025, 10, 1, 8, 0))
+                .endTime(LocalDateTime.of(2025, 10, 1, 9, 30))
+                .duration(90)
+                .code("ABC123")
+                .build();
+
+        RedisSerializer<Object> smile = new EnvelopeCacheSerializer(new SmileCacheCodec(), SessionInfoResponse.class, 1, 1024);
+
+        assertEquals(info, smile.deserialize(smile.serialize(info)));
+    }
+
+    private int roundTrip(RedisSerializer<Object> serializer, CachedExam value) {
+        byte[] bytes = serializer.serialize(value);
+        assertEquals(value, serializer.deserialize(bytes));
+        return bytes.length;
+    }
+
+    private CachedExam sampleExam(int questions) {
+        List<CachedQuestion> items = new ArrayList<>();
+        for (int i = 0; i < questions; i++) {
+            items.add(new CachedQuestion(
+                    (long) i,
+                    "Câu hỏi số " + i + ": chọn đáp án đúng nhất cho tình huống sau",
+                    BigDecimal.valueOf(0.25),
+                    "MEDIUM",
+                    List.of("toan-hoc", "dai-so", "chuong-" + (i % 5))));
+        }
+        return new CachedExam(
+                1L,
+                "Kiểm tra giữa kỳ",
+                "MEDIUM",
+                BigDecimal.TEN,
+                true,
+                "PUBLISHED",
+                LocalDateTime.of(2025, 10, 1, 8, 0),
+                "teacher@example.com",
+                items);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CachedExam implements Serializable {
+        private Long id;
+        private String name;
+        private String level;
+        private BigDecimal score;
+        private boolean isPublic;
+        private String status;
+        private LocalDateTime createdAt;
+        private String createdBy;
+        private List<CachedQuestion> questions;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class CachedQuestion implements Serializable {
+        private Long id;
+        private String text;
+        private BigDecimal point;
+        private String level;
+        private List<String> tags;
+    }
+}
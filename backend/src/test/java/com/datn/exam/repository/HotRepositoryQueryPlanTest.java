@@ -0,0 +1,229 @@
+package com.datn.exam.repository;
+
+import com.datn.exam.model.entity.ExamAttempt;
+import com.datn.exam.model.entity.Log;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Explains the SQL of the hot repository lookups against the database of {@link QueryPlans} and
+ * fails on full scans of large tables. Flyway migrates the schema and Hibernate validates the
+ * entities against it, then every table the lookups read is seeded past
+ * {@link QueryPlans#LARGE_TABLE_ROWS} and analyzed, so a full scan is caught on an empty database too.
+ */
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.datn.exam.repository.RecordingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIf("com.datn.exam.repository.QueryPlans#databaseReachable")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HotRepositoryQueryPlanTest {
+
+    // far above the ids in use, removed again afterwards
+    private static final long FIRST_SEEDED_ID = 990_000_001L;
+    // InnoDB estimates row counts from sampled pages, the margin keeps them above the threshold
+    private static final int SEEDED_ROWS = (int) (QueryPlans.LARGE_TABLE_ROWS * 3 / 2);
+    private static final int SEEDED_SESSIONS = 100;
+    private static final String SEEDED_USER_PREFIX = "00000000-0000-0000-0000-99";
+
+    private static final List<String> SEEDED_TABLES = List.of(
+            "users", "session_students", "exam_attempts", "logs", "emails");
+
+    private static final Long SESSION_ID = 1L;
+    private static final Long ATTEMPT_ID = 1L;
+    private static final String EMAIL = "student@example.com";
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        DriverManagerDataSource dataSource = QueryPlans.dataSource();
+        registry.add("spring.datasource.url", dataSource::getUrl);
+        registry.add("spring.datasource.username", dataSource::getUsername);
+        registry.add("spring.datasource.password", dataSource::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExamAttemptRepository examAttemptRepository;
+
+    @Autowired
+    private LogRepository logRepository;
+
+    @Autowired
+    private EmailRepository emailRepository;
+
+    @Autowired
+    private SessionStudentRepository sessionStudentRepository;
+
+    private SingleConnectionDataSource seedDataSource;
+    private JdbcTemplate seedJdbcTemplate;
+
+    /**
+     * Runs after the context has updated the schema and outside the test transactions, so the
+     * rows are committed before ANALYZE TABLE reads them.
+     */
+    @BeforeAll
+    void seedLargeTables() {
+        // one connection, so the session variable below holds for every statement
+        seedDataSource = new SingleConnectionDataSource(QueryPlans.dataSource().getUrl(),
+                QueryPlans.dataSource().getUsername(), QueryPlans.dataSource().getPassword(), true);
+        seedJdbcTemplate = new JdbcTemplate(seedDataSource);
+        // the seeded attempts and roster rows hang off sessions that do not exist
+        seedJdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
+        removeSeed();
+
+        List<Map<String, Object>> users = new ArrayList<>();
+        List<Map<String, Object>> students = new ArrayList<>();
+        List<Map<String, Object>> attempts = new ArrayList<>();
+        List<Map<String, Object>> logs = new ArrayList<>();
+        List<Map<String, Object>> emails = new ArrayList<>();
+        ExamAttempt.AttemptStatus[] statuses = ExamAttempt.AttemptStatus.values();
+
+        for (int i = 0; i < SEEDED_ROWS; i++) {
+            long id = FIRST_SEEDED_ID + i;
+            long sessionId = FIRST_SEEDED_ID + i % SEEDED_SESSIONS;
+            String userId = SEEDED_USER_PREFIX + "%010d".formatted(i);
+            String email = "plan-" + i + "@example.com";
+
+            users.add(Map.of("id", userId, "email", email));
+            students.add(Map.of("id", id, "exam_session_id", sessionId, "user_id", userId));
+            attempts.add(Map.of("id", id, "exam_session_id", sessionId, "student_email", email,
+                    "status", statuses[i % statuses.length].name(), "attempt_no", 1));
+            logs.add(Map.of("id", id, "attempt_id", id, "logged_at", LocalDateTime.of(2025, 10, 1, 8, 0).plusSeconds(i)));
+            emails.add(Map.of("id", id, "attempt_id", id, "to_email", email));
+        }
+
+        TestRows.insertAll(seedJdbcTemplate, "users", users);
+        TestRows.insertAll(seedJdbcTemplate, "session_students", students);
+        TestRows.insertAll(seedJdbcTemplate, "exam_attempts", attempts);
+        TestRows.insertAll(seedJdbcTemplate, "logs", logs);
+        TestRows.insertAll(seedJdbcTemplate, "emails", emails);
+        analyze();
+    }
+
+    @AfterAll
+    void removeSeedFromLargeTables() {
+        if (seedDataSource == null) {
+            return;
+        }
+        removeSeed();
+        analyze();
+        seedDataSource.destroy();
+    }
+
+    @BeforeEach
+    void clear() {
+        RecordingStatementInspector.drain();
+    }
+
+    @Test
+    void fullScansOfTheSeededTablesAreCaught() {
+        for (String table : SEEDED_TABLES) {
+            List<Map<String, Object>> plan = QueryPlans.explain(jdbcTemplate, "SELECT * FROM " + table);
+            assertThrows(AssertionFailedError.class, () -> QueryPlans.assertNoLargeFullScan(plan), table);
+        }
+    }
+
+    @Test
+    void attemptsBySessionEmailAndStatus() {
+        examAttemptRepository.findByExamSessionIdAndStudentEmailAndStatus(SESSION_ID, EMAIL, ExamAttempt.AttemptStatus.IN_PROGRESS);
+        assertPlans("idx_exam_attempts_session_email_status");
+
+        examAttemptRepository.countCompletedAttempts(SESSION_ID, EMAIL);
+        assertPlans("idx_exam_attempts_session_email_status");
+
+        examAttemptRepository.findMaxAttemptNoByEmail(SESSION_ID, EMAIL);
+        assertPlans("idx_exam_attempts_session_email_status");
+    }
+
+    @Test
+    void attemptsBySessionAndGradingStatus() {
+        examAttemptRepository.findByExamSessionIdAndGradingStatus(SESSION_ID, ExamAttempt.GradingStatus.PENDING);
+        assertPlans("idx_exam_attempts_session_grading");
+    }
+
+    @Test
+    void attemptsByStatus() {
+        examAttemptRepository.findByStatus(ExamAttempt.AttemptStatus.IN_PROGRESS);
+        assertPlans("idx_exam_attempts_status");
+    }
+
+    @Test
+    void logsOfAttempt() {
+        logRepository.findByAttemptIdOrderByLoggedAtDesc(ATTEMPT_ID);
+        assertPlans("idx_logs_attempt_logged_at");
+
+        logRepository.findByAttemptIdAndSeverityInOrderByLoggedAtDesc(ATTEMPT_ID, List.of(Log.Severity.values()));
+        assertPlans("idx_logs_attempt_logged_at");
+    }
+
+    @Test
+    void logsOfSession() {
+        logRepository.findBySessionIdOrderByLoggedAtDesc(SESSION_ID);
+        assertPlans("idx_logs_attempt_logged_at");
+
+        logRepository.findBySessionIdAndStudentEmailOrderByLoggedAtDesc(SESSION_ID, EMAIL);
+        assertPlans("idx_exam_attempts_session_email_status");
+    }
+
+    @Test
+    void emailsOfAttempt() {
+        emailRepository.findByAttemptId(ATTEMPT_ID);
+        assertPlans("idx_emails_attempt_template");
+    }
+
+    @Test
+    void rosterMembership() {
+        sessionStudentRepository.existsByExamSessionIdAndUserEmail(SESSION_ID, EMAIL);
+        assertPlans("idx_users_email");
+    }
+
+    private void removeSeed() {
+        long lastSeededId = FIRST_SEEDED_ID + SEEDED_ROWS;
+        for (String table : List.of("emails", "logs", "exam_attempts", "session_students")) {
+            seedJdbcTemplate.update("DELETE FROM %s WHERE id BETWEEN ? AND ?".formatted(table), FIRST_SEEDED_ID, lastSeededId);
+        }
+        seedJdbcTemplate.update("DELETE FROM users WHERE id LIKE ?", SEEDED_USER_PREFIX + "%");
+    }
+
+    private void analyze() {
+        seedJdbcTemplate.queryForList("ANALYZE TABLE " + String.join(", ", SEEDED_TABLES));
+    }
+
+    /**
+     * Explains every statement the last call sent: the expected index must be usable by one of
+     * them and none may scan a large table.
+     */
+    private void assertPlans(String index) {
+        List<String> statements = RecordingStatementInspector.drain();
+        assertFalse(statements.isEmpty(), "No SQL recorded");
+
+        List<Map<String, Object>> first = QueryPlans.explain(jdbcTemplate, statements.get(0));
+        QueryPlans.assertUsesIndex(first, index);
+
+        for (String sql : statements) {
+            QueryPlans.assertNoLargeFullScan(QueryPlans.explain(jdbcTemplate, sql));
+        }
+    }
+}
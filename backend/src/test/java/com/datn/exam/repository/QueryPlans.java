@@ -0,0 +1,115 @@
+package com.datn.exam.repository;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * EXPLAIN helpers for query-plan tests. They run against the database of DB_URL when it is set,
+ * otherwise against a MySQL container migrated from db/migration (the local default when there is
+ * no Docker either), and are skipped through {@link #databaseReachable()} when there is none.
+ */
+public final class QueryPlans {
+
+    // below this the optimizer may rightly prefer a full scan
+    public static final long LARGE_TABLE_ROWS = 10_000;
+
+    private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/exam?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC";
+    private static final String MYSQL_IMAGE = "mysql:8.0";
+
+    // one container for the whole test run, stopped by Testcontainers when the JVM exits
+    private static MySQLContainer<?> container;
+    private static boolean containerTried;
+
+    private QueryPlans() {
+    }
+
+    public static DriverManagerDataSource dataSource() {
+        if (System.getenv("DB_URL") == null) {
+            MySQLContainer<?> mysql = container();
+            if (mysql != null) {
+                return new DriverManagerDataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+            }
+        }
+
+        return new DriverManagerDataSource(
+                env("DB_URL", DEFAULT_URL),
+                env("DB_USERNAME", "root"),
+                env("DB_PASSWORD", "123456"));
+    }
+
+    /**
+     * Condition for {@code @EnabledIf}, evaluated before any Spring context is started.
+     */
+    public static boolean databaseReachable() {
+        try (Connection ignored = dataSource().getConnection()) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Explains SQL as Hibernate prepares it. Placeholders become string literals, which MySQL
+     * compares to numeric and string columns alike without losing an index; LIMIT and OFFSET
+     * take a number.
+     */
+    public static List<Map<String, Object>> explain(JdbcTemplate jdbcTemplate, String sql) {
+        String literal = sql.replaceAll("(?i)\\b(limit|offset)\\s+\\?", "$1 1").replace("?", "'1'");
+        return jdbcTemplate.queryForList("EXPLAIN " + literal);
+    }
+
+    public static void assertUsesIndex(List<Map<String, Object>> plan, String index) {
+        boolean usable = plan.stream()
+                .map(row -> String.valueOf(row.get("possible_keys")))
+                .anyMatch(keys -> keys.contains(index));
+        assertTrue(usable, () -> index + " not usable, plan: " + plan);
+    }
+
+    public static void assertNoLargeFullScan(List<Map<String, Object>> plan) {
+        for (Map<String, Object> row : plan) {
+            Object rows = row.get("rows");
+            if ("ALL".equals(row.get("type"))
+                    && rows instanceof Number estimate
+                    && estimate.longValue() >= LARGE_TABLE_ROWS) {
+                fail("Full scan of " + row.get("table") + ", plan: " + plan);
+            }
+        }
+    }
+
+    private static synchronized MySQLContainer<?> container() {
+        if (containerTried) {
+            return container;
+        }
+        containerTried = true;
+
+        if (!DockerClientFactory.instance().isDockerAvailable()) {
+            return null;
+        }
+
+        MySQLContainer<?> mysql = new MySQLContainer<>(MYSQL_IMAGE).withDatabaseName("exam");
+        mysql.start();
+        // the same scripts the application runs at startup, so the plans are those of the migrated schema
+        Flyway.configure()
+                .dataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword())
+                .load()
+                .migrate();
+        container = mysql;
+        return container;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,27 @@
+package com.datn.exam.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the SQL Hibernate prepares on the current thread, so tests can explain what a
+ * repository method really sends.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static List<String> drain() {
+        List<String> statements = List.copyOf(STATEMENTS.get());
+        STATEMENTS.get().clear();
+        return statements;
+    }
+}
@@ -0,0 +1,106 @@
+package com.datn.exam.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds rows for tests against the database of {@link QueryPlans}.
+ */
+public final class TestRows {
+
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    private TestRows() {
+    }
+
+    /**
+     * Inserts a row with the given values and a placeholder for every other column the table
+     * requires, so the seed does not break when an unrelated NOT NULL column is added.
+     */
+    public static void insert(JdbcTemplate jdbcTemplate, String table, Map<String, Object> values) {
+        insertAll(jdbcTemplate, table, List.of(values));
+    }
+
+    /**
+     * Inserts rows like {@link #insert}, a few hundred per statement. Every row must set the same
+     * columns.
+     */
+    public static void insertAll(JdbcTemplate jdbcTemplate, String table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> required = jdbcTemplate.queryForList("""
+                SELECT c.column_name AS name, c.data_type AS type, c.column_type AS column_type,
+                    c.character_maximum_length AS max_length
+                FROM information_schema.columns c
+                WHERE c.table_schema = DATABASE()
+                    AND c.table_name = ?
+                    AND c.is_nullable = 'NO'
+                    AND c.column_default IS NULL
+                    AND c.extra NOT LIKE '%GENERATED%'
+                    AND c.extra NOT LIKE '%auto_increment%'
+                """, table);
+
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<Map<String, Object>> chunk = rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+            MapSqlParameterSource params = new MapSqlParameterSource();
+            List<String> tuples = new ArrayList<>();
+            Set<String> columns = null;
+
+            for (int i = 0; i < chunk.size(); i++) {
+                Map<String, Object> values = chunk.get(i);
+                Map<String, Object> row = new LinkedHashMap<>(values);
+                required.forEach(column -> row.putIfAbsent(
+                        (String) column.get("name"), placeholder(column, values.get("id"))));
+                if (columns == null) {
+                    columns = row.keySet();
+                }
+
+                int index = i;
+                row.forEach((name, value) -> params.addValue(name + "_" + index, value));
+                tuples.add(columns.stream().map(name -> ":" + name + "_" + index)
+                        .collect(Collectors.joining(", ", "(", ")")));
+            }
+
+            String names = columns.stream().map(name -> "`" + name + "`").collect(Collectors.joining(", "));
+            named.update("INSERT INTO %s (%s) VALUES %s".formatted(table, names, String.join(", ", tuples)), params);
+        }
+    }
+
+    public static boolean tableExists(JdbcTemplate jdbcTemplate, String table) {
+        Integer tables = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.tables
+                WHERE table_schema = DATABASE() AND table_name = ?
+                """, Integer.class, table);
+        return tables != null && tables > 0;
+    }
+
+    private static Object placeholder(Map<String, Object> column, Object id) {
+        String type = String.valueOf(column.get("type")).toLowerCase();
+        return switch (type) {
+            case "tinyint", "smallint", "mediumint", "int", "bigint", "decimal", "float", "double", "bit" -> 0;
+            case "date", "datetime", "timestamp" -> LocalDateTime.of(2025, 10, 1, 8, 0);
+            case "json" -> "{}";
+            case "enum" -> String.valueOf(column.get("column_type")).replaceFirst("^enum\\('([^']*)'.*$", "$1");
+            default -> {
+                // unique keys such as exam_sessions.join_token need a value per row
+                String value = "t" + id;
+                Object maxLength = column.get("max_length");
+                yield maxLength instanceof Number max && value.length() > max.intValue()
+                        ? value.substring(value.length() - max.intValue())
+                        : value;
+            }
+        };
+    }
+}
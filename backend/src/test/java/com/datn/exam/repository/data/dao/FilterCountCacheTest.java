@@ -0,0 +1,53 @@
+package com.datn.exam.repository.data.dao;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FilterCountCacheTest {
+
+    private static final String SQL = "SELECT COUNT(*) FROM questions q WHERE q.created_by = :userName";
+
+    private final FilterCountCache cache = new FilterCountCache();
+    private final AtomicInteger counted = new AtomicInteger();
+
+    @Test
+    void sameFilterIsCountedOnce() {
+        assertEquals(5L, count(SQL, new MapSqlParameterSource("userName", "a").addValue("keyword", "x")));
+        // parameter order does not make another filter
+        assertEquals(5L, count(SQL, new MapSqlParameterSource("keyword", "x").addValue("userName", "a")));
+
+        assertEquals(1, counted.get());
+    }
+
+    @Test
+    void otherParametersOrSqlAreCountedApart() {
+        count(SQL, new MapSqlParameterSource("userName", "a"));
+        count(SQL, new MapSqlParameterSource("userName", "b"));
+        count(SQL + " AND q.value_type = :type", new MapSqlParameterSource("userName", "a"));
+
+        assertEquals(3, counted.get());
+    }
+
+    @Test
+    void evictingAnAggregateRecountsOnlyItsFilters() {
+        count(SQL, new MapSqlParameterSource("userName", "a"));
+        cache.get("Exam", SQL, new MapSqlParameterSource("userName", "a"), () -> (long) counted.incrementAndGet());
+
+        cache.evict("Question");
+        count(SQL, new MapSqlParameterSource("userName", "a"));
+        cache.get("Exam", SQL, new MapSqlParameterSource("userName", "a"), () -> (long) counted.incrementAndGet());
+
+        assertEquals(3, counted.get());
+    }
+
+    private Long count(String sql, MapSqlParameterSource params) {
+        return cache.get("Question", sql, params, () -> {
+            counted.incrementAndGet();
+            return 5L;
+        });
+    }
+}
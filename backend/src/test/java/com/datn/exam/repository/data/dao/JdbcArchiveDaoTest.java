@@ -0,0 +1,225 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.config.properties.ArchiveProperties;
+import com.datn.exam.model.entity.ExamSession;
+import com.datn.exam.repository.ExamSessionRepository;
+import com.datn.exam.repository.QueryPlans;
+import com.datn.exam.repository.TestRows;
+import com.datn.exam.service.impl.ExamSessionArchiveServiceImpl;
+import com.datn.exam.support.exception.ResponseException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Archives a session and restores it again through {@link JdbcArchiveDao} on the database of
+ * {@link QueryPlans}. Rows are seeded far above the ids in use and removed from both sides
+ * afterwards. Skipped when no migrated database is reachable.
+ */
+class JdbcArchiveDaoTest {
+
+    private static final long SESSION_ID = 990_000_001L;
+    private static final String TEACHER = "teacher@example.com";
+    private static final long FIRST_ID = 990_000_001L;
+    private static final int ATTEMPTS = 5;
+    // smaller than the attempt count and not a divisor of it, the last chunk is a partial one
+    private static final int CHUNK_SIZE = 2;
+
+    private static final List<String> ATTEMPT_TABLES = List.of(
+            "exam_attempts", "exam_attempt_questions", "exam_attempt_answers", "logs", "emails");
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    private final ExamSessionRepository examSessionRepository = mock(ExamSessionRepository.class);
+    private ExamSessionArchiveServiceImpl service;
+
+    private final List<Long> attemptIds = new ArrayList<>();
+    private long pendingMailId;
+
+    @BeforeAll
+    static void connect() {
+        assumeTrue(QueryPlans.databaseReachable(), "No database reachable");
+
+        // one connection, so the session variable below holds for every statement
+        dataSource = new SingleConnectionDataSource(QueryPlans.dataSource().getUrl(),
+                QueryPlans.dataSource().getUsername(), QueryPlans.dataSource().getPassword(), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        Integer migrated = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE table_schema = DATABASE() AND table_name = 'exam_sessions' AND column_name = 'archived_at'
+                """, Integer.class);
+        assumeTrue(migrated != null && migrated > 0, "exam_sessions.archived_at is not migrated");
+
+        // the seeded attempts hang off a session without exam, questions without bank entries
+        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (dataSource != null) {
+            dataSource.destroy();
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        ArchiveProperties properties = new ArchiveProperties();
+        properties.setChunkSize(CHUNK_SIZE);
+        service = new ExamSessionArchiveServiceImpl(
+                new JdbcArchiveDao(new NamedParameterJdbcTemplate(jdbcTemplate)), properties, examSessionRepository);
+        ExamSession session = mock(ExamSession.class);
+        when(session.getCreatedBy()).thenReturn(TEACHER);
+        when(examSessionRepository.findById(SESSION_ID)).thenReturn(Optional.of(session));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(TEACHER, null));
+
+        cleanUp();
+
+        insert("exam_sessions", Map.of("id", SESSION_ID, "end_time", LocalDateTime.now().minusYears(1)));
+
+        long id = FIRST_ID;
+        for (int i = 0; i < ATTEMPTS; i++) {
+            long attemptId = id++;
+            long questionId = id++;
+            attemptIds.add(attemptId);
+
+            insert("exam_attempts", Map.of("id", attemptId, "exam_session_id", SESSION_ID,
+                    "student_email", "archive-" + i + "@example.com", "status", "SUBMITTED", "attempt_no", 1));
+            insert("exam_attempt_questions", Map.of("id", questionId, "attempt_id", attemptId,
+                    "question_snapshot", "{\"text\":\"Câu " + i + "\"}", "auto_score", new BigDecimal("0.50")));
+            insert("exam_attempt_answers", Map.of("id", id++, "attempt_question_id", questionId));
+            insert("logs", Map.of("id", id++, "attempt_id", attemptId, "message", "Rời khỏi toàn màn hình",
+                    "logged_at", LocalDateTime.of(2025, 10, 1, 8, i)));
+            insert("emails", Map.of("id", id++, "attempt_id", attemptId, "status", "SENT"));
+        }
+
+        pendingMailId = id;
+        insert("emails", Map.of("id", pendingMailId, "attempt_id", attemptIds.get(0), "status", "PENDING"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        MapSqlParameterSource range = new MapSqlParameterSource()
+                .addValue("first", FIRST_ID)
+                .addValue("last", FIRST_ID + 10_000);
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        for (String table : ATTEMPT_TABLES) {
+            named.update("DELETE FROM %s WHERE id BETWEEN :first AND :last".formatted(table), range);
+            if (TestRows.tableExists(jdbcTemplate, table + "_archive")) {
+                named.update("DELETE FROM %s_archive WHERE id BETWEEN :first AND :last".formatted(table), range);
+            }
+        }
+        jdbcTemplate.update("DELETE FROM exam_sessions WHERE id = ?", SESSION_ID);
+        attemptIds.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void archiveMovesEveryChunkAndKeepsPendingMails() {
+        assertEquals(ATTEMPTS, service.archive(SESSION_ID));
+
+        for (String table : List.of("exam_attempts", "exam_attempt_questions", "exam_attempt_answers", "logs")) {
+            assertEquals(0, count(table), table);
+            assertEquals(ATTEMPTS, count(table + "_archive"), table + "_archive");
+        }
+
+        assertEquals(List.of(pendingMailId), jdbcTemplate.queryForList(
+                "SELECT id FROM emails WHERE id BETWEEN ? AND ?", Long.class, FIRST_ID, FIRST_ID + 10_000));
+        assertEquals(ATTEMPTS, count("emails_archive"));
+
+        assertNotNull(archivedAt());
+    }
+
+    @Test
+    void restoreBringsBackTheSameRows() {
+        Map<String, List<Map<String, Object>>> before = snapshot("");
+
+        service.archive(SESSION_ID);
+        assertEquals(ATTEMPTS, service.restore(SESSION_ID));
+
+        assertEquals(before, snapshot(""));
+        for (String table : ATTEMPT_TABLES) {
+            assertEquals(0, count(table + "_archive"), table + "_archive");
+        }
+        assertNull(archivedAt());
+    }
+
+    @Test
+    void restoredSessionIsHeldBackFromTheNextRun() {
+        JdbcArchiveDao archiveDao = new JdbcArchiveDao(new NamedParameterJdbcTemplate(jdbcTemplate));
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+        assertTrue(archiveDao.findArchivableSessions(cutoff, 1000).contains(SESSION_ID));
+
+        service.archive(SESSION_ID);
+        service.restore(SESSION_ID);
+
+        assertFalse(archiveDao.findArchivableSessions(cutoff, 1000).contains(SESSION_ID));
+        // once the restore is as old as the archive period, the session is archived again
+        assertTrue(archiveDao.findArchivableSessions(LocalDateTime.now().plusMinutes(1), 1000).contains(SESSION_ID));
+    }
+
+    @Test
+    void onlyTheCreatorRestores() {
+        service.archive(SESSION_ID);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other@example.com", null));
+
+        assertThrows(ResponseException.class, () -> service.restore(SESSION_ID));
+        assertEquals(0, count("exam_attempts"));
+        assertNotNull(archivedAt());
+    }
+
+    @Test
+    void archivingAnArchivedSessionMovesNothing() {
+        service.archive(SESSION_ID);
+        Map<String, List<Map<String, Object>>> archived = snapshot("_archive");
+
+        assertEquals(0, service.archive(SESSION_ID));
+        assertEquals(archived, snapshot("_archive"));
+    }
+
+    private Map<String, List<Map<String, Object>>> snapshot(String suffix) {
+        Map<String, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+        for (String table : ATTEMPT_TABLES) {
+            rows.put(table, jdbcTemplate.queryForList("SELECT * FROM %s%s WHERE id BETWEEN ? AND ? ORDER BY id"
+                    .formatted(table, suffix), FIRST_ID, FIRST_ID + 10_000));
+        }
+        return rows;
+    }
+
+    private long count(String table) {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM %s WHERE id BETWEEN ? AND ?".formatted(table),
+                Long.class, FIRST_ID, FIRST_ID + 10_000);
+        return rows == null ? 0 : rows;
+    }
+
+    private LocalDateTime archivedAt() {
+        return jdbcTemplate.queryForObject("SELECT archived_at FROM exam_sessions WHERE id = ?",
+                LocalDateTime.class, SESSION_ID);
+    }
+
+    private static void insert(String table, Map<String, Object> values) {
+        TestRows.insert(jdbcTemplate, table, values);
+    }
+}
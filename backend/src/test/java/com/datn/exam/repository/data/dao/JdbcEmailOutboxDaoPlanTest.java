@@ -0,0 +1,70 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.repository.QueryPlans;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs EXPLAIN on both branches of the mail claim, see {@link QueryPlans}. Skipped when no
+ * migrated database is reachable.
+ */
+class JdbcEmailOutboxDaoPlanTest {
+
+    private static DriverManagerDataSource dataSource;
+    private static long emailRows;
+
+    @BeforeAll
+    static void connect() {
+        assumeTrue(QueryPlans.databaseReachable(), "No database reachable");
+        dataSource = QueryPlans.dataSource();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Integer migrated = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'emails' AND index_name = 'idx_emails_claim'
+                """, Integer.class);
+        assumeTrue(migrated != null && migrated > 0, "idx_emails_claim is not migrated");
+
+        emailRows = Objects.requireNonNull(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM emails", Long.class));
+    }
+
+    @Test
+    void bothBranchesWalkTheClaimIndexInOrder() {
+        List<List<Map<String, Object>>> plans = new ArrayList<>();
+
+        NamedParameterJdbcTemplate explaining = new NamedParameterJdbcTemplate(dataSource) {
+            @Override
+            public <T> List<T> queryForList(String sql, SqlParameterSource paramSource, Class<T> elementType) {
+                plans.add(queryForList("EXPLAIN " + sql, paramSource));
+                return List.of();
+            }
+        };
+
+        new JdbcEmailOutboxDao(explaining).claimDue(50, LocalDateTime.now().plusMinutes(5));
+
+        assertEquals(2, plans.size());
+        for (List<Map<String, Object>> plan : plans) {
+            Map<String, Object> emails = plan.get(0);
+            assertTrue(String.valueOf(emails.get("possible_keys")).contains("idx_emails_claim"),
+                    () -> "idx_emails_claim not usable, plan: " + emails);
+
+            if (emailRows >= QueryPlans.LARGE_TABLE_ROWS || "idx_emails_claim".equals(emails.get("key"))) {
+                assertEquals("idx_emails_claim", emails.get("key"), () -> "plan: " + emails);
+                assertFalse(String.valueOf(emails.get("Extra")).contains("filesort"), () -> "filesort, plan: " + emails);
+            }
+        }
+    }
+}
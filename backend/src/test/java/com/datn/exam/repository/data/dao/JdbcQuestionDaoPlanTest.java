@@ -0,0 +1,122 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.model.dto.request.QuestionSearchRequest;
+import com.datn.exam.repository.QueryPlans;
+import com.datn.exam.support.enums.Level;
+import com.datn.exam.support.enums.QuestionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs EXPLAIN on the SQL the question search really builds, see {@link QueryPlans}. Skipped
+ * when no migrated database is reachable.
+ */
+class JdbcQuestionDaoPlanTest {
+
+    private static DriverManagerDataSource dataSource;
+    private static long questionRows;
+
+    @BeforeAll
+    static void connect() {
+        assumeTrue(QueryPlans.databaseReachable(), "No database reachable");
+        dataSource = QueryPlans.dataSource();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Integer migrated = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE table_schema = DATABASE() AND table_name = 'questions' AND column_name = 'value_type'
+                """, Integer.class);
+        assumeTrue(migrated != null && migrated > 0, "questions.value_type is not migrated");
+
+        questionRows = Objects.requireNonNull(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM questions", Long.class));
+    }
+
+    @BeforeEach
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("teacher@example.com", null));
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void typeFilterUsesGeneratedColumnIndex() {
+        QuestionSearchRequest request = new QuestionSearchRequest();
+        request.setType(QuestionType.ONE_CHOICE);
+
+        assertUsesIndex(explainSearch(request), "idx_questions_active_type_created_at");
+    }
+
+    @Test
+    void levelFilterUsesLevelIndex() {
+        QuestionSearchRequest request = new QuestionSearchRequest();
+        request.setLevel(Level.values()[0]);
+
+        assertUsesIndex(explainSearch(request), "idx_questions_active_level_created_at");
+    }
+
+    @Test
+    void tagFilterKeepsTheActiveStatusIndex() {
+        QuestionSearchRequest request = new QuestionSearchRequest();
+        request.setTagName("dai-so");
+
+        assertUsesIndex(explainSearch(request), "idx_questions_active_created_at");
+    }
+
+    @Test
+    void unfilteredSearchUsesActiveStatusIndex() {
+        assertUsesIndex(explainSearch(new QuestionSearchRequest()), "idx_questions_active_created_at");
+    }
+
+    private static void assertUsesIndex(List<Map<String, Object>> plan, String index) {
+        Map<String, Object> questions = plan.stream()
+                .filter(row -> "q".equals(row.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No plan row for questions: " + plan));
+
+        String possibleKeys = String.valueOf(questions.get("possible_keys"));
+        assertTrue(possibleKeys.contains(index), () -> index + " not usable, plan: " + questions);
+
+        if (questionRows >= QueryPlans.LARGE_TABLE_ROWS) {
+            assertNotNull(questions.get("key"), () -> "full scan, plan: " + questions);
+            assertNotEquals("ALL", questions.get("type"), () -> "full scan, plan: " + questions);
+        }
+    }
+
+    private static List<Map<String, Object>> explainSearch(QuestionSearchRequest request) {
+        List<List<Map<String, Object>>> plans = new ArrayList<>();
+
+        NamedParameterJdbcTemplate explaining = new NamedParameterJdbcTemplate(dataSource) {
+            @Override
+            public <T> List<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+                plans.add(queryForList("EXPLAIN " + sql, paramSource));
+                return List.of();
+            }
+        };
+
+        new JdbcQuestionDao(explaining, new FilterCountCache(), new ObjectMapper()).search(request);
+
+        assertEquals(1, plans.size());
+        return plans.get(0);
+    }
+}
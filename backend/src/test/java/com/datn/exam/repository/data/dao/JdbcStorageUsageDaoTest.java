@@ -0,0 +1,130 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.model.entity.StorageUsage;
+import com.datn.exam.repository.QueryPlans;
+import com.datn.exam.repository.TestRows;
+import com.datn.exam.repository.data.dto.StorageUsageDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Ledger upserts of {@link JdbcStorageUsageDao} on the database of {@link QueryPlans}. Sessions
+ * and their teacher are seeded far above the ids in use and removed afterwards. Skipped when no
+ * migrated database is reachable.
+ */
+class JdbcStorageUsageDaoTest {
+
+    private static final long SESSION_ID = 990_000_101L;
+    private static final long OTHER_SESSION_ID = 990_000_102L;
+    private static final UUID TEACHER_ID = UUID.fromString("00000000-0000-0000-0000-000990000101");
+    private static final String TEACHER_EMAIL = "storage-ledger@example.com";
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private JdbcStorageUsageDao dao;
+
+    @BeforeAll
+    static void connect() {
+        assumeTrue(QueryPlans.databaseReachable(), "No database reachable");
+        jdbcTemplate = new JdbcTemplate(QueryPlans.dataSource());
+        assumeTrue(TestRows.tableExists(jdbcTemplate, "storage_usage"), "storage_usage is not migrated");
+    }
+
+    @BeforeEach
+    void seed() {
+        dao = new JdbcStorageUsageDao(new NamedParameterJdbcTemplate(jdbcTemplate));
+        cleanUp();
+
+        TestRows.insert(jdbcTemplate, "users", Map.of("id", TEACHER_ID.toString(), "email", TEACHER_EMAIL));
+        TestRows.insert(jdbcTemplate, "exam_sessions", Map.of("id", SESSION_ID, "created_by", TEACHER_EMAIL));
+        TestRows.insert(jdbcTemplate, "exam_sessions", Map.of("id", OTHER_SESSION_ID, "created_by", TEACHER_EMAIL));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM storage_usage WHERE session_id IN (?, ?)", SESSION_ID, OTHER_SESSION_ID);
+        jdbcTemplate.update("DELETE FROM exam_sessions WHERE id IN (?, ?)", SESSION_ID, OTHER_SESSION_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", TEACHER_ID.toString());
+    }
+
+    @Test
+    void incrementsAccumulateUnderTheSessionCreator() {
+        dao.increment(Map.of(SESSION_ID, StorageUsageDto.of(100, 2)));
+        dao.increment(Map.of(SESSION_ID, StorageUsageDto.of(50, 1), OTHER_SESSION_ID, StorageUsageDto.of(7, 1)));
+        dao.increment(Map.of(SESSION_ID, StorageUsageDto.of(-30, -1)));
+
+        StorageUsage usage = row(SESSION_ID);
+        assertEquals(120, usage.getBytes());
+        assertEquals(2, usage.getObjectCount());
+        assertEquals(TEACHER_ID.toString(), usage.getOwnerId());
+
+        assertEquals(List.of(SESSION_ID, OTHER_SESSION_ID), dao.findByOwner(TEACHER_ID).stream()
+                .map(StorageUsage::getSessionId)
+                .toList());
+    }
+
+    @Test
+    void deltasNeverTakeTheLedgerBelowZero() {
+        dao.increment(Map.of(SESSION_ID, StorageUsageDto.of(10, 1)));
+        dao.increment(Map.of(SESSION_ID, StorageUsageDto.of(-25, -3)));
+
+        StorageUsage usage = row(SESSION_ID);
+        assertEquals(0, usage.getBytes());
+        assertEquals(0, usage.getObjectCount());
+        // empty folders are not listed
+        assertTrue(dao.findByOwner(TEACHER_ID).isEmpty());
+    }
+
+    @Test
+    void reconcileOverwritesRowsUntouchedSinceTheListingStarted() {
+        dao.increment(Map.of(SESSION_ID, StorageUsageDto.of(999, 9), OTHER_SESSION_ID, StorageUsageDto.of(5, 1)));
+        LocalDateTime startedAt = LocalDateTime.now().plusSeconds(1);
+
+        // the other folder is gone from the listing
+        int cleared = dao.reconcile(Map.of(SESSION_ID, StorageUsageDto.of(400, 4)), startedAt);
+
+        assertEquals(1, cleared);
+        assertEquals(400, row(SESSION_ID).getBytes());
+        assertEquals(4, row(SESSION_ID).getObjectCount());
+        assertEquals(0, row(OTHER_SESSION_ID).getObjectCount());
+        assertNotNull(row(OTHER_SESSION_ID).getReconciledAt());
+    }
+
+    @Test
+    void reconcileKeepsRowsChangedDuringTheListing() {
+        LocalDateTime startedAt = LocalDateTime.now().minusMinutes(1);
+        dao.increment(Map.of(SESSION_ID, StorageUsageDto.of(300, 3)));
+
+        int cleared = dao.reconcile(Map.of(SESSION_ID, StorageUsageDto.of(100, 1)), startedAt);
+
+        assertEquals(0, cleared);
+        assertEquals(300, row(SESSION_ID).getBytes());
+        assertEquals(3, row(SESSION_ID).getObjectCount());
+    }
+
+    private StorageUsage row(long sessionId) {
+        return jdbcTemplate.queryForObject("""
+                SELECT session_id, owner_id, bytes, object_count, updated_at, reconciled_at
+                FROM storage_usage WHERE session_id = ?
+                """, (rs, i) -> StorageUsage.builder()
+                .sessionId(rs.getLong("session_id"))
+                .ownerId(rs.getString("owner_id"))
+                .bytes(rs.getLong("bytes"))
+                .objectCount(rs.getLong("object_count"))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .reconciledAt(rs.getObject("reconciled_at", LocalDateTime.class))
+                .build(), sessionId);
+    }
+}
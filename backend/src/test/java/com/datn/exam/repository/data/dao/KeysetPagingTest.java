@@ -0,0 +1,73 @@
+package com.datn.exam.repository.data.dao;
+
+import com.datn.exam.model.dto.request.PagingRequest;
+import com.datn.exam.support.exception.DomainValidationException;
+import com.datn.exam.support.util.CursorCodeUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPagingTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 10, 1, 8, 0);
+
+    private final MapSqlParameterSource params = new MapSqlParameterSource();
+
+    @Test
+    void firstPageKeepsTheOffsetWindow() {
+        PagingRequest request = request(null);
+        request.setPageIndex(3);
+
+        assertEquals("", KeysetPaging.where(request, "q", params));
+        String page = KeysetPaging.orderAndLimit(request, "q", params);
+
+        assertTrue(page.contains("ORDER BY q.created_at DESC, q.id DESC LIMIT :limit"));
+        assertTrue(page.contains("OFFSET :offset"));
+        // one extra row tells whether a next page exists
+        assertEquals(Map.of("limit", 21, "offset", 40), params.getValues());
+    }
+
+    @Test
+    void cursorStartsAfterItsRow() {
+        PagingRequest request = request(CursorCodeUtils.encode(CREATED_AT, 7L));
+
+        String where = KeysetPaging.where(request, "q", params);
+        String page = KeysetPaging.orderAndLimit(request, "q", params);
+
+        assertTrue(where.contains("q.created_at < :cursorCreatedAt"));
+        assertTrue(where.contains("q.created_at = :cursorCreatedAt AND q.id < :cursorId"));
+        // rows without created_at come last in the descending order
+        assertTrue(where.contains("q.created_at IS NULL"));
+        assertFalse(page.contains("OFFSET"));
+        assertEquals(Map.of("cursorCreatedAt", CREATED_AT, "cursorId", 7L, "limit", 21), params.getValues());
+    }
+
+    @Test
+    void cursorOnARowWithoutCreatedAtPagesByIdAmongThem() {
+        PagingRequest request = request(CursorCodeUtils.encode(null, 7L));
+
+        String where = KeysetPaging.where(request, "e", params);
+
+        assertEquals(" AND (e.created_at IS NULL AND e.id < :cursorId) ", where);
+        assertEquals(Map.of("cursorId", 7L), params.getValues());
+    }
+
+    @Test
+    void rejectsIdOnlyAndMalformedCursors() {
+        assertThrows(DomainValidationException.class,
+                () -> KeysetPaging.where(request(CursorCodeUtils.encode(7L)), "q", params));
+        assertThrows(DomainValidationException.class,
+                () -> KeysetPaging.where(request(CursorCodeUtils.encode(CREATED_AT, "x")), "q", params));
+    }
+
+    private PagingRequest request(String cursor) {
+        PagingRequest request = new PagingRequest();
+        request.setPageSize(20);
+        request.setCursor(cursor);
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package com.datn.exam.service;
+
+import com.datn.exam.config.notification.NotificationCounter;
+import com.datn.exam.config.notification.NotificationEmitterRegistry;
+import com.datn.exam.config.notification.NotificationPushPublisher;
+import com.datn.exam.model.entity.Notification;
+import com.datn.exam.repository.data.NotificationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceTest {
+
+    private static final int NOTIFICATION_ID = 7;
+    private static final String RECEIVER = "42";
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final NotificationCounter notificationCounter = mock(NotificationCounter.class);
+    private final NotificationPushPublisher notificationPushPublisher = mock(NotificationPushPublisher.class);
+
+    private final NotificationService service = new NotificationService(
+            notificationRepository,
+            notificationCounter,
+            notificationPushPublisher,
+            mock(NotificationEmitterRegistry.class),
+            new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        Notification notification = Notification.builder().id(NOTIFICATION_ID).receiveId(RECEIVER).build();
+        when(notificationRepository.findByIdAndNotDeleted(NOTIFICATION_ID)).thenReturn(Optional.of(notification));
+        when(notificationCounter.apply(eq(RECEIVER), anyInt(), anyInt())).thenReturn(0);
+    }
+
+    @Test
+    void markReadDecrementsOnlyForTheCallerThatFlippedTheRow() {
+        when(notificationRepository.markRead(eq(NOTIFICATION_ID), any(LocalDateTime.class)))
+                .thenReturn(1)
+                .thenReturn(0);
+
+        service.markRead(NOTIFICATION_ID);
+        service.markRead(NOTIFICATION_ID);
+
+        verify(notificationCounter, times(1)).apply(RECEIVER, 0, -1);
+        verify(notificationPushPublisher, times(1))
+                .publish(RECEIVER, NotificationPushPublisher.EVENT_UNREAD, "0");
+    }
+
+    @Test
+    void deleteOfAReadNotificationKeepsTheUnreadCount() {
+        when(notificationRepository.markDeleted(eq(NOTIFICATION_ID), eq(false), any(LocalDateTime.class))).thenReturn(0);
+        when(notificationRepository.markDeleted(eq(NOTIFICATION_ID), eq(true), any(LocalDateTime.class))).thenReturn(1);
+
+        service.delete(NOTIFICATION_ID);
+
+        verify(notificationCounter).apply(RECEIVER, -1, 0);
+    }
+
+    @Test
+    void concurrentDeleteThatLostTheRaceLeavesTheCountersAlone() {
+        when(notificationRepository.markDeleted(eq(NOTIFICATION_ID), anyBoolean(), any(LocalDateTime.class))).thenReturn(0);
+
+        service.delete(NOTIFICATION_ID);
+
+        verify(notificationCounter, never()).apply(anyString(), anyInt(), anyInt());
+        verifyNoInteractions(notificationPushPublisher);
+    }
+}
@@ -0,0 +1,69 @@
+package com.datn.exam.service.impl;
+
+import com.datn.exam.config.properties.ArchiveProperties;
+import com.datn.exam.model.entity.ExamSession;
+import com.datn.exam.repository.ExamSessionRepository;
+import com.datn.exam.repository.data.dao.ArchiveDao;
+import com.datn.exam.support.exception.ResponseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExamSessionArchiveServiceImplTest {
+
+    private static final long SESSION_ID = 4L;
+    private static final String TEACHER = "teacher@example.com";
+
+    private final ArchiveDao archiveDao = mock(ArchiveDao.class);
+    private final ExamSessionRepository examSessionRepository = mock(ExamSessionRepository.class);
+
+    private final ExamSessionArchiveServiceImpl service =
+            new ExamSessionArchiveServiceImpl(archiveDao, new ArchiveProperties(), examSessionRepository);
+
+    @BeforeEach
+    void setUp() {
+        ExamSession session = mock(ExamSession.class);
+        when(session.getCreatedBy()).thenReturn(TEACHER);
+        when(examSessionRepository.findById(SESSION_ID)).thenReturn(Optional.of(session));
+        when(archiveDao.findAttemptIds(eq(SESSION_ID), eq(true), anyInt()))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of());
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void creatorRestoresAndHoldsTheSessionBack() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(TEACHER, null));
+
+        assertEquals(2, service.restore(SESSION_ID));
+
+        verify(archiveDao).restoreAttempts(List.of(1L, 2L));
+        verify(archiveDao).markRestored(eq(SESSION_ID), any(LocalDateTime.class));
+        verify(archiveDao, never()).markArchived(anyLong(), any());
+    }
+
+    @Test
+    void otherTeachersCannotRestore() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("other@example.com", null));
+
+        assertThrows(ResponseException.class, () -> service.restore(SESSION_ID));
+
+        verify(archiveDao, never()).restoreAttempts(any());
+        verify(archiveDao, never()).markRestored(anyLong(), any());
+    }
+}
@@ -0,0 +1,164 @@
+package com.datn.exam.service.impl;
+
+import com.datn.exam.model.dto.mapper.ExamSessionMapper;
+import com.datn.exam.model.dto.request.ExamSessionRequest;
+import com.datn.exam.model.dto.response.ExamSessionResponse;
+import com.datn.exam.model.entity.Exam;
+import com.datn.exam.model.entity.ExamSession;
+import com.datn.exam.model.entity.SessionStudent;
+import com.datn.exam.model.entity.User;
+import com.datn.exam.model.entity.UserInformation;
+import com.datn.exam.repository.ExamAttemptRepository;
+import com.datn.exam.repository.ExamRepository;
+import com.datn.exam.repository.ExamSessionRepository;
+import com.datn.exam.repository.SessionStudentRepository;
+import com.datn.exam.repository.UserRepository;
+import com.datn.exam.repository.data.dao.ExamSessionDao;
+import com.datn.exam.service.AvatarThumbnailService;
+import com.datn.exam.service.S3Service;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Avatar handling of a roster save: kept avatars survive, new ones get fresh keys and S3 is
+ * called once per roster.
+ */
+class ExamSessionServiceImplTest {
+
+    private static final long SESSION_ID = 4L;
+    private static final String TEACHER = "teacher@example.com";
+    private static final String BUCKET_URL = "https://bucket.example.com/";
+
+    private final ExamSessionRepository examSessionRepository = mock(ExamSessionRepository.class);
+    private final ExamRepository examRepository = mock(ExamRepository.class);
+    private final ExamSessionMapper examSessionMapper = mock(ExamSessionMapper.class);
+    private final S3Service s3Service = mock(S3Service.class);
+    private final SessionStudentRepository sessionStudentRepository = mock(SessionStudentRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AvatarThumbnailService avatarThumbnailService = mock(AvatarThumbnailService.class);
+
+    private final ExamSessionServiceImpl service = new ExamSessionServiceImpl(examSessionRepository, examRepository,
+            mock(ExamSessionDao.class), examSessionMapper, mock(ExamAttemptRepository.class), s3Service,
+            sessionStudentRepository, userRepository, avatarThumbnailService, mock(ApplicationEventPublisher.class));
+
+    private final List<SessionStudent> roster = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(TEACHER, null));
+
+        ExamSession session = mock(ExamSession.class);
+        when(session.getId()).thenReturn(SESSION_ID);
+        when(session.getCreatedBy()).thenReturn(TEACHER);
+        when(session.getCode()).thenReturn("ABC123");
+        when(session.getAccessMode()).thenReturn(ExamSession.AccessMode.PRIVATE);
+        when(examSessionRepository.findById(SESSION_ID)).thenReturn(Optional.of(session));
+        when(examRepository.findById(1L)).thenReturn(Optional.of(mock(Exam.class)));
+        when(examSessionMapper.toExamSessionResponse(session)).thenReturn(ExamSessionResponse.builder().build());
+
+        when(sessionStudentRepository.findByExamSessionId(SESSION_ID)).thenReturn(roster);
+        when(sessionStudentRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(s3Service.extractKeyFromUrl(anyString())).thenAnswer(invocation ->
+                invocation.<String>getArgument(0).replaceFirst("\\?.*$", "").replace(BUCKET_URL, ""));
+        when(avatarThumbnailService.withVariants(any())).thenAnswer(invocation ->
+                List.copyOf(invocation.<Collection<String>>getArgument(0)));
+        when(avatarThumbnailService.rosterKey(any(), anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void keepsAvatarsSentBackAsPresignedUrlsAndDeletesOnlyDroppedOnes() throws Exception {
+        User student = student(1);
+        SessionStudent existing = enrolled(student, "session-students/4/" + student.getId() + "/1",
+                "session-students/4/" + student.getId() + "/2");
+
+        service.update(SESSION_ID, request(Map.of(student.getId(), List.of(
+                BUCKET_URL + "session-students/4/" + student.getId() + "/1?X-Amz-Signature=abc",
+                "data:image/png;base64,AAAA")), student));
+
+        Map<String, String> uploads = uploads();
+        assertEquals(1, uploads.size());
+        String uploaded = uploads.keySet().iterator().next();
+        assertTrue(uploaded.startsWith("session-students/4/" + student.getId() + "/"));
+        assertFalse(List.of("session-students/4/" + student.getId() + "/1",
+                "session-students/4/" + student.getId() + "/2").contains(uploaded));
+
+        assertEquals(List.of("session-students/4/" + student.getId() + "/1", uploaded), existing.getAvatarUrls());
+        verify(s3Service).deleteFiles(List.of("session-students/4/" + student.getId() + "/2"));
+    }
+
+    @Test
+    void uploadsAndDeletesTheWholeRosterInOneBatch() throws Exception {
+        User first = student(1);
+        User second = student(2);
+        enrolled(first, "session-students/4/" + first.getId() + "/1");
+        enrolled(second, "session-students/4/" + second.getId() + "/1");
+
+        service.update(SESSION_ID, request(Map.of(
+                first.getId(), List.of("data:image/png;base64,AAAA"),
+                second.getId(), List.of("data:image/png;base64,BBBB")), first, second));
+
+        assertEquals(2, uploads().size());
+        verify(s3Service, times(1)).deleteFiles(argThat((Collection<String> keys) -> keys.size() == 2));
+    }
+
+    private Map<String, String> uploads() throws Exception {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> uploads = ArgumentCaptor.forClass(Map.class);
+        verify(s3Service, times(1)).uploadAllFromBase64(uploads.capture());
+        return uploads.getValue();
+    }
+
+    private ExamSessionRequest request(Map<UUID, List<String>> avatars, User... students) {
+        List<UUID> ids = Arrays.stream(students).map(User::getId).toList();
+        when(userRepository.findStudentsByIds(ids)).thenReturn(List.of(students));
+        return ExamSessionRequest.builder()
+                .examId(1L)
+                .accessMode(ExamSession.AccessMode.PRIVATE)
+                .studentIds(ids)
+                .studentAvatars(avatars)
+                .build();
+    }
+
+    private SessionStudent enrolled(User student, String... avatarKeys) {
+        SessionStudent existing = SessionStudent.builder()
+                .id(30L + roster.size())
+                .user(student)
+                .avatarUrls(new ArrayList<>(List.of(avatarKeys)))
+                .build();
+        roster.add(existing);
+        return existing;
+    }
+
+    private User student(int index) {
+        User student = mock(User.class);
+        when(student.getId()).thenReturn(new UUID(0, index));
+        when(student.getEmail()).thenReturn("student" + index + "@example.com");
+        when(student.getInformation()).thenReturn(mock(UserInformation.class));
+        return student;
+    }
+}
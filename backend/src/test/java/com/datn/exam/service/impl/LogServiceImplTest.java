@@ -0,0 +1,132 @@
+package com.datn.exam.service.impl;
+
+import com.datn.exam.config.jackson.JacksonConfig;
+import com.datn.exam.model.dto.request.LogFilterRequest;
+import com.datn.exam.model.dto.response.LogResponse;
+import com.datn.exam.model.entity.ExamSession;
+import com.datn.exam.repository.ExamAttemptRepository;
+import com.datn.exam.repository.ExamSessionRepository;
+import com.datn.exam.repository.LogRepository;
+import com.datn.exam.repository.data.dao.LogDao;
+import com.datn.exam.repository.data.dto.AttemptLogDto;
+import com.datn.exam.support.exception.ResponseException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LogServiceImplTest {
+
+    private final LogDao logDao = mock(LogDao.class);
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final ExamSessionRepository examSessionRepository = mock(ExamSessionRepository.class);
+    private final LogServiceImpl logService = new LogServiceImpl(
+            mock(LogRepository.class), mock(ExamAttemptRepository.class), examSessionRepository, logDao, objectMapper);
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sessionLogsAreWrappedInResponseEnvelope() throws IOException {
+        doAnswer(invocation -> {
+            Consumer<LogResponse> consumer = invocation.getArgument(2);
+            consumer.accept(log(1L, 10L));
+            consumer.accept(log(2L, 11L));
+            return null;
+        }).when(logDao).streamBySession(eq(5L), any(), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        logService.streamLogsBySessionId(5L, new LogFilterRequest(), out);
+
+        JsonNode response = objectMapper.readTree(out.toByteArray());
+        assertTrue(response.get("success").asBoolean());
+        assertEquals(200, response.get("code").asInt());
+        assertEquals(2, response.get("data").size());
+        assertEquals(11L, response.get("data").get(1).get("attemptId").asLong());
+        assertEquals("19-10-2026 08:30:00", response.get("data").get(0).get("loggedAt").asText());
+    }
+
+    @Test
+    void groupedLogsCloseEachAttemptAndKeepAttemptsWithoutLogs() throws IOException {
+        doAnswer(invocation -> {
+            Consumer<AttemptLogDto> consumer = invocation.getArgument(3);
+            consumer.accept(row(10L, log(1L, 10L)));
+            consumer.accept(row(10L, log(2L, 10L)));
+            consumer.accept(row(11L, null));
+            consumer.accept(row(12L, log(3L, 12L)));
+            return null;
+        }).when(logDao).streamByAttempt(eq(5L), eq("student@example.com"), any(), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        logService.streamLogsGroupedByAttempt(5L, "student@example.com", new LogFilterRequest(), out);
+
+        JsonNode attempts = objectMapper.readTree(out.toByteArray()).get("data");
+        assertEquals(3, attempts.size());
+        assertEquals(2, attempts.get(0).get("logs").size());
+        assertEquals(0, attempts.get(1).get("logs").size());
+        assertEquals(12L, attempts.get(2).get("attemptId").asLong());
+        assertEquals(1, attempts.get(2).get("logs").size());
+    }
+
+    @Test
+    void emptyResultIsStillAValidDocument() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        logService.streamLogsGroupedByAttempt(5L, "student@example.com", new LogFilterRequest(), out);
+
+        assertEquals(0, objectMapper.readTree(out.toByteArray()).get("data").size());
+    }
+
+    @Test
+    void onlyTheSessionCreatorReadsItsLogs() {
+        ExamSession session = mock(ExamSession.class);
+        when(session.getCreatedBy()).thenReturn("teacher@example.com");
+        when(examSessionRepository.findById(5L)).thenReturn(Optional.of(session));
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("teacher@example.com", null));
+        assertDoesNotThrow(() -> logService.checkSessionOwner(5L));
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("student@example.com", null));
+        assertThrows(ResponseException.class, () -> logService.checkSessionOwner(5L));
+        assertThrows(ResponseException.class, () -> logService.getLogsBySessionId(5L));
+    }
+
+    private static LogResponse log(Long id, Long attemptId) {
+        return LogResponse.builder()
+                .id(id)
+                .attemptId(attemptId)
+                .logType("TAB_SWITCH")
+                .severity("WARNING")
+                .loggedAt(LocalDateTime.of(2026, 10, 19, 8, 30))
+                .build();
+    }
+
+    private static AttemptLogDto row(Long attemptId, LogResponse log) {
+        AttemptLogDto row = new AttemptLogDto();
+        row.setAttemptId(attemptId);
+        row.setAttemptNo(1);
+        row.setAttemptStartedAt(LocalDateTime.of(2026, 10, 19, 8, 0));
+        row.setStatus("SUBMITTED");
+        row.setLog(log);
+        return row;
+    }
+}
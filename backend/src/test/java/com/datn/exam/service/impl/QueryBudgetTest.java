@@ -0,0 +1,137 @@
+package com.datn.exam.service.impl;
+
+import com.datn.exam.config.jdbc.QueryCounts;
+import com.datn.exam.model.dto.mapper.DateMapper;
+import com.datn.exam.model.dto.mapper.ExamMapperImpl;
+import com.datn.exam.model.dto.mapper.ExamSessionMapperImpl;
+import com.datn.exam.model.dto.mapper.ExamSessionSettingsMapperImpl;
+import com.datn.exam.model.dto.mapper.InviteCodeMapperImpl;
+import com.datn.exam.model.dto.response.ExamResponse;
+import com.datn.exam.model.dto.response.ExamSessionResponse;
+import com.datn.exam.repository.QueryPlans;
+import com.datn.exam.repository.TestRows;
+import com.datn.exam.repository.data.dao.ExamDao;
+import com.datn.exam.repository.data.dao.ExamSessionDao;
+import com.datn.exam.repository.data.dao.JdbcQuestionDao;
+import com.datn.exam.service.AvatarThumbnailService;
+import com.datn.exam.service.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statement budgets for the service calls that used to load one row per roster entry or exam
+ * question. The seed is larger than each budget, so a select per row fails the test. Runs against
+ * the database of {@link QueryPlans} inside the test transaction and is skipped when there is none.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIf("com.datn.exam.repository.QueryPlans#databaseReachable")
+@Import({ExamSessionServiceImpl.class, ExamServiceImpl.class, ExamSessionMapperImpl.class, ExamMapperImpl.class,
+        ExamSessionSettingsMapperImpl.class, InviteCodeMapperImpl.class, DateMapper.class})
+class QueryBudgetTest {
+
+    private static final long EXAM_ID = 990_000_001L;
+    private static final long SESSION_ID = 990_000_001L;
+    private static final long FIRST_ID = 990_000_001L;
+    private static final String USER_PREFIX = "00000000-0000-0000-0000-98";
+    private static final int QUESTIONS = 20;
+    private static final int STUDENTS = 20;
+
+    // session with its exam and that exam's questions and sessions, roster with the users and their collections
+    private static final int SESSION_DETAIL_BUDGET = 8;
+    // exam, then its questions and sessions
+    private static final int EXAM_DETAIL_BUDGET = 4;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        DriverManagerDataSource dataSource = QueryPlans.dataSource();
+        registry.add("spring.datasource.url", dataSource::getUrl);
+        registry.add("spring.datasource.username", dataSource::getUsername);
+        registry.add("spring.datasource.password", dataSource::getPassword);
+    }
+
+    @MockitoBean
+    private ExamSessionDao examSessionDao;
+
+    @MockitoBean
+    private ExamDao examDao;
+
+    @MockitoBean
+    private JdbcQuestionDao questionDao;
+
+    @MockitoBean
+    private S3Service s3Service;
+
+    @MockitoBean
+    private AvatarThumbnailService avatarThumbnailService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExamSessionServiceImpl examSessionService;
+
+    @Autowired
+    private ExamServiceImpl examService;
+
+    /**
+     * Seeds through the connection of the test transaction, so the rows are rolled back with it
+     * and never enter the persistence context before the measured call.
+     */
+    @BeforeEach
+    void seed() {
+        insert("exams", Map.of("id", EXAM_ID, "name", "Budget exam", "status", "PUBLISHED"));
+
+        for (int i = 0; i < QUESTIONS; i++) {
+            long questionId = FIRST_ID + i;
+            insert("questions", Map.of("id", questionId, "text", "Câu " + i, "point", BigDecimal.ONE,
+                    "status", "PUBLISHED", "level", "EASY", "active_status", "ACTIVE"));
+            insert("exam_questions", Map.of("id", questionId, "exam_id", EXAM_ID, "question_id", questionId,
+                    "orderIndex", i, "point", BigDecimal.ONE));
+        }
+
+        insert("exam_sessions", Map.of("id", SESSION_ID, "exam_id", EXAM_ID, "name", "Budget session",
+                "access_mode", "PRIVATE"));
+
+        for (int i = 0; i < STUDENTS; i++) {
+            String userId = USER_PREFIX + "%010d".formatted(i);
+            insert("users", Map.of("id", userId, "email", "budget-" + i + "@example.com",
+                    "first_name", "Student", "last_name", String.valueOf(i), "status", "ACTIVE"));
+            insert("session_students", Map.of("id", FIRST_ID + i, "exam_session_id", SESSION_ID, "user_id", userId));
+        }
+    }
+
+    @Test
+    void sessionDetailLoadsTheRosterInOneQuery() {
+        ExamSessionResponse response = QueryCounts.assertMaxQueries(SESSION_DETAIL_BUDGET,
+                () -> examSessionService.getById(SESSION_ID));
+
+        assertEquals(STUDENTS, response.getAssignedStudents().size());
+    }
+
+    @Test
+    void examDetailLoadsTheQuestionsInOneQuery() {
+        ExamResponse response = QueryCounts.assertMaxQueries(EXAM_DETAIL_BUDGET, () -> examService.getById(EXAM_ID));
+
+        assertEquals(QUESTIONS, response.getExamQuestion().size());
+    }
+
+    private void insert(String table, Map<String, Object> values) {
+        TestRows.insert(jdbcTemplate, table, values);
+    }
+}
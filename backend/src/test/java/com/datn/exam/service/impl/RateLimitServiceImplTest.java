@@ -0,0 +1,68 @@
+package com.datn.exam.service.impl;
+
+import com.datn.exam.config.properties.OtpProperties;
+import com.datn.exam.repository.SessionStudentRepository;
+import com.datn.exam.service.RateLimitService;
+import com.datn.exam.support.enums.RateLimitAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitServiceImplTest {
+
+    private final SessionStudentRepository sessionStudentRepository = mock(SessionStudentRepository.class);
+    private final OtpProperties otpProperties = new OtpProperties();
+    @SuppressWarnings("unchecked")
+    private final RateLimitServiceImpl rateLimitService = new RateLimitServiceImpl(
+            mock(RedisTemplate.class), mock(RedisScript.class), otpProperties, sessionStudentRepository);
+
+    @BeforeEach
+    void setUp() {
+        OtpProperties.RateLimitRule rule = new OtpProperties.RateLimitRule();
+        rule.setPerEmail(5);
+        rule.setPerSession(200);
+        rule.setPerIp(30);
+        rule.setPerStudent(3);
+        otpProperties.getRateLimits().put(RateLimitAction.OTP_REQUEST, rule);
+    }
+
+    @Test
+    void smallSessionsGetTheConfiguredFloors() {
+        when(sessionStudentRepository.countByExamSessionId(1L)).thenReturn(10L);
+
+        RateLimitService.Window window = rateLimitService.window(RateLimitAction.OTP_REQUEST, "A@x.io", 1L, "10.0.0.5");
+
+        assertEquals(List.of(
+                "exam:rate:otp_request:email:a@x.io",
+                "exam:rate:otp_request:session:1",
+                "exam:rate:otp_request:ip:1:10.0.0.5"), window.keys());
+        assertEquals(List.of("5", "200", "30"), limits(window));
+    }
+
+    @Test
+    void largeRostersScaleTheSessionAndAddressLimits() {
+        when(sessionStudentRepository.countByExamSessionId(2L)).thenReturn(1_000L);
+
+        RateLimitService.Window window = rateLimitService.window(RateLimitAction.OTP_REQUEST, "a@x.io", 2L, "10.0.0.5");
+        rateLimitService.window(RateLimitAction.OTP_REQUEST, "b@x.io", 2L, "10.0.0.6");
+
+        assertEquals(List.of("5", "3000", "3000"), limits(window));
+        verify(sessionStudentRepository, times(1)).countByExamSessionId(2L);
+    }
+
+    @Test
+    void actionsWithoutARuleAreNotLimited() {
+        assertNull(rateLimitService.window(RateLimitAction.OTP_VERIFY, "a@x.io", 1L, "10.0.0.5"));
+    }
+
+    // args are now, window and member, then one limit per key
+    private static List<String> limits(RateLimitService.Window window) {
+        return window.args().subList(3, window.args().size());
+    }
+}
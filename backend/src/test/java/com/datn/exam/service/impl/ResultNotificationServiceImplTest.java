@@ -0,0 +1,100 @@
+package com.datn.exam.service.impl;
+
+import com.datn.exam.config.application.jobs.ResultNotificationJob;
+import com.datn.exam.model.entity.Exam;
+import com.datn.exam.model.entity.ExamSession;
+import com.datn.exam.repository.ExamSessionRepository;
+import com.datn.exam.repository.data.dao.ResultNotificationDao;
+import com.datn.exam.support.enums.error.BadRequestError;
+import com.datn.exam.support.exception.ResponseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ResultNotificationServiceImplTest {
+
+    private static final String LOCK_KEY = "exam:result-notify:lock:7";
+    private static final String PROGRESS_KEY = "exam:result-notify:progress:7";
+
+    private final ExamSessionRepository examSessionRepository = mock(ExamSessionRepository.class);
+    private final ResultNotificationDao resultNotificationDao = mock(ResultNotificationDao.class);
+    private final ResultNotificationJob resultNotificationJob = mock(ResultNotificationJob.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+
+    private final ResultNotificationServiceImpl service = new ResultNotificationServiceImpl(
+            examSessionRepository, resultNotificationDao, resultNotificationJob, redisTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ExamSession session = mock(ExamSession.class);
+        Exam exam = mock(Exam.class);
+        when(session.getId()).thenReturn(7L);
+        when(session.getExam()).thenReturn(exam);
+        when(exam.getName()).thenReturn("Giữa kỳ");
+        when(examSessionRepository.findById(7L)).thenReturn(Optional.of(session));
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+    }
+
+    @Test
+    void startsTheJobWithTheTotalToNotify() {
+        when(resultNotificationDao.countGradedAttempts(7L)).thenReturn(42L);
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+
+        service.start(7L);
+
+        verify(hashOperations).putAll(eq(PROGRESS_KEY), argThat((Map<?, ?> progress) -> "42".equals(progress.get("total"))));
+        verify(resultNotificationJob).run(any(), eq("system"));
+        verify(redisTemplate, never()).delete(LOCK_KEY);
+    }
+
+    @Test
+    void releasesTheLockWhenTheJobCannotBeSubmitted() {
+        when(resultNotificationDao.countGradedAttempts(7L)).thenReturn(42L);
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        doThrow(new TaskRejectedException("queue full")).when(resultNotificationJob).run(any(), any());
+
+        assertThrows(TaskRejectedException.class, () -> service.start(7L));
+
+        verify(redisTemplate).delete(List.of(LOCK_KEY, PROGRESS_KEY));
+    }
+
+    @Test
+    void refusesASecondRunWhileTheLockIsHeld() {
+        when(resultNotificationDao.countGradedAttempts(7L)).thenReturn(42L);
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(false);
+
+        ResponseException e = assertThrows(ResponseException.class, () -> service.start(7L));
+
+        assertEquals(BadRequestError.RESULT_NOTIFICATION_IN_PROGRESS, e.getError());
+        verify(resultNotificationJob, never()).run(any(), any());
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    void nothingToNotifyTakesNoLock() {
+        when(resultNotificationDao.countGradedAttempts(7L)).thenReturn(0L);
+
+        service.start(7L);
+
+        verifyNoInteractions(valueOperations, resultNotificationJob);
+    }
+}
@@ -0,0 +1,173 @@
+package com.datn.exam.service.impl;
+
+import com.datn.exam.config.properties.StorageProperties;
+import com.datn.exam.config.s3.PresignedUrlCache;
+import com.datn.exam.config.s3.storage.InMemoryObjectStorage;
+import com.datn.exam.model.entity.StorageUsage;
+import com.datn.exam.repository.data.dao.StorageUsageDao;
+import com.datn.exam.repository.data.dto.StorageUsageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Batch uploads and deletes of {@link S3ServiceImpl} against the in-memory bucket, with the usage
+ * ledger captured in memory.
+ */
+class S3ServiceImplTest {
+
+    private InMemoryObjectStorage storage;
+    private RecordingStorageUsageDao ledger;
+    private S3ServiceImpl s3Service;
+
+    @BeforeEach
+    void setUp() {
+        storage = new InMemoryObjectStorage();
+        ledger = new RecordingStorageUsageDao();
+        s3Service = new S3ServiceImpl(storage, null, ledger, new PresignedUrlCache(new StorageProperties()));
+    }
+
+    @Test
+    void uploadAllKeepsKeyOrderAndRecordsUsage() throws IOException {
+        Map<String, String> uploads = new LinkedHashMap<>();
+        uploads.put("session-students/7/a/1", base64("first"));
+        uploads.put("session-students/7/a/2", base64("second"));
+        uploads.put("session-students/8/b/1", "data:image/png;base64," + base64("third"));
+
+        List<String> keys = s3Service.uploadAllFromBase64(uploads);
+
+        assertEquals(List.copyOf(uploads.keySet()), keys);
+        assertEquals(StorageUsageDto.of(11, 2), ledger.usage(7L));
+        assertEquals(StorageUsageDto.of(5, 1), ledger.usage(8L));
+    }
+
+    @Test
+    void deleteFolderUsesOneRequestPerThousandKeys() throws IOException {
+        for (int i = 0; i < 2_500; i++) {
+            put("session-students/9/s/" + i, "xx");
+        }
+        put("session-students/10/s/0", "keep");
+
+        assertTrue(s3Service.deleteFolder("session-students/9/"));
+
+        assertEquals(3, storage.getDeleteRequestCount());
+        assertEquals(Set.of("session-students/10/s/0"), storage.getKeys());
+        assertEquals(StorageUsageDto.of(-5_000, -2_500), ledger.usage(9L));
+    }
+
+    @Test
+    void deleteFilesTakesSizesFromTheListing() throws IOException {
+        put("session-students/3/a/1", "12345");
+        put("session-students/3/a/2", "123");
+        put("session-students/3/b/1", "1");
+
+        int deleted = s3Service.deleteFiles(List.of("session-students/3/a/1", "session-students/3/b/1", " "));
+
+        assertEquals(2, deleted);
+        assertEquals(1, storage.getDeleteRequestCount());
+        assertEquals(Set.of("session-students/3/a/2"), storage.getKeys());
+        assertEquals(StorageUsageDto.of(-6, -2), ledger.usage(3L));
+    }
+
+    @Test
+    void promoteStagedCopiesIntoTheSessionFolder() throws IOException {
+        put("staging/roster/20261019/batch/2-1.png", "1234");
+        put("staging/roster/20261019/batch/2-2.png", "12");
+
+        Map<String, String> staged = new LinkedHashMap<>();
+        staged.put("session-students/4/a/1", "staging/roster/20261019/batch/2-1.png");
+        staged.put("session-students/4/a/2", "staging/roster/20261019/batch/2-2.png");
+
+        s3Service.promoteStaged(staged);
+
+        // the staged copies are dropped only after the roster commits
+        assertEquals(Set.of("session-students/4/a/1", "session-students/4/a/2",
+                "staging/roster/20261019/batch/2-1.png", "staging/roster/20261019/batch/2-2.png"), storage.getKeys());
+        assertEquals(StorageUsageDto.of(6, 2), ledger.usage(4L));
+    }
+
+    @Test
+    void overwritesChangeBytesButNotTheObjectCount() throws IOException {
+        s3Service.uploadAllFromBase64(Map.of("session-students/5/a/1", base64("12345")));
+        s3Service.uploadAllFromBase64(Map.of("session-students/5/a/1", base64("12")));
+        s3Service.uploadFile(new ByteArrayInputStream("1234".getBytes()), "session-students/5/a/1", "text/plain", 4);
+
+        assertEquals(StorageUsageDto.of(4, 1), ledger.usage(5L));
+
+        s3Service.deleteFile("session-students/5/a/1");
+        assertEquals(StorageUsageDto.of(0, 0), ledger.usage(5L));
+    }
+
+    @Test
+    void promoteOverAnExistingKeyReplacesItsSize() throws IOException {
+        put("session-students/4/a/1", "123456");
+        put("staging/roster/20261019/batch/2-1.png", "12");
+
+        s3Service.promoteStaged(Map.of("session-students/4/a/1", "staging/roster/20261019/batch/2-1.png"));
+
+        assertEquals(StorageUsageDto.of(-4, 0), ledger.usage(4L));
+    }
+
+    @Test
+    void studentAvatarsAreChargedToTheirSession() throws IOException {
+        s3Service.uploadFile(new ByteArrayInputStream("123".getBytes()), "session-students/4/avatars/31/1.png", "image/png", 3);
+        // the legacy layout put the session student id first
+        put("session-students/31/avatars/0.png", "12345");
+
+        assertEquals(StorageUsageDto.of(3, 1), ledger.usage(4L));
+        assertNull(ledger.usage(31L));
+        assertEquals(Map.of("4", StorageUsageDto.of(3, 1)), s3Service.summarizeFolders("session-students/"));
+    }
+
+    @Test
+    void openFileStreamsTheBody() throws IOException {
+        put("exports/report.csv", "a,b\n1,2\n");
+
+        try (InputStream body = s3Service.openFile("exports/report.csv")) {
+            assertArrayEquals("a,b\n1,2\n".getBytes(), body.readAllBytes());
+        }
+        assertTrue(ledger.deltas.isEmpty());
+    }
+
+    private void put(String key, String body) throws IOException {
+        byte[] data = body.getBytes();
+        storage.put(key, new ByteArrayInputStream(data), data.length, "text/plain");
+    }
+
+    private static String base64(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes());
+    }
+
+    private static class RecordingStorageUsageDao implements StorageUsageDao {
+        private final Map<Long, StorageUsageDto> deltas = new HashMap<>();
+
+        @Override
+        public void increment(Map<Long, StorageUsageDto> deltas) {
+            deltas.forEach((sessionId, delta) -> this.deltas.merge(sessionId, delta, StorageUsageDto::plus));
+        }
+
+        @Override
+        public List<StorageUsage> findByOwner(UUID ownerId) {
+            return List.of();
+        }
+
+        @Override
+        public int reconcile(Map<Long, StorageUsageDto> usage, LocalDateTime startedAt) {
+            return 0;
+        }
+
+        StorageUsageDto usage(Long sessionId) {
+            return deltas.get(sessionId);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.datn.exam.support.converter;
+
+import com.datn.exam.support.util.JsonUtils;
+import jakarta.persistence.AttributeConverter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The lazy converter against the eager one on a question snapshot column. Each load is what
+ * Hibernate does per attribute: convert the column, take the dirty-check snapshot by a round
+ * trip through the converter, and compare the two on flush.
+ */
+class LazyJsonMapConverterTest {
+
+    private final MapObjectConverter eager = new MapObjectConverter();
+    private final LazyJsonMapConverter lazy = new LazyJsonMapConverter();
+
+    @Test
+    void hydrateAndFlushWithoutReadingNeverParses() throws Exception {
+        String json = JsonUtils.marshal(sampleSnapshot(6));
+
+        assertTrue(hydrate(eager, json, false));
+        assertTrue(hydrate(lazy, json, false));
+
+        LazyJsonMap value = lazy.convertToEntityAttribute(json);
+        lazy.convertToEntityAttribute(lazy.convertToDatabaseColumn(value));
+        assertFalse(value.isParsed());
+    }
+
+    @Test
+    void readValueMatchesTheEagerConverter() throws Exception {
+        String json = JsonUtils.marshal(sampleSnapshot(6));
+
+        assertTrue(hydrate(lazy, json, true));
+        assertEquals(eager.convertToEntityAttribute(json), lazy.convertToEntityAttribute(json).get());
+    }
+
+    @Test
+    void unreadValueIsWrittenBackVerbatim() {
+        String json = "{\"b\":1,  \"a\":[1,2]}";
+
+        LazyJsonMap value = lazy.convertToEntityAttribute(json);
+
+        assertSame(json, lazy.convertToDatabaseColumn(value));
+        assertFalse(value.isParsed());
+    }
+
+    @Test
+    void dirtyCheckSeesInPlaceChangesOnly() {
+        String json = "{\"duration\":60,\"tags\":[\"a\"]}";
+
+        LazyJsonMap read = lazy.convertToEntityAttribute(json);
+        LazyJsonMap readSnapshot = lazy.convertToEntityAttribute(lazy.convertToDatabaseColumn(read));
+        assertEquals(60, read.get().get("duration"));
+        assertEquals(readSnapshot, read);
+
+        LazyJsonMap changed = lazy.convertToEntityAttribute(json);
+        LazyJsonMap changedSnapshot = lazy.convertToEntityAttribute(lazy.convertToDatabaseColumn(changed));
+        changed.get().put("duration", 90);
+        assertNotEquals(changedSnapshot, changed);
+        assertTrue(lazy.convertToDatabaseColumn(changed).contains("90"));
+    }
+
+    private static <T> boolean hydrate(AttributeConverter<T, String> converter, String json, boolean read) {
+        T value = converter.convertToEntityAttribute(json);
+        T snapshot = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(value));
+        if (read && value instanceof LazyJsonMap lazyValue) {
+            lazyValue.get();
+        }
+        return Objects.equals(snapshot, value);
+    }
+
+    private static Map<String, Object> sampleSnapshot(int answers) {
+        List<Map<String, Object>> answerList = new ArrayList<>();
+        for (int i = 0; i < answers; i++) {
+            Map<String, Object> answer = new LinkedHashMap<>();
+            answer.put("id", 1_000L + i);
+            answer.put("value", "Phương án trả lời số " + i + " cho câu hỏi về cấu trúc dữ liệu");
+            answer.put("correct", i == 0);
+            answer.put("order", i);
+            answerList.add(answer);
+        }
+
+        Map<String, Object> questionValue = new LinkedHashMap<>();
+        questionValue.put("type", "ONE_CHOICE");
+        questionValue.put("level", "MEDIUM");
+        questionValue.put("answers", answerList);
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("id", 42L);
+        snapshot.put("content", "<p>Độ phức tạp thời gian của thao tác tìm kiếm trên cây nhị phân cân bằng là gì?</p>");
+        snapshot.put("point", 1.5);
+        snapshot.put("tags", List.of("cau-truc-du-lieu", "cay", "do-phuc-tap"));
+        snapshot.put("question_value", questionValue);
+        return snapshot;
+    }
+}
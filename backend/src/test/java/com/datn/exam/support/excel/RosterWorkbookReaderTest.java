@@ -0,0 +1,109 @@
+package com.datn.exam.support.excel;
+
+import org.apache.poi.hssf.usermodel.HSSFClientAnchor;
+import org.apache.poi.hssf.usermodel.HSSFPatriarch;
+import org.apache.poi.hssf.usermodel.HSSFSheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.ClientAnchor;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RosterWorkbookReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsEmailsAndStreamsPicturesOfTheirRows() throws IOException {
+        Path file = tempDir.resolve("roster.xlsx");
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            XSSFSheet sheet = workbook.createSheet();
+            sheet.createRow(0).createCell(0).setCellValue("Email");
+            sheet.createRow(1).createCell(0).setCellValue("a@example.com");
+            sheet.createRow(3).createCell(0).setCellValue(" b@example.com ");
+
+            XSSFDrawing drawing = sheet.createDrawingPatriarch();
+            int pictureIndex = workbook.addPicture(png, Workbook.PICTURE_TYPE_PNG);
+            for (int i = 0; i < 3; i++) {
+                anchorPicture(drawing, pictureIndex, 3, i + 1);
+            }
+            // anchored on a row without an email
+            anchorPicture(drawing, pictureIndex, 2, 1);
+
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
+            }
+        }
+
+        List<Integer> pictureRows = new ArrayList<>();
+        List<RosterWorkbookReader.RosterRow> rows = RosterWorkbookReader.read(file, 2, (row, contentType, size, data) -> {
+            assertEquals("image/png", contentType);
+            assertEquals(png.length, size);
+            assertArrayEquals(png, data.readAllBytes());
+            pictureRows.add(row);
+        });
+
+        assertEquals(List.of(
+                new RosterWorkbookReader.RosterRow(2, "a@example.com"),
+                new RosterWorkbookReader.RosterRow(4, "b@example.com")), rows);
+        assertEquals(List.of(4, 4), pictureRows);
+    }
+
+    @Test
+    void readsPicturesOfLegacyWorkbooks() throws IOException {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 4, 5, 6};
+        byte[] xls;
+
+        try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+            HSSFSheet sheet = workbook.createSheet();
+            sheet.createRow(0).createCell(0).setCellValue("Email");
+            sheet.createRow(2).createCell(0).setCellValue("c@example.com");
+
+            HSSFPatriarch drawing = sheet.createDrawingPatriarch();
+            int pictureIndex = workbook.addPicture(png, Workbook.PICTURE_TYPE_PNG);
+            for (int i = 0; i < 3; i++) {
+                drawing.createPicture(new HSSFClientAnchor(0, 0, 0, 0, (short) (i + 1), 2, (short) (i + 2), 3), pictureIndex);
+            }
+            // anchored on the header
+            drawing.createPicture(new HSSFClientAnchor(0, 0, 0, 0, (short) 1, 0, (short) 2, 1), pictureIndex);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            workbook.write(out);
+            xls = out.toByteArray();
+        }
+
+        List<Integer> pictureRows = new ArrayList<>();
+        List<RosterWorkbookReader.RosterRow> rows = RosterWorkbookReader.readLegacy(new ByteArrayInputStream(xls), 2,
+                (row, contentType, size, data) -> {
+                    assertEquals("image/png", contentType);
+                    assertEquals(png.length, size);
+                    assertArrayEquals(png, data.readAllBytes());
+                    pictureRows.add(row);
+                });
+
+        assertEquals(List.of(new RosterWorkbookReader.RosterRow(3, "c@example.com")), rows);
+        assertEquals(List.of(3, 3), pictureRows);
+    }
+
+    private void anchorPicture(XSSFDrawing drawing, int pictureIndex, int row, int column) {
+        XSSFClientAnchor anchor = drawing.createAnchor(0, 0, 0, 0, column, row, column + 1, row + 1);
+        anchor.setAnchorType(ClientAnchor.AnchorType.MOVE_AND_RESIZE);
+        drawing.createPicture(anchor, pictureIndex);
+    }
+}
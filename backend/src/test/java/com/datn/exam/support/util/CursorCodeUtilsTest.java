@@ -0,0 +1,49 @@
+package com.datn.exam.support.util;
+
+import com.datn.exam.support.exception.DomainValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorCodeUtilsTest {
+
+    @Test
+    void keysetCursorRoundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 10, 1, 8, 30, 15, 123_000_000);
+
+        Map<String, Object> cursor = CursorCodeUtils.decode(CursorCodeUtils.encode(createdAt, 42L));
+
+        assertEquals("42", cursor.get("id"));
+        assertEquals(createdAt, cursor.get("createdAt"));
+    }
+
+    @Test
+    void rowWithoutCreatedAtStillDecodes() {
+        Map<String, Object> cursor = CursorCodeUtils.decode(CursorCodeUtils.encode(null, 42L));
+
+        assertEquals("42", cursor.get("id"));
+        assertTrue(cursor.containsKey("createdAt"));
+        assertNull(cursor.get("createdAt"));
+    }
+
+    @Test
+    void idOnlyCursorHasNoCreatedAt() {
+        Map<String, Object> cursor = CursorCodeUtils.decode(CursorCodeUtils.encode(42L));
+
+        assertEquals("42", cursor.get("id"));
+        assertFalse(cursor.containsKey("createdAt"));
+    }
+
+    @Test
+    void rejectsGarbage() {
+        String badTimestamp = Base64.getEncoder().encodeToString("42:yesterday".getBytes());
+
+        assertThrows(DomainValidationException.class, () -> CursorCodeUtils.decode(badTimestamp));
+        assertThrows(DomainValidationException.class, () -> CursorCodeUtils.decode("%%%"));
+        assertThrows(DomainValidationException.class, () -> CursorCodeUtils.decode(" "));
+    }
+}
@@ -0,0 +1,61 @@
+package com.datn.exam.support.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageUtilsTest {
+
+    @Test
+    void downscalesLongestSideAndEncodesJpeg() throws IOException {
+        byte[] png = png(1200, 800);
+
+        BufferedImage decoded = ImageUtils.decode(new ByteArrayInputStream(png), 256, 40_000_000L);
+        assertNotNull(decoded);
+        // subsampled on read, but never below twice the target
+        assertTrue(decoded.getWidth() >= 512 && decoded.getWidth() < 1200);
+
+        BufferedImage thumbnail = ImageUtils.resize(decoded, 96);
+        assertEquals(96, thumbnail.getWidth());
+        assertEquals(64, thumbnail.getHeight());
+
+        byte[] jpeg = ImageUtils.encodeJpeg(thumbnail, 0.82f);
+        BufferedImage reread = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertEquals(96, reread.getWidth());
+        assertTrue(jpeg.length < png.length);
+    }
+
+    @Test
+    void neverUpscales() {
+        BufferedImage small = new BufferedImage(40, 30, BufferedImage.TYPE_INT_ARGB);
+
+        BufferedImage resized = ImageUtils.resize(small, 256);
+
+        assertEquals(40, resized.getWidth());
+        assertEquals(30, resized.getHeight());
+    }
+
+    @Test
+    void rejectsOversizedAndUnknownSources() throws IOException {
+        assertNull(ImageUtils.decode(new ByteArrayInputStream(png(200, 200)), 96, 10_000L));
+        assertNull(ImageUtils.decode(new ByteArrayInputStream(new byte[]{1, 2, 3}), 96, 10_000L));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 31 + y * 17) & 0xFFFFFF);
+            }
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+}
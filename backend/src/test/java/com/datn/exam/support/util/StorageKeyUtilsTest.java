@@ -0,0 +1,48 @@
+package com.datn.exam.support.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageKeyUtilsTest {
+
+    @Test
+    void chargesKeysToTheSessionFolder() {
+        assertEquals(4L, StorageKeyUtils.sessionIdOf("session-students/4/a_at_example_com/1"));
+        assertEquals(4L, StorageKeyUtils.sessionIdOf(StorageKeyUtils.studentAvatarKey(4, 31, "1700000000000.png")));
+        assertEquals("session-students/4/avatars/31/1700000000000.png",
+                StorageKeyUtils.studentAvatarKey(4, 31, "1700000000000.png"));
+
+        assertNull(StorageKeyUtils.sessionIdOf("staging/roster/20261019/batch/2-1.png"));
+        assertNull(StorageKeyUtils.sessionIdOf("session-students/abc/x/1"));
+    }
+
+    @Test
+    void rosterAvatarKeysAreUniquePerUpload() {
+        String first = StorageKeyUtils.rosterAvatarKey(4, "a_at_example_com");
+        String second = StorageKeyUtils.rosterAvatarKey(4, "a_at_example_com");
+
+        assertNotEquals(first, second);
+        assertEquals(4L, StorageKeyUtils.sessionIdOf(first));
+        assertFalse(StorageKeyUtils.isLegacyStudentAvatar(first));
+    }
+
+    @Test
+    void legacyStudentAvatarsAreNotChargedToASession() {
+        // the folder is session student 31, not session 31
+        assertTrue(StorageKeyUtils.isLegacyStudentAvatar("session-students/31/avatars/1700000000000.png"));
+        assertTrue(StorageKeyUtils.isLegacyStudentAvatar("session-students/31/avatars/1700000000000.png_96.jpg"));
+        assertNull(StorageKeyUtils.sessionIdOf("session-students/31/avatars/1700000000000.png"));
+
+        assertFalse(StorageKeyUtils.isLegacyStudentAvatar("session-students/4/avatars/31/1700000000000.png"));
+        assertFalse(StorageKeyUtils.isLegacyStudentAvatar("session-students/4/a_at_example_com/1"));
+    }
+
+    @Test
+    void readsTheStagingDay() {
+        assertEquals(LocalDate.of(2026, 10, 19), StorageKeyUtils.stagedOn("staging/roster/20261019/batch/2-1.png"));
+        assertNull(StorageKeyUtils.stagedOn("staging/roster/../session-students/4/a/1"));
+    }
+}
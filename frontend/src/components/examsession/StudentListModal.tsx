@@ -24,6 +24,8 @@ interface StudentEntry {
   row?: number | null
   avatarCount?: number
   avatarPreviews?: string[]
+  // staged keys of imported pictures, kept aligned with avatarPreviews
+  avatarKeys?: (string | null)[]
   source?: 'IMPORT_VALID' | 'IMPORT_INVALID' | 'IMPORT_DUPLICATE' | 'MANUAL' | 'SELECTED'
   manualFiles?: (File | null)[]
 }
@@ -434,6 +436,7 @@ export const StudentListModal: React.FC<StudentListModalProps> = ({
         status: 'VALID',
         source: 'SELECTED',
         avatarPreviews: [],
+        avatarKeys: [],
         manualFiles: [],
       }
       setStudents((prev) => {
@@ -523,7 +526,7 @@ export const StudentListModal: React.FC<StudentListModalProps> = ({
     setStudents((prev) =>
       prev.map((entry) =>
         entry.id === id
-          ? { ...entry, manualFiles: [], avatarPreviews: [] }
+          ? { ...entry, manualFiles: [], avatarPreviews: [], avatarKeys: [] }
           : entry
       )
     )
@@ -97,6 +97,8 @@ interface WhitelistEntry {
   row?: number | null
   avatarCount?: number
   avatarPreviews?: string[]
+  // staged key of each imported picture, by index of avatarPreviews; null for added files
+  avatarKeys?: (string | null)[]
   source?: 'IMPORT_VALID' | 'IMPORT_INVALID' | 'IMPORT_DUPLICATE' | 'MANUAL' | 'SELECTED'
   manualFiles?: (File | null)[]
 }
@@ -107,6 +109,10 @@ const EMAIL_PATTERN = /^[^\s@]+@[^\s@]+\.[^\s@]+$/
 
 const createEntryId = () => `${Date.now()}-${Math.random().toString(16).slice(2)}`
 
+// imported pictures go back as their staged keys, the previews are short-lived URLs
+const avatarImagesOf = (entry: WhitelistEntry): string[] =>
+  (entry.avatarPreviews ?? []).map((preview, index) => entry.avatarKeys?.[index] ?? preview)
+
 const parseDateSafely = (dateValue: string | Dayjs | null | undefined): Dayjs | null => {
   if (!dateValue) return null
   
@@ -148,9 +154,8 @@ const mapPreviewToEntries = (
     status: 'VALID' as WhitelistEntryStatus,
     reason: item.reason ?? '',
     row: item.row,
-    avatarPreviews: item.avatarPreviews?.map(img => 
-      img.length > 100 ? `${img.substring(0, 100)}...` : img
-    ) ?? [],
+    avatarPreviews: item.avatarPreviews ?? [],
+    avatarKeys: item.avatarKeys ?? [],
     avatarCount: item.avatarPreviews?.length ?? item.avatarCount ?? 0,
     manualFiles: (item.avatarPreviews ?? []).map(() => null),
     source: 'IMPORT_VALID' as const,
@@ -164,9 +169,8 @@ const mapPreviewToEntries = (
     status: 'INVALID' as WhitelistEntryStatus,
     reason: item.reason ?? 'Email không hợp lệ',
     row: item.row,
-    avatarPreviews: item.avatarPreviews?.map(img => 
-      img.length > 100 ? `${img.substring(0, 100)}...` : img
-    ) ?? [],
+    avatarPreviews: item.avatarPreviews ?? [],
+    avatarKeys: item.avatarKeys ?? [],
     avatarCount: item.avatarPreviews?.length ?? item.avatarCount ?? 0,
     manualFiles: (item.avatarPreviews ?? []).map(() => null),
     source: 'IMPORT_INVALID' as const,
@@ -180,9 +184,8 @@ const mapPreviewToEntries = (
     status: 'DUPLICATE' as WhitelistEntryStatus,
     reason: item.reason ?? 'Sinh viên đã tồn tại trong phiên thi',
     row: item.row,
-    avatarPreviews: item.avatarPreviews?.map(img => 
-      img.length > 100 ? `${img.substring(0, 100)}...` : img
-    ) ?? [],
+    avatarPreviews: item.avatarPreviews ?? [],
+    avatarKeys: item.avatarKeys ?? [],
     avatarCount: item.avatarPreviews?.length ?? item.avatarCount ?? 0,
     manualFiles: (item.avatarPreviews ?? []).map(() => null),
     source: 'IMPORT_DUPLICATE' as const,
@@ -196,9 +199,8 @@ const mapPreviewToEntries = (
     status: 'INVALID' as WhitelistEntryStatus,
     reason: item.reason ?? 'Không tìm thấy tài khoản trong hệ thống',
     row: item.row,
-    avatarPreviews: item.avatarPreviews?.map(img => 
-      img.length > 100 ? `${img.substring(0, 100)}...` : img
-    ) ?? [],
+    avatarPreviews: item.avatarPreviews ?? [],
+    avatarKeys: item.avatarKeys ?? [],
     avatarCount: item.avatarPreviews?.length ?? item.avatarCount ?? 0,
     manualFiles: (item.avatarPreviews ?? []).map(() => null),
     source: 'IMPORT_INVALID' as const,
@@ -514,7 +516,7 @@ const ExamSessionCreate = ({
           email: entry.email.trim(),
           avatarImages:
             entry.avatarPreviews && entry.avatarPreviews.length
-              ? entry.avatarPreviews
+              ? avatarImagesOf(entry)
               : undefined,
         }))
         .filter((entry) => entry.email)
@@ -537,10 +539,10 @@ const ExamSessionCreate = ({
       const studentAvatars: Record<string, string[]> = {}
       validWhitelistEntries.forEach(entry => {
         if (entry.userId && entry.avatarPreviews && entry.avatarPreviews.length > 0) {
-          studentAvatars[entry.userId] = entry.avatarPreviews
+          studentAvatars[entry.userId] = avatarImagesOf(entry)
           
           // Debug: Log first 100 chars of each avatar
-          entry.avatarPreviews.forEach((avatar, idx) => {
+          studentAvatars[entry.userId].forEach((avatar, idx) => {
             const preview = avatar.length > 100 ? avatar.substring(0, 100) + '...' : avatar
             console.log(`Avatar ${idx} for ${entry.email}: ${preview}`)
           })
@@ -844,6 +846,9 @@ const ExamSessionCreate = ({
 
         previews.splice(index, 1)
 
+        const avatarKeys = [...(entry.avatarKeys ?? [])]
+        avatarKeys.splice(index, 1)
+
         let manualFiles = entry.manualFiles
           ? [...entry.manualFiles]
           : undefined
@@ -858,6 +863,7 @@ const ExamSessionCreate = ({
         return {
           ...entry,
           avatarPreviews: previews,
+          avatarKeys,
           manualFiles,
         }
       })
@@ -877,6 +883,9 @@ const ExamSessionCreate = ({
 
       previews.splice(index, 1)
 
+      const avatarKeys = [...(prev.avatarKeys ?? [])]
+      avatarKeys.splice(index, 1)
+
       let manualFiles = prev.manualFiles
         ? [...prev.manualFiles]
         : undefined
@@ -891,6 +900,7 @@ const ExamSessionCreate = ({
       return {
         ...prev,
         avatarPreviews: previews,
+        avatarKeys,
         manualFiles,
       }
     })
@@ -909,6 +919,7 @@ const ExamSessionCreate = ({
             ? {
                 ...entry,
                 avatarPreviews: [],
+                avatarKeys: [],
                 manualFiles: [],
               }
             : entry,
@@ -921,6 +932,7 @@ const ExamSessionCreate = ({
         ? {
             ...prev,
             avatarPreviews: [],
+            avatarKeys: [],
             manualFiles: [],
           }
         : prev,
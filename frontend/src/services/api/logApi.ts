@@ -1,4 +1,4 @@
-import { publicApi } from './baseApi'
+import { authenticatedApi, publicApi } from './baseApi'
 
 export interface CreateLogRequest {
   attemptId: number
@@ -31,6 +31,12 @@ export const logApi = publicApi.injectEndpoints({
         body: data,
       }),
     }),
+  }),
+})
+
+// reading logs is reserved to the teacher who owns the session
+export const logReportApi = authenticatedApi.injectEndpoints({
+  endpoints: (builder) => ({
     getLogsByAttemptId: builder.query<Log[], number>({
       query: (attemptId) => `/logs/attempt/${attemptId}`,
     }),
@@ -55,10 +61,11 @@ export interface AttemptWithLogs {
   logs: Log[]
 }
 
+export const { useCreateLogMutation } = logApi
+
 export const {
-  useCreateLogMutation,
   useGetLogsByAttemptIdQuery,
   useGetLogsBySessionIdQuery,
   useGetLogsBySessionIdAndStudentEmailQuery,
   useGetLogsGroupedByAttemptQuery,
-} = logApi
+} = logReportApi
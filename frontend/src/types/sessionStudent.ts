@@ -3,6 +3,8 @@ export interface SessionStudentItem {
   email: string
   fullName?: string 
   userId?: string 
+  // staged keys to send back on save, avatarPreviews are short-lived URLs for display
+  avatarKeys?: string[]
   avatarPreviews?: string[]
   avatarCount?: number
   hasAvatars?: boolean